@@ -0,0 +1,21 @@
+package com.fiap.projects.apipassabola.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propriedades das migrações de dados (preenchimento de contadores e tabelas derivadas)
+ * Mapeia as configurações migrations.* do application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "migrations")
+public class DataMigrationProperties {
+
+    /**
+     * Aplica as migrações pendentes na inicialização; com false, elas só rodam pelo
+     * POST /api/migrations/run
+     */
+    private boolean runOnStartup = true;
+}
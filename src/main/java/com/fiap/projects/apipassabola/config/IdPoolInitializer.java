@@ -0,0 +1,29 @@
+package com.fiap.projects.apipassabola.config;
+
+import com.fiap.projects.apipassabola.repository.IdPoolRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alinha os pools de ids com as tabelas antes de qualquer inserção
+ * Roda depois da criação do EntityManagerFactory (o schema já existe) e antes do servidor aceitar
+ * requisições, para que nenhum id já usado saia de um bloco reservado.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdPoolInitializer {
+
+    private final IdPoolRepository idPoolRepository;
+
+    @PostConstruct
+    public void alignPools() {
+        idPoolRepository.alignWithTable("games", "games");
+        idPoolRepository.alignWithTable("tournament_matches", "tournament_matches");
+        log.info("Id pools aligned with games and tournament_matches");
+    }
+}
@@ -0,0 +1,33 @@
+package com.fiap.projects.apipassabola.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propriedades do filtro de moderação de conteúdo
+ * Mapeia as configurações moderation.* do application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "moderation")
+public class ModerationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Arquivo do dicionário de termos (um termo por linha, opcionalmente "termo|ACAO").
+     * Quando vazio, usa o dicionário embutido em classpath:moderation/banned-terms.txt
+     */
+    private String dictionaryPath;
+
+    /**
+     * Ação aplicada aos termos sem ação explícita: FLAG, MASK ou REJECT
+     */
+    private String defaultAction = "MASK";
+
+    /**
+     * Intervalo de verificação de alterações no arquivo do dicionário
+     */
+    private long reloadIntervalMs = 30000;
+}
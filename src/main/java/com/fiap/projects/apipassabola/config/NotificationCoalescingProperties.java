@@ -0,0 +1,32 @@
+package com.fiap.projects.apipassabola.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propriedades do agrupamento de notificações ("Ana e mais 27 pessoas curtiram seu post")
+ * Mapeia as configurações notifications.coalescing.* do application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "notifications.coalescing")
+public class NotificationCoalescingProperties {
+
+    /**
+     * Janela deslizante: uma nova ação entra na notificação agrupada se a última ação do grupo
+     * aconteceu há menos que isso (e a notificação ainda não foi lida)
+     */
+    private long windowMinutes = 30;
+
+    /**
+     * Intervalo mínimo entre dois envios por WebSocket da mesma notificação agrupada;
+     * as ações que chegam nesse meio tempo saem juntas em um único envio
+     */
+    private long flushIntervalMs = 3000;
+
+    /**
+     * Quantos atores mais recentes ficam guardados na notificação agrupada
+     */
+    private int maxRecentActors = 3;
+}
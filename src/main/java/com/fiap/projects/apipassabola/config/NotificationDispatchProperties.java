@@ -0,0 +1,40 @@
+package com.fiap.projects.apipassabola.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propriedades do envio assíncrono de notificações (outbox + dispatcher)
+ * Mapeia as configurações notifications.dispatch.* do application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "notifications.dispatch")
+public class NotificationDispatchProperties {
+
+    /**
+     * Intervalo de verificação de entregas pendentes (além do disparo imediato após cada commit)
+     */
+    private long pollIntervalMs = 1000;
+
+    /**
+     * Máximo de entregas lidas do outbox por rodada
+     */
+    private int batchSize = 100;
+
+    /**
+     * Tentativas antes de a entrega ser marcada como FAILED
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Dias que as entregas enviadas (PROCESSED) ou abandonadas (FAILED) ficam no outbox antes da limpeza
+     */
+    private int retentionDays = 7;
+
+    /**
+     * Intervalo da limpeza das entregas antigas do outbox
+     */
+    private long cleanupIntervalMs = 3_600_000;
+}
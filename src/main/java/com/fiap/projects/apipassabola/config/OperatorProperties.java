@@ -0,0 +1,25 @@
+package com.fiap.projects.apipassabola.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operadores da plataforma: contas autorizadas a executar tarefas administrativas (migrações de dados,
+ * reconstrução e encerramento de temporada dos rankings)
+ * Mapeia as configurações operators.* do application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "operators")
+public class OperatorProperties {
+
+    /**
+     * E-mails das contas de operador; vazio desativa os endpoints administrativos.
+     * Nenhum papel público dá acesso a eles: ORGANIZATION pode ser obtido por qualquer cadastro.
+     */
+    private List<String> emails = new ArrayList<>();
+}
@@ -0,0 +1,31 @@
+package com.fiap.projects.apipassabola.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propriedades de presença (online/offline) dos usuários conectados por WebSocket
+ * Mapeia as configurações presence.* do application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "presence")
+public class PresenceProperties {
+
+    /**
+     * Tempo que um usuário precisa permanecer online/offline antes de a mudança ser publicada
+     * (evita eventos a cada reconexão rápida)
+     */
+    private long debounceMs = 5000;
+
+    /**
+     * Intervalo de verificação das mudanças de presença pendentes
+     */
+    private long flushIntervalMs = 1000;
+
+    /**
+     * Máximo de usuários por consulta em lote
+     */
+    private int maxLookup = 200;
+}
@@ -0,0 +1,50 @@
+package com.fiap.projects.apipassabola.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propriedades do pipeline assíncrono de atualização de rankings
+ * Mapeia as configurações ranking.pipeline.* do application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ranking.pipeline")
+public class RankingPipelineProperties {
+
+    /**
+     * Quantidade de partições (uma thread cada); uma jogadora ou time sempre cai na mesma partição
+     */
+    private int partitions = 4;
+
+    /**
+     * Intervalo de verificação de eventos pendentes (além do disparo imediato após cada commit)
+     */
+    private long pollIntervalMs = 1000;
+
+    /**
+     * Máximo de eventos lidos do outbox por rodada
+     */
+    private int batchSize = 50;
+
+    /**
+     * Tentativas antes de o evento ser marcado como FAILED
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Jogos lidos por bloco durante a reconstrução completa dos rankings
+     */
+    private int rebuildChunkSize = 1000;
+
+    /**
+     * Threads da reconstrução completa (0 = quantidade de processadores disponíveis)
+     */
+    private int rebuildParallelism = 0;
+
+    /**
+     * Intervalo da reconciliação das estatísticas por divisão com o banco
+     */
+    private long statsReconcileIntervalMs = 300000;
+}
@@ -1,5 +1,7 @@
 package com.fiap.projects.apipassabola.config;
 
+import com.fiap.projects.apipassabola.service.PresenceService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
@@ -13,13 +15,14 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * WebSocket event listener to track connected users and subscriptions
+ * Connected users are indexed by PresenceService
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class WebSocketEventListener {
 
-    // Track active sessions: sessionId -> email
-    private final Map<String, String> activeSessions = new ConcurrentHashMap<>();
+    private final PresenceService presenceService;
     
     // Track subscriptions: sessionId -> destination
     private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
@@ -30,22 +33,22 @@ public class WebSocketEventListener {
         String sessionId = headerAccessor.getSessionId();
         String username = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : "ANONYMOUS";
         
-        activeSessions.put(sessionId, username);
+        if (headerAccessor.getUser() != null) {
+            presenceService.sessionConnected(sessionId, username);
+        }
         
         log.info("🟢 [WebSocket] User CONNECTED: {} (sessionId: {})", username, sessionId);
-        log.info("📊 [WebSocket] Total active sessions: {}", activeSessions.size());
-        log.info("👥 [WebSocket] Connected users: {}", activeSessions.values());
     }
 
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
-        String username = activeSessions.remove(sessionId);
+        String username = headerAccessor.getUser() != null ? headerAccessor.getUser().getName() : "ANONYMOUS";
+        presenceService.sessionDisconnected(sessionId);
         subscriptions.remove(sessionId);
         
         log.info("🔴 [WebSocket] User DISCONNECTED: {} (sessionId: {})", username, sessionId);
-        log.info("📊 [WebSocket] Total active sessions: {}", activeSessions.size());
     }
 
     @EventListener
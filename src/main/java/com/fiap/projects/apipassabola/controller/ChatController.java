@@ -137,14 +137,21 @@ public class ChatController {
     }
 
     /**
-     * Get conversation history with another user (universal)
-     * GET /api/chat/conversation/{otherUserId}
+     * Get conversation history with another user (universal), oldest first
+     * GET /api/chat/conversation/{otherUserId}?limit=50 - latest messages
+     * GET /api/chat/conversation/{otherUserId}?before={messageId} - older messages
+     * GET /api/chat/conversation/{otherUserId}?after={messageId} - new messages since the last sync
      */
     @GetMapping("/conversation/{otherUserId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ChatMessageResponse>> getConversation(@PathVariable String otherUserId) {
+    public ResponseEntity<List<ChatMessageResponse>> getConversation(
+            @PathVariable String otherUserId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         Long otherUserIdLong = Long.parseLong(otherUserId);
-        List<ChatMessageResponse> messages = chatMessageService.getConversation(otherUserIdLong);
+        List<ChatMessageResponse> messages = chatMessageService.getConversation(
+                otherUserIdLong, parseId(before), parseId(after), limit);
         return ResponseEntity.ok(messages);
     }
 
@@ -175,13 +182,15 @@ public class ChatController {
     }
 
     /**
-     * Get all conversations
-     * GET /api/chat/conversations
+     * Get conversations, most recent first
+     * GET /api/chat/conversations?before={lastMessageId}&limit=50
      */
     @GetMapping("/conversations")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ConversationResponse>> getConversations() {
-        List<ConversationResponse> conversations = chatMessageService.getConversations();
+    public ResponseEntity<List<ConversationResponse>> getConversations(
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer limit) {
+        List<ConversationResponse> conversations = chatMessageService.getConversations(parseId(before), limit);
         return ResponseEntity.ok(conversations);
     }
 
@@ -197,13 +206,18 @@ public class ChatController {
     }
 
     /**
-     * Get unread messages
-     * GET /api/chat/unread
+     * Get the most recent unread messages
+     * GET /api/chat/unread?limit=50
      */
     @GetMapping("/unread")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ChatMessageResponse>> getUnreadMessages() {
-        List<ChatMessageResponse> messages = chatMessageService.getUnreadMessages();
+    public ResponseEntity<List<ChatMessageResponse>> getUnreadMessages(@RequestParam(required = false) Integer limit) {
+        List<ChatMessageResponse> messages = chatMessageService.getUnreadMessages(limit);
         return ResponseEntity.ok(messages);
     }
+
+    // Ids travel as strings (snowflake ids exceed the JavaScript number range)
+    private static Long parseId(String id) {
+        return id != null && !id.isBlank() ? Long.parseLong(id) : null;
+    }
 }
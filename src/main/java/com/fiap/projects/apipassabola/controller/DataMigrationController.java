@@ -0,0 +1,42 @@
+package com.fiap.projects.apipassabola.controller;
+
+import com.fiap.projects.apipassabola.dto.response.DataMigrationStatusResponse;
+import com.fiap.projects.apipassabola.migration.DataMigrationRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller das migrações de dados (preenchimento de contadores e tabelas derivadas)
+ * Restrito aos operadores da plataforma (operators.emails)
+ */
+@RestController
+@RequestMapping("/api/migrations")
+@RequiredArgsConstructor
+@PreAuthorize("@operatorAccess.isOperator(authentication)")
+public class DataMigrationController {
+    
+    private final DataMigrationRunner dataMigrationRunner;
+    
+    /**
+     * Migrações conhecidas e se já foram aplicadas
+     * GET /api/migrations
+     */
+    @GetMapping
+    public ResponseEntity<List<DataMigrationStatusResponse>> getStatus() {
+        return ResponseEntity.ok(dataMigrationRunner.getStatus());
+    }
+    
+    /**
+     * Aplica as migrações pendentes (quando migrations.run-on-startup=false ou após uma falha)
+     * POST /api/migrations/run
+     */
+    @PostMapping("/run")
+    public ResponseEntity<List<DataMigrationStatusResponse>> runPending() {
+        dataMigrationRunner.runPending();
+        return ResponseEntity.ok(dataMigrationRunner.getStatus());
+    }
+}
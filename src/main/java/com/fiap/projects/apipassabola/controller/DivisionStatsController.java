@@ -0,0 +1,29 @@
+package com.fiap.projects.apipassabola.controller;
+
+import com.fiap.projects.apipassabola.dto.response.DivisionStatsResponse;
+import com.fiap.projects.apipassabola.service.RankingLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller das estatísticas de rankings por divisão
+ */
+@RestController
+@RequestMapping("/api/rankings/divisions")
+@RequiredArgsConstructor
+public class DivisionStatsController {
+    
+    private final RankingLeaderboardService rankingLeaderboardService;
+    
+    /**
+     * Quantidade, média e distribuição de pontos de jogadoras e times em cada divisão
+     * GET /api/rankings/divisions/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<DivisionStatsResponse>> getDivisionStats() {
+        return ResponseEntity.ok(rankingLeaderboardService.getDivisionStats());
+    }
+}
@@ -8,6 +8,8 @@ import com.fiap.projects.apipassabola.dto.request.FriendlyGameUpdateRequest;
 import com.fiap.projects.apipassabola.dto.request.ChampionshipGameUpdateRequest;
 import com.fiap.projects.apipassabola.dto.request.CupGameUpdateRequest;
 import com.fiap.projects.apipassabola.dto.request.FinishGameRequest;
+import com.fiap.projects.apipassabola.dto.request.ResponseView;
+import com.fiap.projects.apipassabola.dto.response.CursorPageResponse;
 import com.fiap.projects.apipassabola.dto.response.GameResponse;
 import com.fiap.projects.apipassabola.entity.Game;
 import com.fiap.projects.apipassabola.entity.GameType;
@@ -37,9 +39,17 @@ public class GameController {
     private final GameService gameService;
     private final GameVideoService gameVideoService;
     
+    /**
+     * Lists games. Use view=summary for list screens: returns player/spectator counters
+     * instead of the full team1Players/team2Players lists
+     */
     @GetMapping
-    public ResponseEntity<Page<GameResponse>> getAllGames(
+    public ResponseEntity<Page<?>> getAllGames(
+            @RequestParam(defaultValue = "full") String view,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (ResponseView.from(view) == ResponseView.SUMMARY) {
+            return ResponseEntity.ok(gameService.findAllSummaries(pageable));
+        }
         Page<GameResponse> games = gameService.findAll(pageable);
         return ResponseEntity.ok(games);
     }
@@ -59,9 +69,13 @@ public class GameController {
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<Page<GameResponse>> getGamesByStatus(
+    public ResponseEntity<Page<?>> getGamesByStatus(
             @PathVariable Game.GameStatus status,
+            @RequestParam(defaultValue = "full") String view,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (ResponseView.from(view) == ResponseView.SUMMARY) {
+            return ResponseEntity.ok(gameService.findSummariesByStatus(status, pageable));
+        }
         Page<GameResponse> games = gameService.findByStatus(status, pageable);
         return ResponseEntity.ok(games);
     }
@@ -84,13 +98,37 @@ public class GameController {
     }
     
     @GetMapping("/type/{gameType}")
-    public ResponseEntity<Page<GameResponse>> getGamesByType(
+    public ResponseEntity<Page<?>> getGamesByType(
             @PathVariable GameType gameType,
+            @RequestParam(defaultValue = "full") String view,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (ResponseView.from(view) == ResponseView.SUMMARY) {
+            return ResponseEntity.ok(gameService.findSummariesByGameType(gameType, pageable));
+        }
         Page<GameResponse> games = gameService.findByGameType(gameType, pageable);
         return ResponseEntity.ok(games);
     }
     
+    @GetMapping("/friendly-championship")
+    public ResponseEntity<Page<GameResponse>> getFriendlyAndChampionshipGames(
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<GameResponse> games = gameService.findFriendlyAndChampionshipGames(pageable);
+        return ResponseEntity.ok(games);
+    }
+    
+    /**
+     * Lista jogos FRIENDLY e CHAMPIONSHIP em ordem cronológica com paginação por cursor
+     * GET /api/games/friendly-championship/feed?from=2025-01-01T00:00:00&size=20
+     * GET /api/games/friendly-championship/feed?cursor={nextCursor}
+     */
+    @GetMapping("/friendly-championship/feed")
+    public ResponseEntity<CursorPageResponse<GameResponse>> getFriendlyAndChampionshipGamesFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(gameService.findFriendlyAndChampionshipGames(cursor, from, size));
+    }
+    
     @GetMapping("/host/{hostId}")
     public ResponseEntity<Page<GameResponse>> getGamesByHost(
             @PathVariable Long hostId,
@@ -1,7 +1,10 @@
 package com.fiap.projects.apipassabola.controller;
 
 import com.fiap.projects.apipassabola.dto.response.GoalResponse;
+import com.fiap.projects.apipassabola.dto.response.TopScorersResponse;
+import com.fiap.projects.apipassabola.entity.PlayerGoalCounter;
 import com.fiap.projects.apipassabola.service.GoalService;
+import com.fiap.projects.apipassabola.service.TopScorerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +21,7 @@ import java.util.List;
 public class GoalController {
     
     private final GoalService goalService;
+    private final TopScorerService topScorerService;
     
     /**
      * Busca todos os gols de um jogo
@@ -48,4 +52,39 @@ public class GoalController {
         Long count = goalService.countGoalsByPlayer(playerId);
         return ResponseEntity.ok(count);
     }
+    
+    /**
+     * Artilharia geral
+     * GET /api/goals/top-scorers?size=10
+     * Atualizações ao vivo: /topic/goals/top-scorers/overall
+     */
+    @GetMapping("/top-scorers")
+    public ResponseEntity<TopScorersResponse> getTopScorers(
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(topScorerService.getTopScorers(PlayerGoalCounter.Scope.OVERALL, null, size));
+    }
+    
+    /**
+     * Artilharia da temporada em andamento, ou de uma temporada encerrada
+     * GET /api/goals/top-scorers/season?seasonId=1&size=10
+     * Atualizações ao vivo (temporada em andamento): /topic/goals/top-scorers/season
+     */
+    @GetMapping("/top-scorers/season")
+    public ResponseEntity<TopScorersResponse> getSeasonTopScorers(
+            @RequestParam(required = false) Long seasonId,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(topScorerService.getTopScorers(PlayerGoalCounter.Scope.SEASON, seasonId, size));
+    }
+    
+    /**
+     * Artilharia de um torneio
+     * GET /api/goals/top-scorers/tournament/{tournamentId}?size=10
+     * Atualizações ao vivo: /topic/goals/top-scorers/tournament/{tournamentId}
+     */
+    @GetMapping("/top-scorers/tournament/{tournamentId}")
+    public ResponseEntity<TopScorersResponse> getTournamentTopScorers(
+            @PathVariable Long tournamentId,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(topScorerService.getTopScorers(PlayerGoalCounter.Scope.TOURNAMENT, tournamentId, size));
+    }
 }
@@ -1,7 +1,9 @@
 package com.fiap.projects.apipassabola.controller;
 
 import com.fiap.projects.apipassabola.dto.NotificationResponse;
+import com.fiap.projects.apipassabola.dto.response.NotificationDispatchStatusResponse;
 import com.fiap.projects.apipassabola.entity.UserType;
+import com.fiap.projects.apipassabola.service.NotificationDispatcherService;
 import com.fiap.projects.apipassabola.service.NotificationService;
 import com.fiap.projects.apipassabola.service.UserContextService;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +35,7 @@ public class NotificationController {
     private final Logger log = LoggerFactory.getLogger(this.getClass());
     
     private final NotificationService notificationService;
+    private final NotificationDispatcherService notificationDispatcherService;
     private final UserContextService userContextService;
     
     /**
@@ -112,6 +115,16 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
     
+    /**
+     * Situação do envio assíncrono: fila pendente, atraso e latência das entregas
+     * GET /api/notifications/dispatch/status
+     */
+    @GetMapping("/dispatch/status")
+    @PreAuthorize("hasRole('ORGANIZATION')")
+    public ResponseEntity<NotificationDispatchStatusResponse> getDispatchStatus() {
+        return ResponseEntity.ok(notificationDispatcherService.getStatus());
+    }
+    
     /**
      * Marcar notificação como lida
      * Retorna 200 OK mesmo se a notificação não existir (graceful degradation)
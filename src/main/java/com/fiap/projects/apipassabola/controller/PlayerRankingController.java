@@ -1,15 +1,20 @@
 package com.fiap.projects.apipassabola.controller;
 
 import com.fiap.projects.apipassabola.dto.response.PlayerRankingResponse;
+import com.fiap.projects.apipassabola.dto.response.SeasonRankingEntryResponse;
 import com.fiap.projects.apipassabola.entity.Division;
 import com.fiap.projects.apipassabola.service.PlayerRankingService;
+import com.fiap.projects.apipassabola.service.RankingSeasonService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Controller para gerenciar rankings de jogadoras
  */
@@ -18,7 +23,11 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PlayerRankingController {
     
+    // Temporadas encerradas nunca mudam: as respostas do arquivo podem ficar em cache
+    private static final CacheControl ARCHIVED_SEASON_CACHE = CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic();
+    
     private final PlayerRankingService playerRankingService;
+    private final RankingSeasonService rankingSeasonService;
     
     /**
      * Busca ranking de uma jogadora específica
@@ -98,4 +107,50 @@ public class PlayerRankingController {
         Page<PlayerRankingResponse> rankings = playerRankingService.getPlayersByWinRate(minGames, pageable);
         return ResponseEntity.ok(rankings);
     }
+    
+    // ========== TEMPORADAS ENCERRADAS ==========
+    
+    /**
+     * Busca ranking arquivado de jogadoras de uma temporada encerrada
+     * GET /api/rankings/players/seasons/{seasonId}?page=0&size=50
+     */
+    @GetMapping("/seasons/{seasonId}")
+    public ResponseEntity<Page<SeasonRankingEntryResponse>> getSeasonRanking(
+            @PathVariable Long seasonId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        Pageable pageable = PageRequest.of(page, size);
+        Page<SeasonRankingEntryResponse> rankings = rankingSeasonService.getPlayerSeasonRanking(seasonId, null, pageable);
+        return ResponseEntity.ok().cacheControl(ARCHIVED_SEASON_CACHE).body(rankings);
+    }
+    
+    /**
+     * Busca ranking arquivado por divisão de uma temporada encerrada
+     * GET /api/rankings/players/seasons/{seasonId}/division/{division}?page=0&size=50
+     */
+    @GetMapping("/seasons/{seasonId}/division/{division}")
+    public ResponseEntity<Page<SeasonRankingEntryResponse>> getSeasonRankingByDivision(
+            @PathVariable Long seasonId,
+            @PathVariable Division division,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        Pageable pageable = PageRequest.of(page, size);
+        Page<SeasonRankingEntryResponse> rankings = rankingSeasonService.getPlayerSeasonRanking(seasonId, division, pageable);
+        return ResponseEntity.ok().cacheControl(ARCHIVED_SEASON_CACHE).body(rankings);
+    }
+    
+    /**
+     * Busca posição de uma jogadora em uma temporada encerrada
+     * GET /api/rankings/players/seasons/{seasonId}/{playerId}
+     */
+    @GetMapping("/seasons/{seasonId}/{playerId}")
+    public ResponseEntity<SeasonRankingEntryResponse> getSeasonEntry(
+            @PathVariable Long seasonId,
+            @PathVariable Long playerId) {
+        
+        SeasonRankingEntryResponse entry = rankingSeasonService.getPlayerSeasonEntry(seasonId, playerId);
+        return ResponseEntity.ok().cacheControl(ARCHIVED_SEASON_CACHE).body(entry);
+    }
 }
@@ -1,6 +1,7 @@
 package com.fiap.projects.apipassabola.controller;
 
 import com.fiap.projects.apipassabola.dto.request.PostRequest;
+import com.fiap.projects.apipassabola.dto.request.ResponseView;
 import com.fiap.projects.apipassabola.dto.response.PostResponse;
 import com.fiap.projects.apipassabola.dto.response.PostLikeResponse;
 import com.fiap.projects.apipassabola.entity.Post;
@@ -27,9 +28,17 @@ public class PostController {
     private final PostService postService;
     private final PostLikeService postLikeService;
     
+    /**
+     * Lists posts. Use view=summary for list screens: returns author, content snippet and counters
+     * without recent likes/comments
+     */
     @GetMapping
-    public ResponseEntity<Page<PostResponse>> getAllPosts(
+    public ResponseEntity<Page<?>> getAllPosts(
+            @RequestParam(defaultValue = "full") String view,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (ResponseView.from(view) == ResponseView.SUMMARY) {
+            return ResponseEntity.ok(postService.findAllSummaries(pageable));
+        }
         Page<PostResponse> posts = postService.findAll(pageable);
         return ResponseEntity.ok(posts);
     }
@@ -49,9 +58,13 @@ public class PostController {
     }
     
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<Page<PostResponse>> getPostsByAuthor(
+    public ResponseEntity<Page<?>> getPostsByAuthor(
             @PathVariable Long authorId,
+            @RequestParam(defaultValue = "full") String view,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (ResponseView.from(view) == ResponseView.SUMMARY) {
+            return ResponseEntity.ok(postService.findSummariesByAuthor(authorId, pageable));
+        }
         Page<PostResponse> posts = postService.findByAuthor(authorId, pageable);
         return ResponseEntity.ok(posts);
     }
@@ -73,9 +86,13 @@ public class PostController {
     }
     
     @GetMapping("/type/{type}")
-    public ResponseEntity<Page<PostResponse>> getPostsByType(
+    public ResponseEntity<Page<?>> getPostsByType(
             @PathVariable Post.PostType type,
+            @RequestParam(defaultValue = "full") String view,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (ResponseView.from(view) == ResponseView.SUMMARY) {
+            return ResponseEntity.ok(postService.findSummariesByType(type, pageable));
+        }
         Page<PostResponse> posts = postService.findByType(type, pageable);
         return ResponseEntity.ok(posts);
     }
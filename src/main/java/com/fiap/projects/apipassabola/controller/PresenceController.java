@@ -0,0 +1,49 @@
+package com.fiap.projects.apipassabola.controller;
+
+import com.fiap.projects.apipassabola.config.PresenceProperties;
+import com.fiap.projects.apipassabola.dto.response.PresenceResponse;
+import com.fiap.projects.apipassabola.exception.ValidationException;
+import com.fiap.projects.apipassabola.service.PresenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Presence (online/offline) of users connected over WebSocket
+ * Changes are also pushed to /topic/presence/{userId}
+ */
+@RestController
+@RequestMapping("/api/presence")
+@RequiredArgsConstructor
+public class PresenceController {
+
+    private final PresenceService presenceService;
+    private final PresenceProperties presenceProperties;
+
+    /**
+     * Presence of several users
+     * GET /api/presence?userIds=1,2,3
+     */
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<PresenceResponse>> getPresence(@RequestParam List<String> userIds) {
+        if (userIds.size() > presenceProperties.getMaxLookup()) {
+            throw new ValidationException("At most " + presenceProperties.getMaxLookup() + " userIds per request");
+        }
+        List<Long> ids = userIds.stream().map(Long::parseLong).toList();
+        return ResponseEntity.ok(presenceService.getPresence(ids));
+    }
+
+    /**
+     * Presence of one user
+     * GET /api/presence/{userId}
+     */
+    @GetMapping("/{userId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PresenceResponse> getUserPresence(@PathVariable String userId) {
+        return ResponseEntity.ok(presenceService.getPresence(Long.parseLong(userId)));
+    }
+}
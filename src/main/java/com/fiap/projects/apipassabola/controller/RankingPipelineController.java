@@ -0,0 +1,29 @@
+package com.fiap.projects.apipassabola.controller;
+
+import com.fiap.projects.apipassabola.dto.response.RankingPipelineStatusResponse;
+import com.fiap.projects.apipassabola.service.RankingPipelineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller para acompanhar o processamento assíncrono dos rankings
+ */
+@RestController
+@RequestMapping("/api/rankings/pipeline")
+@RequiredArgsConstructor
+public class RankingPipelineController {
+    
+    private final RankingPipelineService rankingPipelineService;
+    
+    /**
+     * Eventos pendentes, atraso de processamento e fila de cada partição
+     * GET /api/rankings/pipeline/status
+     */
+    @GetMapping("/status")
+    @PreAuthorize("hasRole('ORGANIZATION')")
+    public ResponseEntity<RankingPipelineStatusResponse> getStatus() {
+        return ResponseEntity.ok(rankingPipelineService.getStatus());
+    }
+}
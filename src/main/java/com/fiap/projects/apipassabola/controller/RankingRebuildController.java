@@ -0,0 +1,40 @@
+package com.fiap.projects.apipassabola.controller;
+
+import com.fiap.projects.apipassabola.dto.response.RankingRebuildStatusResponse;
+import com.fiap.projects.apipassabola.service.RankingRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller da reconstrução completa dos rankings a partir do histórico de jogos
+ */
+@RestController
+@RequestMapping("/api/rankings/rebuild")
+@RequiredArgsConstructor
+public class RankingRebuildController {
+    
+    private final RankingRebuildService rankingRebuildService;
+    
+    /**
+     * Inicia a reconstrução em background
+     * Pausa o pipeline e reescreve todos os rankings: restrito aos operadores (operators.emails)
+     * POST /api/rankings/rebuild
+     */
+    @PostMapping
+    @PreAuthorize("@operatorAccess.isOperator(authentication)")
+    public ResponseEntity<RankingRebuildStatusResponse> startRebuild() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rankingRebuildService.startRebuild());
+    }
+    
+    /**
+     * Progresso da reconstrução atual (ou da última executada)
+     * GET /api/rankings/rebuild/status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<RankingRebuildStatusResponse> getStatus() {
+        return ResponseEntity.ok(rankingRebuildService.getStatus());
+    }
+}
@@ -0,0 +1,45 @@
+package com.fiap.projects.apipassabola.controller;
+
+import com.fiap.projects.apipassabola.dto.request.CloseSeasonRequest;
+import com.fiap.projects.apipassabola.dto.response.RankingSeasonResponse;
+import com.fiap.projects.apipassabola.service.RankingSeasonService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller das temporadas de ranking
+ * Os leaderboards arquivados ficam em /api/rankings/players/seasons e /api/rankings/teams/seasons
+ */
+@RestController
+@RequestMapping("/api/rankings/seasons")
+@RequiredArgsConstructor
+public class RankingSeasonController {
+    
+    private final RankingSeasonService rankingSeasonService;
+    
+    /**
+     * Lista as temporadas encerradas (mais recente primeiro)
+     * GET /api/rankings/seasons
+     */
+    @GetMapping
+    public ResponseEntity<List<RankingSeasonResponse>> getSeasons() {
+        return ResponseEntity.ok(rankingSeasonService.getSeasons());
+    }
+    
+    /**
+     * Encerra a temporada em andamento: arquiva os rankings e zera os contadores
+     * Irreversível e vale para toda a plataforma: restrito aos operadores (operators.emails)
+     * POST /api/rankings/seasons/close
+     */
+    @PostMapping("/close")
+    @PreAuthorize("@operatorAccess.isOperator(authentication)")
+    public ResponseEntity<RankingSeasonResponse> closeSeason(@Valid @RequestBody CloseSeasonRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(rankingSeasonService.closeSeason(request.getName()));
+    }
+}
@@ -1,15 +1,20 @@
 package com.fiap.projects.apipassabola.controller;
 
+import com.fiap.projects.apipassabola.dto.response.SeasonRankingEntryResponse;
 import com.fiap.projects.apipassabola.dto.response.TeamRankingResponse;
 import com.fiap.projects.apipassabola.entity.Division;
+import com.fiap.projects.apipassabola.service.RankingSeasonService;
 import com.fiap.projects.apipassabola.service.TeamRankingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Controller para gerenciar rankings de times
  */
@@ -18,7 +23,11 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class TeamRankingController {
     
+    // Temporadas encerradas nunca mudam: as respostas do arquivo podem ficar em cache
+    private static final CacheControl ARCHIVED_SEASON_CACHE = CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic();
+    
     private final TeamRankingService teamRankingService;
+    private final RankingSeasonService rankingSeasonService;
     
     /**
      * Busca ranking de um time específico
@@ -98,4 +107,50 @@ public class TeamRankingController {
         Page<TeamRankingResponse> rankings = teamRankingService.getTeamsByWinRate(minGames, pageable);
         return ResponseEntity.ok(rankings);
     }
+    
+    // ========== TEMPORADAS ENCERRADAS ==========
+    
+    /**
+     * Busca ranking arquivado de times de uma temporada encerrada
+     * GET /api/rankings/teams/seasons/{seasonId}?page=0&size=50
+     */
+    @GetMapping("/seasons/{seasonId}")
+    public ResponseEntity<Page<SeasonRankingEntryResponse>> getSeasonRanking(
+            @PathVariable Long seasonId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        Pageable pageable = PageRequest.of(page, size);
+        Page<SeasonRankingEntryResponse> rankings = rankingSeasonService.getTeamSeasonRanking(seasonId, null, pageable);
+        return ResponseEntity.ok().cacheControl(ARCHIVED_SEASON_CACHE).body(rankings);
+    }
+    
+    /**
+     * Busca ranking arquivado por divisão de uma temporada encerrada
+     * GET /api/rankings/teams/seasons/{seasonId}/division/{division}?page=0&size=50
+     */
+    @GetMapping("/seasons/{seasonId}/division/{division}")
+    public ResponseEntity<Page<SeasonRankingEntryResponse>> getSeasonRankingByDivision(
+            @PathVariable Long seasonId,
+            @PathVariable Division division,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        Pageable pageable = PageRequest.of(page, size);
+        Page<SeasonRankingEntryResponse> rankings = rankingSeasonService.getTeamSeasonRanking(seasonId, division, pageable);
+        return ResponseEntity.ok().cacheControl(ARCHIVED_SEASON_CACHE).body(rankings);
+    }
+    
+    /**
+     * Busca posição de um time em uma temporada encerrada
+     * GET /api/rankings/teams/seasons/{seasonId}/{teamId}
+     */
+    @GetMapping("/seasons/{seasonId}/{teamId}")
+    public ResponseEntity<SeasonRankingEntryResponse> getSeasonEntry(
+            @PathVariable Long seasonId,
+            @PathVariable Long teamId) {
+        
+        SeasonRankingEntryResponse entry = rankingSeasonService.getTeamSeasonEntry(seasonId, teamId);
+        return ResponseEntity.ok().cacheControl(ARCHIVED_SEASON_CACHE).body(entry);
+    }
 }
@@ -4,8 +4,10 @@ import com.fiap.projects.apipassabola.dto.request.MatchResultRequest;
 import com.fiap.projects.apipassabola.dto.request.TournamentRequest;
 import com.fiap.projects.apipassabola.dto.response.TournamentMatchResponse;
 import com.fiap.projects.apipassabola.dto.response.TournamentResponse;
+import com.fiap.projects.apipassabola.dto.response.TournamentStandingResponse;
 import com.fiap.projects.apipassabola.dto.response.TournamentTeamResponse;
 import com.fiap.projects.apipassabola.entity.*;
+import com.fiap.projects.apipassabola.service.TournamentBracketService;
 import com.fiap.projects.apipassabola.service.TournamentService;
 import com.fiap.projects.apipassabola.service.UserContextService;
 import jakarta.validation.Valid;
@@ -13,10 +15,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +30,7 @@ import java.util.stream.Collectors;
 public class TournamentController {
     
     private final TournamentService tournamentService;
+    private final TournamentBracketService tournamentBracketService;
     private final UserContextService userContextService;
     
     /**
@@ -51,6 +56,11 @@ public class TournamentController {
         tournament.setVenue(request.getVenue());
         tournament.setStartDate(request.getStartDate());
         tournament.setMaxTeams(request.getMaxTeams());
+        tournament.setBracketFormat(request.getBracketFormat());
+        tournament.setGroupSize(request.getGroupSize());
+        tournament.setQualifiersPerGroup(request.getQualifiersPerGroup());
+        tournament.setRestDays(request.getRestDays());
+        tournament.setMatchesPerDay(request.getMatchesPerDay());
         tournament.setCreatorId(currentUser.getUserId());
         tournament.setCreatorUsername(userContextService.getCurrentUsername());
         
@@ -149,13 +159,27 @@ public class TournamentController {
     
     /**
      * Listar todas as partidas do torneio
+     * Servido do snapshot do chaveamento (JSON já pronto, sem consultar o banco)
      */
     @GetMapping("/{tournamentId}/matches")
-    public ResponseEntity<List<TournamentMatchResponse>> getMatches(@PathVariable Long tournamentId) {
-        List<TournamentMatch> matches = tournamentService.getMatches(tournamentId);
-        return ResponseEntity.ok(matches.stream()
-            .map(this::convertToMatchResponse)
-            .collect(Collectors.toList()));
+    public ResponseEntity<byte[]> getMatches(
+            @PathVariable Long tournamentId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        TournamentBracketService.BracketSnapshot snapshot = tournamentBracketService.getBracket(tournamentId);
+        return snapshotResponse(snapshot, snapshot.getMatchesJson(), ifNoneMatch);
+    }
+    
+    /**
+     * Chaveamento completo (versão + partidas)
+     * Atualizações chegam via WebSocket em /topic/tournaments/{tournamentId}; com If-None-Match igual à
+     * versão atual a resposta é 304 sem corpo.
+     */
+    @GetMapping("/{tournamentId}/bracket")
+    public ResponseEntity<byte[]> getBracket(
+            @PathVariable Long tournamentId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        TournamentBracketService.BracketSnapshot snapshot = tournamentBracketService.getBracket(tournamentId);
+        return snapshotResponse(snapshot, snapshot.getBracketJson(), ifNoneMatch);
     }
     
     /**
@@ -172,6 +196,19 @@ public class TournamentController {
             .collect(Collectors.toList()));
     }
     
+    /**
+     * Classificação dos pontos corridos
+     */
+    @GetMapping("/{tournamentId}/standings")
+    public ResponseEntity<List<TournamentStandingResponse>> getStandings(@PathVariable Long tournamentId) {
+        List<TournamentTeam> standings = tournamentService.getStandings(tournamentId);
+        List<TournamentStandingResponse> response = new ArrayList<>(standings.size());
+        for (int i = 0; i < standings.size(); i++) {
+            response.add(convertToStandingResponse(standings.get(i), i + 1));
+        }
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Atualizar resultado de uma partida
      * Apenas o criador do torneio pode atualizar resultados
@@ -191,6 +228,18 @@ public class TournamentController {
         return ResponseEntity.ok(convertToMatchResponse(match));
     }
     
+    private ResponseEntity<byte[]> snapshotResponse(TournamentBracketService.BracketSnapshot snapshot, byte[] json,
+                                                    String ifNoneMatch) {
+        String etag = "\"" + snapshot.getVersion() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(json);
+    }
+    
     // Métodos de conversão
     
     private TournamentResponse convertToResponse(Tournament tournament) {
@@ -207,6 +256,11 @@ public class TournamentController {
         response.setEndDate(tournament.getEndDate());
         response.setTotalTeams(tournament.getTotalTeams());
         response.setMaxTeams(tournament.getMaxTeams());
+        response.setBracketFormat(tournament.getBracketFormatOrDefault());
+        response.setGroupSize(tournament.getGroupSize());
+        response.setQualifiersPerGroup(tournament.getQualifiersPerGroup());
+        response.setRestDays(tournament.getRestDays());
+        response.setMatchesPerDay(tournament.getMatchesPerDay());
         response.setCurrentRound(tournament.getCurrentRound());
         response.setBracketGenerated(tournament.getBracketGenerated());
         response.setCreatedAt(tournament.getCreatedAt());
@@ -223,10 +277,7 @@ public class TournamentController {
             .map(this::convertToTeamResponse)
             .collect(Collectors.toList()));
         
-        List<TournamentMatch> matches = tournamentService.getMatches(tournament.getId());
-        response.setMatches(matches.stream()
-            .map(this::convertToMatchResponse)
-            .collect(Collectors.toList()));
+        response.setMatches(tournamentBracketService.getBracket(tournament.getId()).getMatches());
         
         return response;
     }
@@ -243,43 +294,23 @@ public class TournamentController {
         return response;
     }
     
-    private TournamentMatchResponse convertToMatchResponse(TournamentMatch match) {
-        TournamentMatchResponse response = new TournamentMatchResponse();
-        response.setId(match.getId());
-        response.setTournamentId(match.getTournament().getId());
-        response.setRound(match.getRound());
-        response.setMatchNumber(match.getMatchNumber());
-        
-        if (match.getTeam1() != null) {
-            response.setTeam1Id(match.getTeam1().getId());
-            response.setTeam1Name(match.getTeam1().getNameTeam());
-        }
-        
-        if (match.getTeam2() != null) {
-            response.setTeam2Id(match.getTeam2().getId());
-            response.setTeam2Name(match.getTeam2().getNameTeam());
-        }
-        
-        response.setTeam1Score(match.getTeam1Score());
-        response.setTeam2Score(match.getTeam2Score());
-        
-        if (match.getWinner() != null) {
-            response.setWinnerId(match.getWinner().getId());
-            response.setWinnerName(match.getWinner().getNameTeam());
-        }
-        
-        response.setStatus(match.getStatus());
-        response.setScheduledDate(match.getScheduledDate());
-        response.setBracketPosition(match.getBracketPosition());
-        response.setNextMatchId(match.getNextMatchId());
-        
-        if (match.getGame() != null) {
-            response.setGameId(match.getGame().getId());
-        }
-        
-        response.setCreatedAt(match.getCreatedAt());
-        response.setUpdatedAt(match.getUpdatedAt());
-        
+    private TournamentStandingResponse convertToStandingResponse(TournamentTeam tournamentTeam, int position) {
+        TournamentStandingResponse response = new TournamentStandingResponse();
+        response.setPosition(position);
+        response.setTeamId(tournamentTeam.getTeam().getId());
+        response.setTeamName(tournamentTeam.getTeam().getNameTeam());
+        response.setMatchesPlayed(tournamentTeam.getMatchesPlayed());
+        response.setWins(tournamentTeam.getWins());
+        response.setDraws(tournamentTeam.getDraws());
+        response.setLosses(tournamentTeam.getLosses());
+        response.setGoalsFor(tournamentTeam.getGoalsFor());
+        response.setGoalsAgainst(tournamentTeam.getGoalsAgainst());
+        response.setGoalDifference(tournamentTeam.getGoalDifference());
+        response.setPoints(tournamentTeam.getPoints());
         return response;
     }
+    
+    private TournamentMatchResponse convertToMatchResponse(TournamentMatch match) {
+        return tournamentBracketService.toMatchResponse(match);
+    }
 }
@@ -35,6 +35,10 @@ public class NotificationResponse {
     private String metadata;
     private String actionUrl;
     
+    // Agrupamento (actorCount > 1 quando várias pessoas fizeram a mesma ação)
+    private Integer actorCount;
+    private String recentActors;
+    
     // Status
     private Boolean isRead;
     private LocalDateTime createdAt;
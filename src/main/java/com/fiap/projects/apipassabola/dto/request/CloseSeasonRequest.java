@@ -0,0 +1,19 @@
+package com.fiap.projects.apipassabola.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO para encerrar a temporada de ranking em andamento
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CloseSeasonRequest {
+    
+    @NotBlank(message = "Season name is required")
+    @Size(max = 100, message = "Season name cannot exceed 100 characters")
+    private String name;
+}
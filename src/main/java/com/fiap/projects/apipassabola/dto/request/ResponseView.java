@@ -0,0 +1,13 @@
+package com.fiap.projects.apipassabola.dto.request;
+
+/**
+ * Response shape requested by list endpoints through the "view" query parameter
+ * SUMMARY returns lightweight projections; FULL (default) returns the complete response
+ */
+public enum ResponseView {
+    SUMMARY, FULL;
+    
+    public static ResponseView from(String value) {
+        return value != null && value.trim().equalsIgnoreCase("summary") ? SUMMARY : FULL;
+    }
+}
@@ -1,6 +1,7 @@
 package com.fiap.projects.apipassabola.dto.request;
 
 import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Tournament;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Min;
@@ -25,5 +26,19 @@ public class TournamentRequest {
     private LocalDateTime startDate;
     
     @Min(value = 2, message = "Número máximo de times deve ser no mínimo 2")
-    private Integer maxTeams; // Será ajustado para próxima potência de 2
+    private Integer maxTeams; // Qualquer quantidade: vagas que faltam viram byes no chaveamento
+    
+    private Tournament.BracketFormat bracketFormat; // Padrão: SINGLE_ELIMINATION
+    
+    @Min(value = 2, message = "Grupos devem ter no mínimo 2 times")
+    private Integer groupSize; // GROUPS_KNOCKOUT (padrão 4)
+    
+    @Min(value = 1, message = "Cada grupo deve classificar ao menos 1 time")
+    private Integer qualifiersPerGroup; // GROUPS_KNOCKOUT (padrão 2)
+    
+    @Min(value = 0, message = "Dias de descanso não podem ser negativos")
+    private Integer restDays; // ROUND_ROBIN / DOUBLE_ROUND_ROBIN (padrão 2)
+    
+    @Min(value = 1, message = "O local deve comportar ao menos 1 jogo por dia")
+    private Integer matchesPerDay; // ROUND_ROBIN / DOUBLE_ROUND_ROBIN (padrão: sem limite)
 }
@@ -26,6 +26,11 @@ public class ConversationResponse {
     private String otherProfilePhotoUrl;
     private String lastMessage;
     private LocalDateTime lastMessageTime;
+
+    // Cursor for the next page of conversations (?before=)
+    @JsonSerialize(using = ToStringSerializer.class)
+    @JsonDeserialize(using = StringToLongDeserializer.class)
+    private Long lastMessageId;
     
     @JsonSerialize(using = ToStringSerializer.class)
     @JsonDeserialize(using = StringToLongDeserializer.class)
@@ -0,0 +1,21 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated slice: pass nextCursor back as the "cursor" parameter to fetch the next slice
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // null when there are no more items
+}
@@ -0,0 +1,22 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação de uma migração de dados (GET /api/migrations)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataMigrationStatusResponse {
+    
+    private String name;
+    private boolean applied;
+    private LocalDateTime appliedAt; // null se pendente
+    private Long durationMs;
+    private String lastError; // erro da última tentativa nesta execução da aplicação
+}
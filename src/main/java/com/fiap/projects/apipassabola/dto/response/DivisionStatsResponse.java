@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,4 +18,8 @@ public class DivisionStatsResponse {
     private Integer maxPoints;
     private Long totalPlayers;
     private Long totalTeams;
+    private Double averagePlayerPoints;
+    private Double averageTeamPoints;
+    private List<PointsBucketResponse> playerDistribution;
+    private List<PointsBucketResponse> teamDistribution;
 }
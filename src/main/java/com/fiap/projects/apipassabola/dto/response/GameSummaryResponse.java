@@ -1,22 +1,34 @@
 package com.fiap.projects.apipassabola.dto.response;
 
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameType;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Lightweight game view for list screens (view=summary)
+ * Filled directly by a JPQL constructor projection: no participant lists, only the game's capacity counters
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class GameSummaryResponse {
     
     private Long id;
-    private String title;
-    private String description;
+    private GameType gameType;
+    private String gameName;
+    private String hostUsername;
     private LocalDateTime gameDate;
-    private String location;
-    private String homeTeamName;
-    private String awayTeamName;
-    private String status;
+    private String venue;
+    private String homeTeamName; // CUP games only
+    private String awayTeamName; // CUP games only
+    private Game.GameStatus status;
+    private Integer homeGoals;
+    private Integer awayGoals;
+    private Integer maxPlayers;
+    private Integer currentPlayerCount;
+    private Integer currentSpectatorCount;
 }
@@ -0,0 +1,25 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação do envio assíncrono de notificações (GET /api/notifications/dispatch/status)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDispatchStatusResponse {
+    
+    private long pendingDeliveries; // profundidade da fila (outbox)
+    private long failedDeliveries;
+    private LocalDateTime oldestPendingAt; // null quando não há entregas pendentes
+    private long lagMillis; // idade da entrega pendente mais antiga
+    private long deliveredSinceStartup;
+    private long averageLatencyMillis; // da gravação da notificação até o envio
+    private long maxLatencyMillis;
+    private LocalDateTime lastDeliveredAt;
+}
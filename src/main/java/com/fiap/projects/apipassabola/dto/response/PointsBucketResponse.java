@@ -0,0 +1,18 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Faixa do histograma de pontos de uma divisão
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsBucketResponse {
+    
+    private Integer fromPoints;
+    private Integer toPoints; // Integer.MAX_VALUE na última faixa (aberta)
+    private Long count;
+}
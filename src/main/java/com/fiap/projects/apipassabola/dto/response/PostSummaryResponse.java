@@ -1,21 +1,32 @@
 package com.fiap.projects.apipassabola.dto.response;
 
+import com.fiap.projects.apipassabola.entity.Post;
+import com.fiap.projects.apipassabola.entity.UserType;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Lightweight post view for list screens (view=summary)
+ * Filled directly by a JPQL constructor projection: author, content snippet and counters only
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostSummaryResponse {
     
     private Long id;
-    private String content;
-    private String imageUrl;
+    private Long authorId;
     private String authorUsername;
     private String authorName;
-    private String postType;
+    private UserType authorType;
+    private String content; // Snippet (first 280 characters)
+    private String imageUrl;
+    private Post.PostType type;
+    private Integer likes;
+    private Integer comments;
+    private Integer shares;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,28 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fiap.projects.apipassabola.util.StringToLongDeserializer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Presence of a user: online while at least one WebSocket session is connected
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceResponse {
+
+    @JsonSerialize(using = ToStringSerializer.class)
+    @JsonDeserialize(using = StringToLongDeserializer.class)
+    private Long userId;
+    private boolean online;
+    private int sessions;
+    // Now while online; the last disconnect otherwise (null if never connected since startup)
+    private LocalDateTime lastSeenAt;
+}
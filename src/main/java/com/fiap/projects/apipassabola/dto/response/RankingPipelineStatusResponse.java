@@ -0,0 +1,24 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Situação do pipeline assíncrono de rankings (GET /api/rankings/pipeline/status)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankingPipelineStatusResponse {
+    
+    private long pendingEvents;
+    private long failedEvents;
+    private LocalDateTime oldestPendingAt; // null quando não há eventos pendentes
+    private long lagMillis; // idade do evento pendente mais antigo
+    private LocalDateTime lastProcessedAt;
+    private List<Integer> partitionBacklog; // tarefas na fila de cada partição
+}
@@ -0,0 +1,26 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progresso da reconstrução completa dos rankings
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankingRebuildStatusResponse {
+    
+    private String state; // IDLE, RUNNING, COMPLETED, FAILED
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long totalGames;
+    private long processedGames;
+    private double progressPercent;
+    private long playersRebuilt;
+    private long teamsRebuilt;
+    private String error;
+}
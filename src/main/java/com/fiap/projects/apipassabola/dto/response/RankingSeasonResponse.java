@@ -0,0 +1,20 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankingSeasonResponse {
+    
+    private Long id;
+    private String name;
+    private LocalDateTime startedAt;
+    private LocalDateTime closedAt;
+    private Integer playersArchived;
+    private Integer teamsArchived;
+}
@@ -0,0 +1,33 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import com.fiap.projects.apipassabola.entity.Division;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posição de uma jogadora ou time no leaderboard arquivado de uma temporada
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeasonRankingEntryResponse {
+    
+    private Long seasonId;
+    private Long subjectId; // id da jogadora ou do time
+    private String name; // Nome no encerramento da temporada
+    private Integer totalPoints;
+    private Division division;
+    private String divisionName;
+    private Integer gamesWon;
+    private Integer gamesDrawn;
+    private Integer gamesLost;
+    private Integer totalGames;
+    private Double winRate;
+    private Integer bestStreak;
+    private Integer globalPosition;
+    private Integer divisionPosition;
+    private LocalDateTime lastGameDate;
+}
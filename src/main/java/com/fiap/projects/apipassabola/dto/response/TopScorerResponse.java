@@ -0,0 +1,17 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopScorerResponse {
+    
+    private Integer position;
+    private Long playerId;
+    private String playerName;
+    private String playerUsername;
+    private Integer goals;
+}
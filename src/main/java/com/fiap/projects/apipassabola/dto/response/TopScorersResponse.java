@@ -0,0 +1,21 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import com.fiap.projects.apipassabola.entity.PlayerGoalCounter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Artilharia de um escopo (também enviada via WebSocket quando o quadro muda)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopScorersResponse {
+    
+    private PlayerGoalCounter.Scope scope;
+    private Long scopeId; // id do torneio ou da temporada encerrada; 0 para geral e temporada em andamento
+    private List<TopScorerResponse> scorers;
+}
@@ -0,0 +1,23 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import com.fiap.projects.apipassabola.entity.Tournament;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Chaveamento completo de um torneio (snapshot servido a quem acompanha o torneio)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentBracketResponse {
+    
+    private Long tournamentId;
+    private Long version; // Muda a cada alteração do chaveamento (também usada como ETag)
+    private Tournament.TournamentStatus status;
+    private String currentRound;
+    private List<TournamentMatchResponse> matches;
+}
@@ -0,0 +1,27 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import com.fiap.projects.apipassabola.entity.Tournament;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Alteração do chaveamento enviada via WebSocket para /topic/tournaments/{id}
+ * Traz só as partidas que mudaram. Se previousVersion não for a versão que o cliente tem (ou reset
+ * vier true), o cliente deve buscar o chaveamento completo de novo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentBracketUpdate {
+    
+    private Long tournamentId;
+    private Long version;
+    private Long previousVersion; // null quando o servidor não tinha o chaveamento em cache
+    private boolean reset; // Chaveamento gerado de novo: descartar tudo
+    private Tournament.TournamentStatus status;
+    private String currentRound;
+    private List<TournamentMatchResponse> matches;
+}
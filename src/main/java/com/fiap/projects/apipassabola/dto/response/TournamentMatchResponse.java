@@ -12,6 +12,8 @@ public class TournamentMatchResponse {
     private Long tournamentId;
     private String round;
     private Integer matchNumber;
+    private TournamentMatch.Stage stage;
+    private Integer groupNumber; // Fase de grupos
     
     // Time 1
     private Long team1Id;
@@ -31,6 +33,11 @@ public class TournamentMatchResponse {
     private LocalDateTime scheduledDate;
     private Integer bracketPosition;
     private Long nextMatchId;
+    private Integer nextMatchSlot;
+    private Long loserNextMatchId; // Dupla eliminação
+    private Integer loserNextMatchSlot;
+    private Integer team1Qualifier; // Mata-mata após grupos: classificado esperado em cada lado
+    private Integer team2Qualifier;
     private Long gameId; // ID do jogo real se já foi criado
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
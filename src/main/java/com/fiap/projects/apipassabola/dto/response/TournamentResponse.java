@@ -22,6 +22,11 @@ public class TournamentResponse {
     private LocalDateTime endDate;
     private Integer totalTeams;
     private Integer maxTeams;
+    private Tournament.BracketFormat bracketFormat;
+    private Integer groupSize;
+    private Integer qualifiersPerGroup;
+    private Integer restDays;
+    private Integer matchesPerDay;
     private String currentRound;
     private Boolean bracketGenerated;
     private LocalDateTime createdAt;
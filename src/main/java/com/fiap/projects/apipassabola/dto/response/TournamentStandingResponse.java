@@ -0,0 +1,19 @@
+package com.fiap.projects.apipassabola.dto.response;
+
+import lombok.Data;
+
+@Data
+public class TournamentStandingResponse {
+    
+    private Integer position;
+    private Long teamId;
+    private String teamName;
+    private Integer matchesPlayed;
+    private Integer wins;
+    private Integer draws;
+    private Integer losses;
+    private Integer goalsFor;
+    private Integer goalsAgainst;
+    private Integer goalDifference;
+    private Integer points;
+}
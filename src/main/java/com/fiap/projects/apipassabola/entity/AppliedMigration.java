@@ -0,0 +1,30 @@
+package com.fiap.projects.apipassabola.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Migração de dados já aplicada (ver DataMigrationRunner)
+ * Cada migração roda uma única vez por banco; a linha registra quando e quanto tempo levou.
+ */
+@Entity
+@Table(name = "data_migrations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppliedMigration {
+    
+    @Id
+    @Column(length = 100)
+    private String name;
+    
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+    
+    @Column(name = "duration_ms", nullable = false)
+    private Long durationMs;
+}
@@ -0,0 +1,85 @@
+package com.fiap.projects.apipassabola.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized summary of a direct conversation between two users (the chat inbox)
+ * One row per pair of users, keyed by the canonical conversation key. It is updated in the same
+ * transaction that saves a message or marks messages as read, so the inbox is a single indexed read
+ * instead of one lookup per partner. Participants are stored in canonical order (low = smaller userId).
+ */
+@Entity
+@Table(name = "chat_conversations", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_chat_conversation_key", columnNames = "conversation_key")
+}, indexes = {
+    @Index(name = "idx_chat_conversation_low_inbox", columnList = "user_low_id, last_message_id"),
+    @Index(name = "idx_chat_conversation_high_inbox", columnList = "user_high_id, last_message_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatConversation {
+
+    public static final int SNIPPET_LENGTH = 200;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conversation_key", nullable = false, length = 41)
+    private String conversationKey;
+
+    @Column(name = "user_low_id", nullable = false)
+    private Long userLowId;
+
+    @Column(name = "user_low_username")
+    private String userLowUsername;
+
+    @Column(name = "user_low_name")
+    private String userLowName;
+
+    @Column(name = "user_high_id", nullable = false)
+    private Long userHighId;
+
+    @Column(name = "user_high_username")
+    private String userHighUsername;
+
+    @Column(name = "user_high_name")
+    private String userHighName;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    @Column(name = "last_message_sender_id")
+    private Long lastMessageSenderId;
+
+    @Column(name = "last_message_snippet", length = SNIPPET_LENGTH)
+    private String lastMessageSnippet;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    // Unread messages for each participant
+    @Column(name = "user_low_unread", nullable = false)
+    private Integer userLowUnread = 0;
+
+    @Column(name = "user_high_unread", nullable = false)
+    private Integer userHighUnread = 0;
+
+    /**
+     * Canonical key of the conversation between two users: smaller userId, then larger userId
+     * The same for both directions, so every message of the pair maps to one key.
+     */
+    public static String keyOf(Long userId1, Long userId2) {
+        return Math.min(userId1, userId2) + ":" + Math.max(userId1, userId2);
+    }
+
+    public static String snippetOf(String content) {
+        return content == null || content.length() <= SNIPPET_LENGTH ? content : content.substring(0, SNIPPET_LENGTH);
+    }
+}
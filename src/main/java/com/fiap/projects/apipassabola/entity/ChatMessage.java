@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Table(name = "chat_messages", indexes = {
     @Index(name = "idx_sender_id", columnList = "sender_id"),
     @Index(name = "idx_recipient_id", columnList = "recipient_id"),
-    @Index(name = "idx_created_at", columnList = "created_at")
+    @Index(name = "idx_created_at", columnList = "created_at"),
+    @Index(name = "idx_chat_message_conversation", columnList = "conversation_key, created_at, id")
 })
 @Data
 @NoArgsConstructor
@@ -54,6 +55,10 @@ public class ChatMessage {
     @Column(name = "recipient_type", nullable = false)
     private UserType recipientType;
 
+    // Canonical key of the pair (see ChatConversation.keyOf): one index range per conversation
+    @Column(name = "conversation_key", length = 41)
+    private String conversationKey;
+
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
@@ -66,6 +71,7 @@ public class ChatMessage {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        conversationKey = ChatConversation.keyOf(senderId, recipientId);
     }
 
     /**
@@ -8,14 +8,19 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = {
+    @Index(name = "idx_game_type_date", columnList = "game_type, game_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Game {
     
+    // Ids reservados em blocos (id_pools): permite INSERTs em lote, como na geração do chaveamento
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "game_ids")
+    @TableGenerator(name = "game_ids", table = "id_pools", pkColumnName = "pool_name", valueColumnName = "next_id",
+            pkColumnValue = "games", allocationSize = 50)
     private Long id;
     
     @Enumerated(EnumType.STRING)
@@ -48,6 +53,15 @@ public class Game {
     @Column(name = "max_spectators")
     private Integer maxSpectators = 0; // Maximum number of spectators allowed
     
+    // Capacity counters: written only by the conditional UPDATEs in GameRepository (never by entity saves)
+    @Column(name = "participant_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0 not null")
+    private Integer participantCount = 0;
+    
+    @Column(name = "spectator_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0 not null")
+    private Integer spectatorCount = 0;
+    
     // Fields for CUP games (and backward compatibility)
     @ManyToOne
     @JoinColumn(name = "home_team_id", nullable = true)
@@ -80,6 +94,14 @@ public class Game {
     @Column(columnDefinition = "TEXT")
     private String notes;
     
+    // Torneio da partida que gerou o jogo (null fora de torneios): jogos comuns não consultam tournament_matches
+    @Column(name = "tournament_id")
+    private Long tournamentId;
+    
+    // Momento em que o resultado foi aplicado ao ranking (define a temporada do jogo); gravado só por GameRepository.markRanked
+    @Column(name = "ranked_at", insertable = false, updatable = false)
+    private LocalDateTime rankedAt;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
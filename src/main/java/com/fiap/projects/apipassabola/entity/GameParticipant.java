@@ -49,6 +49,10 @@ public class GameParticipant {
     @Column(name = "team_side")
     private Integer teamSide; // 1 for team 1, 2 for team 2
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id")
+    private Team team; // Team the player joined with (WITH_TEAM only); its ranking gets this side's result
+    
     @Column(name = "joined_at")
     private LocalDateTime joinedAt;
     
@@ -0,0 +1,51 @@
+package com.fiap.projects.apipassabola.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Total de gols de uma jogadora em um escopo (geral, temporada ou torneio)
+ * Incrementado junto com a gravação dos gols em finishGame; gols contra não contam.
+ */
+@Entity
+@Table(name = "player_goal_counters", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_goal_counter", columnNames = {"scope", "scope_id", "player_id"})
+}, indexes = {
+    @Index(name = "idx_goal_counter_top", columnList = "scope, scope_id, goals DESC, player_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerGoalCounter {
+    
+    /** scopeId da temporada em andamento (temporadas encerradas usam o id de ranking_seasons) */
+    public static final long CURRENT_SEASON = 0L;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Scope scope;
+    
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId; // 0 para OVERALL e para a temporada em andamento
+    
+    @Column(name = "player_id", nullable = false)
+    private Long playerId;
+    
+    @Column(nullable = false)
+    private Integer goals = 0;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum Scope {
+        OVERALL, SEASON, TOURNAMENT
+    }
+}
@@ -0,0 +1,43 @@
+package com.fiap.projects.apipassabola.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de que o resultado de um jogo já foi aplicado ao ranking de uma jogadora ou time
+ * A chave única (jogo, tipo, id) torna a aplicação idempotente: reprocessar um evento não pontua duas vezes
+ */
+@Entity
+@Table(name = "ranking_applications", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_ranking_application", columnNames = {"game_id", "subject_type", "subject_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankingApplication {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", nullable = false, length = 10)
+    private SubjectType subjectType;
+    
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId; // id da jogadora ou do time
+    
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+    
+    public enum SubjectType {
+        PLAYER, TEAM
+    }
+}
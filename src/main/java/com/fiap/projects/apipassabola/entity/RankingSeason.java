@@ -0,0 +1,42 @@
+package com.fiap.projects.apipassabola.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Temporada de ranking já encerrada
+ * A temporada em andamento não tem registro: ela começa no closedAt da última temporada encerrada
+ * (ou no início do histórico) e vive em player_rankings/team_rankings.
+ */
+@Entity
+@Table(name = "ranking_seasons", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_ranking_season_name", columnNames = "name")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankingSeason {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 100)
+    private String name;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt; // null na primeira temporada
+    
+    @Column(name = "closed_at", nullable = false)
+    private LocalDateTime closedAt;
+    
+    @Column(name = "players_archived", nullable = false)
+    private Integer playersArchived = 0;
+    
+    @Column(name = "teams_archived", nullable = false)
+    private Integer teamsArchived = 0;
+}
@@ -0,0 +1,78 @@
+package com.fiap.projects.apipassabola.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do leaderboard arquivado de uma temporada (somente inserção, nunca atualizada)
+ *
+ * Posições e nome ficam gravados no momento do encerramento, então uma página do arquivo é uma
+ * leitura por faixa de posição no índice (temporada, tipo, posição), sem joins nem recálculo.
+ */
+@Entity
+@Table(name = "season_ranking_entries", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_season_entry_position", columnNames = {"season_id", "subject_type", "global_position"}),
+    @UniqueConstraint(name = "uk_season_entry_subject", columnNames = {"season_id", "subject_type", "subject_id"})
+}, indexes = {
+    @Index(name = "idx_season_entry_division", columnList = "season_id, subject_type, division, division_position")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeasonRankingEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "season_id", nullable = false)
+    private Long seasonId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", nullable = false, length = 10)
+    private RankingApplication.SubjectType subjectType;
+    
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId; // id da jogadora ou do time
+    
+    @Column(name = "subject_name")
+    private String subjectName; // Nome no encerramento da temporada
+    
+    @Column(name = "global_position", nullable = false)
+    private Integer globalPosition;
+    
+    @Column(name = "division_position", nullable = false)
+    private Integer divisionPosition;
+    
+    @Column(name = "total_points", nullable = false)
+    private Integer totalPoints;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Division division;
+    
+    @Column(name = "games_won", nullable = false)
+    private Integer gamesWon;
+    
+    @Column(name = "games_drawn", nullable = false)
+    private Integer gamesDrawn;
+    
+    @Column(name = "games_lost", nullable = false)
+    private Integer gamesLost;
+    
+    @Column(name = "total_games", nullable = false)
+    private Integer totalGames;
+    
+    @Column(name = "win_rate")
+    private Double winRate;
+    
+    @Column(name = "best_streak", nullable = false)
+    private Integer bestStreak;
+    
+    @Column(name = "last_game_date")
+    private LocalDateTime lastGameDate;
+}
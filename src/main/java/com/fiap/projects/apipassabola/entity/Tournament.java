@@ -1,5 +1,6 @@
 package com.fiap.projects.apipassabola.entity;
 
+import com.fiap.projects.apipassabola.util.BracketPlan;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -53,7 +54,23 @@ public class Tournament {
     private Integer totalTeams = 0; // Número de times inscritos
     
     @Column(name = "max_teams")
-    private Integer maxTeams; // Limite de times (4, 8, 16, 32, etc.)
+    private Integer maxTeams; // Limite de times (qualquer quantidade: vagas que faltam viram byes)
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bracket_format")
+    private BracketFormat bracketFormat = BracketFormat.SINGLE_ELIMINATION;
+    
+    @Column(name = "group_size")
+    private Integer groupSize; // Grupos + mata-mata: times por grupo
+    
+    @Column(name = "qualifiers_per_group")
+    private Integer qualifiersPerGroup; // Grupos + mata-mata: classificados por grupo
+    
+    @Column(name = "rest_days")
+    private Integer restDays; // Pontos corridos: dias mínimos de descanso entre dois jogos do mesmo time
+    
+    @Column(name = "matches_per_day")
+    private Integer matchesPerDay; // Pontos corridos: jogos que o local comporta por dia (null = sem limite)
     
     @Column(name = "current_round")
     private String currentRound; // "FINAL", "SEMI", "QUARTER", "ROUND_OF_16", etc.
@@ -81,6 +98,18 @@ public class Tournament {
         CANCELLED      // Torneio cancelado
     }
     
+    public enum BracketFormat {
+        SINGLE_ELIMINATION, // Mata-mata simples
+        DOUBLE_ELIMINATION, // Dupla eliminação (chave de perdedores + grande final)
+        GROUPS_KNOCKOUT,    // Fase de grupos seguida de mata-mata
+        ROUND_ROBIN,        // Pontos corridos em turno único
+        DOUBLE_ROUND_ROBIN; // Pontos corridos em turno e returno
+        
+        public boolean isLeague() {
+            return this == ROUND_ROBIN || this == DOUBLE_ROUND_ROBIN;
+        }
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -96,8 +125,7 @@ public class Tournament {
     public boolean canGenerateBracket() {
         return status == TournamentStatus.REGISTRATION 
             && !bracketGenerated 
-            && totalTeams >= 2 
-            && isPowerOfTwo(totalTeams);
+            && totalTeams >= 2;
     }
     
     public boolean isRegistrationOpen() {
@@ -116,10 +144,6 @@ public class Tournament {
         return gameType == GameType.CHAMPIONSHIP;
     }
     
-    private boolean isPowerOfTwo(int n) {
-        return n > 0 && (n & (n - 1)) == 0;
-    }
-    
     public int getNextPowerOfTwo() {
         int power = 2;
         while (power < totalTeams) {
@@ -129,13 +153,10 @@ public class Tournament {
     }
     
     public String getRoundName(int teamsInRound) {
-        return switch (teamsInRound) {
-            case 2 -> "FINAL";
-            case 4 -> "SEMI";
-            case 8 -> "QUARTER";
-            case 16 -> "ROUND_OF_16";
-            case 32 -> "ROUND_OF_32";
-            default -> "ROUND_OF_" + teamsInRound;
-        };
+        return BracketPlan.roundName(teamsInRound);
+    }
+    
+    public BracketFormat getBracketFormatOrDefault() {
+        return bracketFormat != null ? bracketFormat : BracketFormat.SINGLE_ELIMINATION;
     }
 }
@@ -8,14 +8,19 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tournament_matches")
+@Table(name = "tournament_matches", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_tournament_match_game", columnNames = "game_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class TournamentMatch {
     
+    // Ids reservados em blocos (id_pools): permite INSERTs em lote, como na geração do chaveamento
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tournament_match_ids")
+    @TableGenerator(name = "tournament_match_ids", table = "id_pools", pkColumnName = "pool_name", valueColumnName = "next_id",
+            pkColumnValue = "tournament_matches", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -63,6 +68,28 @@ public class TournamentMatch {
     @Column(name = "next_match_id")
     private Long nextMatchId; // ID da próxima partida (para o vencedor)
     
+    @Column(name = "next_match_slot")
+    private Integer nextMatchSlot; // Lado do vencedor na próxima partida (1 = team1, 2 = team2)
+    
+    @Column(name = "loser_next_match_id")
+    private Long loserNextMatchId; // Dupla eliminação: partida da chave de perdedores que recebe o perdedor
+    
+    @Column(name = "loser_next_match_slot")
+    private Integer loserNextMatchSlot;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stage")
+    private Stage stage = Stage.WINNERS; // Chaves antigas (null) são mata-mata simples
+    
+    @Column(name = "group_number")
+    private Integer groupNumber; // Grupo (1, 2, 3...) nas partidas da fase de grupos
+    
+    @Column(name = "team1_qualifier")
+    private Integer team1Qualifier; // Mata-mata após grupos: classificado do lado 1 (colocação * grupos + grupo + 1)
+    
+    @Column(name = "team2_qualifier")
+    private Integer team2Qualifier;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -77,6 +104,14 @@ public class TournamentMatch {
         WALKOVER      // W.O. (um time não compareceu)
     }
     
+    public enum Stage {
+        GROUP,        // Fase de grupos
+        WINNERS,      // Mata-mata (chave de vencedores na dupla eliminação)
+        LOSERS,       // Chave de perdedores (dupla eliminação)
+        GRAND_FINAL,  // Grande final da dupla eliminação
+        LEAGUE        // Rodada de pontos corridos
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -107,8 +142,10 @@ public class TournamentMatch {
                 this.winner = team1;
             } else if (team2Score > team1Score) {
                 this.winner = team2;
+            } else {
+                // Se empate, winner fica null (pode implementar pênaltis depois)
+                this.winner = null;
             }
-            // Se empate, winner permanece null (pode implementar pênaltis depois)
         }
     }
 }
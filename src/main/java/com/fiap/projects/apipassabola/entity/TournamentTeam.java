@@ -38,6 +38,24 @@ public class TournamentTeam {
     @Column(name = "registered_at")
     private LocalDateTime registeredAt;
     
+    // Classificação de pontos corridos, atualizada a cada resultado
+    @Column(name = "matches_played")
+    private Integer matchesPlayed = 0;
+    
+    private Integer wins = 0;
+    
+    private Integer draws = 0;
+    
+    private Integer losses = 0;
+    
+    @Column(name = "goals_for")
+    private Integer goalsFor = 0;
+    
+    @Column(name = "goals_against")
+    private Integer goalsAgainst = 0;
+    
+    private Integer points = 0;
+    
     public enum TeamStatus {
         REGISTERED,  // Time inscrito
         CONFIRMED,   // Inscrição confirmada
@@ -51,4 +69,31 @@ public class TournamentTeam {
     protected void onCreate() {
         registeredAt = LocalDateTime.now();
     }
+    
+    /**
+     * Soma (sign = 1) ou desfaz (sign = -1) um resultado na classificação
+     * Vitória vale 3 pontos e empate 1.
+     */
+    public void applyResult(int scored, int conceded, int sign) {
+        matchesPlayed = valueOf(matchesPlayed) + sign;
+        goalsFor = valueOf(goalsFor) + sign * scored;
+        goalsAgainst = valueOf(goalsAgainst) + sign * conceded;
+        if (scored > conceded) {
+            wins = valueOf(wins) + sign;
+            points = valueOf(points) + sign * 3;
+        } else if (scored == conceded) {
+            draws = valueOf(draws) + sign;
+            points = valueOf(points) + sign;
+        } else {
+            losses = valueOf(losses) + sign;
+        }
+    }
+    
+    public int getGoalDifference() {
+        return valueOf(goalsFor) - valueOf(goalsAgainst);
+    }
+    
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
 }
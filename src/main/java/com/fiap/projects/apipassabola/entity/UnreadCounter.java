@@ -0,0 +1,51 @@
+package com.fiap.projects.apipassabola.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contador de itens não lidos de um usuário (mensagens de chat ou notificações)
+ * Atualizado na mesma transação que cria ou marca como lidos os itens, para que os badges sejam
+ * lidos sem COUNT. A revisão cresce a cada alteração e ordena as atualizações do cache em memória.
+ */
+@Entity
+@Table(name = "unread_counters", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_unread_counter", columnNames = {"kind", "user_type", "user_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCounter {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Kind kind;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "user_type", nullable = false, length = 20)
+    private UserType userType;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId; // userId global
+    
+    @Column(nullable = false)
+    private Integer unread = 0;
+    
+    @Column(nullable = false)
+    private Long revision = 0L;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum Kind {
+        CHAT, NOTIFICATION
+    }
+}
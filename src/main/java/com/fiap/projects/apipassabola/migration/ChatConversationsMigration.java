@@ -0,0 +1,34 @@
+package com.fiap.projects.apipassabola.migration;
+
+import com.fiap.projects.apipassabola.repository.ChatConversationRepository;
+import com.fiap.projects.apipassabola.repository.ChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the conversation key of existing chat messages and builds the conversation table from them
+ * (databases created before either existed)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatConversationsMigration implements DataMigration {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatConversationRepository chatConversationRepository;
+
+    @Override
+    public String name() {
+        return "044-chat-conversations";
+    }
+
+    @Override
+    public void migrate() {
+        int keyed = chatMessageRepository.backfillConversationKeys();
+        log.info("Conversation key filled for {} chat messages", keyed);
+        if (chatConversationRepository.backfillIfEmpty()) {
+            log.info("Chat conversations backfilled from existing messages");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.fiap.projects.apipassabola.migration;
+
+/**
+ * Migração de dados executada uma única vez por banco (registrada em data_migrations)
+ *
+ * Usada para preencher colunas, contadores e tabelas derivadas criados depois que já existiam dados.
+ * As migrações rodam em ordem de nome, cada uma na sua própria transação.
+ */
+public interface DataMigration {
+
+    /**
+     * Nome único; define a ordem de execução (ex.: "038-goal-counters")
+     */
+    String name();
+
+    /**
+     * Executa a migração (dentro de uma transação)
+     */
+    void migrate();
+
+    /**
+     * Chamado depois do commit da migração (ex.: recarregar caches em memória)
+     */
+    default void afterCommit() {
+    }
+}
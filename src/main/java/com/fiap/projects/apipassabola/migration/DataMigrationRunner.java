@@ -0,0 +1,113 @@
+package com.fiap.projects.apipassabola.migration;
+
+import com.fiap.projects.apipassabola.config.DataMigrationProperties;
+import com.fiap.projects.apipassabola.dto.response.DataMigrationStatusResponse;
+import com.fiap.projects.apipassabola.entity.AppliedMigration;
+import com.fiap.projects.apipassabola.repository.AppliedMigrationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica as migrações de dados pendentes
+ *
+ * Na inicialização (migrations.run-on-startup) ou pelo POST /api/migrations/run, cada migração ainda
+ * não registrada em data_migrations roda na sua própria transação e é registrada ao terminar, então
+ * nunca roda duas vezes. Uma falha é registrada no log e a migração fica pendente para a próxima
+ * execução; a aplicação sobe normalmente.
+ */
+@Component
+@Slf4j
+public class DataMigrationRunner {
+
+    private final List<DataMigration> migrations;
+    private final AppliedMigrationRepository appliedMigrationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DataMigrationProperties properties;
+    private final Map<String, String> lastErrors = new ConcurrentHashMap<>();
+
+    public DataMigrationRunner(List<DataMigration> migrations,
+                               AppliedMigrationRepository appliedMigrationRepository,
+                               TransactionTemplate transactionTemplate,
+                               DataMigrationProperties properties) {
+        this.migrations = migrations.stream().sorted(Comparator.comparing(DataMigration::name)).toList();
+        this.appliedMigrationRepository = appliedMigrationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    // Antes dos demais listeners de inicialização, que carregam caches a partir das tabelas migradas
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void runOnStartup() {
+        if (properties.isRunOnStartup()) {
+            runPending();
+        } else {
+            log.info("Data migrations on startup disabled (migrations.run-on-startup=false)");
+        }
+    }
+
+    /**
+     * Executa as migrações pendentes, em ordem de nome
+     * @return nomes das migrações aplicadas nesta chamada
+     */
+    public synchronized List<String> runPending() {
+        List<String> applied = new ArrayList<>();
+        for (DataMigration migration : migrations) {
+            if (appliedMigrationRepository.existsById(migration.name())) {
+                continue;
+            }
+            long start = System.currentTimeMillis();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    migration.migrate();
+                    appliedMigrationRepository.save(new AppliedMigration(migration.name(), LocalDateTime.now(),
+                            System.currentTimeMillis() - start));
+                });
+            } catch (Exception e) {
+                lastErrors.put(migration.name(), e.getClass().getSimpleName() + ": " + e.getMessage());
+                log.error("Data migration {} failed and stays pending: {}", migration.name(), e.getMessage(), e);
+                continue;
+            }
+            lastErrors.remove(migration.name());
+            log.info("Data migration {} applied in {} ms", migration.name(), System.currentTimeMillis() - start);
+            applied.add(migration.name());
+            try {
+                migration.afterCommit();
+            } catch (Exception e) {
+                log.error("Post-migration step of {} failed: {}", migration.name(), e.getMessage(), e);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Situação de todas as migrações conhecidas
+     */
+    public List<DataMigrationStatusResponse> getStatus() {
+        Map<String, AppliedMigration> applied = appliedMigrationRepository.findAll().stream()
+                .collect(Collectors.toMap(AppliedMigration::getName, Function.identity()));
+        return migrations.stream()
+                .map(migration -> {
+                    AppliedMigration done = applied.get(migration.name());
+                    return new DataMigrationStatusResponse(migration.name(), done != null,
+                            done != null ? done.getAppliedAt() : null,
+                            done != null ? done.getDurationMs() : null,
+                            lastErrors.get(migration.name()));
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,28 @@
+package com.fiap.projects.apipassabola.migration;
+
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calcula os contadores de capacidade (participantes/espectadores) dos jogos criados antes deles
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameCapacityCountersMigration implements DataMigration {
+
+    private final GameRepository gameRepository;
+
+    @Override
+    public String name() {
+        return "030-game-capacity-counters";
+    }
+
+    @Override
+    public void migrate() {
+        int games = gameRepository.recountCapacityCounters();
+        log.info("Capacity counters recounted for {} games", games);
+    }
+}
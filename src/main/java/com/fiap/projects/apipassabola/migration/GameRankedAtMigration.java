@@ -0,0 +1,28 @@
+package com.fiap.projects.apipassabola.migration;
+
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preenche Game.rankedAt dos jogos finalizados antes da coluna existir, a partir do evento GameFinished processado
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameRankedAtMigration implements DataMigration {
+
+    private final GameRepository gameRepository;
+
+    @Override
+    public String name() {
+        return "035-game-ranked-at";
+    }
+
+    @Override
+    public void migrate() {
+        int games = gameRepository.backfillRankedAt();
+        log.info("Ranking time filled for {} games", games);
+    }
+}
@@ -0,0 +1,40 @@
+package com.fiap.projects.apipassabola.migration;
+
+import com.fiap.projects.apipassabola.entity.RankingSeason;
+import com.fiap.projects.apipassabola.repository.PlayerGoalCounterRepository;
+import com.fiap.projects.apipassabola.repository.RankingSeasonRepository;
+import com.fiap.projects.apipassabola.service.TopScorerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Preenche os contadores de gols (artilharia) a partir do histórico de gols
+ */
+@Component
+@RequiredArgsConstructor
+public class GoalCounterBackfillMigration implements DataMigration {
+
+    private final PlayerGoalCounterRepository playerGoalCounterRepository;
+    private final RankingSeasonRepository rankingSeasonRepository;
+    private final TopScorerService topScorerService;
+
+    @Override
+    public String name() {
+        return "038-goal-counters";
+    }
+
+    @Override
+    public void migrate() {
+        LocalDateTime seasonStart = rankingSeasonRepository.findTopByOrderByClosedAtDesc()
+                .map(RankingSeason::getClosedAt)
+                .orElse(null);
+        playerGoalCounterRepository.backfillIfEmpty(seasonStart);
+    }
+
+    @Override
+    public void afterCommit() {
+        topScorerService.load();
+    }
+}
@@ -0,0 +1,28 @@
+package com.fiap.projects.apipassabola.migration;
+
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preenche Game.tournamentId dos jogos de torneio criados antes da coluna existir
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TournamentGameLinksMigration implements DataMigration {
+
+    private final GameRepository gameRepository;
+
+    @Override
+    public String name() {
+        return "039-tournament-game-links";
+    }
+
+    @Override
+    public void migrate() {
+        int games = gameRepository.linkTournamentGames();
+        log.info("Tournament link filled for {} games", games);
+    }
+}
@@ -0,0 +1,37 @@
+package com.fiap.projects.apipassabola.migration;
+
+import com.fiap.projects.apipassabola.repository.UnreadCounterRepository;
+import com.fiap.projects.apipassabola.service.UnreadCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cria os contadores de não lidos a partir das mensagens e notificações não lidas existentes
+ * (bancos anteriores à tabela unread_counters)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCountersMigration implements DataMigration {
+
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final UnreadCounterService unreadCounterService;
+
+    @Override
+    public String name() {
+        return "047-unread-counters";
+    }
+
+    @Override
+    public void migrate() {
+        if (unreadCounterRepository.backfillIfEmpty()) {
+            log.info("Unread counters backfilled from unread messages and notifications");
+        }
+    }
+
+    @Override
+    public void afterCommit() {
+        unreadCounterService.clearCache();
+    }
+}
@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notification_group", columnList = "recipient_id, recipient_type, group_key, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -56,10 +58,24 @@ public class Notification {
     // Link de ação (opcional)
     private String actionUrl; // Ex: "/teams/123/invites/456"
     
+    // Agrupamento: ações do mesmo tipo sobre o mesmo alvo viram uma única notificação
+    @Column(name = "group_key", length = 100)
+    private String groupKey; // Ex.: "post:123" para POST_LIKED; null em notificações individuais
+    
+    @Column(nullable = false)
+    private Integer actorCount = 1;
+    
+    @Column(name = "group_started_at")
+    private LocalDateTime groupStartedAt; // Primeira ação do grupo (createdAt acompanha a mais recente)
+    
+    @Column(columnDefinition = "TEXT")
+    private String recentActors; // JSON com os últimos atores, do mais recente para o mais antigo
+    
     // Status
     @Column(nullable = false)
     private Boolean isRead = false;
     
+    // Em notificações agrupadas, acompanha a ação mais recente (a notificação volta ao topo da lista)
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
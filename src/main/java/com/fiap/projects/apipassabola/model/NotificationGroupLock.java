@@ -0,0 +1,30 @@
+package com.fiap.projects.apipassabola.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha de bloqueio de um grupo de notificações (destinatário + tipo + groupKey)
+ * 
+ * Enquanto não existe notificação aberta do grupo não há linha para bloquear; esta linha existe
+ * antes da primeira e serializa a criação, de modo que ações simultâneas não abrem dois grupos.
+ */
+@Entity
+@Table(name = "notification_group_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationGroupLock {
+    
+    @Id
+    @Column(name = "lock_key", length = 200)
+    private String lockKey; // Ex.: "PLAYER:42:POST_LIKED:post:123"
+    
+    // Último uso do bloqueio; linhas sem uso há muito tempo são removidas na limpeza
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+}
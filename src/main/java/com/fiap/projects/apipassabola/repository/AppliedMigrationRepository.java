@@ -0,0 +1,9 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.AppliedMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AppliedMigrationRepository extends JpaRepository<AppliedMigration, String> {
+}
@@ -0,0 +1,16 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.ChatConversation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for the materialized chat inbox (ChatConversation)
+ */
+@Repository
+public interface ChatConversationRepository extends JpaRepository<ChatConversation, Long>, ChatConversationRepositoryCustom {
+
+    Optional<ChatConversation> findByConversationKey(String conversationKey);
+}
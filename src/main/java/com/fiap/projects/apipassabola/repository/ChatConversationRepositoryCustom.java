@@ -0,0 +1,36 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.dto.response.ConversationResponse;
+import com.fiap.projects.apipassabola.entity.ChatMessage;
+
+import java.util.List;
+
+/**
+ * Chat inbox writes and reads that bypass the Hibernate persistence cycle (single-statement upserts and
+ * the keyset inbox query)
+ */
+public interface ChatConversationRepositoryCustom {
+
+    /**
+     * Makes the message the last one of its conversation and adds one unread message for the recipient
+     * Creates the conversation on its first message (a single upsert, safe under concurrent sends).
+     */
+    void recordMessage(ChatMessage message);
+
+    /**
+     * Removes messages the reader has just read from the reader's unread counter
+     */
+    void markRead(String conversationKey, Long readerId, int readMessages);
+
+    /**
+     * Conversations of a user, most recent first, with the other participant's info and the user's unread count
+     * @param beforeMessageId keyset cursor: only conversations whose last message id is smaller (null = first page)
+     */
+    List<ConversationResponse> findInbox(Long userId, Long beforeMessageId, int limit);
+
+    /**
+     * Builds the inbox from chat_messages when it is still empty (first run)
+     * @return true if the backfill ran
+     */
+    boolean backfillIfEmpty();
+}
@@ -0,0 +1,139 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.dto.response.ConversationResponse;
+import com.fiap.projects.apipassabola.entity.ChatConversation;
+import com.fiap.projects.apipassabola.entity.ChatMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ChatConversationRepositoryImpl implements ChatConversationRepositoryCustom {
+
+    // The last message only moves forward: last_message_id is assigned last, so the CASEs compare against the old id
+    private static final String UPSERT_MESSAGE =
+            "INSERT INTO chat_conversations (conversation_key, user_low_id, user_low_username, user_low_name, " +
+            "user_high_id, user_high_username, user_high_name, last_message_sender_id, last_message_snippet, " +
+            "last_message_at, user_low_unread, user_high_unread, last_message_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE user_low_username = VALUES(user_low_username), " +
+            "user_low_name = VALUES(user_low_name), user_high_username = VALUES(user_high_username), " +
+            "user_high_name = VALUES(user_high_name), " +
+            "user_low_unread = user_low_unread + VALUES(user_low_unread), " +
+            "user_high_unread = user_high_unread + VALUES(user_high_unread), " +
+            "last_message_sender_id = CASE WHEN VALUES(last_message_id) > last_message_id " +
+            "THEN VALUES(last_message_sender_id) ELSE last_message_sender_id END, " +
+            "last_message_snippet = CASE WHEN VALUES(last_message_id) > last_message_id " +
+            "THEN VALUES(last_message_snippet) ELSE last_message_snippet END, " +
+            "last_message_at = CASE WHEN VALUES(last_message_id) > last_message_id " +
+            "THEN VALUES(last_message_at) ELSE last_message_at END, " +
+            "last_message_id = GREATEST(last_message_id, VALUES(last_message_id))";
+
+    private static final String MARK_READ =
+            "UPDATE chat_conversations SET " +
+            "user_low_unread = CASE WHEN user_low_id = ? THEN GREATEST(user_low_unread - ?, 0) ELSE user_low_unread END, " +
+            "user_high_unread = CASE WHEN user_high_id = ? THEN GREATEST(user_high_unread - ?, 0) ELSE user_high_unread END " +
+            "WHERE conversation_key = ?";
+
+    // One index range per participant column (user_low_id / user_high_id, last_message_id), merged and cut to the page
+    private static final String FIND_INBOX =
+            "SELECT other_id, other_username, other_name, last_message_id, last_message_snippet, last_message_at, unread " +
+            "FROM ((SELECT user_high_id AS other_id, user_high_username AS other_username, user_high_name AS other_name, " +
+            "last_message_id, last_message_snippet, last_message_at, user_low_unread AS unread " +
+            "FROM chat_conversations WHERE user_low_id = ? AND last_message_id < ? " +
+            "ORDER BY last_message_id DESC LIMIT ?) " +
+            "UNION ALL " +
+            "(SELECT user_low_id AS other_id, user_low_username AS other_username, user_low_name AS other_name, " +
+            "last_message_id, last_message_snippet, last_message_at, user_high_unread AS unread " +
+            "FROM chat_conversations WHERE user_high_id = ? AND last_message_id < ? " +
+            "ORDER BY last_message_id DESC LIMIT ?)) inbox " +
+            "ORDER BY last_message_id DESC LIMIT ?";
+
+    private static final String BACKFILL_CONVERSATIONS =
+            "INSERT INTO chat_conversations (conversation_key, user_low_id, user_high_id, last_message_id, " +
+            "user_low_unread, user_high_unread) " +
+            "SELECT CONCAT(LEAST(sender_id, recipient_id), ':', GREATEST(sender_id, recipient_id)), " +
+            "LEAST(sender_id, recipient_id), GREATEST(sender_id, recipient_id), MAX(id), " +
+            "SUM(CASE WHEN is_read = false AND recipient_id < sender_id THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN is_read = false AND recipient_id > sender_id THEN 1 ELSE 0 END) " +
+            "FROM chat_messages GROUP BY LEAST(sender_id, recipient_id), GREATEST(sender_id, recipient_id)";
+
+    // Participant names and the snippet come from the last message of each conversation
+    private static final String BACKFILL_LAST_MESSAGES =
+            "UPDATE chat_conversations c SET " +
+            "last_message_sender_id = (SELECT m.sender_id FROM chat_messages m WHERE m.id = c.last_message_id), " +
+            "last_message_snippet = (SELECT SUBSTRING(m.content, 1, " + ChatConversation.SNIPPET_LENGTH + ") " +
+            "FROM chat_messages m WHERE m.id = c.last_message_id), " +
+            "last_message_at = (SELECT m.created_at FROM chat_messages m WHERE m.id = c.last_message_id), " +
+            "user_low_username = (SELECT CASE WHEN m.sender_id = c.user_low_id THEN m.sender_username " +
+            "ELSE m.recipient_username END FROM chat_messages m WHERE m.id = c.last_message_id), " +
+            "user_low_name = (SELECT CASE WHEN m.sender_id = c.user_low_id THEN m.sender_name " +
+            "ELSE m.recipient_name END FROM chat_messages m WHERE m.id = c.last_message_id), " +
+            "user_high_username = (SELECT CASE WHEN m.sender_id = c.user_high_id THEN m.sender_username " +
+            "ELSE m.recipient_username END FROM chat_messages m WHERE m.id = c.last_message_id), " +
+            "user_high_name = (SELECT CASE WHEN m.sender_id = c.user_high_id THEN m.sender_name " +
+            "ELSE m.recipient_name END FROM chat_messages m WHERE m.id = c.last_message_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void recordMessage(ChatMessage message) {
+        boolean senderIsLow = message.getSenderId() < message.getRecipientId();
+        // Joins the current JPA transaction (same connection), so it commits with the message
+        jdbcTemplate.update(UPSERT_MESSAGE,
+                ChatConversation.keyOf(message.getSenderId(), message.getRecipientId()),
+                senderIsLow ? message.getSenderId() : message.getRecipientId(),
+                senderIsLow ? message.getSenderUsername() : message.getRecipientUsername(),
+                senderIsLow ? message.getSenderName() : message.getRecipientName(),
+                senderIsLow ? message.getRecipientId() : message.getSenderId(),
+                senderIsLow ? message.getRecipientUsername() : message.getSenderUsername(),
+                senderIsLow ? message.getRecipientName() : message.getSenderName(),
+                message.getSenderId(),
+                ChatConversation.snippetOf(message.getContent()),
+                Timestamp.valueOf(message.getCreatedAt()),
+                senderIsLow ? 0 : 1,
+                senderIsLow ? 1 : 0,
+                message.getId());
+    }
+
+    @Override
+    public void markRead(String conversationKey, Long readerId, int readMessages) {
+        if (readMessages <= 0) {
+            return;
+        }
+        jdbcTemplate.update(MARK_READ, readerId, readMessages, readerId, readMessages, conversationKey);
+    }
+
+    @Override
+    public List<ConversationResponse> findInbox(Long userId, Long beforeMessageId, int limit) {
+        long before = beforeMessageId != null ? beforeMessageId : Long.MAX_VALUE;
+        return jdbcTemplate.query(FIND_INBOX, (rs, rowNum) -> {
+            ConversationResponse conversation = new ConversationResponse();
+            conversation.setOtherUserId(rs.getLong("other_id"));
+            conversation.setOtherUsername(rs.getString("other_username"));
+            conversation.setOtherName(rs.getString("other_name"));
+            conversation.setLastMessageId(rs.getLong("last_message_id"));
+            conversation.setLastMessage(rs.getString("last_message_snippet"));
+            Timestamp lastMessageAt = rs.getTimestamp("last_message_at");
+            conversation.setLastMessageTime(lastMessageAt != null ? lastMessageAt.toLocalDateTime() : null);
+            conversation.setUnreadCount(rs.getLong("unread"));
+            return conversation;
+        }, userId, before, limit, userId, before, limit, limit);
+    }
+
+    @Override
+    public boolean backfillIfEmpty() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM chat_conversations LIMIT 1) c",
+                Integer.class);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        int conversations = jdbcTemplate.update(BACKFILL_CONVERSATIONS);
+        if (conversations > 0) {
+            jdbcTemplate.update(BACKFILL_LAST_MESSAGES);
+        }
+        return conversations > 0;
+    }
+}
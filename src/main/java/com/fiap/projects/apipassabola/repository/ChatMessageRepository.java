@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -18,69 +19,63 @@ import java.util.List;
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
     /**
-     * Find all messages in a conversation between two users
+     * Find all messages in a conversation with pagination, most recent first
      */
-    @Query("SELECT m FROM ChatMessage m WHERE " +
-           "(m.senderId = :userId1 AND m.recipientId = :userId2) OR " +
-           "(m.senderId = :userId2 AND m.recipientId = :userId1) " +
-           "ORDER BY m.createdAt ASC")
-    List<ChatMessage> findConversationMessages(@Param("userId1") Long userId1, 
-                                                @Param("userId2") Long userId2);
+    @Query(value = "SELECT m FROM ChatMessage m WHERE m.conversationKey = :conversationKey " +
+                   "ORDER BY m.createdAt DESC, m.id DESC",
+           countQuery = "SELECT COUNT(m) FROM ChatMessage m WHERE m.conversationKey = :conversationKey")
+    Page<ChatMessage> findConversationMessages(@Param("conversationKey") String conversationKey,
+                                                Pageable pageable);
 
     /**
-     * Find all messages in a conversation with pagination
+     * Latest messages of a conversation, most recent first
+     * Keyset pagination: one range of idx_chat_message_conversation, no OFFSET or count query
      */
-    @Query("SELECT m FROM ChatMessage m WHERE " +
-           "(m.senderId = :userId1 AND m.recipientId = :userId2) OR " +
-           "(m.senderId = :userId2 AND m.recipientId = :userId1) " +
-           "ORDER BY m.createdAt DESC")
-    Page<ChatMessage> findConversationMessages(@Param("userId1") Long userId1, 
-                                                @Param("userId2") Long userId2,
-                                                Pageable pageable);
+    @Query("SELECT m FROM ChatMessage m WHERE m.conversationKey = :conversationKey " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findLatestMessages(@Param("conversationKey") String conversationKey,
+                                         Pageable pageable);
 
     /**
-     * Count unread messages for a specific user from a specific sender
+     * Messages of a conversation older than a cursor (createdAt, id), most recent first
      */
-    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE " +
-           "m.recipientId = :recipientId AND m.senderId = :senderId AND m.isRead = false")
-    Long countUnreadMessages(@Param("recipientId") Long recipientId, 
-                             @Param("senderId") Long senderId);
+    @Query("SELECT m FROM ChatMessage m WHERE m.conversationKey = :conversationKey AND " +
+           "(m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findMessagesBefore(@Param("conversationKey") String conversationKey,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
 
     /**
-     * Count all unread messages for a user
+     * Messages of a conversation newer than a cursor (createdAt, id), oldest first (delta sync)
      */
-    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE " +
-           "m.recipientId = :recipientId AND m.isRead = false")
-    Long countAllUnreadMessages(@Param("recipientId") Long recipientId);
+    @Query("SELECT m FROM ChatMessage m WHERE m.conversationKey = :conversationKey AND " +
+           "(m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<ChatMessage> findMessagesAfter(@Param("conversationKey") String conversationKey,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
 
     /**
      * Mark all messages from a sender as read
+     * Returns the number of messages marked, used to adjust the conversation unread counter
      */
     @Modifying
     @Query("UPDATE ChatMessage m SET m.isRead = true WHERE " +
            "m.recipientId = :recipientId AND m.senderId = :senderId AND m.isRead = false")
-    void markMessagesAsRead(@Param("recipientId") Long recipientId, 
+    int markMessagesAsRead(@Param("recipientId") Long recipientId, 
                            @Param("senderId") Long senderId);
 
     /**
-     * Find all users that have conversations with the given user
+     * Fill conversation_key for messages saved before the column existed
      */
-    @Query("SELECT DISTINCT CASE " +
-           "WHEN m.senderId = :userId THEN m.recipientId " +
-           "ELSE m.senderId END " +
-           "FROM ChatMessage m WHERE m.senderId = :userId OR m.recipientId = :userId")
-    List<Long> findConversationPartners(@Param("userId") Long userId);
-
-    /**
-     * Get the last message in a conversation
-     */
-    @Query("SELECT m FROM ChatMessage m WHERE " +
-           "(m.senderId = :userId1 AND m.recipientId = :userId2) OR " +
-           "(m.senderId = :userId2 AND m.recipientId = :userId1) " +
-           "ORDER BY m.createdAt DESC")
-    List<ChatMessage> findLastMessage(@Param("userId1") Long userId1, 
-                                      @Param("userId2") Long userId2,
-                                      Pageable pageable);
+    @Modifying
+    @Query(value = "UPDATE chat_messages SET conversation_key = " +
+                   "CONCAT(LEAST(sender_id, recipient_id), ':', GREATEST(sender_id, recipient_id)) " +
+                   "WHERE conversation_key IS NULL", nativeQuery = true)
+    int backfillConversationKeys();
 
     /**
      * Find all messages sent by a user
@@ -93,7 +88,7 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     List<ChatMessage> findByRecipientIdOrderByCreatedAtDesc(Long recipientId);
 
     /**
-     * Find unread messages for a user
+     * Find the most recent unread messages for a user
      */
-    List<ChatMessage> findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(Long recipientId);
+    List<ChatMessage> findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(Long recipientId, Pageable pageable);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,10 +65,20 @@ public interface GameParticipantRepository extends JpaRepository<GameParticipant
     @Query("SELECT gp FROM GameParticipant gp WHERE gp.game.id = :gameId AND gp.teamSide = :teamSide AND gp.status = 'CONFIRMED'")
     List<GameParticipant> findConfirmedParticipantsByGameAndTeamSide(@Param("gameId") Long gameId, @Param("teamSide") Integer teamSide);
     
+    // Find confirmed team participants of several games at once (batched GameResponse assembly)
+    @Query("SELECT gp FROM GameParticipant gp JOIN FETCH gp.player p LEFT JOIN FETCH p.organization " +
+           "WHERE gp.game.id IN :gameIds AND gp.teamSide IN (1, 2) AND gp.status = 'CONFIRMED'")
+    List<GameParticipant> findConfirmedTeamParticipantsByGameIds(@Param("gameIds") Collection<Long> gameIds);
+    
     // Find all confirmed participants for a game
     @Query("SELECT gp FROM GameParticipant gp WHERE gp.game.id = :gameId AND gp.status = 'CONFIRMED'")
     List<GameParticipant> findConfirmedParticipantsByGame(@Param("gameId") Long gameId);
     
+    // Confirmed player participants with the player (and its organization) fetched, for post-game processing
+    @Query("SELECT gp FROM GameParticipant gp JOIN FETCH gp.player p LEFT JOIN FETCH p.organization " +
+           "WHERE gp.game.id = :gameId AND gp.status = 'CONFIRMED'")
+    List<GameParticipant> findConfirmedPlayerParticipantsByGame(@Param("gameId") Long gameId);
+    
     // Find participants by player's team (when joining with team)
     @Query("SELECT gp FROM GameParticipant gp JOIN gp.player.teams t WHERE gp.game.id = :gameId AND t.id = :teamId AND gp.participationType = 'WITH_TEAM'")
     List<GameParticipant> findByGameIdAndPlayerTeamId(@Param("gameId") Long gameId, @Param("teamId") Long teamId);
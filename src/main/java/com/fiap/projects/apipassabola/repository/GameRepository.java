@@ -1,29 +1,43 @@
 package com.fiap.projects.apipassabola.repository;
 
+import com.fiap.projects.apipassabola.dto.response.GameSummaryResponse;
 import com.fiap.projects.apipassabola.entity.Game;
 import com.fiap.projects.apipassabola.entity.GameType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     
+    // Listing queries fetch home/away organizations in the same select instead of one select per organization
+    @Override
+    @EntityGraph(attributePaths = {"homeTeam", "awayTeam"})
+    Page<Game> findAll(Pageable pageable);
+    
     @Query("SELECT g FROM Game g WHERE g.homeTeam.id = :organizationId OR g.awayTeam.id = :organizationId")
     Page<Game> findByOrganizationId(@Param("organizationId") Long organizationId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"homeTeam", "awayTeam"})
     @Query("SELECT g FROM Game g WHERE g.status = :status")
     Page<Game> findByStatus(@Param("status") Game.GameStatus status, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"homeTeam", "awayTeam"})
     @Query("SELECT g FROM Game g WHERE LOWER(g.championship) LIKE LOWER(CONCAT('%', :championship, '%'))")
     Page<Game> findByChampionshipContainingIgnoreCase(@Param("championship") String championship, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"homeTeam", "awayTeam"})
     @Query("SELECT g FROM Game g WHERE g.gameDate >= :startDate AND g.gameDate <= :endDate")
     Page<Game> findByGameDateBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
     
@@ -45,6 +59,7 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     @Query("SELECT COUNT(g) FROM Game g WHERE g.awayTeam.id = :organizationId AND g.awayGoals > g.homeGoals AND g.status = 'FINISHED'")
     Long countAwayWinsByOrganizationId(@Param("organizationId") Long organizationId);
     
+    @EntityGraph(attributePaths = {"homeTeam", "awayTeam"})
     @Query("SELECT g FROM Game g WHERE g.homeTeam.id = :homeTeamId OR g.awayTeam.id = :awayTeamId")
     Page<Game> findByHomeTeamIdOrAwayTeamId(@Param("homeTeamId") Long homeTeamId, @Param("awayTeamId") Long awayTeamId, Pageable pageable);
     
@@ -52,9 +67,25 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     Long countByHomeTeamIdOrAwayTeamId(@Param("homeTeamId") Long homeTeamId, @Param("awayTeamId") Long awayTeamId);
     
     // Queries for new game types
+    @EntityGraph(attributePaths = {"homeTeam", "awayTeam"})
     Page<Game> findByGameType(GameType gameType, Pageable pageable);
     List<Game> findByGameType(GameType gameType);
     
+    @EntityGraph(attributePaths = {"homeTeam", "awayTeam"})
+    Page<Game> findByGameTypeIn(Collection<GameType> gameTypes, Pageable pageable);
+    
+    // Keyset pagination by (gameDate, id) - served by idx_game_type_date
+    @Query("SELECT g FROM Game g WHERE g.gameType IN :gameTypes AND g.gameDate >= :from ORDER BY g.gameDate ASC, g.id ASC")
+    List<Game> findFirstByGameTypeInFrom(@Param("gameTypes") Collection<GameType> gameTypes,
+                                         @Param("from") LocalDateTime from, Pageable limit);
+    
+    @Query("SELECT g FROM Game g WHERE g.gameType IN :gameTypes " +
+           "AND (g.gameDate > :afterDate OR (g.gameDate = :afterDate AND g.id > :afterId)) " +
+           "ORDER BY g.gameDate ASC, g.id ASC")
+    List<Game> findByGameTypeInAfter(@Param("gameTypes") Collection<GameType> gameTypes,
+                                     @Param("afterDate") LocalDateTime afterDate,
+                                     @Param("afterId") Long afterId, Pageable limit);
+    
     // Queries for FRIENDLY and CHAMPIONSHIP games
     Page<Game> findByGameTypeAndHostId(GameType gameType, Long hostId, Pageable pageable);
     List<Game> findByGameTypeAndHostId(GameType gameType, Long hostId);
@@ -78,4 +109,86 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     
     @Query("SELECT COUNT(g) FROM Game g WHERE g.gameType = 'CUP' AND (g.homeTeam.id = :teamId OR g.awayTeam.id = :teamId)")
     long countCupGamesByTeamId(@Param("teamId") Long teamId);
+    
+    // Summary projections (view=summary) - participant lists replaced by the capacity counters of the game row
+    String SUMMARY_PROJECTION = "SELECT new com.fiap.projects.apipassabola.dto.response.GameSummaryResponse(" +
+            "g.id, g.gameType, g.gameName, g.hostUsername, g.gameDate, g.venue, homeOrg.name, awayOrg.name, " +
+            "g.status, g.homeGoals, g.awayGoals, g.maxPlayers, g.participantCount, g.spectatorCount) " +
+            "FROM Game g LEFT JOIN g.homeTeam homeOrg LEFT JOIN g.awayTeam awayOrg";
+    
+    @Query(value = SUMMARY_PROJECTION, countQuery = "SELECT COUNT(g) FROM Game g")
+    Page<GameSummaryResponse> findAllSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_PROJECTION + " WHERE g.gameType = :gameType",
+            countQuery = "SELECT COUNT(g) FROM Game g WHERE g.gameType = :gameType")
+    Page<GameSummaryResponse> findSummariesByGameType(@Param("gameType") GameType gameType, Pageable pageable);
+    
+    @Query(value = SUMMARY_PROJECTION + " WHERE g.status = :status",
+            countQuery = "SELECT COUNT(g) FROM Game g WHERE g.status = :status")
+    Page<GameSummaryResponse> findSummariesByStatus(@Param("status") Game.GameStatus status, Pageable pageable);
+    
+    // ========== CAPACITY COUNTERS ==========
+    // Conditional updates: the row lock taken by the UPDATE serializes concurrent joins,
+    // so a reservation either fits under the limit and returns 1, or returns 0 and changes nothing.
+    // Pending changes are flushed first. The persistence context is not cleared (entities loaded earlier,
+    // such as the game and player of a join, stay managed), so a Game loaded before the call keeps its old
+    // counters: read them back with findParticipantCount/findSpectatorCount, which always go to the database.
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Game g SET g.participantCount = g.participantCount + :slots " +
+           "WHERE g.id = :gameId AND g.participantCount + :slots <= g.maxPlayers")
+    int reserveParticipantSlots(@Param("gameId") Long gameId, @Param("slots") int slots);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Game g SET g.participantCount = CASE WHEN g.participantCount > :slots " +
+           "THEN g.participantCount - :slots ELSE 0 END WHERE g.id = :gameId")
+    int releaseParticipantSlots(@Param("gameId") Long gameId, @Param("slots") int slots);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Game g SET g.spectatorCount = g.spectatorCount + 1 " +
+           "WHERE g.id = :gameId AND g.spectatorCount < COALESCE(g.maxSpectators, 0)")
+    int reserveSpectatorSlot(@Param("gameId") Long gameId);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Game g SET g.spectatorCount = g.spectatorCount - 1 WHERE g.id = :gameId AND g.spectatorCount > 0")
+    int releaseSpectatorSlot(@Param("gameId") Long gameId);
+    
+    @Query("SELECT g.participantCount FROM Game g WHERE g.id = :gameId")
+    Optional<Integer> findParticipantCount(@Param("gameId") Long gameId);
+    
+    @Query("SELECT g.spectatorCount FROM Game g WHERE g.id = :gameId")
+    Optional<Integer> findSpectatorCount(@Param("gameId") Long gameId);
+    
+    // Rebuild the counters from the participant/spectator rows (migration 030-game-capacity-counters)
+    @Modifying
+    @Query("UPDATE Game g SET " +
+           "g.participantCount = (SELECT COUNT(gp) FROM GameParticipant gp WHERE gp.game.id = g.id), " +
+           "g.spectatorCount = (SELECT COUNT(gs) FROM GameSpectator gs WHERE gs.game.id = g.id AND gs.status = 'CONFIRMED')")
+    int recountCapacityCounters();
+    
+    // ========== RANKING SEASON ==========
+    // ranked_at keeps the first application: a reprocessed event does not move the game to a later season
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE Game g SET g.rankedAt = :rankedAt WHERE g.id = :gameId AND g.rankedAt IS NULL")
+    int markRanked(@Param("gameId") Long gameId, @Param("rankedAt") LocalDateTime rankedAt);
+    
+    // Fill ranked_at for games finished before the column existed (migration 035-game-ranked-at): the processing
+    // time of their GameFinished event, or the game date when the event is gone; games still pending stay null
+    @Modifying
+    @Query("UPDATE Game g SET g.rankedAt = COALESCE(" +
+           "(SELECT MAX(e.processedAt) FROM OutboxEvent e WHERE e.eventType = 'GameFinished' AND e.aggregateId = g.id " +
+           "AND e.status = 'PROCESSED'), g.gameDate) " +
+           "WHERE g.rankedAt IS NULL AND g.status = 'FINISHED' AND g.gameType IN ('CHAMPIONSHIP', 'CUP') " +
+           "AND NOT EXISTS (SELECT 1 FROM OutboxEvent e WHERE e.eventType = 'GameFinished' AND e.aggregateId = g.id " +
+           "AND e.status <> 'PROCESSED')")
+    int backfillRankedAt();
+    
+    // Fill Game.tournamentId for tournament games created before the column existed (migration 039-tournament-game-links)
+    @Modifying
+    @Query("UPDATE Game g SET g.tournamentId = " +
+           "(SELECT tm.tournament.id FROM TournamentMatch tm WHERE tm.game.id = g.id) " +
+           "WHERE g.tournamentId IS NULL AND EXISTS (SELECT 1 FROM TournamentMatch tm WHERE tm.game.id = g.id)")
+    int linkTournamentGames();
 }
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,4 +73,8 @@ public interface GameSpectatorRepository extends JpaRepository<GameSpectator, Lo
     // Count confirmed spectators
     @Query("SELECT COUNT(gs) FROM GameSpectator gs WHERE gs.game.id = :gameId AND gs.status = 'CONFIRMED'")
     long countConfirmedSpectatorsByGame(@Param("gameId") Long gameId);
+    
+    // Count confirmed spectators of several games at once: rows of [gameId, count]
+    @Query("SELECT gs.game.id, COUNT(gs) FROM GameSpectator gs WHERE gs.game.id IN :gameIds AND gs.status = 'CONFIRMED' GROUP BY gs.game.id")
+    List<Object[]> countConfirmedSpectatorsByGames(@Param("gameIds") Collection<Long> gameIds);
 }
@@ -3,12 +3,13 @@ package com.fiap.projects.apipassabola.repository;
 import com.fiap.projects.apipassabola.entity.Goal;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface GoalRepository extends JpaRepository<Goal, Long> {
+public interface GoalRepository extends JpaRepository<Goal, Long>, GoalRepositoryCustom {
     
     List<Goal> findByGameId(Long gameId);
     
@@ -21,6 +22,10 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
     @Query("SELECT g FROM Goal g WHERE g.game.id = :gameId AND g.isOwnGoal = false ORDER BY g.teamSide, g.minute")
     List<Goal> findGoalsByGame(Long gameId);
     
+    // [playerId, goals] for every scorer of the game (own goals excluded)
+    @Query("SELECT g.player.id, COUNT(g) FROM Goal g WHERE g.game.id = :gameId AND g.isOwnGoal = false GROUP BY g.player.id")
+    List<Object[]> countGoalsByPlayerInGame(@Param("gameId") Long gameId);
+    
     @Query("SELECT COUNT(g) FROM Goal g WHERE g.player.id = :playerId AND g.isOwnGoal = false")
     Long countGoalsByPlayer(Long playerId);
     
@@ -0,0 +1,18 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.Goal;
+
+import java.util.List;
+
+/**
+ * Operações de gols que não passam pelo ciclo de persistência do Hibernate
+ */
+public interface GoalRepositoryCustom {
+    
+    /**
+     * Insere os gols com um único JDBC batch (Goal usa IDENTITY, então o Hibernate não agrupa os inserts)
+     * Os ids gerados não são preenchidos nas entidades; releia os gols do jogo se precisar deles
+     * @return quantidade de gols inseridos
+     */
+    int insertAllInBatch(List<Goal> goals);
+}
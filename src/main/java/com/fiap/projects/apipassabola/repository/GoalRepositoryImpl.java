@@ -0,0 +1,41 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.Goal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class GoalRepositoryImpl implements GoalRepositoryCustom {
+    
+    private static final String INSERT_GOAL =
+            "INSERT INTO goals (game_id, player_id, team_side, minute, is_own_goal, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public int insertAllInBatch(List<Goal> goals) {
+        if (goals.isEmpty()) {
+            return 0;
+        }
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        // Participa da transação JPA corrente (mesma conexão), então tudo é confirmado junto
+        jdbcTemplate.batchUpdate(INSERT_GOAL, goals, goals.size(), (ps, goal) -> {
+            ps.setLong(1, goal.getGame().getId());
+            ps.setLong(2, goal.getPlayer().getId());
+            ps.setInt(3, goal.getTeamSide());
+            if (goal.getMinute() != null) {
+                ps.setInt(4, goal.getMinute());
+            } else {
+                ps.setNull(4, Types.INTEGER);
+            }
+            ps.setBoolean(5, Boolean.TRUE.equals(goal.getIsOwnGoal()));
+            ps.setTimestamp(6, createdAt);
+        });
+        return goals.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.fiap.projects.apipassabola.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Pools de ids da tabela id_pools (uma linha por tabela, usada pelos @TableGenerator das entidades)
+ *
+ * O Hibernate reserva blocos de ids de uma vez (otimizador pooled), então as entidades recebem id já
+ * na persistência e os INSERTs podem ser enviados em lote. Tabelas que antes usavam auto incremento
+ * já têm linhas: o pool precisa começar acima do maior id existente.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdPoolRepository {
+
+    public static final String TABLE = "id_pools";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Garante que o pool só entregue ids maiores que o maior id da tabela
+     * A margem de um bloco inteiro cobre qualquer interpretação do valor guardado pelo otimizador.
+     */
+    @Transactional
+    public void alignWithTable(String pool, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long floor = maxId + ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update("UPDATE " + TABLE + " SET next_id = ? WHERE pool_name = ? AND next_id < ?",
+                floor, pool, floor);
+        if (updated == 0) {
+            Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE + " WHERE pool_name = ?",
+                    Integer.class, pool);
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update("INSERT INTO " + TABLE + " (pool_name, next_id) VALUES (?, ?)", pool, floor);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.model.NotificationGroupLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationGroupLockRepository extends JpaRepository<NotificationGroupLock, String> {
+    
+    // Cria ou atualiza a linha do grupo; em ambos os casos ela fica bloqueada até o fim da transação
+    @Modifying
+    @Query(value = "INSERT INTO notification_group_locks (lock_key, locked_at) VALUES (:lockKey, :lockedAt) " +
+                   "ON DUPLICATE KEY UPDATE locked_at = VALUES(locked_at)", nativeQuery = true)
+    int acquire(@Param("lockKey") String lockKey, @Param("lockedAt") LocalDateTime lockedAt);
+    
+    // Remove bloqueios sem uso desde :date
+    @Modifying
+    @Query("DELETE FROM NotificationGroupLock l WHERE l.lockedAt < :date")
+    int deleteOlderThan(@Param("date") LocalDateTime date);
+}
@@ -3,9 +3,11 @@ package com.fiap.projects.apipassabola.repository;
 import com.fiap.projects.apipassabola.entity.UserType;
 import com.fiap.projects.apipassabola.model.Notification;
 import com.fiap.projects.apipassabola.model.NotificationType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -50,6 +52,25 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
             Pageable pageable
     );
     
+    // Notificação agrupada ainda aberta (não lida, última ação desde :since), bloqueada até o commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId " +
+           "AND n.recipientType = :recipientType AND n.groupKey = :groupKey AND n.type = :type " +
+           "AND n.isRead = false AND n.createdAt >= :since ORDER BY n.createdAt DESC")
+    List<Notification> findOpenGroup(
+            @Param("recipientId") Long recipientId,
+            @Param("recipientType") UserType recipientType,
+            @Param("type") NotificationType type,
+            @Param("groupKey") String groupKey,
+            @Param("since") LocalDateTime since,
+            Pageable limit
+    );
+    
+    // Marcar uma como lida só se ainda não estava: retorna 0 quando outra chamada já marcou
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.id = :id AND n.isRead = false")
+    int markAsReadIfUnread(@Param("id") Long id, @Param("readAt") LocalDateTime readAt);
+    
     // Marcar todas como lidas
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
@@ -60,6 +81,11 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
             @Param("readAt") LocalDateTime readAt
     );
     
+    // [recipientType, recipientId, não lidas] entre as notificações antigas (para ajustar os contadores)
+    @Query("SELECT n.recipientType, n.recipientId, COUNT(n) FROM Notification n " +
+           "WHERE n.createdAt < :date AND n.isRead = false GROUP BY n.recipientType, n.recipientId")
+    List<Object[]> countUnreadOlderThan(@Param("date") LocalDateTime date);
+    
     // Deletar notificações antigas
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.createdAt < :date")
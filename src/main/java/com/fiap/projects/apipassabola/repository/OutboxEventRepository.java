@@ -0,0 +1,59 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // Próximos eventos prontos para processamento, na ordem em que foram gravados
+    @Query("SELECT e FROM OutboxEvent e WHERE e.eventType = :eventType AND e.status = 'PENDING' " +
+           "AND e.nextAttemptAt <= :now ORDER BY e.id ASC")
+    List<OutboxEvent> findReady(@Param("eventType") String eventType, @Param("now") LocalDateTime now, Pageable limit);
+    
+    // Eventos pendentes que ainda aguardam a próxima tentativa (backoff ou adiados atrás de uma falha)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.eventType = :eventType AND e.status = 'PENDING' " +
+           "AND e.nextAttemptAt > :now ORDER BY e.id ASC")
+    List<OutboxEvent> findWaiting(@Param("eventType") String eventType, @Param("now") LocalDateTime now);
+    
+    // Marca um lote inteiro como processado em um só UPDATE
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'PROCESSED', e.processedAt = :processedAt, e.lastError = null " +
+           "WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+    
+    // Troca o conteúdo de um evento ainda não enviado (nem vencido até :notBefore); 0 se não houver
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.payload = :payload WHERE e.eventType = :eventType " +
+           "AND e.aggregateId = :aggregateId AND e.status = 'PENDING' AND e.attempts = 0 " +
+           "AND e.nextAttemptAt > :notBefore")
+    int replacePendingPayload(@Param("eventType") String eventType, @Param("aggregateId") Long aggregateId,
+                              @Param("payload") String payload, @Param("notBefore") LocalDateTime notBefore);
+    
+    // Remove os eventos já encerrados (PROCESSED/FAILED) gravados antes de :before
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.eventType = :eventType AND e.status IN ('PROCESSED', 'FAILED') " +
+           "AND e.createdAt < :before")
+    int deleteFinishedBefore(@Param("eventType") String eventType, @Param("before") LocalDateTime before);
+    
+    long countByEventTypeAndStatus(String eventType, OutboxEvent.EventStatus status);
+    
+    long countByEventTypeAndStatusIn(String eventType, Collection<OutboxEvent.EventStatus> statuses);
+    
+    Optional<OutboxEvent> findFirstByEventTypeAndStatusOrderByIdAsc(String eventType, OutboxEvent.EventStatus status);
+    
+    Optional<OutboxEvent> findFirstByEventTypeAndStatusOrderByProcessedAtDesc(String eventType, OutboxEvent.EventStatus status);
+}
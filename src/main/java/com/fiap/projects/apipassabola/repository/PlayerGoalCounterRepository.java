@@ -0,0 +1,21 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.PlayerGoalCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PlayerGoalCounterRepository extends JpaRepository<PlayerGoalCounter, Long>, PlayerGoalCounterRepositoryCustom {
+    
+    // [playerId, goals] das jogadoras informadas no escopo
+    @Query("SELECT c.playerId, c.goals FROM PlayerGoalCounter c WHERE c.scope = :scope " +
+           "AND c.scopeId = :scopeId AND c.playerId IN :playerIds")
+    List<Object[]> findGoals(@Param("scope") PlayerGoalCounter.Scope scope,
+                             @Param("scopeId") Long scopeId,
+                             @Param("playerIds") Collection<Long> playerIds);
+}
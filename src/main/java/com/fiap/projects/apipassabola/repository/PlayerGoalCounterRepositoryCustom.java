@@ -0,0 +1,31 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.PlayerGoalCounter;
+import com.fiap.projects.apipassabola.util.TopScorerBoard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operações dos contadores de gols que não passam pelo ciclo de persistência do Hibernate
+ */
+public interface PlayerGoalCounterRepositoryCustom {
+    
+    /**
+     * Soma os gols aos contadores do escopo com um único JDBC batch de upserts
+     */
+    void incrementAll(PlayerGoalCounter.Scope scope, long scopeId, Map<Long, Integer> goalsByPlayer);
+    
+    /**
+     * Maiores artilheiras do escopo (gols desc, id da jogadora asc), com nome e username
+     */
+    List<TopScorerBoard.Entry> findTop(PlayerGoalCounter.Scope scope, long scopeId, int limit);
+    
+    /**
+     * Preenche os contadores a partir da tabela goals quando ainda estão vazios (primeira execução)
+     * @param seasonStart início da temporada em andamento, ou null se nenhuma foi encerrada
+     * @return true se o preenchimento foi executado
+     */
+    boolean backfillIfEmpty(LocalDateTime seasonStart);
+}
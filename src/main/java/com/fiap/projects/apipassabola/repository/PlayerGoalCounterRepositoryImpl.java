@@ -0,0 +1,87 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.PlayerGoalCounter;
+import com.fiap.projects.apipassabola.util.TopScorerBoard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class PlayerGoalCounterRepositoryImpl implements PlayerGoalCounterRepositoryCustom {
+    
+    private static final String UPSERT_COUNTER =
+            "INSERT INTO player_goal_counters (scope, scope_id, player_id, goals, updated_at) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE goals = goals + VALUES(goals), updated_at = VALUES(updated_at)";
+    
+    private static final String FIND_TOP =
+            "SELECT c.player_id, p.name, p.username, c.goals FROM player_goal_counters c " +
+            "JOIN players p ON p.id = c.player_id WHERE c.scope = ? AND c.scope_id = ? " +
+            "ORDER BY c.goals DESC, c.player_id LIMIT ?";
+    
+    // Gols válidos (sem gols contra) agrupados por jogadora; o escopo e o filtro entram nos placeholders
+    private static final String BACKFILL =
+            "INSERT INTO player_goal_counters (scope, scope_id, player_id, goals, updated_at) " +
+            "SELECT '%s', %s, g.player_id, COUNT(*), ? FROM goals g %s " +
+            "WHERE (g.is_own_goal = false OR g.is_own_goal IS NULL) %s GROUP BY %s";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void incrementAll(PlayerGoalCounter.Scope scope, long scopeId, Map<Long, Integer> goalsByPlayer) {
+        if (goalsByPlayer.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<Long, Integer>> rows = new ArrayList<>(goalsByPlayer.entrySet());
+        // Participa da transação JPA corrente (mesma conexão), então é confirmado junto com os gols
+        jdbcTemplate.batchUpdate(UPSERT_COUNTER, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, scope.name());
+            ps.setLong(2, scopeId);
+            ps.setLong(3, row.getKey());
+            ps.setInt(4, row.getValue());
+            ps.setTimestamp(5, now);
+        });
+    }
+    
+    @Override
+    public List<TopScorerBoard.Entry> findTop(PlayerGoalCounter.Scope scope, long scopeId, int limit) {
+        return jdbcTemplate.query(FIND_TOP,
+                (rs, rowNum) -> new TopScorerBoard.Entry(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4)),
+                scope.name(), scopeId, limit);
+    }
+    
+    @Override
+    public boolean backfillIfEmpty(LocalDateTime seasonStart) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM player_goal_counters LIMIT 1) c",
+                Integer.class);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        jdbcTemplate.update(String.format(BACKFILL, "OVERALL", "0", "", "", "g.player_id"), now);
+        
+        jdbcTemplate.update(String.format(BACKFILL, "TOURNAMENT", "tm.tournament_id",
+                "JOIN tournament_matches tm ON tm.game_id = g.game_id", "", "tm.tournament_id, g.player_id"), now);
+        
+        // Temporadas encerradas: jogos entre o início e o encerramento de cada uma
+        jdbcTemplate.update(String.format(BACKFILL, "SEASON", "s.id",
+                "JOIN games gm ON gm.id = g.game_id JOIN ranking_seasons s ON gm.game_date < s.closed_at " +
+                "AND (s.started_at IS NULL OR gm.game_date >= s.started_at)", "", "s.id, g.player_id"), now);
+        
+        if (seasonStart == null) {
+            jdbcTemplate.update(String.format(BACKFILL, "SEASON", String.valueOf(PlayerGoalCounter.CURRENT_SEASON),
+                    "", "", "g.player_id"), now);
+        } else {
+            jdbcTemplate.update(String.format(BACKFILL, "SEASON", String.valueOf(PlayerGoalCounter.CURRENT_SEASON),
+                    "JOIN games gm ON gm.id = g.game_id", "AND gm.game_date >= ?", "g.player_id"),
+                    now, Timestamp.valueOf(seasonStart));
+        }
+        return true;
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,6 +24,32 @@ public interface PlayerRankingRepository extends JpaRepository<PlayerRanking, Lo
     
     Optional<PlayerRanking> findByPlayerId(Long playerId);
     
+    /**
+     * Busca os rankings de várias jogadoras de uma vez (jogadora e organização já carregadas)
+     */
+    @Query("SELECT pr FROM PlayerRanking pr JOIN FETCH pr.player p LEFT JOIN FETCH p.organization WHERE p.id IN :playerIds")
+    List<PlayerRanking> findByPlayerIdIn(@Param("playerIds") Collection<Long> playerIds);
+    
+    /**
+     * Busca rankings pelos próprios ids (páginas montadas a partir do leaderboard em memória)
+     */
+    @Query("SELECT pr FROM PlayerRanking pr JOIN FETCH pr.player p LEFT JOIN FETCH p.organization WHERE pr.id IN :ids")
+    List<PlayerRanking> findAllWithPlayerByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * [id, totalPoints] de todos os rankings (carga do leaderboard em memória)
+     */
+    @Query("SELECT pr.id, pr.totalPoints FROM PlayerRanking pr")
+    List<Object[]> findAllPoints();
+    
+    /**
+     * [faixa, quantidade, soma de pontos] agrupados por floor(total_points / bucketWidth)
+     * (reconciliação das estatísticas por divisão)
+     */
+    @Query(value = "SELECT FLOOR(total_points / :bucketWidth) AS bucket, COUNT(*), SUM(total_points) " +
+            "FROM player_rankings GROUP BY bucket", nativeQuery = true)
+    List<Object[]> findPointsHistogram(@Param("bucketWidth") int bucketWidth);
+    
     /**
      * Verifica se uma jogadora já tem ranking
      */
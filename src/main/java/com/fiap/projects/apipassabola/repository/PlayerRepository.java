@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,6 +59,10 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     @Query("SELECT p FROM Player p JOIN p.teams t WHERE t = :team")
     List<Player> findByTeamsContaining(@Param("team") Team team);
     
+    // [playerId, teamId] pairs for several players at once
+    @Query("SELECT p.id, t.id FROM Player p JOIN p.teams t WHERE p.id IN :playerIds")
+    List<Object[]> findTeamIdsByPlayerIds(@Param("playerIds") Collection<Long> playerIds);
+    
     // Cross-type following queries for Player
     @Query("SELECT s FROM Player p JOIN p.followingSpectators s WHERE p.id = :playerId")
     Page<com.fiap.projects.apipassabola.entity.Spectator> findFollowingSpectatorsByPlayerId(@Param("playerId") Long playerId, Pageable pageable);
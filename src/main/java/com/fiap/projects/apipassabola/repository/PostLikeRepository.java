@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,6 +51,13 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
      */
     long countByPostId(Long postId);
     
+    /**
+     * Count distinct users (other than the post author) currently liking a post since a given moment
+     */
+    @Query("SELECT COUNT(pl) FROM PostLike pl WHERE pl.post.id = :postId AND pl.createdAt >= :since " +
+           "AND NOT (pl.userId = pl.post.authorId AND pl.userType = pl.post.authorType)")
+    long countLikersSince(@Param("postId") Long postId, @Param("since") LocalDateTime since);
+    
     /**
      * Count likes by a specific user
      */
@@ -1,5 +1,6 @@
 package com.fiap.projects.apipassabola.repository;
 
+import com.fiap.projects.apipassabola.dto.response.PostSummaryResponse;
 import com.fiap.projects.apipassabola.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -59,4 +60,20 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     
     @Query("SELECT p FROM Post p WHERE p.authorUsername = :username ORDER BY p.createdAt DESC")
     Page<Post> findByAuthorUsername(@Param("username") String username, Pageable pageable);
+    
+    // Summary projections (view=summary) - no entity hydration, content truncated to a snippet
+    String SUMMARY_PROJECTION = "SELECT new com.fiap.projects.apipassabola.dto.response.PostSummaryResponse(" +
+            "p.id, p.authorId, p.authorUsername, p.authorName, p.authorType, SUBSTRING(p.content, 1, 280), " +
+            "p.imageUrl, p.type, p.likes, p.comments, p.shares, p.createdAt) FROM Post p";
+    
+    @Query(value = SUMMARY_PROJECTION, countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostSummaryResponse> findAllSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_PROJECTION + " WHERE p.authorId = :authorId ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.authorId = :authorId")
+    Page<PostSummaryResponse> findSummariesByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+    
+    @Query(value = SUMMARY_PROJECTION + " WHERE p.type = :type ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.type = :type")
+    Page<PostSummaryResponse> findSummariesByType(@Param("type") Post.PostType type, Pageable pageable);
 }
@@ -0,0 +1,21 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.RankingApplication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RankingApplicationRepository extends JpaRepository<RankingApplication, Long>, RankingApplicationRepositoryCustom {
+    
+    // Ids (entre os informados) que já receberam o resultado do jogo
+    @Query("SELECT ra.subjectId FROM RankingApplication ra WHERE ra.gameId = :gameId " +
+           "AND ra.subjectType = :subjectType AND ra.subjectId IN :subjectIds")
+    List<Long> findAppliedSubjectIds(@Param("gameId") Long gameId,
+                                     @Param("subjectType") RankingApplication.SubjectType subjectType,
+                                     @Param("subjectIds") Collection<Long> subjectIds);
+}
@@ -0,0 +1,17 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.RankingApplication;
+
+import java.util.Collection;
+
+/**
+ * Operações do registro de aplicações de ranking que não passam pelo ciclo de persistência do Hibernate
+ */
+public interface RankingApplicationRepositoryCustom {
+    
+    /**
+     * Registra com um único JDBC batch que o jogo foi aplicado aos ids informados
+     * Falha com violação de chave única se algum deles já tiver sido registrado por outra transação
+     */
+    void insertAllInBatch(Long gameId, RankingApplication.SubjectType subjectType, Collection<Long> subjectIds);
+}
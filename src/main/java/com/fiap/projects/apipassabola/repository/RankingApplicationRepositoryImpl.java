@@ -0,0 +1,35 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.RankingApplication;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class RankingApplicationRepositoryImpl implements RankingApplicationRepositoryCustom {
+    
+    private static final String INSERT_APPLICATION =
+            "INSERT INTO ranking_applications (game_id, subject_type, subject_id, applied_at) VALUES (?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void insertAllInBatch(Long gameId, RankingApplication.SubjectType subjectType, Collection<Long> subjectIds) {
+        if (subjectIds.isEmpty()) {
+            return;
+        }
+        Timestamp appliedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = new ArrayList<>(subjectIds);
+        jdbcTemplate.batchUpdate(INSERT_APPLICATION, ids, ids.size(), (ps, subjectId) -> {
+            ps.setLong(1, gameId);
+            ps.setString(2, subjectType.name());
+            ps.setLong(3, subjectId);
+            ps.setTimestamp(4, appliedAt);
+        });
+    }
+}
@@ -0,0 +1,268 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.Division;
+import com.fiap.projects.apipassabola.entity.OutboxEvent;
+import com.fiap.projects.apipassabola.util.RankingReplayState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Acesso JDBC usado pela reconstrução completa dos rankings
+ *
+ * Lê o histórico de jogos em blocos cronológicos (keyset em game_date, id) sem carregar entidades,
+ * e grava o resultado da reconstrução em uma única transação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RankingRebuildRepository {
+    
+    private static final String RANKED_GAMES_FILTER =
+            "status = 'FINISHED' AND game_type IN ('CHAMPIONSHIP', 'CUP')";
+    
+    // Temporada do jogo: a do momento em que o resultado foi aplicado ao ranking (ranked_at), não a da
+    // data marcada. Sem ranked_at o resultado ainda não foi aplicado, então pertence à temporada em andamento.
+    private static final String SEASON_FILTER = "(ranked_at >= ? OR ranked_at IS NULL)";
+    
+    private static final int WRITE_BATCH_SIZE = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Jogo que conta para o ranking, apenas com o que a reconstrução precisa
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RankedGame {
+        private final long id;
+        private final LocalDateTime gameDate;
+        private final int homeGoals;
+        private final int awayGoals;
+        
+        /** Lado vencedor (1 ou 2), ou 0 em caso de empate */
+        public int getWinningTeamSide() {
+            return homeGoals > awayGoals ? 1 : awayGoals > homeGoals ? 2 : 0;
+        }
+    }
+    
+    @FunctionalInterface
+    public interface ParticipantHandler {
+        void handle(long gameId, long playerId, int teamSide, boolean withTeam, long teamId); // teamId 0: não gravado
+    }
+    
+    @FunctionalInterface
+    public interface ScorerHandler {
+        void handle(long gameId, long playerId, int goals);
+    }
+    
+    // ========== LEITURA ==========
+    
+    public long[] findAllPlayerIds() {
+        return queryIds("SELECT id FROM players ORDER BY id");
+    }
+    
+    public long[] findAllTeamIds() {
+        return queryIds("SELECT id FROM teams ORDER BY id");
+    }
+    
+    /**
+     * Vínculos jogadora-time como pares achatados [playerId, teamId, playerId, teamId, ...],
+     * ordenados por jogadora
+     */
+    public long[] findTeamMemberships() {
+        List<long[]> rows = jdbcTemplate.query("SELECT player_id, team_id FROM team_players ORDER BY player_id",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        long[] pairs = new long[rows.size() * 2];
+        for (int i = 0; i < rows.size(); i++) {
+            pairs[2 * i] = rows.get(i)[0];
+            pairs[2 * i + 1] = rows.get(i)[1];
+        }
+        return pairs;
+    }
+    
+    /**
+     * @param since início da temporada em andamento, ou null para todo o histórico
+     */
+    public long countRankedGames(LocalDateTime since) {
+        Long count = since == null
+                ? jdbcTemplate.queryForObject("SELECT COUNT(*) FROM games WHERE " + RANKED_GAMES_FILTER, Long.class)
+                : jdbcTemplate.queryForObject("SELECT COUNT(*) FROM games WHERE " + RANKED_GAMES_FILTER +
+                        " AND " + SEASON_FILTER, Long.class, Timestamp.valueOf(since));
+        return count != null ? count : 0;
+    }
+    
+    /**
+     * Próximo bloco de jogos finalizados de CHAMPIONSHIP/CUP em ordem cronológica
+     * @param since início da temporada em andamento (jogos aplicados ao ranking a partir dele), ou null para todo o histórico
+     * @param after último jogo do bloco anterior, ou null para começar do início
+     */
+    public List<RankedGame> findRankedGames(LocalDateTime since, RankedGame after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, game_date, home_goals, away_goals FROM games WHERE ")
+                .append(RANKED_GAMES_FILTER);
+        List<Object> args = new ArrayList<>();
+        if (since != null) {
+            sql.append(" AND ").append(SEASON_FILTER);
+            args.add(Timestamp.valueOf(since));
+        }
+        if (after != null) {
+            Timestamp date = Timestamp.valueOf(after.getGameDate());
+            sql.append(" AND (game_date > ? OR (game_date = ? AND id > ?))");
+            args.add(date);
+            args.add(date);
+            args.add(after.getId());
+        }
+        sql.append(" ORDER BY game_date, id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toRankedGame(rs), args.toArray());
+    }
+    
+    /**
+     * Jogadoras confirmadas dos jogos informados, em ordem de inscrição dentro de cada jogo
+     */
+    public void forEachParticipant(long[] gameIds, ParticipantHandler handler) {
+        jdbcTemplate.query("SELECT game_id, player_id, team_side, participation_type, team_id FROM game_participants " +
+                        "WHERE game_id IN (" + placeholders(gameIds.length) + ") AND status = 'CONFIRMED' " +
+                        "AND player_id IS NOT NULL AND participation_type IN ('INDIVIDUAL', 'WITH_TEAM') " +
+                        "ORDER BY game_id, id",
+                rs -> {
+                    handler.handle(rs.getLong(1), rs.getLong(2), rs.getInt(3), "WITH_TEAM".equals(rs.getString(4)),
+                            rs.getLong(5));
+                },
+                boxed(gameIds));
+    }
+    
+    /**
+     * Gols por jogadora nos jogos informados (gols contra não contam)
+     */
+    public void forEachScorer(long[] gameIds, ScorerHandler handler) {
+        jdbcTemplate.query("SELECT game_id, player_id, COUNT(*) FROM goals " +
+                        "WHERE game_id IN (" + placeholders(gameIds.length) + ") AND is_own_goal = false " +
+                        "GROUP BY game_id, player_id",
+                rs -> {
+                    handler.handle(rs.getLong(1), rs.getLong(2), rs.getInt(3));
+                },
+                boxed(gameIds));
+    }
+    
+    // ========== GRAVAÇÃO ==========
+    
+    /**
+     * Substitui o conteúdo de player_rankings e team_rankings pelo resultado da reconstrução, em uma
+     * única transação: leitores continuam vendo os rankings antigos até o commit.
+     * As linhas existentes são atualizadas no lugar (ids preservados); quem não jogou volta a zero.
+     * Eventos GameFinished ainda pendentes de jogos já incluídos na reconstrução são marcados como
+     * processados, para não serem aplicados de novo pelo pipeline assíncrono, e esses jogos passam a
+     * pertencer à temporada em andamento (ranked_at).
+     *
+     * @param replayedGameIds ids dos jogos reprocessados, em ordem crescente
+     */
+    @Transactional
+    public void replaceRankings(RankingReplayState players, RankingReplayState teams, long[] replayedGameIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        replaceTable("player_rankings", "player_id", players, now);
+        replaceTable("team_rankings", "team_id", teams, now);
+        
+        List<Long> coveredEvents = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, aggregate_id FROM outbox_events WHERE event_type = ? AND status IN ('PENDING', 'FAILED')",
+                rs -> {
+                    if (Arrays.binarySearch(replayedGameIds, rs.getLong(2)) >= 0) {
+                        coveredEvents.add(rs.getLong(1));
+                    }
+                },
+                OutboxEvent.GAME_FINISHED);
+        jdbcTemplate.batchUpdate("UPDATE outbox_events SET status = 'PROCESSED', processed_at = ?, last_error = NULL WHERE id = ?",
+                coveredEvents, WRITE_BATCH_SIZE, (ps, eventId) -> {
+                    ps.setTimestamp(1, now);
+                    ps.setLong(2, eventId);
+                });
+        jdbcTemplate.batchUpdate("UPDATE games SET ranked_at = ? WHERE id = ? AND ranked_at IS NULL",
+                Arrays.stream(replayedGameIds).boxed().toList(), WRITE_BATCH_SIZE, (ps, gameId) -> {
+                    ps.setTimestamp(1, now);
+                    ps.setLong(2, gameId);
+                });
+    }
+    
+    private void replaceTable(String table, String subjectColumn, RankingReplayState state, Timestamp now) {
+        jdbcTemplate.update("UPDATE " + table + " SET total_points = 0, division = ?, games_won = 0, games_drawn = 0, " +
+                "games_lost = 0, total_games = 0, win_rate = 0, current_streak = 0, best_streak = 0, " +
+                "last_game_date = NULL, updated_at = ?", Division.BRONZE.name(), now);
+        
+        long[] existing = queryIds("SELECT " + subjectColumn + " FROM " + table + " ORDER BY " + subjectColumn);
+        List<Integer> toUpdate = new ArrayList<>();
+        List<Integer> toInsert = new ArrayList<>();
+        for (int i = 0; i < state.size(); i++) {
+            if (state.hasPlayed(i)) {
+                (Arrays.binarySearch(existing, state.idAt(i)) >= 0 ? toUpdate : toInsert).add(i);
+            }
+        }
+        
+        jdbcTemplate.batchUpdate("UPDATE " + table + " SET total_points = ?, division = ?, games_won = ?, games_drawn = ?, " +
+                        "games_lost = ?, total_games = ?, win_rate = ?, current_streak = ?, best_streak = ?, " +
+                        "last_game_date = ?, updated_at = ? WHERE " + subjectColumn + " = ?",
+                toUpdate, WRITE_BATCH_SIZE, (ps, i) -> {
+                    setRankingColumns(ps, state, i);
+                    ps.setTimestamp(11, now);
+                    ps.setLong(12, state.idAt(i));
+                });
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (total_points, division, games_won, games_drawn, games_lost, " +
+                        "total_games, win_rate, current_streak, best_streak, last_game_date, created_at, updated_at, " +
+                        subjectColumn + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                toInsert, WRITE_BATCH_SIZE, (ps, i) -> {
+                    setRankingColumns(ps, state, i);
+                    ps.setTimestamp(11, now);
+                    ps.setTimestamp(12, now);
+                    ps.setLong(13, state.idAt(i));
+                });
+    }
+    
+    private void setRankingColumns(PreparedStatement ps, RankingReplayState state, int i) throws SQLException {
+        int points = state.pointsAt(i);
+        int totalGames = state.totalGamesAt(i);
+        ps.setInt(1, points);
+        ps.setString(2, Division.fromPoints(points).name());
+        ps.setInt(3, state.wonAt(i));
+        ps.setInt(4, state.drawnAt(i));
+        ps.setInt(5, state.lostAt(i));
+        ps.setInt(6, totalGames);
+        ps.setDouble(7, totalGames > 0 ? (double) state.wonAt(i) / totalGames * 100 : 0.0);
+        ps.setInt(8, state.streakAt(i));
+        ps.setInt(9, state.bestStreakAt(i));
+        if (state.hasPlayed(i)) {
+            ps.setTimestamp(10, Timestamp.valueOf(
+                    LocalDateTime.ofEpochSecond(state.lastGameEpochSecondAt(i), 0, ZoneOffset.UTC)));
+        } else {
+            ps.setNull(10, Types.TIMESTAMP);
+        }
+    }
+    
+    private RankedGame toRankedGame(ResultSet rs) throws SQLException {
+        return new RankedGame(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), rs.getInt(3), rs.getInt(4));
+    }
+    
+    private long[] queryIds(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
+    private static Object[] boxed(long[] values) {
+        return Arrays.stream(values).boxed().toArray();
+    }
+}
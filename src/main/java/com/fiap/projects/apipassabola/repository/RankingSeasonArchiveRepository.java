@@ -0,0 +1,88 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.Division;
+import com.fiap.projects.apipassabola.entity.PlayerGoalCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Acesso JDBC usado no encerramento de temporada
+ *
+ * O arquivo é gravado com um INSERT ... SELECT por tabela: as posições (global e na divisão) são
+ * calculadas pelo banco com ROW_NUMBER na mesma ordem do leaderboard em memória (pontos desc, id asc),
+ * sem trazer as linhas para a aplicação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RankingSeasonArchiveRepository {
+    
+    private static final String ARCHIVE_COLUMNS = "season_id, subject_type, subject_id, subject_name, global_position, " +
+            "division_position, total_points, division, games_won, games_drawn, games_lost, total_games, win_rate, " +
+            "best_streak, last_game_date";
+    
+    private static final String ARCHIVE_SELECT = "SELECT ?, ?, r.%1$s, s.%2$s, " +
+            "ROW_NUMBER() OVER (ORDER BY r.total_points DESC, r.id), " +
+            "ROW_NUMBER() OVER (PARTITION BY r.division ORDER BY r.total_points DESC, r.id), " +
+            "r.total_points, r.division, r.games_won, r.games_drawn, r.games_lost, r.total_games, r.win_rate, " +
+            "r.best_streak, r.last_game_date " +
+            "FROM %3$s r JOIN %4$s s ON s.id = r.%1$s";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Encerra a temporada em uma única transação: grava o registro da temporada, arquiva todas as
+     * linhas de player_rankings e team_rankings, zera os contadores ao vivo e move a artilharia da
+     * temporada em andamento para a temporada encerrada
+     * @return id da temporada criada
+     */
+    @Transactional
+    public Long closeSeason(String name, LocalDateTime startedAt, LocalDateTime closedAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO ranking_seasons " +
+                    "(name, started_at, closed_at, players_archived, teams_archived) VALUES (?, ?, ?, 0, 0)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, name);
+            ps.setTimestamp(2, startedAt != null ? Timestamp.valueOf(startedAt) : null);
+            ps.setTimestamp(3, Timestamp.valueOf(closedAt));
+            return ps;
+        }, keyHolder);
+        Long seasonId = keyHolder.getKey().longValue();
+        
+        int players = archive(seasonId, "PLAYER", "player_id", "name", "player_rankings", "players");
+        int teams = archive(seasonId, "TEAM", "team_id", "name_team", "team_rankings", "teams");
+        jdbcTemplate.update("UPDATE ranking_seasons SET players_archived = ?, teams_archived = ? WHERE id = ?",
+                players, teams, seasonId);
+        
+        Timestamp now = Timestamp.valueOf(closedAt);
+        reset("player_rankings", now);
+        reset("team_rankings", now);
+        
+        // Artilharia da temporada em andamento passa a pertencer à temporada encerrada
+        jdbcTemplate.update("UPDATE player_goal_counters SET scope_id = ? WHERE scope = ? AND scope_id = ?",
+                seasonId, PlayerGoalCounter.Scope.SEASON.name(), PlayerGoalCounter.CURRENT_SEASON);
+        return seasonId;
+    }
+    
+    private int archive(Long seasonId, String subjectType, String subjectColumn, String nameColumn,
+                        String rankingTable, String subjectTable) {
+        return jdbcTemplate.update("INSERT INTO season_ranking_entries (" + ARCHIVE_COLUMNS + ") " +
+                        String.format(ARCHIVE_SELECT, subjectColumn, nameColumn, rankingTable, subjectTable),
+                seasonId, subjectType);
+    }
+    
+    private void reset(String table, Timestamp now) {
+        jdbcTemplate.update("UPDATE " + table + " SET total_points = 0, division = ?, games_won = 0, games_drawn = 0, " +
+                "games_lost = 0, total_games = 0, win_rate = 0, current_streak = 0, best_streak = 0, " +
+                "last_game_date = NULL, updated_at = ?", Division.BRONZE.name(), now);
+    }
+}
@@ -0,0 +1,21 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.RankingSeason;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RankingSeasonRepository extends JpaRepository<RankingSeason, Long> {
+    
+    /**
+     * Última temporada encerrada (o closedAt dela é o início da temporada em andamento)
+     */
+    Optional<RankingSeason> findTopByOrderByClosedAtDesc();
+    
+    List<RankingSeason> findAllByOrderByClosedAtDesc();
+    
+    boolean existsByName(String name);
+}
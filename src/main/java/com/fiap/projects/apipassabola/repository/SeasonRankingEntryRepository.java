@@ -0,0 +1,32 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.Division;
+import com.fiap.projects.apipassabola.entity.RankingApplication;
+import com.fiap.projects.apipassabola.entity.SeasonRankingEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeasonRankingEntryRepository extends JpaRepository<SeasonRankingEntry, Long> {
+    
+    /**
+     * Faixa de posições do leaderboard arquivado (from e to inclusivos)
+     */
+    List<SeasonRankingEntry> findBySeasonIdAndSubjectTypeAndGlobalPositionBetweenOrderByGlobalPosition(
+            Long seasonId, RankingApplication.SubjectType subjectType, Integer from, Integer to);
+    
+    /**
+     * Faixa de posições dentro de uma divisão do leaderboard arquivado (from e to inclusivos)
+     */
+    List<SeasonRankingEntry> findBySeasonIdAndSubjectTypeAndDivisionAndDivisionPositionBetweenOrderByDivisionPosition(
+            Long seasonId, RankingApplication.SubjectType subjectType, Division division, Integer from, Integer to);
+    
+    long countBySeasonIdAndSubjectTypeAndDivision(Long seasonId, RankingApplication.SubjectType subjectType,
+                                                  Division division);
+    
+    Optional<SeasonRankingEntry> findBySeasonIdAndSubjectTypeAndSubjectId(
+            Long seasonId, RankingApplication.SubjectType subjectType, Long subjectId);
+}
@@ -10,6 +10,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,6 +24,38 @@ public interface TeamRankingRepository extends JpaRepository<TeamRanking, Long>
     
     Optional<TeamRanking> findByTeamId(Long teamId);
     
+    /**
+     * Busca os rankings de vários times de uma vez (time e líder já carregados)
+     */
+    @Query("SELECT tr FROM TeamRanking tr JOIN FETCH tr.team t LEFT JOIN FETCH t.leader l LEFT JOIN FETCH l.organization WHERE t.id IN :teamIds")
+    List<TeamRanking> findByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
+    
+    /**
+     * Pontuação [teamId, totalPoints] de vários times (seeds do chaveamento)
+     */
+    @Query("SELECT tr.team.id, tr.totalPoints FROM TeamRanking tr WHERE tr.team.id IN :teamIds")
+    List<Object[]> findPointsByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
+    
+    /**
+     * Busca rankings pelos próprios ids (páginas montadas a partir do leaderboard em memória)
+     */
+    @Query("SELECT tr FROM TeamRanking tr JOIN FETCH tr.team t LEFT JOIN FETCH t.leader l LEFT JOIN FETCH l.organization WHERE tr.id IN :ids")
+    List<TeamRanking> findAllWithTeamByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * [id, totalPoints] de todos os rankings (carga do leaderboard em memória)
+     */
+    @Query("SELECT tr.id, tr.totalPoints FROM TeamRanking tr")
+    List<Object[]> findAllPoints();
+    
+    /**
+     * [faixa, quantidade, soma de pontos] agrupados por floor(total_points / bucketWidth)
+     * (reconciliação das estatísticas por divisão)
+     */
+    @Query(value = "SELECT FLOOR(total_points / :bucketWidth) AS bucket, COUNT(*), SUM(total_points) " +
+            "FROM team_rankings GROUP BY bucket", nativeQuery = true)
+    List<Object[]> findPointsHistogram(@Param("bucketWidth") int bucketWidth);
+    
     /**
      * Verifica se um time já tem ranking
      */
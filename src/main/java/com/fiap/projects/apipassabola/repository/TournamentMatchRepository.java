@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +31,18 @@ public interface TournamentMatchRepository extends JpaRepository<TournamentMatch
         @Param("status") TournamentMatch.MatchStatus status
     );
     
+    @Query("SELECT tm FROM TournamentMatch tm WHERE tm.tournament.id = :tournamentId AND tm.stage = :stage")
+    List<TournamentMatch> findByTournamentIdAndStage(
+        @Param("tournamentId") Long tournamentId,
+        @Param("stage") TournamentMatch.Stage stage
+    );
+    
+    // Partidas que ainda não terminaram (fim dos pontos corridos)
+    long countByTournamentIdAndStatusNotIn(Long tournamentId, Collection<TournamentMatch.MatchStatus> statuses);
+    
+    // Partida do jogo (game_id tem índice único)
+    Optional<TournamentMatch> findByGameId(Long gameId);
+    
     @Query("SELECT tm FROM TournamentMatch tm WHERE tm.team1.id = :teamId OR tm.team2.id = :teamId")
     List<TournamentMatch> findByTeamId(@Param("teamId") Long teamId);
     
@@ -42,6 +55,12 @@ public interface TournamentMatchRepository extends JpaRepository<TournamentMatch
     @Query("SELECT tm FROM TournamentMatch tm WHERE tm.tournament.id = :tournamentId ORDER BY tm.round DESC, tm.matchNumber ASC")
     List<TournamentMatch> findByTournamentIdOrderByRound(@Param("tournamentId") Long tournamentId);
     
+    // Chaveamento inteiro em uma consulta (snapshot do chaveamento), na mesma ordem de findByTournamentIdOrderByRound
+    @Query("SELECT tm FROM TournamentMatch tm JOIN FETCH tm.tournament LEFT JOIN FETCH tm.team1 " +
+           "LEFT JOIN FETCH tm.team2 LEFT JOIN FETCH tm.winner LEFT JOIN FETCH tm.game " +
+           "WHERE tm.tournament.id = :tournamentId ORDER BY tm.round DESC, tm.matchNumber ASC")
+    List<TournamentMatch> findBracketByTournamentId(@Param("tournamentId") Long tournamentId);
+    
     Optional<TournamentMatch> findByTournamentIdAndRoundAndMatchNumber(
         Long tournamentId, 
         String round, 
@@ -18,6 +18,11 @@ public interface TournamentTeamRepository extends JpaRepository<TournamentTeam,
     
     List<TournamentTeam> findByTournamentId(Long tournamentId);
     
+    // Inscrições com os times já carregados (geração do chaveamento, sem uma consulta por time)
+    @Query("SELECT tt FROM TournamentTeam tt JOIN FETCH tt.team t LEFT JOIN FETCH t.leader " +
+           "WHERE tt.tournament.id = :tournamentId ORDER BY tt.id ASC")
+    List<TournamentTeam> findWithTeamsByTournamentId(@Param("tournamentId") Long tournamentId);
+    
     List<TournamentTeam> findByTeam(Team team);
     
     List<TournamentTeam> findByTeamId(Long teamId);
@@ -32,6 +37,12 @@ public interface TournamentTeamRepository extends JpaRepository<TournamentTeam,
     @Query("SELECT tt FROM TournamentTeam tt WHERE tt.tournament.id = :tournamentId ORDER BY tt.seedPosition ASC")
     List<TournamentTeam> findByTournamentIdOrderBySeedPosition(@Param("tournamentId") Long tournamentId);
     
+    // Classificação de pontos corridos: pontos, saldo de gols, gols marcados, vitórias e seed
+    @Query("SELECT tt FROM TournamentTeam tt JOIN FETCH tt.team WHERE tt.tournament.id = :tournamentId " +
+           "ORDER BY tt.points DESC, (tt.goalsFor - tt.goalsAgainst) DESC, tt.goalsFor DESC, tt.wins DESC, " +
+           "tt.seedPosition ASC")
+    List<TournamentTeam> findStandings(@Param("tournamentId") Long tournamentId);
+    
     @Query("SELECT tt FROM TournamentTeam tt WHERE tt.tournament.id = :tournamentId AND tt.status = :status")
     List<TournamentTeam> findByTournamentIdAndStatus(
         @Param("tournamentId") Long tournamentId,
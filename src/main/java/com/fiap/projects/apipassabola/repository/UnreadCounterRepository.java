@@ -0,0 +1,14 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.UnreadCounter;
+import com.fiap.projects.apipassabola.entity.UserType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UnreadCounterRepository extends JpaRepository<UnreadCounter, Long>, UnreadCounterRepositoryCustom {
+    
+    Optional<UnreadCounter> findByKindAndUserTypeAndUserId(UnreadCounter.Kind kind, UserType userType, Long userId);
+}
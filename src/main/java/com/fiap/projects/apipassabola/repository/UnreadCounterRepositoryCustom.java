@@ -0,0 +1,19 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.UnreadCounter;
+import com.fiap.projects.apipassabola.entity.UserType;
+
+public interface UnreadCounterRepositoryCustom {
+    
+    /**
+     * Soma delta ao contador (criando-o se preciso, nunca abaixo de zero)
+     * Retorna o contador já alterado; a linha fica bloqueada até o fim da transação, então o valor
+     * lido é exatamente o que será confirmado.
+     */
+    UnreadCounter add(UnreadCounter.Kind kind, UserType userType, Long userId, int delta);
+    
+    /**
+     * Cria os contadores a partir das mensagens e notificações não lidas, se a tabela estiver vazia
+     */
+    boolean backfillIfEmpty();
+}
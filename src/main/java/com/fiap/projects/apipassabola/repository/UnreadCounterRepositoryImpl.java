@@ -0,0 +1,57 @@
+package com.fiap.projects.apipassabola.repository;
+
+import com.fiap.projects.apipassabola.entity.UnreadCounter;
+import com.fiap.projects.apipassabola.entity.UserType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class UnreadCounterRepositoryImpl implements UnreadCounterRepositoryCustom {
+    
+    private static final String UPSERT_COUNTER =
+            "INSERT INTO unread_counters (kind, user_type, user_id, unread, revision, updated_at) " +
+            "VALUES (?, ?, ?, GREATEST(?, 0), 1, ?) " +
+            "ON DUPLICATE KEY UPDATE unread = GREATEST(unread + ?, 0), revision = revision + 1, " +
+            "updated_at = VALUES(updated_at)";
+    
+    private static final String FIND_COUNTER =
+            "SELECT id, unread, revision FROM unread_counters WHERE kind = ? AND user_type = ? AND user_id = ?";
+    
+    private static final String BACKFILL_CHAT =
+            "INSERT INTO unread_counters (kind, user_type, user_id, unread, revision, updated_at) " +
+            "SELECT 'CHAT', recipient_type, recipient_id, COUNT(*), 0, ? FROM chat_messages " +
+            "WHERE is_read = false GROUP BY recipient_type, recipient_id";
+    
+    private static final String BACKFILL_NOTIFICATIONS =
+            "INSERT INTO unread_counters (kind, user_type, user_id, unread, revision, updated_at) " +
+            "SELECT 'NOTIFICATION', recipient_type, recipient_id, COUNT(*), 0, ? FROM notifications " +
+            "WHERE is_read = false GROUP BY recipient_type, recipient_id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public UnreadCounter add(UnreadCounter.Kind kind, UserType userType, Long userId, int delta) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Participa da transação JPA corrente (mesma conexão), então é confirmado junto com os itens
+        jdbcTemplate.update(UPSERT_COUNTER, kind.name(), userType.name(), userId, delta, now, delta);
+        return jdbcTemplate.queryForObject(FIND_COUNTER, (rs, rowNum) -> new UnreadCounter(
+                rs.getLong("id"), kind, userType, userId, rs.getInt("unread"), rs.getLong("revision"),
+                now.toLocalDateTime()), kind.name(), userType.name(), userId);
+    }
+    
+    @Override
+    public boolean backfillIfEmpty() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM unread_counters LIMIT 1) c",
+                Integer.class);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int counters = jdbcTemplate.update(BACKFILL_CHAT, now);
+        counters += jdbcTemplate.update(BACKFILL_NOTIFICATIONS, now);
+        return counters > 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.fiap.projects.apipassabola.scheduler;
+
+import com.fiap.projects.apipassabola.service.RankingLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconcilia periodicamente as estatísticas por divisão (mantidas em memória) com o banco
+ */
+@Component
+@RequiredArgsConstructor
+public class DivisionStatsScheduler {
+    
+    private final RankingLeaderboardService rankingLeaderboardService;
+    
+    @Scheduled(fixedDelayString = "${ranking.pipeline.stats-reconcile-interval-ms:300000}",
+               initialDelayString = "${ranking.pipeline.stats-reconcile-interval-ms:300000}")
+    public void reconcileDivisionStats() {
+        rankingLeaderboardService.reconcileDivisionStats();
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.projects.apipassabola.scheduler;
+
+import com.fiap.projects.apipassabola.service.NotificationDispatcherService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifica periodicamente o outbox de notificações
+ * Cobre entregas que ficaram pendentes (reinício da aplicação, retentativas com backoff);
+ * no caminho normal o envio já é disparado logo após o commit da transação que criou a notificação.
+ * Também remove as entregas encerradas mais antigas que o período de retenção, para o outbox não
+ * crescer sem limite
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatchScheduler {
+    
+    private final NotificationDispatcherService notificationDispatcherService;
+    
+    @Scheduled(fixedDelayString = "${notifications.dispatch.poll-interval-ms:1000}")
+    public void pollOutbox() {
+        notificationDispatcherService.requestDrain();
+    }
+    
+    @Scheduled(fixedDelayString = "${notifications.dispatch.cleanup-interval-ms:3600000}")
+    public void purgeOutbox() {
+        notificationDispatcherService.purgeFinished();
+    }
+}
@@ -0,0 +1,21 @@
+package com.fiap.projects.apipassabola.scheduler;
+
+import com.fiap.projects.apipassabola.service.PresenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica as mudanças de presença que passaram da janela de debounce
+ */
+@Component
+@RequiredArgsConstructor
+public class PresenceScheduler {
+    
+    private final PresenceService presenceService;
+    
+    @Scheduled(fixedDelayString = "${presence.flush-interval-ms:1000}")
+    public void flushPresenceChanges() {
+        presenceService.flushPresenceChanges();
+    }
+}
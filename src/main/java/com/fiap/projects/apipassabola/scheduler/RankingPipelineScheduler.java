@@ -0,0 +1,23 @@
+package com.fiap.projects.apipassabola.scheduler;
+
+import com.fiap.projects.apipassabola.service.RankingPipelineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifica periodicamente o outbox de rankings
+ * Cobre eventos que ficaram pendentes (reinício da aplicação, retentativas com backoff);
+ * no caminho normal o processamento já é disparado logo após o commit de finishGame
+ */
+@Component
+@RequiredArgsConstructor
+public class RankingPipelineScheduler {
+    
+    private final RankingPipelineService rankingPipelineService;
+    
+    @Scheduled(fixedDelayString = "${ranking.pipeline.poll-interval-ms:1000}")
+    public void pollOutbox() {
+        rankingPipelineService.requestDrain();
+    }
+}
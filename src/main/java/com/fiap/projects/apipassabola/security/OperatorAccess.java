@@ -0,0 +1,28 @@
+package com.fiap.projects.apipassabola.security;
+
+import com.fiap.projects.apipassabola.config.OperatorProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifica se o usuário autenticado é um operador da plataforma (operators.emails)
+ * Usado nos endpoints administrativos: @PreAuthorize("@operatorAccess.isOperator(authentication)")
+ */
+@Component("operatorAccess")
+@RequiredArgsConstructor
+public class OperatorAccess {
+    
+    private final OperatorProperties operatorProperties;
+    
+    public boolean isOperator(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return false;
+        }
+        String email = authentication.getName(); // username é o e-mail no nosso sistema
+        return email != null && operatorProperties.getEmails().stream()
+                .anyMatch(operator -> operator.trim().equalsIgnoreCase(email));
+    }
+}
@@ -3,7 +3,11 @@ package com.fiap.projects.apipassabola.service;
 import com.fiap.projects.apipassabola.dto.request.ChatMessageRequest;
 import com.fiap.projects.apipassabola.dto.response.ChatMessageResponse;
 import com.fiap.projects.apipassabola.dto.response.ConversationResponse;
+import com.fiap.projects.apipassabola.entity.ChatConversation;
 import com.fiap.projects.apipassabola.entity.ChatMessage;
+import com.fiap.projects.apipassabola.exception.ResourceNotFoundException;
+import com.fiap.projects.apipassabola.exception.ValidationException;
+import com.fiap.projects.apipassabola.repository.ChatConversationRepository;
 import com.fiap.projects.apipassabola.repository.ChatMessageRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +17,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,8 +30,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ChatMessageService {
 
+    public static final int DEFAULT_CONVERSATIONS_PAGE = 50;
+    public static final int MAX_CONVERSATIONS_PAGE = 100;
+    public static final int DEFAULT_HISTORY_PAGE = 50;
+    public static final int MAX_HISTORY_PAGE = 100;
+
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatConversationRepository chatConversationRepository;
     private final UniversalUserService universalUserService;
+    private final ContentModerationService contentModerationService;
+    private final UnreadCounterService unreadCounterService;
 
     /**
      * Send a universal chat message (works for all user types)
@@ -72,10 +84,13 @@ public class ChatMessageService {
         message.setRecipientUsername(recipient.username);
         message.setRecipientName(recipient.name);
         message.setRecipientType(recipient.userType);
-        message.setContent(request.getContent());
+        message.setContent(contentModerationService.enforce(request.getContent(), "chat message", sender.userId));
         message.setIsRead(false);
         
         ChatMessage savedMessage = chatMessageRepository.save(message);
+        // Same transaction: the inbox row never disagrees with the messages
+        chatConversationRepository.recordMessage(savedMessage);
+        unreadCounterService.chatChanged(recipient, 1);
         log.info("💬 [SendMessage] Message saved: id={}, senderId={}, recipientId={}, senderType={}, recipientType={}", 
                 savedMessage.getId(), savedMessage.getSenderId(), savedMessage.getRecipientId(),
                 savedMessage.getSenderType(), savedMessage.getRecipientType());
@@ -84,20 +99,46 @@ public class ChatMessageService {
     }
 
     /**
-     * Get conversation messages between current user and another user (universal)
+     * Get a bounded slice of the conversation between current user and another user (universal)
+     * Without cursors: the latest {@code limit} messages. {@code before}: the {@code limit} messages
+     * older than that message (scroll back). {@code after}: the {@code limit} messages newer than that
+     * message (delta sync; repeat while a full page comes back). Always returned oldest first.
      */
     @Transactional(readOnly = true)
-    public List<ChatMessageResponse> getConversation(Long otherUserId) {
+    public List<ChatMessageResponse> getConversation(Long otherUserId, Long before, Long after, Integer limit) {
         UniversalUserService.UserInfo currentUser = universalUserService.getCurrentUser();
         
         // Validate other user exists
         universalUserService.findByUserId(otherUserId);
         
-        List<ChatMessage> messages = chatMessageRepository.findConversationMessages(currentUser.userId, otherUserId);
+        if (before != null && after != null) {
+            throw new ValidationException("Use either before or after, not both");
+        }
         
-        return messages.stream()
+        String conversationKey = ChatConversation.keyOf(currentUser.userId, otherUserId);
+        Pageable page = PageRequest.of(0, pageSize(limit, DEFAULT_HISTORY_PAGE, MAX_HISTORY_PAGE));
+        
+        if (after != null) {
+            ChatMessage cursor = cursorMessage(conversationKey, after);
+            return chatMessageRepository.findMessagesAfter(conversationKey, cursor.getCreatedAt(), cursor.getId(), page)
+                    .stream()
+                    .map(this::convertToResponse)
+                    .collect(Collectors.toList());
+        }
+        
+        List<ChatMessage> messages;
+        if (before != null) {
+            ChatMessage cursor = cursorMessage(conversationKey, before);
+            messages = chatMessageRepository.findMessagesBefore(conversationKey, cursor.getCreatedAt(), cursor.getId(), page);
+        } else {
+            messages = chatMessageRepository.findLatestMessages(conversationKey, page);
+        }
+        List<ChatMessageResponse> responses = messages.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
+        // Read newest first to walk the index backwards from the cursor; returned in chronological order
+        Collections.reverse(responses);
+        return responses;
     }
 
     /**
@@ -110,7 +151,11 @@ public class ChatMessageService {
         // Validate other user exists
         universalUserService.findByUserId(otherUserId);
         
-        Page<ChatMessage> messages = chatMessageRepository.findConversationMessages(currentUser.userId, otherUserId, pageable);
+        if (pageable.getPageSize() > MAX_HISTORY_PAGE) {
+            pageable = PageRequest.of(pageable.getPageNumber(), MAX_HISTORY_PAGE, pageable.getSort());
+        }
+        Page<ChatMessage> messages = chatMessageRepository.findConversationMessages(
+                ChatConversation.keyOf(currentUser.userId, otherUserId), pageable);
         
         return messages.map(this::convertToResponse);
     }
@@ -121,86 +166,58 @@ public class ChatMessageService {
     @Transactional
     public void markMessagesAsRead(Long senderId) {
         UniversalUserService.UserInfo currentUser = universalUserService.getCurrentUser();
-        chatMessageRepository.markMessagesAsRead(currentUser.userId, senderId);
+        int updated = chatMessageRepository.markMessagesAsRead(currentUser.userId, senderId);
+        chatConversationRepository.markRead(ChatConversation.keyOf(currentUser.userId, senderId),
+                currentUser.userId, updated);
+        unreadCounterService.chatChanged(currentUser, -updated);
         log.info("Messages from {} marked as read by {}", senderId, currentUser.userId);
     }
 
     /**
-     * Get all conversations for current user (universal)
+     * Get conversations for current user (universal), most recent first
+     * Served from the materialized chat_conversations table in one query; pass the lastMessageId of
+     * the last item as {@code before} to get the next page.
      */
     @Transactional(readOnly = true)
-    public List<ConversationResponse> getConversations() {
+    public List<ConversationResponse> getConversations(Long before, Integer limit) {
         UniversalUserService.UserInfo currentUser = universalUserService.getCurrentUser();
-        
-        log.info("🔍 [Conversations] Getting conversations for userId: {}, userType: {}", 
-                currentUser.userId, currentUser.userType);
-        
-        List<Long> partnerIds = chatMessageRepository.findConversationPartners(currentUser.userId);
-        
-        log.info("🔍 [Conversations] Found {} conversation partners: {}", 
-                partnerIds.size(), partnerIds);
-        
-        List<ConversationResponse> conversations = new ArrayList<>();
-        
-        for (Long partnerId : partnerIds) {
-            try {
-                UniversalUserService.UserInfo partner = universalUserService.findByUserId(partnerId);
-                
-                // Get last message
-                List<ChatMessage> lastMessages = chatMessageRepository.findLastMessage(
-                        currentUser.userId, partnerId, PageRequest.of(0, 1));
-                
-                if (lastMessages.isEmpty()) continue;
-                
-                ChatMessage lastMessage = lastMessages.get(0);
-                
-                // Count unread messages
-                Long unreadCount = chatMessageRepository.countUnreadMessages(currentUser.userId, partnerId);
-                
-                ConversationResponse conversation = new ConversationResponse();
-                conversation.setOtherUserId(partner.userId);
-                conversation.setOtherUsername(partner.username);
-                conversation.setOtherName(partner.name);
-                conversation.setOtherProfilePhotoUrl(null); // TODO: Add profile photo to UserInfo
-                conversation.setLastMessage(lastMessage.getContent());
-                conversation.setLastMessageTime(lastMessage.getCreatedAt());
-                conversation.setUnreadCount(unreadCount);
-                
-                conversations.add(conversation);
-            } catch (Exception e) {
-                log.warn("Could not load conversation partner {}: {}", partnerId, e.getMessage());
-            }
-        }
-        
-        // Sort by last message time (most recent first)
-        conversations.sort((c1, c2) -> c2.getLastMessageTime().compareTo(c1.getLastMessageTime()));
-        
-        return conversations;
+        return chatConversationRepository.findInbox(currentUser.userId, before,
+                pageSize(limit, DEFAULT_CONVERSATIONS_PAGE, MAX_CONVERSATIONS_PAGE));
     }
 
     /**
-     * Get unread message count (universal)
+     * Get unread message count (universal), from the unread counter instead of a COUNT query
      */
-    @Transactional(readOnly = true)
     public Long getUnreadCount() {
         UniversalUserService.UserInfo currentUser = universalUserService.getCurrentUser();
-        return chatMessageRepository.countAllUnreadMessages(currentUser.userId);
+        return unreadCounterService.getChatUnread(currentUser);
     }
 
     /**
-     * Get unread messages (universal)
+     * Get the most recent unread messages (universal), at most {@link #MAX_HISTORY_PAGE}
      */
     @Transactional(readOnly = true)
-    public List<ChatMessageResponse> getUnreadMessages() {
+    public List<ChatMessageResponse> getUnreadMessages(Integer limit) {
         UniversalUserService.UserInfo currentUser = universalUserService.getCurrentUser();
         
-        List<ChatMessage> messages = chatMessageRepository.findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(currentUser.userId);
+        List<ChatMessage> messages = chatMessageRepository.findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(
+                currentUser.userId, PageRequest.of(0, pageSize(limit, DEFAULT_HISTORY_PAGE, MAX_HISTORY_PAGE)));
         
         return messages.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    private ChatMessage cursorMessage(String conversationKey, Long messageId) {
+        return chatMessageRepository.findById(messageId)
+                .filter(message -> conversationKey.equals(message.getConversationKey()))
+                .orElseThrow(() -> new ResourceNotFoundException("ChatMessage", "id", messageId));
+    }
+
+    private static int pageSize(Integer limit, int defaultSize, int maxSize) {
+        return limit == null || limit <= 0 ? defaultSize : Math.min(limit, maxSize);
+    }
+
     /**
      * Convert ChatMessage entity to response DTO
      */
@@ -0,0 +1,257 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fiap.projects.apipassabola.config.ModerationProperties;
+import com.fiap.projects.apipassabola.exception.BusinessException;
+import com.fiap.projects.apipassabola.util.AhoCorasickAutomaton;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serviço de moderação de conteúdo para posts, comentários e mensagens de chat
+ *
+ * O dicionário de termos proibidos é compilado em um autômato Aho-Corasick, então cada texto
+ * é verificado em uma única passada linear, independente do tamanho do dicionário.
+ * O arquivo configurado em moderation.dictionary-path é recarregado automaticamente quando muda.
+ *
+ * Ações (em ordem crescente de severidade):
+ * - FLAG: conteúdo é aceito, mas registrado para revisão
+ * - MASK: os termos encontrados são substituídos por '*'
+ * - REJECT: o conteúdo é recusado
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentModerationService {
+
+    private static final String DEFAULT_DICTIONARY = "moderation/banned-terms.txt";
+
+    public enum Action {
+        ALLOW, FLAG, MASK, REJECT
+    }
+
+    // Ação por peso (ordinal); Action.values() criaria uma cópia do array a cada texto
+    private static final Action[] ACTIONS = Action.values();
+
+    /**
+     * Resultado da moderação: ação aplicada e conteúdo final (mascarado quando necessário)
+     */
+    public static class Decision {
+        private final Action action;
+        private final String content;
+
+        public Decision(Action action, String content) {
+            this.action = action;
+            this.content = content;
+        }
+
+        public Action getAction() {
+            return action;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+
+    private final ModerationProperties properties;
+
+    private volatile AhoCorasickAutomaton automaton = AhoCorasickAutomaton.compile(Map.of());
+    private volatile long dictionaryLastModified = -1;
+
+    @PostConstruct
+    public void init() {
+        reloadDictionary();
+    }
+
+    /**
+     * Verifica periodicamente se o arquivo do dicionário mudou e recompila o autômato
+     * A troca é atômica: mensagens em andamento continuam usando o autômato anterior
+     */
+    @Scheduled(fixedDelayString = "${moderation.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        Path path = externalDictionaryPath();
+        if (path == null || !Files.isReadable(path)) {
+            return;
+        }
+        try {
+            if (Files.getLastModifiedTime(path).toMillis() != dictionaryLastModified) {
+                reloadDictionary();
+            }
+        } catch (IOException e) {
+            log.warn("Could not check moderation dictionary {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Recompila o autômato a partir do arquivo configurado (ou do dicionário embutido)
+     */
+    public synchronized void reloadDictionary() {
+        Path path = externalDictionaryPath();
+        try {
+            Map<String, Integer> terms;
+            if (path != null && Files.isReadable(path)) {
+                dictionaryLastModified = Files.getLastModifiedTime(path).toMillis();
+                try (InputStream in = Files.newInputStream(path)) {
+                    terms = parseDictionary(in);
+                }
+            } else {
+                try (InputStream in = new ClassPathResource(DEFAULT_DICTIONARY).getInputStream()) {
+                    terms = parseDictionary(in);
+                }
+            }
+            automaton = AhoCorasickAutomaton.compile(terms);
+            log.info("Moderation dictionary loaded: {} terms, {} states",
+                    automaton.getTermCount(), automaton.getStateCount());
+        } catch (IOException e) {
+            // Mantém o autômato anterior se a leitura falhar
+            log.error("Could not load moderation dictionary: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Substitui o dicionário em memória (usado por testes e ferramentas administrativas)
+     */
+    public void loadTerms(Map<String, Action> terms) {
+        Map<String, Integer> weights = new HashMap<>();
+        terms.forEach((term, action) -> weights.put(term, action.ordinal()));
+        automaton = AhoCorasickAutomaton.compile(weights);
+    }
+
+    /**
+     * Modera um texto e devolve a decisão, sem lançar exceção
+     * A ação sai de uma varredura sem listener; só textos a mascarar passam por uma segunda varredura.
+     */
+    public Decision moderate(String content) {
+        AhoCorasickAutomaton current = automaton;
+        Action action = classify(current, content);
+        return new Decision(action, action == Action.MASK ? mask(current, content) : content);
+    }
+
+    /**
+     * Modera um texto antes de persistir: lança BusinessException quando rejeitado
+     * e devolve o conteúdo a ser salvo (possivelmente mascarado)
+     * Texto limpo não aloca nada: uma varredura sem listener e o próprio conteúdo é devolvido.
+     * @param context descrição do conteúdo para o log (ex.: "post", "comment")
+     */
+    public String enforce(String content, String context, Long authorId) {
+        AhoCorasickAutomaton current = automaton;
+        Action action = classify(current, content);
+        switch (action) {
+            case REJECT:
+                log.warn("Moderation rejected {} from user {}", context, authorId);
+                throw new BusinessException("Content violates the community guidelines");
+            case MASK:
+                log.warn("Moderation {} {} from user {}", action, context, authorId);
+                return mask(current, content);
+            case FLAG:
+                log.warn("Moderation {} {} from user {}", action, context, authorId);
+                return content;
+            default:
+                return content;
+        }
+    }
+
+    /**
+     * Ação do termo mais severo do texto, em uma única passada sem alocação
+     */
+    private Action classify(AhoCorasickAutomaton current, String content) {
+        if (!properties.isEnabled() || content == null || content.isEmpty()) {
+            return Action.ALLOW;
+        }
+        int weight = current.scan(content);
+        return weight == AhoCorasickAutomaton.NO_MATCH ? Action.ALLOW : ACTIONS[weight];
+    }
+
+    /**
+     * Segunda passada, só para textos cuja ação é MASK (o mesmo autômato da classificação)
+     */
+    private String mask(AhoCorasickAutomaton current, String content) {
+        Masker masker = new Masker(content);
+        current.scan(content, masker);
+        return masker.result();
+    }
+
+    /**
+     * Mascara com '*' os termos de peso MASK ou maior durante a varredura
+     * Só é criado para textos cuja ação é MASK; a cópia do texto é feita na primeira ocorrência mascarável.
+     */
+    private static final class Masker implements AhoCorasickAutomaton.MatchListener {
+        private final String content;
+        private char[] masked;
+
+        Masker(String content) {
+            this.content = content;
+        }
+
+        @Override
+        public void onMatch(int start, int end, int weight) {
+            if (weight < Action.MASK.ordinal()) {
+                return;
+            }
+            if (masked == null) {
+                masked = content.toCharArray();
+            }
+            for (int i = start; i < end; i++) {
+                if (!Character.isWhitespace(masked[i])) {
+                    masked[i] = '*';
+                }
+            }
+        }
+
+        String result() {
+            return masked != null ? new String(masked) : content;
+        }
+    }
+
+    private Path externalDictionaryPath() {
+        String configured = properties.getDictionaryPath();
+        if (configured == null || configured.isBlank()) {
+            return null;
+        }
+        return Path.of(configured);
+    }
+
+    private Map<String, Integer> parseDictionary(InputStream in) throws IOException {
+        Action defaultAction = parseAction(properties.getDefaultAction(), Action.MASK);
+        Map<String, Integer> terms = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                Action action = defaultAction;
+                int separator = line.lastIndexOf('|');
+                if (separator > 0) {
+                    action = parseAction(line.substring(separator + 1), defaultAction);
+                    line = line.substring(0, separator).trim();
+                }
+                terms.merge(line, action.ordinal(), Math::max);
+            }
+        }
+        return terms;
+    }
+
+    private Action parseAction(String value, Action fallback) {
+        try {
+            return Action.valueOf(value.trim().toUpperCase());
+        } catch (Exception e) {
+            return fallback;
+        }
+    }
+}
@@ -22,7 +22,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -63,15 +65,6 @@ public class GameParticipantService {
             throw new BusinessException("Team side must be 1 or 2");
         }
         
-        // Count current participants
-        long currentTotalPlayers = gameParticipantRepository.countByGameId(request.getGameId());
-        long currentTeamSidePlayers = gameParticipantRepository.countByGameIdAndTeamSide(request.getGameId(), request.getTeamSide());
-        
-        // Check if game has reached maximum players
-        if (game.hasReachedMaxPlayers((int) currentTotalPlayers)) {
-            throw new BusinessException("Game has reached maximum number of players (" + game.getMaxPlayers() + ")");
-        }
-        
         // Check if joining with team and player has a team
         if (request.getParticipationType() == GameParticipant.ParticipationType.WITH_TEAM) {
             if (player.getTeams() == null || player.getTeams().isEmpty()) {
@@ -85,14 +78,19 @@ public class GameParticipantService {
             List<Player> teamMembers = playerRepository.findByTeamsContaining(playerTeam);
             int teamSize = teamMembers.size();
             
-            // Validate that adding the entire team won't exceed maximum players
-            if (currentTotalPlayers + teamSize > game.getMaxPlayers()) {
-                throw new BusinessException("Adding team would exceed maximum players. Current: " + currentTotalPlayers + ", Team size: " + teamSize + ", Max: " + game.getMaxPlayers());
+            // Reserve one slot per team member atomically (all or nothing)
+            if (gameRepository.reserveParticipantSlots(game.getId(), teamSize) == 0) {
+                throw new BusinessException("Adding team would exceed maximum players. Team size: " + teamSize + ", Max: " + game.getMaxPlayers());
             }
             
             // Add all team members to the game
             return joinWithTeam(game, player, playerTeam, request.getTeamSide(), teamMembers);
         } else {
+            // Reserve a slot atomically; released by the transaction rollback if the insert fails
+            if (gameRepository.reserveParticipantSlots(game.getId(), 1) == 0) {
+                throw new BusinessException("Game has reached maximum number of players (" + game.getMaxPlayers() + ")");
+            }
+            
             // Join individually
             return joinIndividually(game, player, request.getTeamSide());
         }
@@ -129,6 +127,7 @@ public class GameParticipantService {
             participant.setUserType(UserType.PLAYER);
             participant.setParticipationType(GameParticipant.ParticipationType.WITH_TEAM);
             participant.setTeamSide(teamSide); // ALL team members on the SAME side
+            participant.setTeam(team);
             participant.setStatus(GameParticipant.ParticipationStatus.CONFIRMED);
             
             gameParticipantRepository.save(participant);
@@ -172,9 +171,11 @@ public class GameParticipantService {
                 List<GameParticipant> teamParticipants = gameParticipantRepository
                         .findByGameIdAndPlayerTeamId(gameId, playerTeam.getId());
                 gameParticipantRepository.deleteAll(teamParticipants);
+                gameRepository.releaseParticipantSlots(gameId, teamParticipants.size());
             }
         } else {
             gameParticipantRepository.delete(participant);
+            gameRepository.releaseParticipantSlots(gameId, 1);
         }
     }
     
@@ -190,6 +191,20 @@ public class GameParticipantService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Loads the confirmed team participants (sides 1 and 2) of several games with a single query
+     * @return participants grouped by game id; games without participants are absent from the map
+     */
+    public Map<Long, List<GameParticipantResponse>> getConfirmedTeamParticipantsByGames(Collection<Long> gameIds) {
+        if (gameIds.isEmpty()) {
+            return Map.of();
+        }
+        return gameParticipantRepository.findConfirmedTeamParticipantsByGameIds(gameIds)
+                .stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.groupingBy(GameParticipantResponse::getGameId));
+    }
+    
     public Page<GameParticipantResponse> getPlayerParticipations(Long playerId, Pageable pageable) {
         return gameParticipantRepository.findByPlayerId(playerId, pageable)
                 .map(this::convertToResponse);
@@ -254,7 +269,7 @@ public class GameParticipantService {
     }
     
     public long countGameParticipants(Long gameId) {
-        return gameParticipantRepository.countByGameId(gameId);
+        return gameRepository.findParticipantCount(gameId).orElse(0);
     }
     
     public long countGameParticipantsByTeamSide(Long gameId, Integer teamSide) {
@@ -1,28 +1,40 @@
 package com.fiap.projects.apipassabola.service;
 
 import com.fiap.projects.apipassabola.dto.request.*;
+import com.fiap.projects.apipassabola.dto.response.CursorPageResponse;
 import com.fiap.projects.apipassabola.dto.response.GameResponse;
 import com.fiap.projects.apipassabola.dto.response.GameParticipantResponse;
+import com.fiap.projects.apipassabola.dto.response.GameSummaryResponse;
 import com.fiap.projects.apipassabola.dto.response.OrganizationSummaryResponse;
 import com.fiap.projects.apipassabola.entity.*;
 import com.fiap.projects.apipassabola.exception.BusinessException;
 import com.fiap.projects.apipassabola.exception.ResourceNotFoundException;
 import com.fiap.projects.apipassabola.repository.*;
+import com.fiap.projects.apipassabola.util.KeysetCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @Slf4j
 public class GameService {
     
+    private static final List<GameType> INDIVIDUAL_GAME_TYPES = List.of(GameType.FRIENDLY, GameType.CHAMPIONSHIP);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
     private final GameRepository gameRepository;
     private final OrganizationRepository organizationRepository;
     private final PlayerRepository playerRepository;
@@ -31,8 +43,9 @@ public class GameService {
     private final GameParticipantService gameParticipantService;
     private final UserContextService userContextService;
     private final GameSpectatorRepository gameSpectatorRepository;
-    private final RankingPointsService rankingPointsService;
+    private final RankingPipelineService rankingPipelineService;
     private final GoalRepository goalRepository;
+    private final TopScorerService topScorerService;
     
     private final TournamentService tournamentService; // Lazy injection para evitar dependência circular
     
@@ -45,8 +58,9 @@ public class GameService {
                       GameParticipantService gameParticipantService,
                       UserContextService userContextService,
                       GameSpectatorRepository gameSpectatorRepository,
-                      RankingPointsService rankingPointsService,
+                      RankingPipelineService rankingPipelineService,
                       GoalRepository goalRepository,
+                      TopScorerService topScorerService,
                       @org.springframework.context.annotation.Lazy TournamentService tournamentService) {
         this.gameRepository = gameRepository;
         this.organizationRepository = organizationRepository;
@@ -56,13 +70,31 @@ public class GameService {
         this.gameParticipantService = gameParticipantService;
         this.userContextService = userContextService;
         this.gameSpectatorRepository = gameSpectatorRepository;
-        this.rankingPointsService = rankingPointsService;
+        this.rankingPipelineService = rankingPipelineService;
         this.goalRepository = goalRepository;
+        this.topScorerService = topScorerService;
         this.tournamentService = tournamentService;
     }
     
     public Page<GameResponse> findAll(Pageable pageable) {
-        return gameRepository.findAll(pageable).map(this::convertToResponse);
+        return convertToResponses(gameRepository.findAll(pageable));
+    }
+    
+    // Summary views (view=summary): DTO projections with counters instead of participant lists
+    
+    @Transactional(readOnly = true)
+    public Page<GameSummaryResponse> findAllSummaries(Pageable pageable) {
+        return gameRepository.findAllSummaries(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<GameSummaryResponse> findSummariesByStatus(Game.GameStatus status, Pageable pageable) {
+        return gameRepository.findSummariesByStatus(status, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<GameSummaryResponse> findSummariesByGameType(GameType gameType, Pageable pageable) {
+        return gameRepository.findSummariesByGameType(gameType, pageable);
     }
     
     public GameResponse findById(Long id) {
@@ -72,34 +104,28 @@ public class GameService {
     }
     
     public Page<GameResponse> findByOrganization(Long organizationId, Pageable pageable) {
-        return gameRepository.findByHomeTeamIdOrAwayTeamId(organizationId, organizationId, pageable)
-                .map(this::convertToResponse);
+        return convertToResponses(gameRepository.findByHomeTeamIdOrAwayTeamId(organizationId, organizationId, pageable));
     }
     
     public Page<GameResponse> findByStatus(Game.GameStatus status, Pageable pageable) {
-        return gameRepository.findByStatus(status, pageable)
-                .map(this::convertToResponse);
+        return convertToResponses(gameRepository.findByStatus(status, pageable));
     }
     
     public Page<GameResponse> findByChampionship(String championship, Pageable pageable) {
-        return gameRepository.findByChampionshipContainingIgnoreCase(championship, pageable)
-                .map(this::convertToResponse);
+        return convertToResponses(gameRepository.findByChampionshipContainingIgnoreCase(championship, pageable));
     }
     
     public Page<GameResponse> findByDateRange(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
-        return gameRepository.findByGameDateBetween(startDate, endDate, pageable)
-                .map(this::convertToResponse);
+        return convertToResponses(gameRepository.findByGameDateBetween(startDate, endDate, pageable));
     }
     
     public Page<GameResponse> findByGameType(GameType gameType, Pageable pageable) {
-        return gameRepository.findByGameType(gameType, pageable)
-                .map(this::convertToResponse);
+        return convertToResponses(gameRepository.findByGameType(gameType, pageable));
     }
     
     public Page<GameResponse> findByHost(Long hostId, Pageable pageable) {
         // Find games where the host is the specified user (for friendly and championship games)
-        return gameRepository.findByGameTypeAndHostId(GameType.FRIENDLY, hostId, pageable)
-                .map(this::convertToResponse);
+        return convertToResponses(gameRepository.findByGameTypeAndHostId(GameType.FRIENDLY, hostId, pageable));
     }
     
     // Methods for creating different types of games
@@ -267,7 +293,23 @@ public class GameService {
      * Usado pelo sistema de torneios para criar jogos das partidas do bracket
      */
     public Game createTournamentGame(Team team1, Team team2, String venue, LocalDateTime gameDate, 
-                                     String tournamentName, String round, Long creatorId) {
+                                     String tournamentName, String round, Long creatorId, Long tournamentId) {
+        return gameRepository.save(newTournamentGame(team1, team2, venue, gameDate, tournamentName, round,
+                creatorId, tournamentId));
+    }
+    
+    /**
+     * Grava de uma vez os jogos de uma rodada do chaveamento (INSERTs em lote)
+     */
+    public List<Game> createTournamentGames(List<Game> games) {
+        return gameRepository.saveAll(games);
+    }
+    
+    /**
+     * Monta (sem gravar) o jogo de uma partida de torneio
+     */
+    public Game newTournamentGame(Team team1, Team team2, String venue, LocalDateTime gameDate,
+                                  String tournamentName, String round, Long creatorId, Long tournamentId) {
         // Para jogos de torneio, usamos o tipo CHAMPIONSHIP
         // Isso permite que o sistema de ranking e pontos funcione corretamente
         Game game = new Game();
@@ -282,6 +324,7 @@ public class GameService {
         game.setHomeGoals(0);
         game.setAwayGoals(0);
         game.setHostId(creatorId);
+        game.setTournamentId(tournamentId);
         
         // Configurações padrão para jogos de torneio
         game.setHasSpectators(true);
@@ -289,7 +332,7 @@ public class GameService {
         game.setMinPlayers(10); // 5x5
         game.setMaxPlayers(22); // 11x11
         
-        return gameRepository.save(game);
+        return game;
     }
     
     public GameResponse updateFriendlyGame(Long id, FriendlyGameUpdateRequest request) {
@@ -359,7 +402,7 @@ public class GameService {
         
         // Distribute ranking points if game just finished (CHAMPIONSHIP counts for ranking)
         if (previousStatus != Game.GameStatus.FINISHED && savedGame.getStatus() == Game.GameStatus.FINISHED) {
-            rankingPointsService.distributePointsAfterGame(savedGame);
+            rankingPipelineService.publishGameFinished(savedGame);
         }
         
         return convertToResponse(savedGame);
@@ -415,7 +458,7 @@ public class GameService {
         
         // Distribute ranking points if game just finished (CUP counts for ranking)
         if (previousStatus != Game.GameStatus.FINISHED && savedGame.getStatus() == Game.GameStatus.FINISHED) {
-            rankingPointsService.distributePointsAfterGame(savedGame);
+            rankingPipelineService.publishGameFinished(savedGame);
         }
         
         return convertToResponse(savedGame);
@@ -489,27 +532,59 @@ public class GameService {
         
         // Distribute ranking points if game just finished
         if (previousStatus != Game.GameStatus.FINISHED && savedGame.getStatus() == Game.GameStatus.FINISHED) {
-            rankingPointsService.distributePointsAfterGame(savedGame);
+            rankingPipelineService.publishGameFinished(savedGame);
         }
         
         return convertToResponse(savedGame);
     }
     
     public Page<GameResponse> findFriendlyAndChampionshipGames(Pageable pageable) {
-        return gameRepository.findAll(pageable)
-                .map(this::convertToResponse)
-                .map(response -> response.getGameType() == GameType.FRIENDLY || response.getGameType() == GameType.CHAMPIONSHIP ? response : null)
-                .map(response -> response);
+        return convertToResponses(gameRepository.findByGameTypeIn(INDIVIDUAL_GAME_TYPES, pageable));
+    }
+    
+    /**
+     * Lista jogos FRIENDLY e CHAMPIONSHIP em ordem cronológica com paginação por keyset (gameDate, id)
+     * @param cursor cursor devolvido pela página anterior (null na primeira página)
+     * @param from data inicial usada apenas na primeira página (null = desde o início)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<GameResponse> findFriendlyAndChampionshipGames(String cursor, LocalDateTime from, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        // Busca um item a mais para saber se existe próxima página
+        Pageable window = PageRequest.of(0, limit + 1);
+        
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Game> games;
+        if (after != null) {
+            games = gameRepository.findByGameTypeInAfter(INDIVIDUAL_GAME_TYPES, after.getTimestamp(), after.getId(), window);
+        } else {
+            LocalDateTime start = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+            games = gameRepository.findFirstByGameTypeInFrom(INDIVIDUAL_GAME_TYPES, start, window);
+        }
+        
+        boolean hasNext = games.size() > limit;
+        if (hasNext) {
+            games = games.subList(0, limit);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            Game last = games.get(games.size() - 1);
+            nextCursor = new KeysetCursor(last.getGameDate(), last.getId()).encode();
+        }
+        
+        ResponseBatch batch = loadResponseBatch(games);
+        List<GameResponse> content = games.stream()
+                .map(game -> convertToResponse(game, batch))
+                .collect(Collectors.toList());
+        return new CursorPageResponse<>(content, content.size(), hasNext, nextCursor);
     }
     
     public Page<GameResponse> findGamesByHost(Long hostId, Pageable pageable) {
-        return gameRepository.findByGameTypeAndHostId(GameType.FRIENDLY, hostId, pageable)
-                .map(this::convertToResponse);
+        return convertToResponses(gameRepository.findByGameTypeAndHostId(GameType.FRIENDLY, hostId, pageable));
     }
     
     public Page<GameResponse> searchFriendlyAndChampionshipGames(String gameName, Pageable pageable) {
-        return gameRepository.findFriendlyAndChampionshipByGameNameContaining(gameName, pageable)
-                .map(this::convertToResponse);
+        return convertToResponses(gameRepository.findFriendlyAndChampionshipByGameNameContaining(gameName, pageable));
     }
     
     /**
@@ -561,41 +636,110 @@ public class GameService {
         
         Game savedGame = gameRepository.save(game);
         
-        // Registra os gols das jogadoras
+        // Registra os gols das jogadoras: uma query para todas as autoras e um único batch de inserts
+        // (mais os contadores da artilharia, na mesma transação)
         if (request.getGoals() != null && !request.getGoals().isEmpty()) {
-            for (GoalRequest goalRequest : request.getGoals()) {
-                Player player = playerRepository.findById(goalRequest.getPlayerId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Player", "id", goalRequest.getPlayerId()));
-                
-                Goal goal = new Goal();
-                goal.setGame(savedGame);
-                goal.setPlayer(player);
-                goal.setTeamSide(goalRequest.getTeamSide());
-                goal.setMinute(goalRequest.getMinute());
-                goal.setIsOwnGoal(goalRequest.getIsOwnGoal() != null ? goalRequest.getIsOwnGoal() : false);
-                
-                goalRepository.save(goal);
-            }
+            List<Goal> goals = buildGoals(savedGame, request.getGoals());
+            goalRepository.insertAllInBatch(goals);
+            topScorerService.recordGoals(savedGame, goals);
         }
         
-        // Distribui pontos de ranking (apenas para CHAMPIONSHIP e CUP)
-        rankingPointsService.distributePointsAfterGame(savedGame);
+        // Publica GameFinished no outbox; os pontos de ranking (apenas CHAMPIONSHIP e CUP)
+        // são distribuídos em background depois do commit
+        rankingPipelineService.publishGameFinished(savedGame);
         
-        // Sincroniza resultado com torneio (se o jogo faz parte de um torneio)
-        if (tournamentService != null) {
-            try {
-                tournamentService.syncGameResultToMatch(savedGame.getId(), 
-                    savedGame.getHomeGoals(), savedGame.getAwayGoals());
-            } catch (Exception e) {
-                // Não falha se não houver torneio associado
-                log.debug("Jogo {} não está associado a nenhum torneio", savedGame.getId());
-            }
+        // Sincroniza resultado com torneio (apenas jogos criados por partidas de torneio)
+        // Qualquer falha na sincronização desfaz a finalização inteira
+        if (tournamentService != null && savedGame.getTournamentId() != null) {
+            tournamentService.syncGameResultToMatch(savedGame.getId(),
+                savedGame.getHomeGoals(), savedGame.getAwayGoals());
         }
         
         return convertToResponse(savedGame);
     }
     
+    private List<Goal> buildGoals(Game game, List<GoalRequest> goalRequests) {
+        Set<Long> scorerIds = goalRequests.stream()
+                .map(GoalRequest::getPlayerId)
+                .collect(Collectors.toSet());
+        Map<Long, Player> scorers = playerRepository.findAllById(scorerIds).stream()
+                .collect(Collectors.toMap(Player::getId, player -> player));
+        
+        List<Goal> goals = new ArrayList<>(goalRequests.size());
+        for (GoalRequest goalRequest : goalRequests) {
+            Player player = scorers.get(goalRequest.getPlayerId());
+            if (player == null) {
+                throw new ResourceNotFoundException("Player", "id", goalRequest.getPlayerId());
+            }
+            
+            Goal goal = new Goal();
+            goal.setGame(game);
+            goal.setPlayer(player);
+            goal.setTeamSide(goalRequest.getTeamSide());
+            goal.setMinute(goalRequest.getMinute());
+            goal.setIsOwnGoal(goalRequest.getIsOwnGoal() != null ? goalRequest.getIsOwnGoal() : false);
+            goals.add(goal);
+        }
+        return goals;
+    }
+    
+    /**
+     * Converte uma página de jogos em lote: participantes e contagem de espectadores de todos os
+     * jogos da página são carregados com uma query cada, em vez de três queries por jogo
+     */
+    private Page<GameResponse> convertToResponses(Page<Game> games) {
+        ResponseBatch batch = loadResponseBatch(games.getContent());
+        return games.map(game -> convertToResponse(game, batch));
+    }
+    
     private GameResponse convertToResponse(Game game) {
+        return convertToResponse(game, loadResponseBatch(List.of(game)));
+    }
+    
+    private ResponseBatch loadResponseBatch(List<Game> games) {
+        List<Long> teamGameIds = games.stream()
+                .filter(Game::isFriendlyOrChampionship)
+                .map(Game::getId)
+                .collect(Collectors.toList());
+        
+        Map<Long, Long> spectatorCounts = new HashMap<>();
+        if (!teamGameIds.isEmpty()) {
+            for (Object[] row : gameSpectatorRepository.countConfirmedSpectatorsByGames(teamGameIds)) {
+                spectatorCounts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        
+        return new ResponseBatch(
+                gameParticipantService.getConfirmedTeamParticipantsByGames(teamGameIds),
+                spectatorCounts);
+    }
+    
+    /**
+     * Dados pré-carregados para montar as respostas de um lote de jogos
+     */
+    private static class ResponseBatch {
+        private final Map<Long, List<GameParticipantResponse>> participantsByGame;
+        private final Map<Long, Long> spectatorCountByGame;
+        
+        private ResponseBatch(Map<Long, List<GameParticipantResponse>> participantsByGame,
+                              Map<Long, Long> spectatorCountByGame) {
+            this.participantsByGame = participantsByGame;
+            this.spectatorCountByGame = spectatorCountByGame;
+        }
+        
+        private List<GameParticipantResponse> participants(Long gameId, int teamSide) {
+            return participantsByGame.getOrDefault(gameId, List.of())
+                    .stream()
+                    .filter(p -> p.getTeamSide() != null && p.getTeamSide() == teamSide)
+                    .collect(Collectors.toList());
+        }
+        
+        private long spectatorCount(Long gameId) {
+            return spectatorCountByGame.getOrDefault(gameId, 0L);
+        }
+    }
+    
+    private GameResponse convertToResponse(Game game, ResponseBatch batch) {
         GameResponse response = new GameResponse();
         response.setId(game.getId());
         response.setGameType(game.getGameType());
@@ -608,8 +752,8 @@ public class GameService {
             response.setDescription(game.getDescription());
             
             // Get participants for each team side
-            List<GameParticipantResponse> team1Players = gameParticipantService.getGameParticipantsByTeamSide(game.getId(), 1);
-            List<GameParticipantResponse> team2Players = gameParticipantService.getGameParticipantsByTeamSide(game.getId(), 2);
+            List<GameParticipantResponse> team1Players = batch.participants(game.getId(), 1);
+            List<GameParticipantResponse> team2Players = batch.participants(game.getId(), 2);
             response.setTeam1Players(team1Players);
             response.setTeam2Players(team2Players);
             
@@ -620,7 +764,7 @@ public class GameService {
             response.setMaxSpectators(game.getMaxSpectators());
             
             // Get current spectator count
-            long spectatorCount = gameSpectatorRepository.countConfirmedSpectatorsByGame(game.getId());
+            long spectatorCount = batch.spectatorCount(game.getId());
             response.setCurrentSpectatorCount((int) spectatorCount);
             
             // Calculate team counts and balance
@@ -66,12 +66,6 @@ public class GameSpectatorService {
             throw new BusinessException("You are already subscribed to this game");
         }
         
-        // Check if game has reached maximum spectators
-        long currentSpectatorCount = gameSpectatorRepository.countConfirmedSpectatorsByGame(gameId);
-        if (game.hasReachedMaxSpectators((int) currentSpectatorCount)) {
-            throw new BusinessException("Game has reached maximum number of watchers (" + game.getMaxSpectators() + ")");
-        }
-        
         // Get watcher information based on type
         String watcherUsername;
         String watcherName;
@@ -97,6 +91,11 @@ public class GameSpectatorService {
         gameSpectator.setWatcherType(watcherType);
         gameSpectator.setStatus(GameSpectator.SpectatorStatus.CONFIRMED);
         
+        // Reserve a slot atomically; released by the transaction rollback if the insert fails
+        if (gameRepository.reserveSpectatorSlot(gameId) == 0) {
+            throw new BusinessException("Game has reached maximum number of watchers (" + game.getMaxSpectators() + ")");
+        }
+        
         GameSpectator saved = gameSpectatorRepository.save(gameSpectator);
         
         return convertToResponse(saved);
@@ -122,8 +121,9 @@ public class GameSpectatorService {
                 .findByGameIdAndWatcherIdAndWatcherType(gameId, watcherId, watcherType)
                 .orElseThrow(() -> new BusinessException("You are not subscribed to this game"));
         
-        // Delete subscription
+        // Delete subscription and release its slot
         gameSpectatorRepository.delete(gameSpectator);
+        gameRepository.releaseSpectatorSlot(gameId);
     }
     
     /**
@@ -182,7 +182,7 @@ public class GameSpectatorService {
      * Get count of confirmed spectators for a game
      */
     public long getConfirmedSpectatorCount(Long gameId) {
-        return gameSpectatorRepository.countConfirmedSpectatorsByGame(gameId);
+        return gameRepository.findSpectatorCount(gameId).orElse(0);
     }
     
     // Conversion method - Universal for Players and Spectators
@@ -2,7 +2,9 @@ package com.fiap.projects.apipassabola.service;
 
 import com.fiap.projects.apipassabola.dto.response.GoalResponse;
 import com.fiap.projects.apipassabola.entity.Goal;
+import com.fiap.projects.apipassabola.entity.PlayerGoalCounter;
 import com.fiap.projects.apipassabola.repository.GoalRepository;
+import com.fiap.projects.apipassabola.repository.PlayerGoalCounterRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +17,7 @@ import java.util.stream.Collectors;
 public class GoalService {
     
     private final GoalRepository goalRepository;
+    private final PlayerGoalCounterRepository playerGoalCounterRepository;
     
     @Transactional(readOnly = true)
     public List<GoalResponse> getGoalsByGame(Long gameId) {
@@ -32,9 +35,13 @@ public class GoalService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Total de gols da jogadora, lido do contador geral da artilharia (sem COUNT sobre goals)
+     */
     @Transactional(readOnly = true)
     public Long countGoalsByPlayer(Long playerId) {
-        return goalRepository.countGoalsByPlayer(playerId);
+        List<Object[]> rows = playerGoalCounterRepository.findGoals(PlayerGoalCounter.Scope.OVERALL, 0L, List.of(playerId));
+        return rows.isEmpty() ? 0L : ((Number) rows.get(0)[1]).longValue();
     }
     
     private GoalResponse convertToResponse(Goal goal) {
@@ -0,0 +1,261 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projects.apipassabola.config.NotificationDispatchProperties;
+import com.fiap.projects.apipassabola.dto.NotificationResponse;
+import com.fiap.projects.apipassabola.dto.response.NotificationDispatchStatusResponse;
+import com.fiap.projects.apipassabola.entity.OutboxEvent;
+import com.fiap.projects.apipassabola.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Envio assíncrono das notificações por WebSocket (transactional outbox)
+ *
+ * createAndSendNotification grava a notificação e um evento NotificationCreated no outbox, na mesma
+ * transação da ação que a originou (curtida, seguir, convite), e não toca no broker. Depois do
+ * commit, uma única thread de dispatcher lê as entregas pendentes em lotes de
+ * notifications.dispatch.batch-size, envia cada uma e marca o lote enviado com um só UPDATE. Falhas
+ * são refeitas com backoff exponencial até notifications.dispatch.max-attempts; depois disso a
+ * entrega fica FAILED. Como o outbox é a fila, nada se perde em um reinício (entrega ao menos uma vez).
+ */
+@Service
+@Slf4j
+public class NotificationDispatcherService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final long MAX_BACKOFF_SECONDS = 60;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final NotificationDispatchProperties properties;
+
+    private final ExecutorService dispatcher;
+    private final AtomicBoolean drainQueued = new AtomicBoolean(false);
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    // Métricas de entrega desde o início da aplicação
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final LongAccumulator maxLatencyMillis = new LongAccumulator(Long::max, 0);
+    private volatile LocalDateTime lastDeliveredAt;
+
+    public NotificationDispatcherService(OutboxEventRepository outboxEventRepository,
+                                         SimpMessagingTemplate messagingTemplate,
+                                         ObjectMapper objectMapper,
+                                         NotificationDispatchProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Grava a entrega no outbox na transação corrente e agenda o envio para depois do commit
+     */
+    public void enqueue(String destination, NotificationResponse notification) {
+        String payload = serialize(destination, notification);
+        if (payload == null) {
+            return;
+        }
+        OutboxEvent event = OutboxEvent.of(OutboxEvent.NOTIFICATION_CREATED, notification.getId());
+        event.setPayload(payload);
+        outboxEventRepository.save(event);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDrain();
+                }
+            });
+        } else {
+            requestDrain();
+        }
+    }
+
+    /**
+     * Entrega de uma notificação agrupada que acabou de receber mais uma ação
+     *
+     * Se já existe um envio dela esperando no outbox, só o conteúdo é trocado pelo estado atual;
+     * senão, um novo envio é agendado para daqui a notifications.coalescing.flush-interval-ms.
+     * Assim cada notificação agrupada gera no máximo um frame por intervalo, com o estado mais
+     * recente. Envios perto do vencimento (metade do intervalo, no máximo um segundo) não são
+     * alterados, porque o dispatcher pode já tê-los lido; nesse caso um novo envio é agendado.
+     */
+    public void enqueueCoalesced(String destination, NotificationResponse notification, long flushIntervalMs) {
+        String payload = serialize(destination, notification);
+        if (payload == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long flushMs = Math.max(0, flushIntervalMs);
+        int replaced = outboxEventRepository.replacePendingPayload(OutboxEvent.NOTIFICATION_CREATED,
+                notification.getId(), payload, now.plus(Duration.ofMillis(Math.min(1000, flushMs / 2))));
+        if (replaced > 0) {
+            return;
+        }
+        OutboxEvent event = OutboxEvent.of(OutboxEvent.NOTIFICATION_CREATED, notification.getId());
+        event.setPayload(payload);
+        event.setNextAttemptAt(now.plus(Duration.ofMillis(flushMs)));
+        // Enviado pela verificação periódica do outbox quando vencer
+        outboxEventRepository.save(event);
+    }
+
+    /**
+     * Agenda uma rodada de envio no dispatcher (no máximo uma rodada na fila por vez)
+     */
+    public void requestDrain() {
+        if (drainQueued.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                drainQueued.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * Remove do outbox as entregas enviadas ou abandonadas há mais de notifications.dispatch.retention-days
+     * @return quantidade de eventos removidos
+     */
+    public int purgeFinished() {
+        LocalDateTime before = LocalDateTime.now().minusDays(Math.max(0, properties.getRetentionDays()));
+        int purged = outboxEventRepository.deleteFinishedBefore(OutboxEvent.NOTIFICATION_CREATED, before);
+        if (purged > 0) {
+            log.info("Purged {} finished notification deliveries older than {}", purged, before);
+        }
+        return purged;
+    }
+
+    /**
+     * Profundidade da fila, atraso da entrega mais antiga e latência das entregas feitas
+     */
+    @Transactional(readOnly = true)
+    public NotificationDispatchStatusResponse getStatus() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldestPendingAt = outboxEventRepository
+                .findFirstByEventTypeAndStatusOrderByIdAsc(OutboxEvent.NOTIFICATION_CREATED, OutboxEvent.EventStatus.PENDING)
+                .map(OutboxEvent::getCreatedAt)
+                .orElse(null);
+        long deliveredCount = delivered.get();
+
+        return new NotificationDispatchStatusResponse(
+                outboxEventRepository.countByEventTypeAndStatus(OutboxEvent.NOTIFICATION_CREATED, OutboxEvent.EventStatus.PENDING),
+                outboxEventRepository.countByEventTypeAndStatus(OutboxEvent.NOTIFICATION_CREATED, OutboxEvent.EventStatus.FAILED),
+                oldestPendingAt,
+                oldestPendingAt != null ? Math.max(0, Duration.between(oldestPendingAt, now).toMillis()) : 0,
+                deliveredCount,
+                deliveredCount > 0 ? totalLatencyMillis.get() / deliveredCount : 0,
+                maxLatencyMillis.get(),
+                lastDeliveredAt);
+    }
+
+    /**
+     * Envia as entregas prontas em lotes (na thread do dispatcher)
+     */
+    private void drain() {
+        drainLock.lock();
+        try {
+            int batchSize = Math.max(1, properties.getBatchSize());
+            List<OutboxEvent> events;
+            do {
+                events = outboxEventRepository.findReady(OutboxEvent.NOTIFICATION_CREATED, LocalDateTime.now(),
+                        PageRequest.of(0, batchSize));
+                deliver(events);
+            } while (events.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Notification dispatch failed: {}", e.getMessage(), e);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void deliver(List<OutboxEvent> events) {
+        List<Long> sent = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                Delivery delivery = objectMapper.readValue(event.getPayload(), Delivery.class);
+                messagingTemplate.convertAndSend(delivery.destination(), delivery.notification());
+                sent.add(event.getId());
+                recordDelivery(event.getCreatedAt());
+            } catch (Exception e) {
+                registerFailure(event, e);
+                outboxEventRepository.save(event);
+            }
+        }
+        if (!sent.isEmpty()) {
+            outboxEventRepository.markProcessed(sent, LocalDateTime.now());
+        }
+    }
+
+    private String serialize(String destination, NotificationResponse notification) {
+        try {
+            return objectMapper.writeValueAsString(new Delivery(destination, notification));
+        } catch (JsonProcessingException e) {
+            log.error("Erro ao serializar a notificação {} para envio", notification.getId(), e);
+            return null;
+        }
+    }
+
+    private void recordDelivery(LocalDateTime createdAt) {
+        LocalDateTime now = LocalDateTime.now();
+        long latency = Math.max(0, Duration.between(createdAt, now).toMillis());
+        delivered.incrementAndGet();
+        totalLatencyMillis.addAndGet(latency);
+        maxLatencyMillis.accumulate(latency);
+        lastDeliveredAt = now;
+    }
+
+    private void registerFailure(OutboxEvent event, Throwable cause) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+        if (attempts >= properties.getMaxAttempts()) {
+            event.setStatus(OutboxEvent.EventStatus.FAILED);
+            log.error("Notification {} delivery failed permanently after {} attempts: {}",
+                    event.getAggregateId(), attempts, message);
+        } else {
+            long backoffSeconds = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 16));
+            event.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds));
+            log.warn("Notification {} delivery failed (attempt {}), retrying in {}s: {}",
+                    event.getAggregateId(), attempts, backoffSeconds, message);
+        }
+    }
+
+    /**
+     * Conteúdo do evento no outbox: destino e notificação já convertida no momento da criação
+     */
+    public record Delivery(String destination, NotificationResponse notification) {
+    }
+}
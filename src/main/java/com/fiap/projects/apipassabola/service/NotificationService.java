@@ -1,24 +1,31 @@
 package com.fiap.projects.apipassabola.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projects.apipassabola.config.NotificationCoalescingProperties;
 import com.fiap.projects.apipassabola.dto.NotificationResponse;
 import com.fiap.projects.apipassabola.entity.UserType;
 import com.fiap.projects.apipassabola.model.Notification;
 import com.fiap.projects.apipassabola.model.NotificationType;
+import com.fiap.projects.apipassabola.repository.NotificationGroupLockRepository;
 import com.fiap.projects.apipassabola.repository.NotificationRepository;
+import com.fiap.projects.apipassabola.repository.PostLikeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,8 +34,12 @@ import java.util.stream.Collectors;
 public class NotificationService {
     
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationGroupLockRepository notificationGroupLockRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final NotificationDispatcherService notificationDispatcherService;
     private final ObjectMapper objectMapper;
+    private final UnreadCounterService unreadCounterService;
+    private final NotificationCoalescingProperties coalescingProperties;
     
     /**
      * Cria e envia uma notificação em tempo real
@@ -46,7 +57,111 @@ public class NotificationService {
             Map<String, Object> metadata,
             String actionUrl
     ) {
-        // Criar notificação
+        Notification notification = newNotification(recipientId, recipientType, senderId, senderType,
+                senderUsername, senderName, type, message, metadata, actionUrl);
+        return persistAndSend(notification);
+    }
+    
+    /**
+     * Cria ou atualiza a notificação agrupada de (destinatário, tipo, groupKey)
+     * 
+     * Se o destinatário tem uma notificação não lida do mesmo grupo cuja última ação está dentro da
+     * janela deslizante (notifications.coalescing.window-minutes), a nova ação entra nela: contador
+     * de atores, últimos atores e mensagem são atualizados e a notificação volta ao topo, sem linha
+     * nova e sem alterar o contador de não lidas. O envio por WebSocket dessa atualização sai no
+     * máximo uma vez por notifications.coalescing.flush-interval-ms.
+     * 
+     * A criação do grupo é serializada pela linha de notification_group_locks do grupo, bloqueada
+     * antes da busca: ações simultâneas sem grupo aberto não criam duas notificações.
+     * 
+     * actorsSince conta, na fonte da ação, os atores distintos desde actedAt da primeira ação do grupo
+     * (ex.: curtidas atuais do post), então quem curtiu, descurtiu e curtiu de novo não é contado
+     * duas vezes.
+     * message recebe quantas outras pessoas fizeram a mesma ação (0 na primeira).
+     */
+    @Transactional
+    public Notification createOrCoalesceNotification(
+            Long recipientId,
+            UserType recipientType,
+            Long senderId,
+            UserType senderType,
+            String senderUsername,
+            String senderName,
+            NotificationType type,
+            String groupKey,
+            LocalDateTime actedAt,
+            IntFunction<String> message,
+            ToLongFunction<LocalDateTime> actorsSince,
+            Map<String, Object> metadata,
+            String actionUrl
+    ) {
+        LocalDateTime now = LocalDateTime.now();
+        notificationGroupLockRepository.acquire(
+                String.join(":", recipientType.name(), recipientId.toString(), type.name(), groupKey), now);
+        Notification group = notificationRepository.findOpenGroup(recipientId, recipientType, type, groupKey,
+                        now.minusMinutes(coalescingProperties.getWindowMinutes()), PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElse(null);
+        NotificationActor actor = new NotificationActor(senderId, senderType, senderUsername, senderName);
+        
+        if (group == null) {
+            Notification notification = newNotification(recipientId, recipientType, senderId, senderType,
+                    senderUsername, senderName, type, message.apply(0), metadata, actionUrl);
+            notification.setGroupKey(groupKey);
+            notification.setGroupStartedAt(actedAt);
+            notification.setRecentActors(toJson(List.of(actor)));
+            return persistAndSend(notification);
+        }
+        
+        // Ator mais recente primeiro, limitado a notifications.coalescing.max-recent-actors
+        List<NotificationActor> actors = new ArrayList<>(readActors(group));
+        actors.removeIf(a -> a.id().equals(senderId) && a.type() == senderType);
+        actors.add(0, actor);
+        int maxActors = Math.max(1, coalescingProperties.getMaxRecentActors());
+        if (actors.size() > maxActors) {
+            actors = new ArrayList<>(actors.subList(0, maxActors));
+        }
+        // Grupos anteriores à coluna group_started_at contam a partir do início da janela; uma ação
+        // gravada antes da que abriu o grupo (transações simultâneas) adianta o início
+        LocalDateTime startedAt = group.getGroupStartedAt() != null
+                ? group.getGroupStartedAt()
+                : now.minusMinutes(coalescingProperties.getWindowMinutes());
+        if (actedAt.isBefore(startedAt)) {
+            startedAt = actedAt;
+        }
+        group.setGroupStartedAt(startedAt);
+        group.setActorCount((int) Math.max(1, actorsSince.applyAsLong(startedAt)));
+        
+        group.setSenderId(senderId);
+        group.setSenderType(senderType);
+        group.setSenderUsername(senderUsername);
+        group.setSenderName(senderName);
+        group.setMessage(message.apply(group.getActorCount() - 1));
+        group.setMetadata(toJson(metadata));
+        group.setActionUrl(actionUrl);
+        group.setRecentActors(toJson(actors));
+        group.setCreatedAt(now);
+        group = notificationRepository.save(group);
+        log.debug("Notificação {} agrupada: {} atores", group.getId(), group.getActorCount());
+        
+        notificationDispatcherService.enqueueCoalesced(destinationOf(group), convertToResponse(group),
+                coalescingProperties.getFlushIntervalMs());
+        return group;
+    }
+    
+    private Notification newNotification(
+            Long recipientId,
+            UserType recipientType,
+            Long senderId,
+            UserType senderType,
+            String senderUsername,
+            String senderName,
+            NotificationType type,
+            String message,
+            Map<String, Object> metadata,
+            String actionUrl
+    ) {
         Notification notification = new Notification();
         notification.setRecipientId(recipientId);
         notification.setRecipientType(recipientType);
@@ -57,46 +172,61 @@ public class NotificationService {
         notification.setType(type);
         notification.setMessage(message);
         notification.setActionUrl(actionUrl);
-        
-        // Converter metadata para JSON
-        if (metadata != null && !metadata.isEmpty()) {
-            try {
-                notification.setMetadata(objectMapper.writeValueAsString(metadata));
-            } catch (JsonProcessingException e) {
-                log.error("Erro ao converter metadata para JSON", e);
-            }
-        }
-        
-        // Salvar no banco
+        notification.setMetadata(toJson(metadata));
+        return notification;
+    }
+    
+    /**
+     * Salva uma notificação nova, atualiza o contador e agenda o envio
+     */
+    private Notification persistAndSend(Notification notification) {
         notification = notificationRepository.save(notification);
-        log.info("Notificação criada: {} para usuário {}/{}", type, recipientId, recipientType);
+        unreadCounterService.notificationsChanged(notification.getRecipientId(), notification.getRecipientType(), 1);
+        log.info("Notificação criada: {} para usuário {}/{}", notification.getType(),
+                notification.getRecipientId(), notification.getRecipientType());
         
-        // Enviar via WebSocket em tempo real
-        sendNotificationViaWebSocket(notification);
+        // Envio via WebSocket pelo outbox: só acontece depois do commit, fora desta transação
+        notificationDispatcherService.enqueue(destinationOf(notification), convertToResponse(notification));
         
         return notification;
     }
     
     /**
-     * Envia notificação via WebSocket
+     * Converte metadata/atores para JSON (null quando vazio ou em caso de erro)
      */
-    private void sendNotificationViaWebSocket(Notification notification) {
+    private String toJson(Object value) {
+        if (value == null || (value instanceof Map<?, ?> map && map.isEmpty())) {
+            return null;
+        }
         try {
-            NotificationResponse response = convertToResponse(notification);
-            
-            // Enviar para o tópico específico do usuário
-            String destination = String.format("/topic/notifications/%s/%d", 
-                    notification.getRecipientType().toString().toLowerCase(),
-                    notification.getRecipientId());
-            
-            messagingTemplate.convertAndSend(destination, response);
-            log.info("Notificação enviada via WebSocket para: {}", destination);
-            
-        } catch (Exception e) {
-            log.error("Erro ao enviar notificação via WebSocket", e);
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.error("Erro ao converter metadata para JSON", e);
+            return null;
         }
     }
     
+    private List<NotificationActor> readActors(Notification notification) {
+        if (notification.getRecentActors() == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(notification.getRecentActors(), new TypeReference<List<NotificationActor>>() {});
+        } catch (JsonProcessingException e) {
+            log.error("Erro ao ler os atores da notificação {}", notification.getId(), e);
+            return List.of();
+        }
+    }
+    
+    /**
+     * Tópico WebSocket do destinatário
+     */
+    private String destinationOf(Notification notification) {
+        return String.format("/topic/notifications/%s/%d",
+                notification.getRecipientType().toString().toLowerCase(),
+                notification.getRecipientId());
+    }
+    
     /**
      * Buscar notificações do usuário com paginação
      */
@@ -124,10 +254,10 @@ public class NotificationService {
     }
     
     /**
-     * Contar notificações não lidas
+     * Contar notificações não lidas (contador mantido em unread_counters, sem COUNT)
      */
     public long countUnreadNotifications(Long userId, UserType userType) {
-        return notificationRepository.countByRecipientIdAndRecipientTypeAndIsReadFalse(userId, userType);
+        return unreadCounterService.getNotificationUnread(userId, userType);
     }
     
     /**
@@ -157,19 +287,16 @@ public class NotificationService {
                 return false;
             }
             
-            // Se já está marcada como lida, não fazer nada
-            if (notification.getIsRead()) {
+            // UPDATE condicional: com duas chamadas simultâneas (toque duplo), só uma marca e desconta
+            if (notificationRepository.markAsReadIfUnread(notificationId, LocalDateTime.now()) == 0) {
                 log.debug("Notificação {} já está marcada como lida", notificationId);
                 return true;
             }
             
-            notification.markAsRead();
-            notificationRepository.save(notification);
-            
             log.info("Notificação {} marcada como lida com sucesso", notificationId);
             
-            // Enviar atualização via WebSocket
-            sendNotificationUpdateViaWebSocket(userId, userType);
+            // Atualiza o contador (enviado via WebSocket após o commit)
+            unreadCounterService.notificationsChanged(userId, userType, -1);
             
             return true;
             
@@ -186,8 +313,8 @@ public class NotificationService {
     public int markAllAsRead(Long userId, UserType userType) {
         int count = notificationRepository.markAllAsRead(userId, userType, LocalDateTime.now());
         
-        // Enviar atualização via WebSocket
-        sendNotificationUpdateViaWebSocket(userId, userType);
+        // Atualiza o contador (enviado via WebSocket após o commit)
+        unreadCounterService.notificationsChanged(userId, userType, -count);
         
         return count;
     }
@@ -208,28 +335,9 @@ public class NotificationService {
         
         notificationRepository.delete(notification);
         
-        // Enviar atualização via WebSocket
-        sendNotificationUpdateViaWebSocket(userId, userType);
-    }
-    
-    /**
-     * Envia atualização de contador via WebSocket
-     */
-    private void sendNotificationUpdateViaWebSocket(Long userId, UserType userType) {
-        try {
-            long unreadCount = countUnreadNotifications(userId, userType);
-            
-            Map<String, Object> update = new HashMap<>();
-            update.put("unreadCount", unreadCount);
-            update.put("timestamp", LocalDateTime.now());
-            
-            String destination = String.format("/topic/notifications/%s/%d/count", 
-                    userType.toString().toLowerCase(), userId);
-            
-            messagingTemplate.convertAndSend(destination, update);
-            
-        } catch (Exception e) {
-            log.error("Erro ao enviar atualização de contador via WebSocket", e);
+        // Só uma notificação não lida altera o contador
+        if (!notification.getIsRead()) {
+            unreadCounterService.notificationsChanged(userId, userType, -1);
         }
     }
     
@@ -250,6 +358,11 @@ public class NotificationService {
     @Transactional
     public int cleanOldNotifications() {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
+        // Notificações não lidas removidas saem dos contadores de cada destinatário
+        for (Object[] row : notificationRepository.countUnreadOlderThan(thirtyDaysAgo)) {
+            unreadCounterService.notificationsChanged((Long) row[1], (UserType) row[0], -((Long) row[2]).intValue());
+        }
+        notificationGroupLockRepository.deleteOlderThan(thirtyDaysAgo);
         return notificationRepository.deleteOlderThan(thirtyDaysAgo);
     }
     
@@ -267,6 +380,8 @@ public class NotificationService {
         response.setMessage(notification.getMessage());
         response.setMetadata(notification.getMetadata());
         response.setActionUrl(notification.getActionUrl());
+        response.setActorCount(notification.getActorCount());
+        response.setRecentActors(notification.getRecentActors());
         response.setIsRead(notification.getIsRead());
         response.setCreatedAt(notification.getCreatedAt());
         response.setReadAt(notification.getReadAt());
@@ -377,6 +492,7 @@ public class NotificationService {
     
     /**
      * Notificação de post curtido
+     * Curtidas no mesmo post são agrupadas ("Ana e mais 27 pessoas curtiram seu post")
      */
     public void notifyPostLiked(
             Long postAuthorId,
@@ -385,16 +501,16 @@ public class NotificationService {
             UserType likerType,
             String likerUsername,
             String likerName,
-            Long postId
+            Long postId,
+            LocalDateTime likedAt
     ) {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("postId", postId);
         metadata.put("likerId", likerId);
         
-        String message = String.format("%s curtiu seu post", likerName);
         String actionUrl = String.format("/posts/%d", postId);
         
-        createAndSendNotification(
+        createOrCoalesceNotification(
                 postAuthorId,
                 postAuthorType,
                 likerId,
@@ -402,9 +518,22 @@ public class NotificationService {
                 likerUsername,
                 likerName,
                 NotificationType.POST_LIKED,
-                message,
+                "post:" + postId,
+                likedAt,
+                others -> switch (others) {
+                    case 0 -> String.format("%s curtiu seu post", likerName);
+                    case 1 -> String.format("%s e mais 1 pessoa curtiram seu post", likerName);
+                    default -> String.format("%s e mais %d pessoas curtiram seu post", likerName, others);
+                },
+                since -> postLikeRepository.countLikersSince(postId, since),
                 metadata,
                 actionUrl
         );
     }
+    
+    /**
+     * Ator de uma notificação agrupada (guardado em recentActors)
+     */
+    public record NotificationActor(Long id, UserType type, String username, String name) {
+    }
 }
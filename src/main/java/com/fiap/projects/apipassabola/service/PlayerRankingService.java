@@ -8,16 +8,25 @@ import com.fiap.projects.apipassabola.repository.PlayerRankingRepository;
 import com.fiap.projects.apipassabola.repository.PlayerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class PlayerRankingService {
     
     private final PlayerRankingRepository playerRankingRepository;
     private final PlayerRepository playerRepository;
+    private final RankingLeaderboardService rankingLeaderboardService;
     
     /**
      * Obtém ou cria ranking de uma jogadora
@@ -29,22 +38,67 @@ public class PlayerRankingService {
                     Player player = playerRepository.findById(playerId)
                             .orElseThrow(() -> new RuntimeException("Player not found: " + playerId));
                     
-                    PlayerRanking ranking = new PlayerRanking();
-                    ranking.setPlayer(player);
-                    ranking.setTotalPoints(0);
-                    ranking.setDivision(Division.BRONZE);
-                    ranking.setGamesWon(0);
-                    ranking.setGamesDrawn(0);
-                    ranking.setGamesLost(0);
-                    ranking.setTotalGames(0);
-                    ranking.setWinRate(0.0);
-                    ranking.setCurrentStreak(0);
-                    ranking.setBestStreak(0);
-                    
-                    return playerRankingRepository.save(ranking);
+                    return track(playerRankingRepository.save(newRanking(player)));
                 });
     }
     
+    /**
+     * Obtém ou cria os rankings de várias jogadoras com uma consulta (mais os inserts dos que faltam)
+     * @return rankings indexados pelo id da jogadora
+     */
+    @Transactional
+    public Map<Long, PlayerRanking> getOrCreateRankings(Collection<Long> playerIds) {
+        if (playerIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<Long, PlayerRanking> rankings = playerRankingRepository.findByPlayerIdIn(playerIds)
+                .stream()
+                .collect(Collectors.toMap(ranking -> ranking.getPlayer().getId(), ranking -> ranking));
+        
+        List<Long> missingIds = playerIds.stream()
+                .filter(playerId -> !rankings.containsKey(playerId))
+                .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            List<PlayerRanking> created = playerRepository.findAllById(missingIds).stream()
+                    .map(this::newRanking)
+                    .collect(Collectors.toList());
+            playerRankingRepository.saveAll(created)
+                    .forEach(ranking -> rankings.put(track(ranking).getPlayer().getId(), ranking));
+        }
+        return rankings;
+    }
+    
+    /**
+     * Persiste os rankings alterados em lote (atualizações agrupadas no flush via hibernate.jdbc.batch_size)
+     */
+    @Transactional
+    public void saveAll(Collection<PlayerRanking> rankings) {
+        playerRankingRepository.saveAll(rankings).forEach(this::track);
+    }
+    
+    /**
+     * Registra a pontuação no leaderboard em memória (aplicada após o commit)
+     */
+    private PlayerRanking track(PlayerRanking ranking) {
+        rankingLeaderboardService.recordPlayer(ranking);
+        return ranking;
+    }
+    
+    private PlayerRanking newRanking(Player player) {
+        PlayerRanking ranking = new PlayerRanking();
+        ranking.setPlayer(player);
+        ranking.setTotalPoints(0);
+        ranking.setDivision(Division.BRONZE);
+        ranking.setGamesWon(0);
+        ranking.setGamesDrawn(0);
+        ranking.setGamesLost(0);
+        ranking.setTotalGames(0);
+        ranking.setWinRate(0.0);
+        ranking.setCurrentStreak(0);
+        ranking.setBestStreak(0);
+        return ranking;
+    }
+    
     /**
      * Adiciona vitória para uma jogadora
      */
@@ -52,7 +106,7 @@ public class PlayerRankingService {
     public PlayerRanking addWin(Long playerId) {
         PlayerRanking ranking = getOrCreateRanking(playerId);
         ranking.addWin();
-        return playerRankingRepository.save(ranking);
+        return track(playerRankingRepository.save(ranking));
     }
     
     /**
@@ -62,7 +116,7 @@ public class PlayerRankingService {
     public PlayerRanking addDraw(Long playerId) {
         PlayerRanking ranking = getOrCreateRanking(playerId);
         ranking.addDraw();
-        return playerRankingRepository.save(ranking);
+        return track(playerRankingRepository.save(ranking));
     }
     
     /**
@@ -72,7 +126,7 @@ public class PlayerRankingService {
     public PlayerRanking addLoss(Long playerId) {
         PlayerRanking ranking = getOrCreateRanking(playerId);
         ranking.addLoss();
-        return playerRankingRepository.save(ranking);
+        return track(playerRankingRepository.save(ranking));
     }
     
     /**
@@ -82,7 +136,7 @@ public class PlayerRankingService {
     public PlayerRanking addBonusPoints(Long playerId, int points) {
         PlayerRanking ranking = getOrCreateRanking(playerId);
         ranking.addBonusPoints(points);
-        return playerRankingRepository.save(ranking);
+        return track(playerRankingRepository.save(ranking));
     }
     
     /**
@@ -99,6 +153,9 @@ public class PlayerRankingService {
      */
     @Transactional(readOnly = true)
     public Page<PlayerRankingResponse> getGlobalRanking(Pageable pageable) {
+        if (rankingLeaderboardService.isReady()) {
+            return leaderboardPage(null, pageable);
+        }
         Page<PlayerRanking> rankings = playerRankingRepository.findAllByOrderByTotalPointsDesc(pageable);
         return rankings.map(this::convertToResponse);
     }
@@ -108,10 +165,29 @@ public class PlayerRankingService {
      */
     @Transactional(readOnly = true)
     public Page<PlayerRankingResponse> getRankingByDivision(Division division, Pageable pageable) {
+        if (rankingLeaderboardService.isReady()) {
+            return leaderboardPage(division, pageable);
+        }
         Page<PlayerRanking> rankings = playerRankingRepository.findByDivisionOrderByTotalPointsDesc(division, pageable);
         return rankings.map(this::convertToResponse);
     }
     
+    /**
+     * Página do ranking fatiada no leaderboard em memória: uma consulta para os registros da página
+     * @param division divisão, ou null para o ranking global
+     */
+    private Page<PlayerRankingResponse> leaderboardPage(Division division, Pageable pageable) {
+        List<Long> ids = rankingLeaderboardService.playerPage(division, pageable.getOffset(), pageable.getPageSize());
+        Map<Long, PlayerRanking> byId = playerRankingRepository.findAllWithPlayerByIdIn(ids).stream()
+                .collect(Collectors.toMap(PlayerRanking::getId, ranking -> ranking));
+        List<PlayerRankingResponse> content = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, rankingLeaderboardService.playerCount(division));
+    }
+    
     /**
      * Busca top jogadoras
      */
@@ -165,13 +241,19 @@ public class PlayerRankingService {
         response.setUpdatedAt(ranking.getUpdatedAt());
         
         // Calcula posições
-        Long globalPosition = playerRankingRepository.findPlayerPosition(
-                ranking.getTotalPoints(), ranking.getId());
-        response.setGlobalPosition(globalPosition);
-        
-        Long divisionPosition = playerRankingRepository.findPlayerPositionInDivision(
-                ranking.getDivision(), ranking.getTotalPoints(), ranking.getId());
-        response.setDivisionPosition(divisionPosition);
+        if (rankingLeaderboardService.isReady()) {
+            // O(log n) no leaderboard em memória
+            response.setGlobalPosition(rankingLeaderboardService.playerPosition(ranking));
+            response.setDivisionPosition(rankingLeaderboardService.playerDivisionPosition(ranking));
+        } else {
+            Long globalPosition = playerRankingRepository.findPlayerPosition(
+                    ranking.getTotalPoints(), ranking.getId());
+            response.setGlobalPosition(globalPosition);
+            
+            Long divisionPosition = playerRankingRepository.findPlayerPositionInDivision(
+                    ranking.getDivision(), ranking.getTotalPoints(), ranking.getId());
+            response.setDivisionPosition(divisionPosition);
+        }
         
         return response;
     }
@@ -27,6 +27,7 @@ public class PostCommentService {
     private final OrganizationRepository organizationRepository;
     private final SpectatorRepository spectatorRepository;
     private final UserContextService userContextService;
+    private final ContentModerationService contentModerationService;
     
     /**
      * Create a comment on a post
@@ -49,7 +50,7 @@ public class PostCommentService {
         comment.setUserUsername(currentUsername);
         comment.setUserName(currentUserName);
         comment.setUserType(currentUserType);
-        comment.setContent(request.getContent());
+        comment.setContent(contentModerationService.enforce(request.getContent(), "comment", currentUserId));
         
         PostComment savedComment = commentRepository.save(comment);
         
@@ -75,7 +76,7 @@ public class PostCommentService {
             throw new BusinessException("You can only update your own comments");
         }
         
-        comment.setContent(request.getContent());
+        comment.setContent(contentModerationService.enforce(request.getContent(), "comment", currentUserId));
         PostComment savedComment = commentRepository.save(comment);
         
         return convertToResponse(savedComment);
@@ -86,7 +86,8 @@ public class PostLikeService {
                     userType,
                     username,
                     name,
-                    postId
+                    postId,
+                    savedLike.getCreatedAt()
             );
         }
         
@@ -4,6 +4,7 @@ import com.fiap.projects.apipassabola.dto.request.PostRequest;
 import com.fiap.projects.apipassabola.dto.response.PostResponse;
 import com.fiap.projects.apipassabola.dto.response.PostLikeResponse;
 import com.fiap.projects.apipassabola.dto.response.PostCommentResponse;
+import com.fiap.projects.apipassabola.dto.response.PostSummaryResponse;
 import com.fiap.projects.apipassabola.entity.*;
 import com.fiap.projects.apipassabola.exception.BusinessException;
 import com.fiap.projects.apipassabola.exception.ResourceNotFoundException;
@@ -29,11 +30,29 @@ public class PostService {
     private final UserContextService userContextService;
     private final PostLikeService postLikeService;
     private final PostCommentService postCommentService;
+    private final ContentModerationService contentModerationService;
     
     public Page<PostResponse> findAll(Pageable pageable) {
         return postRepository.findAll(pageable).map(this::convertToResponse);
     }
     
+    // Summary views (view=summary): DTO projections, no like/comment hydration
+    
+    @Transactional(readOnly = true)
+    public Page<PostSummaryResponse> findAllSummaries(Pageable pageable) {
+        return postRepository.findAllSummaries(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<PostSummaryResponse> findSummariesByAuthor(Long authorId, Pageable pageable) {
+        return postRepository.findSummariesByAuthorId(authorId, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<PostSummaryResponse> findSummariesByType(Post.PostType type, Pageable pageable) {
+        return postRepository.findSummariesByType(type, pageable);
+    }
+    
     public PostResponse findById(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
@@ -99,7 +118,7 @@ public class PostService {
         post.setAuthorUsername(currentRealUsername);
         post.setAuthorName(currentUserName);
         post.setAuthorType(currentUserType);
-        post.setContent(request.getContent());
+        post.setContent(contentModerationService.enforce(request.getContent(), "post", currentUserId));
         post.setImageUrl(request.getImageUrl());
         post.setType(request.getType());
         post.setLikes(0);
@@ -122,7 +141,7 @@ public class PostService {
         }
         
         // Only allow updating content, imageUrl and type
-        post.setContent(request.getContent());
+        post.setContent(contentModerationService.enforce(request.getContent(), "post", currentUserId));
         post.setImageUrl(request.getImageUrl());
         post.setType(request.getType());
         
@@ -0,0 +1,159 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fiap.projects.apipassabola.config.PresenceProperties;
+import com.fiap.projects.apipassabola.dto.response.PresenceResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Presence of users connected over WebSocket
+ *
+ * Sessions are indexed by user (global userId), so "is X online" and "on how many devices" are map
+ * lookups instead of a scan over every session. Each user entry is immutable and replaced atomically
+ * on connect/disconnect. Online/offline changes are published to /topic/presence/{userId} only after
+ * the user stays in the new state for presence.debounce-ms, so quick reconnects do not flap.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceService {
+
+    private final UniversalUserService universalUserService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PresenceProperties presenceProperties;
+
+    private final Map<Long, UserPresence> users = new ConcurrentHashMap<>();
+    // sessionId -> userId
+    private final Map<String, Long> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+    // userId -> time (ms) at which a pending change may be published
+    private final Map<Long, Long> pendingChanges = new ConcurrentHashMap<>();
+    // Last state published for each user
+    private final Map<Long, Boolean> published = new ConcurrentHashMap<>();
+
+    /**
+     * A WebSocket session of the user (principal name = email) connected
+     */
+    public void sessionConnected(String sessionId, String email) {
+        Long userId = resolveUserId(email);
+        if (userId == null) {
+            return;
+        }
+        sessions.put(sessionId, userId);
+        UserPresence presence = users.compute(userId, (id, current) -> {
+            Set<String> ids = current != null ? new HashSet<>(current.sessions) : new HashSet<>();
+            ids.add(sessionId);
+            return new UserPresence(Set.copyOf(ids), LocalDateTime.now());
+        });
+        if (presence.sessions.size() == 1) {
+            changed(userId);
+        }
+        log.debug("[Presence] User {} connected (sessionId: {}, sessions: {})", userId, sessionId,
+                presence.sessions.size());
+    }
+
+    /**
+     * A WebSocket session disconnected
+     */
+    public void sessionDisconnected(String sessionId) {
+        Long userId = sessions.remove(sessionId);
+        if (userId == null) {
+            return;
+        }
+        UserPresence presence = users.computeIfPresent(userId, (id, current) -> {
+            Set<String> ids = new HashSet<>(current.sessions);
+            ids.remove(sessionId);
+            return new UserPresence(Set.copyOf(ids), LocalDateTime.now());
+        });
+        if (presence != null && presence.sessions.isEmpty()) {
+            changed(userId);
+        }
+        log.debug("[Presence] User {} disconnected (sessionId: {})", userId, sessionId);
+    }
+
+    public boolean isOnline(Long userId) {
+        UserPresence presence = users.get(userId);
+        return presence != null && !presence.sessions.isEmpty();
+    }
+
+    public PresenceResponse getPresence(Long userId) {
+        UserPresence presence = users.get(userId);
+        if (presence == null) {
+            return new PresenceResponse(userId, false, 0, null);
+        }
+        boolean online = !presence.sessions.isEmpty();
+        return new PresenceResponse(userId, online, presence.sessions.size(),
+                online ? LocalDateTime.now() : presence.lastSeenAt);
+    }
+
+    /**
+     * Presence of several users at once, in the order requested
+     */
+    public List<PresenceResponse> getPresence(Collection<Long> userIds) {
+        List<PresenceResponse> presences = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            presences.add(getPresence(userId));
+        }
+        return presences;
+    }
+
+    /**
+     * Publishes the changes that outlived the debounce window (called by PresenceScheduler)
+     */
+    public void flushPresenceChanges() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, Long> pending : pendingChanges.entrySet()) {
+            Long userId = pending.getKey();
+            if (pending.getValue() > now || !pendingChanges.remove(userId, pending.getValue())) {
+                continue;
+            }
+            boolean online = isOnline(userId);
+            Boolean previous = published.put(userId, online);
+            if (previous == null ? online : previous != online) {
+                push(getPresence(userId));
+            }
+        }
+    }
+
+    private void changed(Long userId) {
+        pendingChanges.put(userId, System.currentTimeMillis() + presenceProperties.getDebounceMs());
+    }
+
+    private Long resolveUserId(String email) {
+        Long userId = userIdsByEmail.get(email);
+        if (userId != null) {
+            return userId;
+        }
+        try {
+            userId = universalUserService.findByEmail(email).userId;
+            userIdsByEmail.put(email, userId);
+            return userId;
+        } catch (Exception e) {
+            log.warn("[Presence] Could not resolve user for {}: {}", email, e.getMessage());
+            return null;
+        }
+    }
+
+    private void push(PresenceResponse presence) {
+        String destination = "/topic/presence/" + presence.getUserId();
+        try {
+            messagingTemplate.convertAndSend(destination, presence);
+        } catch (Exception e) {
+            log.error("Failed to push presence to {}: {}", destination, e.getMessage());
+        }
+    }
+
+    private record UserPresence(Set<String> sessions, LocalDateTime lastSeenAt) {
+    }
+}
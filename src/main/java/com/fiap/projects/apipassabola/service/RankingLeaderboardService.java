@@ -0,0 +1,237 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fiap.projects.apipassabola.dto.response.DivisionStatsResponse;
+import com.fiap.projects.apipassabola.dto.response.PointsBucketResponse;
+import com.fiap.projects.apipassabola.entity.Division;
+import com.fiap.projects.apipassabola.entity.PlayerRanking;
+import com.fiap.projects.apipassabola.entity.TeamRanking;
+import com.fiap.projects.apipassabola.repository.PlayerRankingRepository;
+import com.fiap.projects.apipassabola.repository.TeamRankingRepository;
+import com.fiap.projects.apipassabola.util.DivisionStatistics;
+import com.fiap.projects.apipassabola.util.RankingLeaderboard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leaderboards em memória de jogadoras e times, usados para calcular posições e fatiar páginas
+ * do ranking em O(log n) em vez de uma consulta COUNT por linha
+ *
+ * Carregados na inicialização e atualizados a cada alteração de ranking, depois do commit da
+ * transação (alterações desfeitas por rollback nunca chegam ao leaderboard).
+ * Enquanto a carga inicial não termina, {@link #isReady()} é false e os serviços usam o banco.
+ *
+ * Junto com cada leaderboard é mantido o histograma de pontos por divisão (DivisionStatistics),
+ * atualizado a partir da pontuação anterior devolvida pelo leaderboard: a contagem só muda quando
+ * o registro cruza um limite de divisão, e média/histograma acompanham cada alteração. Uma
+ * reconciliação periódica com o banco corrige eventuais desvios.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RankingLeaderboardService {
+    
+    private final PlayerRankingRepository playerRankingRepository;
+    private final TeamRankingRepository teamRankingRepository;
+    
+    private final RankingLeaderboard players = new RankingLeaderboard();
+    private final RankingLeaderboard teams = new RankingLeaderboard();
+    private final DivisionStatistics playerStats = new DivisionStatistics();
+    private final DivisionStatistics teamStats = new DivisionStatistics();
+    private volatile boolean ready = false;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        Map<Long, Integer> playerPoints = toPointsMap(playerRankingRepository.findAllPoints());
+        Map<Long, Integer> teamPoints = toPointsMap(teamRankingRepository.findAllPoints());
+        players.replaceAll(playerPoints);
+        playerStats.replaceAll(playerPoints.values());
+        teams.replaceAll(teamPoints);
+        teamStats.replaceAll(teamPoints.values());
+        ready = true;
+        log.info("Ranking leaderboards loaded: {} players, {} teams", players.size(), teams.size());
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    // ========== ATUALIZAÇÕES ==========
+    
+    public void recordPlayer(PlayerRanking ranking) {
+        afterCommit(players, playerStats, ranking.getId(), ranking.getTotalPoints());
+    }
+    
+    public void recordTeam(TeamRanking ranking) {
+        afterCommit(teams, teamStats, ranking.getId(), ranking.getTotalPoints());
+    }
+    
+    // ========== ESTATÍSTICAS POR DIVISÃO ==========
+    
+    public DivisionStatistics playerDivisionStats() {
+        return playerStats;
+    }
+    
+    public DivisionStatistics teamDivisionStats() {
+        return teamStats;
+    }
+    
+    /**
+     * Quantidade, média e distribuição de pontos de jogadoras e times em cada divisão, servidas
+     * da memória (sem consultas ao banco)
+     */
+    public List<DivisionStatsResponse> getDivisionStats() {
+        List<DivisionStatsResponse> stats = new ArrayList<>();
+        for (Division division : Division.values()) {
+            DivisionStatsResponse response = new DivisionStatsResponse();
+            response.setDivision(division);
+            response.setDivisionName(division.getDisplayName());
+            response.setMinPoints(division.getMinPoints());
+            response.setMaxPoints(division.getMaxPoints());
+            response.setTotalPlayers(playerStats.count(division));
+            response.setTotalTeams(teamStats.count(division));
+            response.setAveragePlayerPoints(playerStats.averagePoints(division));
+            response.setAverageTeamPoints(teamStats.averagePoints(division));
+            response.setPlayerDistribution(toBuckets(division, playerStats.histogram(division)));
+            response.setTeamDistribution(toBuckets(division, teamStats.histogram(division)));
+            stats.add(response);
+        }
+        return stats;
+    }
+    
+    /**
+     * Confere os histogramas com o banco: uma consulta agrupada por faixa de pontos em cada tabela
+     */
+    @Transactional(readOnly = true)
+    public void reconcileDivisionStats() {
+        if (!ready) {
+            return;
+        }
+        long playerModifications = playerStats.modifications();
+        long playerDrift = playerStats.reconcile(playerModifications,
+                playerRankingRepository.findPointsHistogram(DivisionStatistics.BUCKET_WIDTH));
+        long teamModifications = teamStats.modifications();
+        long teamDrift = teamStats.reconcile(teamModifications,
+                teamRankingRepository.findPointsHistogram(DivisionStatistics.BUCKET_WIDTH));
+        if (playerDrift > 0 || teamDrift > 0) {
+            log.warn("Division stats reconciled: {} player and {} team rankings were out of place",
+                    playerDrift, teamDrift);
+        }
+    }
+    
+    // ========== POSIÇÕES ==========
+    
+    public long playerPosition(PlayerRanking ranking) {
+        return players.positionOf(ranking.getId(), ranking.getTotalPoints());
+    }
+    
+    public long playerDivisionPosition(PlayerRanking ranking) {
+        return divisionPosition(players, ranking.getId(), ranking.getTotalPoints());
+    }
+    
+    public long teamPosition(TeamRanking ranking) {
+        return teams.positionOf(ranking.getId(), ranking.getTotalPoints());
+    }
+    
+    public long teamDivisionPosition(TeamRanking ranking) {
+        return divisionPosition(teams, ranking.getId(), ranking.getTotalPoints());
+    }
+    
+    // ========== PÁGINAS ==========
+    
+    /**
+     * Ids dos rankings de jogadoras de uma página (division null = ranking global)
+     */
+    public List<Long> playerPage(Division division, long offset, int limit) {
+        return page(players, division, offset, limit);
+    }
+    
+    public long playerCount(Division division) {
+        return count(players, division);
+    }
+    
+    /**
+     * Ids dos rankings de times de uma página (division null = ranking global)
+     */
+    public List<Long> teamPage(Division division, long offset, int limit) {
+        return page(teams, division, offset, limit);
+    }
+    
+    public long teamCount(Division division) {
+        return count(teams, division);
+    }
+    
+    private long divisionPosition(RankingLeaderboard board, long id, int points) {
+        Division division = Division.fromPoints(points);
+        return board.positionOf(id, points) - board.countAbove(division.getMaxPoints());
+    }
+    
+    private List<Long> page(RankingLeaderboard board, Division division, long offset, int limit) {
+        if (division == null) {
+            return board.slice(offset, limit);
+        }
+        // Divisões são faixas contíguas de pontos: a divisão ocupa um trecho contínuo do ranking global
+        long start = board.countAbove(division.getMaxPoints());
+        long available = count(board, division) - offset;
+        return board.slice(start + offset, (int) Math.max(0, Math.min(limit, available)));
+    }
+    
+    private long count(RankingLeaderboard board, Division division) {
+        if (division == null) {
+            return board.size();
+        }
+        return board.countAbove(division.getMinPoints() - 1) - board.countAbove(division.getMaxPoints());
+    }
+    
+    private void afterCommit(RankingLeaderboard board, DivisionStatistics stats, Long id, Integer points) {
+        if (id == null || points == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(board, stats, id, points);
+                }
+            });
+        } else {
+            apply(board, stats, id, points);
+        }
+    }
+    
+    private void apply(RankingLeaderboard board, DivisionStatistics stats, long id, int points) {
+        Integer previous = board.put(id, points);
+        if (previous == null || previous != points) {
+            stats.move(previous, points);
+        }
+    }
+    
+    private List<PointsBucketResponse> toBuckets(Division division, long[] histogram) {
+        int first = DivisionStatistics.firstBucket(division);
+        List<PointsBucketResponse> buckets = new ArrayList<>(histogram.length);
+        for (int i = 0; i < histogram.length; i++) {
+            buckets.add(new PointsBucketResponse(DivisionStatistics.bucketStart(first + i),
+                    DivisionStatistics.bucketEnd(first + i), histogram[i]));
+        }
+        return buckets;
+    }
+    
+    private Map<Long, Integer> toPointsMap(List<Object[]> rows) {
+        Map<Long, Integer> points = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            points.put((Long) row[0], (Integer) row[1]);
+        }
+        return points;
+    }
+}
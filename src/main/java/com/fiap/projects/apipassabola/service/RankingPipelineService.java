@@ -0,0 +1,438 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fiap.projects.apipassabola.config.RankingPipelineProperties;
+import com.fiap.projects.apipassabola.dto.response.RankingPipelineStatusResponse;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.OutboxEvent;
+import com.fiap.projects.apipassabola.entity.RankingApplication;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pipeline assíncrono de atualização de rankings
+ *
+ * finishGame apenas grava um evento GameFinished no outbox, na mesma transação do placar, e
+ * responde. Depois do commit, o dispatcher lê os eventos pendentes em ordem, resolve o resultado
+ * de cada jogadora/time e distribui o trabalho em partições de uma thread só: uma jogadora (ou time)
+ * sempre cai na mesma partição, então as atualizações do seu ranking são aplicadas em série e na
+ * ordem dos jogos, sem disputar locks com outras partições.
+ *
+ * A aplicação é idempotente (ranking_applications), então um evento pode ser reprocessado após
+ * falha sem pontuar ninguém duas vezes. Falhas são refeitas com backoff exponencial até
+ * ranking.pipeline.max-attempts; depois disso o evento fica FAILED.
+ *
+ * Para não quebrar a ordem dos jogos (sequências de vitórias), os eventos seguintes de uma jogadora
+ * ou time com evento falho esperam por ele: na partição, a tarefa de um evento posterior não aplica
+ * nada para quem já falhou na rodada, e o evento é adiado para a próxima tentativa do que falhou.
+ * Entre rodadas, os eventos ainda aguardando nova tentativa bloqueiam os posteriores da mesma forma.
+ * Só depois que o evento falho fica FAILED os seguintes voltam a ser aplicados (a ordem daquela
+ * jogadora/time já não pode ser garantida; a reconstrução completa corrige o histórico).
+ */
+@Service
+@Slf4j
+public class RankingPipelineService {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final long MAX_BACKOFF_SECONDS = 300;
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final GameRepository gameRepository;
+    private final RankingPointsService rankingPointsService;
+    private final RankingPipelineProperties properties;
+    
+    private final ExecutorService dispatcher;
+    private final ThreadPoolExecutor[] partitions;
+    private final AtomicBoolean drainQueued = new AtomicBoolean(false);
+    private final ReentrantLock drainLock = new ReentrantLock();
+    
+    public RankingPipelineService(OutboxEventRepository outboxEventRepository,
+                                  GameRepository gameRepository,
+                                  RankingPointsService rankingPointsService,
+                                  RankingPipelineProperties properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.gameRepository = gameRepository;
+        this.rankingPointsService = rankingPointsService;
+        this.properties = properties;
+        this.dispatcher = Executors.newSingleThreadExecutor(daemon("ranking-dispatcher"));
+        this.partitions = new ThreadPoolExecutor[Math.max(1, properties.getPartitions())];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), daemon("ranking-partition-" + i));
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        for (ExecutorService partition : partitions) {
+            partition.shutdownNow();
+        }
+    }
+    
+    /**
+     * Grava o evento GameFinished no outbox na transação corrente e agenda o processamento para
+     * depois do commit. Jogos que não contam para o ranking não geram evento.
+     */
+    @Transactional
+    public void publishGameFinished(Game game) {
+        if (!rankingPointsService.countsForRanking(game)) {
+            return;
+        }
+        outboxEventRepository.save(OutboxEvent.of(OutboxEvent.GAME_FINISHED, game.getId()));
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDrain();
+                }
+            });
+        } else {
+            requestDrain();
+        }
+    }
+    
+    /**
+     * Agenda uma rodada de processamento no dispatcher (no máximo uma rodada na fila por vez)
+     */
+    public void requestDrain() {
+        if (drainQueued.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                drainQueued.set(false);
+                try {
+                    drain();
+                } catch (Exception e) {
+                    log.error("Ranking pipeline drain failed: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Executa a tarefa com o pipeline pausado: espera a rodada em andamento terminar e impede novas
+     * rodadas até o fim (usado pela reconstrução completa dos rankings). Eventos publicados nesse
+     * intervalo continuam no outbox e são processados em seguida.
+     */
+    public void runExclusively(Runnable task) {
+        drainLock.lock();
+        try {
+            task.run();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+    
+    /**
+     * Processa na thread atual os eventos já prontos, sem esperar o dispatcher (usado antes do
+     * encerramento de temporada, para que jogos finalizados entrem na temporada em que ocorreram)
+     * Falhas ao ler ou gravar o outbox são propagadas.
+     * @return eventos GameFinished que continuam PENDING ou FAILED depois da rodada
+     */
+    public long drainNow() {
+        drain();
+        return outboxEventRepository.countByEventTypeAndStatusIn(OutboxEvent.GAME_FINISHED,
+                List.of(OutboxEvent.EventStatus.PENDING, OutboxEvent.EventStatus.FAILED));
+    }
+    
+    /**
+     * Situação do pipeline: eventos pendentes/falhos, atraso do mais antigo e fila de cada partição
+     */
+    @Transactional(readOnly = true)
+    public RankingPipelineStatusResponse getStatus() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldestPendingAt = outboxEventRepository
+                .findFirstByEventTypeAndStatusOrderByIdAsc(OutboxEvent.GAME_FINISHED, OutboxEvent.EventStatus.PENDING)
+                .map(OutboxEvent::getCreatedAt)
+                .orElse(null);
+        LocalDateTime lastProcessedAt = outboxEventRepository
+                .findFirstByEventTypeAndStatusOrderByProcessedAtDesc(OutboxEvent.GAME_FINISHED, OutboxEvent.EventStatus.PROCESSED)
+                .map(OutboxEvent::getProcessedAt)
+                .orElse(null);
+        List<Integer> backlog = new ArrayList<>(partitions.length);
+        for (ThreadPoolExecutor partition : partitions) {
+            backlog.add(partition.getQueue().size() + partition.getActiveCount());
+        }
+        
+        return new RankingPipelineStatusResponse(
+                outboxEventRepository.countByEventTypeAndStatus(OutboxEvent.GAME_FINISHED, OutboxEvent.EventStatus.PENDING),
+                outboxEventRepository.countByEventTypeAndStatus(OutboxEvent.GAME_FINISHED, OutboxEvent.EventStatus.FAILED),
+                oldestPendingAt,
+                oldestPendingAt != null ? Math.max(0, Duration.between(oldestPendingAt, now).toMillis()) : 0,
+                lastProcessedAt,
+                backlog);
+    }
+    
+    /**
+     * Processa os eventos prontos em lotes (na thread do dispatcher, ou em drainNow)
+     */
+    private void drain() {
+        drainLock.lock();
+        try {
+            int batchSize = Math.max(1, properties.getBatchSize());
+            List<OutboxEvent> events;
+            do {
+                LocalDateTime now = LocalDateTime.now();
+                Blockers blockers = waitingBlockers(now);
+                events = outboxEventRepository.findReady(OutboxEvent.GAME_FINISHED, now, PageRequest.of(0, batchSize));
+                process(events, blockers);
+            } while (events.size() == batchSize);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+    
+    /**
+     * Jogadoras e times com evento anterior ainda aguardando nova tentativa
+     */
+    private Blockers waitingBlockers(LocalDateTime now) {
+        Blockers blockers = new Blockers();
+        for (OutboxEvent event : outboxEventRepository.findWaiting(OutboxEvent.GAME_FINISHED, now)) {
+            try {
+                blockers.add(event, rankingPointsService.computeOutcomes(event.getAggregateId()));
+            } catch (Exception e) {
+                blockers.blockAll(event);
+            }
+        }
+        return blockers;
+    }
+    
+    private void process(List<OutboxEvent> events, Blockers blockers) {
+        // Enfileira todos os eventos do lote antes de esperar: cada partição executa na ordem dos eventos
+        Map<Subject, OutboxEvent> failedInRound = new ConcurrentHashMap<>();
+        Map<OutboxEvent, List<Future<?>>> submitted = new LinkedHashMap<>();
+        Map<OutboxEvent, OutboxEvent> deferred = new HashMap<>();
+        for (OutboxEvent event : events) {
+            RankingPointsService.GameOutcomes outcomes;
+            try {
+                outcomes = rankingPointsService.computeOutcomes(event.getAggregateId());
+            } catch (Exception e) {
+                // Sem o resultado não se sabe quem o evento afeta: os seguintes esperam por ele
+                submitted.put(event, List.of(CompletableFuture.failedFuture(e)));
+                blockers.blockAll(event);
+                continue;
+            }
+            OutboxEvent blocker = blockers.blockerOf(event, outcomes);
+            if (blocker != null) {
+                deferred.put(event, blocker);
+                blockers.add(event, outcomes);
+                submitted.put(event, List.of());
+                continue;
+            }
+            submitted.put(event, outcomes != null ? submitPartitioned(event, outcomes, failedInRound) : List.of());
+        }
+        
+        submitted.forEach((event, futures) -> {
+            OutboxEvent blocker = deferred.get(event);
+            Throwable failure = null;
+            try {
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        if (cause instanceof BlockedBySubject blocked) {
+                            blocker = blocked.blocker;
+                        } else if (failure == null) {
+                            failure = cause;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (failure != null) {
+                registerFailure(event, failure);
+            } else if (blocker != null) {
+                defer(event, blocker);
+            } else {
+                event.setStatus(OutboxEvent.EventStatus.PROCESSED);
+                event.setProcessedAt(LocalDateTime.now());
+                event.setLastError(null);
+                // O jogo entra na temporada em que o resultado foi aplicado, não na da data marcada
+                gameRepository.markRanked(event.getAggregateId(), event.getProcessedAt());
+            }
+            outboxEventRepository.save(event);
+        });
+    }
+    
+    private List<Future<?>> submitPartitioned(OutboxEvent event, RankingPointsService.GameOutcomes outcomes,
+                                              Map<Subject, OutboxEvent> failedInRound) {
+        Long gameId = outcomes.getGameId();
+        Map<Integer, Map<Long, RankingPointsService.Outcome>> playersByPartition = new HashMap<>();
+        outcomes.getPlayerOutcomes().forEach((playerId, outcome) -> playersByPartition
+                .computeIfAbsent(partitionOf(Subject.player(playerId)), p -> new LinkedHashMap<>())
+                .put(playerId, outcome));
+        Map<Integer, Map<Long, RankingPointsService.Outcome>> teamsByPartition = new HashMap<>();
+        outcomes.getTeamOutcomes().forEach((teamId, outcome) -> teamsByPartition
+                .computeIfAbsent(partitionOf(Subject.team(teamId)), p -> new LinkedHashMap<>())
+                .put(teamId, outcome));
+        
+        List<Future<?>> futures = new ArrayList<>();
+        playersByPartition.forEach((partition, subset) -> futures.add(submit(partition, event,
+                subset.keySet().stream().map(Subject::player).toList(), failedInRound,
+                () -> rankingPointsService.applyPlayerOutcomes(gameId, subset, outcomes.getGoalsByPlayer()))));
+        teamsByPartition.forEach((partition, subset) -> futures.add(submit(partition, event,
+                subset.keySet().stream().map(Subject::team).toList(), failedInRound,
+                () -> rankingPointsService.applyTeamOutcomes(gameId, subset))));
+        return futures;
+    }
+    
+    /**
+     * Aplica o trecho do evento na partição, a menos que alguém do trecho já tenha falhado nesta
+     * rodada; nesse caso nada é aplicado e o trecho passa a bloquear os eventos seguintes também
+     */
+    private Future<?> submit(int partition, OutboxEvent event, List<Subject> subjects,
+                             Map<Subject, OutboxEvent> failedInRound, Runnable apply) {
+        return partitions[partition].submit(() -> {
+            OutboxEvent blocker = subjects.stream()
+                    .map(failedInRound::get)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElse(null);
+            if (blocker != null) {
+                subjects.forEach(subject -> failedInRound.putIfAbsent(subject, blocker));
+                throw new BlockedBySubject(blocker);
+            }
+            try {
+                apply.run();
+            } catch (RuntimeException e) {
+                subjects.forEach(subject -> failedInRound.putIfAbsent(subject, event));
+                throw e;
+            }
+        });
+    }
+    
+    /**
+     * Adia o evento para a próxima tentativa do evento falho que o bloqueia (sem contar tentativa)
+     */
+    private void defer(OutboxEvent event, OutboxEvent blocker) {
+        LocalDateTime retryAt = blocker.getStatus() == OutboxEvent.EventStatus.PENDING
+                ? blocker.getNextAttemptAt()
+                : LocalDateTime.now();
+        event.setNextAttemptAt(retryAt);
+        log.info("Ranking update for game {} deferred behind failed game {} until {}",
+                event.getAggregateId(), blocker.getAggregateId(), retryAt);
+    }
+    
+    private int partitionOf(Subject subject) {
+        return Math.floorMod(Long.hashCode(subject.id()) * 31 + subject.type().ordinal(), partitions.length);
+    }
+    
+    private void registerFailure(OutboxEvent event, Throwable cause) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        
+        if (attempts >= properties.getMaxAttempts()) {
+            event.setStatus(OutboxEvent.EventStatus.FAILED);
+            log.error("Ranking update for game {} failed permanently after {} attempts: {}",
+                    event.getAggregateId(), attempts, message);
+        } else {
+            long backoffSeconds = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 16));
+            event.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds));
+            log.warn("Ranking update for game {} failed (attempt {}), retrying in {}s: {}",
+                    event.getAggregateId(), attempts, backoffSeconds, message);
+        }
+    }
+    
+    /**
+     * Jogadora ou time cujo ranking um evento altera
+     */
+    private record Subject(RankingApplication.SubjectType type, Long id) {
+        static Subject player(Long id) {
+            return new Subject(RankingApplication.SubjectType.PLAYER, id);
+        }
+        
+        static Subject team(Long id) {
+            return new Subject(RankingApplication.SubjectType.TEAM, id);
+        }
+    }
+    
+    /**
+     * Eventos anteriores ainda não aplicados, por jogadora/time, que os eventos seguintes devem esperar
+     */
+    private static final class Blockers {
+        private final Map<Subject, OutboxEvent> bySubject = new HashMap<>();
+        private OutboxEvent all; // Evento cujo resultado não pôde ser calculado: bloqueia todos os seguintes
+        
+        void add(OutboxEvent event, RankingPointsService.GameOutcomes outcomes) {
+            if (outcomes == null) {
+                return;
+            }
+            outcomes.getPlayerOutcomes().keySet().forEach(id -> bySubject.putIfAbsent(Subject.player(id), event));
+            outcomes.getTeamOutcomes().keySet().forEach(id -> bySubject.putIfAbsent(Subject.team(id), event));
+        }
+        
+        void blockAll(OutboxEvent event) {
+            if (all == null) {
+                all = event;
+            }
+        }
+        
+        OutboxEvent blockerOf(OutboxEvent event, RankingPointsService.GameOutcomes outcomes) {
+            if (all != null && all.getId() < event.getId()) {
+                return all;
+            }
+            if (outcomes == null) {
+                return null;
+            }
+            List<Subject> subjects = new ArrayList<>();
+            outcomes.getPlayerOutcomes().keySet().forEach(id -> subjects.add(Subject.player(id)));
+            outcomes.getTeamOutcomes().keySet().forEach(id -> subjects.add(Subject.team(id)));
+            return subjects.stream()
+                    .map(bySubject::get)
+                    .filter(blocker -> blocker != null && blocker.getId() < event.getId())
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+    
+    /**
+     * Trecho de evento não aplicado porque a jogadora/time tem um evento anterior falho
+     */
+    private static final class BlockedBySubject extends RuntimeException {
+        private final transient OutboxEvent blocker;
+        
+        BlockedBySubject(OutboxEvent blocker) {
+            super("Blocked behind game " + blocker.getAggregateId(), null, false, false);
+            this.blocker = blocker;
+        }
+    }
+    
+    private static java.util.concurrent.ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -3,17 +3,27 @@ package com.fiap.projects.apipassabola.service;
 import com.fiap.projects.apipassabola.entity.Game;
 import com.fiap.projects.apipassabola.entity.GameParticipant;
 import com.fiap.projects.apipassabola.entity.GameType;
-import com.fiap.projects.apipassabola.entity.Goal;
-import com.fiap.projects.apipassabola.entity.Player;
-import com.fiap.projects.apipassabola.entity.Team;
+import com.fiap.projects.apipassabola.entity.PlayerRanking;
+import com.fiap.projects.apipassabola.entity.RankingApplication;
+import com.fiap.projects.apipassabola.entity.TeamRanking;
 import com.fiap.projects.apipassabola.repository.GameParticipantRepository;
+import com.fiap.projects.apipassabola.repository.GameRepository;
 import com.fiap.projects.apipassabola.repository.GoalRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.RankingApplicationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service responsável por calcular e distribuir pontos de ranking após jogos
@@ -36,171 +46,239 @@ public class RankingPointsService {
     
     private final PlayerRankingService playerRankingService;
     private final TeamRankingService teamRankingService;
+    private final GameRepository gameRepository;
     private final GameParticipantRepository gameParticipantRepository;
     private final GoalRepository goalRepository;
+    private final PlayerRepository playerRepository;
+    private final RankingApplicationRepository rankingApplicationRepository;
     
     /**
-     * Distribui pontos após finalização de um jogo
+     * Resultado de um participante (jogadora ou time) no jogo
+     */
+    public enum Outcome {
+        WIN, DRAW, LOSS
+    }
+    
+    /**
+     * Resultado de um jogo já resolvido por jogadora e por time, pronto para ser aplicado
+     * (inteiro ou dividido em partições pelo pipeline assíncrono)
+     */
+    public static class GameOutcomes {
+        private final Long gameId;
+        private final Map<Long, Outcome> playerOutcomes;
+        private final Map<Long, Integer> goalsByPlayer;
+        private final Map<Long, Outcome> teamOutcomes;
+        
+        public GameOutcomes(Long gameId, Map<Long, Outcome> playerOutcomes,
+                            Map<Long, Integer> goalsByPlayer, Map<Long, Outcome> teamOutcomes) {
+            this.gameId = gameId;
+            this.playerOutcomes = playerOutcomes;
+            this.goalsByPlayer = goalsByPlayer;
+            this.teamOutcomes = teamOutcomes;
+        }
+        
+        public Long getGameId() {
+            return gameId;
+        }
+        
+        public Map<Long, Outcome> getPlayerOutcomes() {
+            return playerOutcomes;
+        }
+        
+        public Map<Long, Integer> getGoalsByPlayer() {
+            return goalsByPlayer;
+        }
+        
+        public Map<Long, Outcome> getTeamOutcomes() {
+            return teamOutcomes;
+        }
+    }
+    
+    /**
+     * Distribui pontos após finalização de um jogo, de forma síncrona
      * Apenas CHAMPIONSHIP e CUP contam para ranking
      */
     @Transactional
     public void distributePointsAfterGame(Game game) {
+        GameOutcomes outcomes = computeOutcomes(game);
+        if (outcomes == null) {
+            return;
+        }
+        applyPlayerOutcomes(outcomes.getGameId(), outcomes.getPlayerOutcomes(), outcomes.getGoalsByPlayer());
+        applyTeamOutcomes(outcomes.getGameId(), outcomes.getTeamOutcomes());
+    }
+    
+    /**
+     * Indica se o jogo gera pontos de ranking (CHAMPIONSHIP ou CUP finalizado)
+     */
+    public boolean countsForRanking(Game game) {
+        return (game.getGameType() == GameType.CHAMPIONSHIP || game.getGameType() == GameType.CUP)
+                && game.getStatus() == Game.GameStatus.FINISHED;
+    }
+    
+    @Transactional(readOnly = true)
+    public GameOutcomes computeOutcomes(Long gameId) {
+        return gameRepository.findById(gameId)
+                .map(this::computeOutcomes)
+                .orElse(null);
+    }
+    
+    /**
+     * Resolve o resultado de cada jogadora e time do jogo
+     * Participantes e gols agrupados por jogadora são carregados com uma consulta cada.
+     * Cada time recebe o resultado do lado em que entrou no jogo (time gravado na participação),
+     * uma única vez, mesmo com várias jogadoras em campo.
+     * @return null quando o jogo não conta para o ranking ou o vencedor não pode ser determinado
+     */
+    @Transactional(readOnly = true)
+    public GameOutcomes computeOutcomes(Game game) {
         // Apenas jogos de campeonato e copa contam para ranking
         if (game.getGameType() != GameType.CHAMPIONSHIP && game.getGameType() != GameType.CUP) {
             log.info("Game {} is type {}, skipping ranking points distribution", 
                     game.getId(), game.getGameType());
-            return;
+            return null;
         }
         
         // Verifica se o jogo está finalizado
         if (game.getStatus() != Game.GameStatus.FINISHED) {
             log.warn("Game {} is not finished, cannot distribute points", game.getId());
-            return;
+            return null;
         }
         
-        log.info("Distributing ranking points for game {} (type: {})", game.getId(), game.getGameType());
-        
-        // Determina o resultado
+        // Determina o resultado: lado vencedor, ou null em caso de empate
         Integer winningTeamSide = game.getWinningTeamSide();
-        boolean isDraw = game.isDraw();
-        
-        if (isDraw) {
-            distributeDrawPoints(game);
+        if (game.isDraw()) {
+            winningTeamSide = null;
+            log.info("Game {} ended in a draw, distributing points to all participants", game.getId());
         } else if (winningTeamSide != null) {
-            distributeWinLossPoints(game, winningTeamSide);
+            log.info("Game {} won by team side {}, distributing points", game.getId(), winningTeamSide);
         } else {
             log.warn("Could not determine winner for game {}", game.getId());
+            return null;
         }
-    }
-    
-    /**
-     * Distribui pontos em caso de empate (1 ponto base + 1 por gol)
-     */
-    private void distributeDrawPoints(Game game) {
-        log.info("Game {} ended in a draw, distributing points to all participants", game.getId());
         
-        List<GameParticipant> participants = gameParticipantRepository.findByGameIdAndStatus(
-                game.getId(), GameParticipant.ParticipationStatus.CONFIRMED);
-        
-        // Busca todos os gols do jogo (exceto gols contra)
-        List<Goal> goals = goalRepository.findByGameIdAndIsOwnGoal(game.getId(), false);
+        List<GameParticipant> participants = gameParticipantRepository
+                .findConfirmedPlayerParticipantsByGame(game.getId());
         
+        // Apenas jogadoras ganham pontos (espectadores não)
+        Map<Long, Outcome> playerOutcomes = new LinkedHashMap<>();
+        Map<Long, Outcome> teamOutcomes = new LinkedHashMap<>();
+        Set<Long> withoutTeamRecorded = new HashSet<>();
         for (GameParticipant participant : participants) {
-            // Apenas jogadoras ganham pontos (espectadores não)
-            if (participant.isPlayer() && participant.getPlayer() != null) {
-                Long playerId = participant.getPlayer().getId();
-                
-                // Conta quantos gols a jogadora fez
-                long goalsScored = goals.stream()
-                        .filter(g -> g.getPlayer().getId().equals(playerId))
-                        .count();
-                
-                // Empate: 1 ponto base + 1 por gol
-                int totalPoints = 1 + (int) goalsScored;
-                
-                playerRankingService.addDraw(playerId);
-                
-                // Adiciona pontos extras por gols
-                if (goalsScored > 0) {
-                    playerRankingService.addBonusPoints(playerId, (int) goalsScored);
-                    log.debug("Added draw (1 point) + {} goal bonus to player {} = {} total points", 
-                            goalsScored, playerId, totalPoints);
-                } else {
-                    log.debug("Added draw (1 point) to player {}", playerId);
-                }
-                
-                // Se participou com time, adiciona pontos para o time também (apenas pontos base, sem bônus de gols)
-                if (participant.isTeamParticipation()) {
-                    Player player = participant.getPlayer();
-                    if (player.getTeams() != null && !player.getTeams().isEmpty()) {
-                        for (Team team : player.getTeams()) {
-                            teamRankingService.addDraw(team.getId());
-                            log.debug("Added draw to team {}", team.getId());
-                        }
-                    }
-                }
+            if (!participant.isPlayer() || participant.getPlayer() == null) {
+                continue;
+            }
+            Long playerId = participant.getPlayer().getId();
+            Outcome outcome = outcomeOf(participant, winningTeamSide);
+            if (playerOutcomes.putIfAbsent(playerId, outcome) != null || !participant.isTeamParticipation()) {
+                continue;
+            }
+            if (participant.getTeam() != null) {
+                teamOutcomes.putIfAbsent(participant.getTeam().getId(), outcome);
+            } else {
+                withoutTeamRecorded.add(playerId);
             }
         }
+        
+        // Gols por jogadora (exceto gols contra), agrupados no banco
+        Map<Long, Integer> goalsByPlayer = new HashMap<>();
+        if (!playerOutcomes.isEmpty()) {
+            for (Object[] row : goalRepository.countGoalsByPlayerInGame(game.getId())) {
+                goalsByPlayer.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        
+        // Participações com time anteriores à coluna team_id: só conta quando a jogadora tem um único time
+        if (!withoutTeamRecorded.isEmpty()) {
+            Map<Long, List<Long>> teamsByPlayer = new HashMap<>();
+            for (Object[] row : playerRepository.findTeamIdsByPlayerIds(withoutTeamRecorded)) {
+                teamsByPlayer.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            }
+            teamsByPlayer.forEach((playerId, teamIds) -> {
+                if (teamIds.size() == 1) {
+                    teamOutcomes.putIfAbsent(teamIds.get(0), playerOutcomes.get(playerId));
+                }
+            });
+        }
+        
+        return new GameOutcomes(game.getId(), playerOutcomes, goalsByPlayer, teamOutcomes);
     }
     
     /**
-     * Distribui pontos em caso de vitória/derrota
-     * Vitória: 3 pontos base + 1 por gol
-     * Derrota: 0 pontos base + 1 por gol
+     * Aplica o resultado às jogadoras informadas: resultado base + 1 ponto por gol
+     * Idempotente: jogadoras que já receberam este jogo são ignoradas, e o registro da aplicação
+     * é gravado na mesma transação das alterações de ranking
      */
-    private void distributeWinLossPoints(Game game, Integer winningTeamSide) {
-        log.info("Game {} won by team side {}, distributing points", game.getId(), winningTeamSide);
+    @Transactional
+    public void applyPlayerOutcomes(Long gameId, Map<Long, Outcome> outcomes, Map<Long, Integer> goalsByPlayer) {
+        Set<Long> pending = pendingSubjects(gameId, RankingApplication.SubjectType.PLAYER, outcomes.keySet());
+        if (pending.isEmpty()) {
+            return;
+        }
         
-        List<GameParticipant> participants = gameParticipantRepository.findByGameIdAndStatus(
-                game.getId(), GameParticipant.ParticipationStatus.CONFIRMED);
+        Map<Long, PlayerRanking> rankings = playerRankingService.getOrCreateRankings(pending);
+        for (Long playerId : pending) {
+            PlayerRanking ranking = rankings.get(playerId);
+            if (ranking == null) {
+                continue; // Jogadora removida
+            }
+            switch (outcomes.get(playerId)) {
+                case WIN -> ranking.addWin();
+                case DRAW -> ranking.addDraw();
+                case LOSS -> ranking.addLoss();
+            }
+            int goalsScored = goalsByPlayer.getOrDefault(playerId, 0);
+            if (goalsScored > 0) {
+                ranking.addBonusPoints(goalsScored);
+            }
+        }
+        playerRankingService.saveAll(rankings.values());
+        rankingApplicationRepository.insertAllInBatch(gameId, RankingApplication.SubjectType.PLAYER, pending);
         
-        // Busca todos os gols do jogo (exceto gols contra)
-        List<Goal> goals = goalRepository.findByGameIdAndIsOwnGoal(game.getId(), false);
+        log.info("Game {}: ranking updated for {} players", gameId, pending.size());
+    }
+    
+    /**
+     * Aplica o resultado aos times informados (apenas pontos base), de forma idempotente
+     */
+    @Transactional
+    public void applyTeamOutcomes(Long gameId, Map<Long, Outcome> outcomes) {
+        Set<Long> pending = pendingSubjects(gameId, RankingApplication.SubjectType.TEAM, outcomes.keySet());
+        if (pending.isEmpty()) {
+            return;
+        }
         
-        for (GameParticipant participant : participants) {
-            // Apenas jogadoras ganham pontos (espectadores não)
-            if (participant.isPlayer() && participant.getPlayer() != null) {
-                Long playerId = participant.getPlayer().getId();
-                boolean isWinner = participant.getTeamSide().equals(winningTeamSide);
-                
-                // Conta quantos gols a jogadora fez
-                long goalsScored = goals.stream()
-                        .filter(g -> g.getPlayer().getId().equals(playerId))
-                        .count();
-                
-                if (isWinner) {
-                    // Vitória: 3 pontos base + 1 por gol
-                    int totalPoints = 3 + (int) goalsScored;
-                    
-                    playerRankingService.addWin(playerId);
-                    
-                    // Adiciona pontos extras por gols
-                    if (goalsScored > 0) {
-                        playerRankingService.addBonusPoints(playerId, (int) goalsScored);
-                        log.debug("Added win (3 points) + {} goal bonus to player {} = {} total points", 
-                                goalsScored, playerId, totalPoints);
-                    } else {
-                        log.debug("Added win (3 points) to player {}", playerId);
-                    }
-                    
-                    // Se participou com time, adiciona pontos para o time também (apenas pontos base, sem bônus de gols)
-                    if (participant.isTeamParticipation()) {
-                        Player player = participant.getPlayer();
-                        if (player.getTeams() != null && !player.getTeams().isEmpty()) {
-                            for (Team team : player.getTeams()) {
-                                teamRankingService.addWin(team.getId());
-                                log.debug("Added win to team {}", team.getId());
-                            }
-                        }
-                    }
-                } else {
-                    // Derrota: 0 pontos base + 1 por gol
-                    int totalPoints = (int) goalsScored;
-                    
-                    playerRankingService.addLoss(playerId);
-                    
-                    // Adiciona pontos extras por gols mesmo na derrota
-                    if (goalsScored > 0) {
-                        playerRankingService.addBonusPoints(playerId, (int) goalsScored);
-                        log.debug("Added loss (0 points) + {} goal bonus to player {} = {} total points", 
-                                goalsScored, playerId, totalPoints);
-                    } else {
-                        log.debug("Added loss (0 points) to player {}", playerId);
-                    }
-                    
-                    // Se participou com time, adiciona pontos para o time também (apenas pontos base, sem bônus de gols)
-                    if (participant.isTeamParticipation()) {
-                        Player player = participant.getPlayer();
-                        if (player.getTeams() != null && !player.getTeams().isEmpty()) {
-                            for (Team team : player.getTeams()) {
-                                teamRankingService.addLoss(team.getId());
-                                log.debug("Added loss to team {}", team.getId());
-                            }
-                        }
-                    }
-                }
+        Map<Long, TeamRanking> rankings = teamRankingService.getOrCreateRankings(pending);
+        for (Long teamId : pending) {
+            TeamRanking ranking = rankings.get(teamId);
+            if (ranking == null) {
+                continue; // Time removido
+            }
+            switch (outcomes.get(teamId)) {
+                case WIN -> ranking.addWin();
+                case DRAW -> ranking.addDraw();
+                case LOSS -> ranking.addLoss();
             }
         }
+        teamRankingService.saveAll(rankings.values());
+        rankingApplicationRepository.insertAllInBatch(gameId, RankingApplication.SubjectType.TEAM, pending);
+        
+        log.info("Game {}: ranking updated for {} teams", gameId, pending.size());
+    }
+    
+    private Set<Long> pendingSubjects(Long gameId, RankingApplication.SubjectType type, Set<Long> subjectIds) {
+        Set<Long> pending = new LinkedHashSet<>(subjectIds);
+        if (!pending.isEmpty()) {
+            pending.removeAll(rankingApplicationRepository.findAppliedSubjectIds(gameId, type, subjectIds));
+        }
+        return pending;
+    }
+    
+    private Outcome outcomeOf(GameParticipant participant, Integer winningTeamSide) {
+        if (winningTeamSide == null) {
+            return Outcome.DRAW;
+        }
+        return winningTeamSide.equals(participant.getTeamSide()) ? Outcome.WIN : Outcome.LOSS;
     }
     
     /**
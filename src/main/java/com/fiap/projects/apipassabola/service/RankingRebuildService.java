@@ -0,0 +1,426 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fiap.projects.apipassabola.config.RankingPipelineProperties;
+import com.fiap.projects.apipassabola.dto.response.RankingRebuildStatusResponse;
+import com.fiap.projects.apipassabola.exception.BusinessException;
+import com.fiap.projects.apipassabola.repository.RankingRebuildRepository;
+import com.fiap.projects.apipassabola.util.RankingReplayState;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconstrução completa de player_rankings e team_rankings a partir do histórico de jogos
+ *
+ * Usada quando as regras de pontuação mudam ou os contadores divergem. Os jogos finalizados de
+ * CHAMPIONSHIP/CUP são lidos em blocos cronológicos (jogos, participantes e gols com uma consulta
+ * cada por bloco) e reaplicados com as mesmas regras do RankingPointsService sobre um estado em
+ * arrays primitivos. Dentro de cada bloco os resultados são distribuídos por jogadora/time entre
+ * partições processadas em paralelo em um ForkJoinPool; como cada registro pertence a uma única
+ * partição e os eventos seguem a ordem dos jogos, as sequências de vitórias ficam corretas.
+ *
+ * Apenas a temporada em andamento é reconstruída (jogos cujo resultado foi aplicado ao ranking depois
+ * do encerramento da última temporada, ou ainda não aplicado); temporadas encerradas ficam no arquivo
+ * e não são recalculadas.
+ *
+ * O pipeline assíncrono fica pausado durante a reconstrução, e o resultado substitui as tabelas
+ * em uma única transação; em seguida os leaderboards em memória são recarregados.
+ */
+@Service
+@Slf4j
+public class RankingRebuildService {
+    
+    public enum RebuildState {
+        IDLE, RUNNING, COMPLETED, FAILED
+    }
+    
+    private final RankingRebuildRepository rankingRebuildRepository;
+    private final RankingPipelineService rankingPipelineService;
+    private final RankingLeaderboardService rankingLeaderboardService;
+    private final RankingSeasonService rankingSeasonService;
+    private final RankingPipelineProperties properties;
+    
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ranking-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong processedGames = new AtomicLong();
+    private volatile RebuildState state = RebuildState.IDLE;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long totalGames;
+    private volatile long playersRebuilt;
+    private volatile long teamsRebuilt;
+    private volatile String error;
+    
+    public RankingRebuildService(RankingRebuildRepository rankingRebuildRepository,
+                                 RankingPipelineService rankingPipelineService,
+                                 RankingLeaderboardService rankingLeaderboardService,
+                                 RankingSeasonService rankingSeasonService,
+                                 RankingPipelineProperties properties) {
+        this.rankingRebuildRepository = rankingRebuildRepository;
+        this.rankingPipelineService = rankingPipelineService;
+        this.rankingLeaderboardService = rankingLeaderboardService;
+        this.rankingSeasonService = rankingSeasonService;
+        this.properties = properties;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+    
+    /**
+     * Inicia a reconstrução em background (apenas uma por vez)
+     */
+    public RankingRebuildStatusResponse startRebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("A ranking rebuild is already running");
+        }
+        processedGames.set(0);
+        totalGames = 0;
+        playersRebuilt = 0;
+        teamsRebuilt = 0;
+        error = null;
+        finishedAt = null;
+        startedAt = LocalDateTime.now();
+        state = RebuildState.RUNNING;
+        
+        runner.execute(this::run);
+        return getStatus();
+    }
+    
+    public RankingRebuildStatusResponse getStatus() {
+        long processed = processedGames.get();
+        long total = totalGames;
+        double progress = state == RebuildState.COMPLETED ? 100.0
+                : total > 0 ? Math.min(100.0, processed * 100.0 / total) : 0.0;
+        return new RankingRebuildStatusResponse(state.name(), startedAt, finishedAt, total, processed,
+                progress, playersRebuilt, teamsRebuilt, error);
+    }
+    
+    private void run() {
+        try {
+            rankingPipelineService.runExclusively(this::rebuild);
+            rankingLeaderboardService.load();
+            state = RebuildState.COMPLETED;
+            log.info("Ranking rebuild finished: {} games, {} players, {} teams",
+                    processedGames.get(), playersRebuilt, teamsRebuilt);
+        } catch (Exception e) {
+            error = e.getMessage();
+            state = RebuildState.FAILED;
+            log.error("Ranking rebuild failed: {}", e.getMessage(), e);
+        } finally {
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+    
+    private void rebuild() {
+        RankingReplayState players = new RankingReplayState(rankingRebuildRepository.findAllPlayerIds());
+        RankingReplayState teams = new RankingReplayState(rankingRebuildRepository.findAllTeamIds());
+        TeamIndex teamIndex = new TeamIndex(players, teams, rankingRebuildRepository.findTeamMemberships());
+        LocalDateTime seasonStart = rankingSeasonService.getCurrentSeasonStart();
+        totalGames = rankingRebuildRepository.countRankedGames(seasonStart);
+        log.info("Ranking rebuild started: {} games, {} players, {} teams", totalGames, players.size(), teams.size());
+        
+        int parallelism = properties.getRebuildParallelism() > 0
+                ? properties.getRebuildParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        int chunkSize = Math.max(1, properties.getRebuildChunkSize());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Replay replay = new Replay(rankingRebuildRepository, players, teams, teamIndex, parallelism);
+            RankingRebuildRepository.RankedGame cursor = null;
+            List<RankingRebuildRepository.RankedGame> chunk;
+            do {
+                chunk = rankingRebuildRepository.findRankedGames(seasonStart, cursor, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                replay.replayChunk(chunk, pool);
+                cursor = chunk.get(chunk.size() - 1);
+                processedGames.addAndGet(chunk.size());
+            } while (chunk.size() == chunkSize);
+            
+            rankingRebuildRepository.replaceRankings(players, teams, replay.replayedGameIds());
+        } finally {
+            pool.shutdownNow();
+        }
+        playersRebuilt = players.countPlayed();
+        teamsRebuilt = teams.countPlayed();
+    }
+    
+    /**
+     * Times de cada jogadora em formato compacto: os índices dos times da jogadora i ficam em
+     * teams[start[i] .. start[i + 1])
+     */
+    private static final class TeamIndex {
+        private final int[] start;
+        private final int[] teams;
+        
+        TeamIndex(RankingReplayState players, RankingReplayState teamState, long[] memberships) {
+            int[] counts = new int[players.size() + 1];
+            int[] playerIndexes = new int[memberships.length / 2];
+            int[] teamIndexes = new int[memberships.length / 2];
+            for (int m = 0; m < playerIndexes.length; m++) {
+                playerIndexes[m] = players.indexOf(memberships[2 * m]);
+                teamIndexes[m] = teamState.indexOf(memberships[2 * m + 1]);
+                if (playerIndexes[m] >= 0 && teamIndexes[m] >= 0) {
+                    counts[playerIndexes[m] + 1]++;
+                }
+            }
+            for (int i = 0; i < players.size(); i++) {
+                counts[i + 1] += counts[i];
+            }
+            this.start = counts;
+            this.teams = new int[counts[players.size()]];
+            int[] next = Arrays.copyOf(counts, players.size());
+            for (int m = 0; m < playerIndexes.length; m++) {
+                if (playerIndexes[m] >= 0 && teamIndexes[m] >= 0) {
+                    teams[next[playerIndexes[m]]++] = teamIndexes[m];
+                }
+            }
+        }
+        
+        /**
+         * Índice do único time da jogadora, ou -1 se ela tem nenhum ou vários
+         */
+        int onlyTeamOf(int playerIndex) {
+            return start[playerIndex + 1] - start[playerIndex] == 1 ? teams[start[playerIndex]] : -1;
+        }
+    }
+    
+    /**
+     * Lista de eventos (índice, resultado, bônus, jogo no bloco) em um único int[] reaproveitado
+     */
+    private static final class EventLog {
+        private int[] data = new int[256];
+        private int size;
+        
+        void add(int index, int outcome, int bonus, int gameOrdinal) {
+            if (size + 4 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = index;
+            data[size++] = outcome;
+            data[size++] = bonus;
+            data[size++] = gameOrdinal;
+        }
+        
+        void applyTo(RankingReplayState state, long[] gameEpochSeconds) {
+            for (int e = 0; e < size; e += 4) {
+                state.apply(data[e], data[e + 1], data[e + 2], gameEpochSeconds[data[e + 3]]);
+            }
+        }
+        
+        void clear() {
+            size = 0;
+        }
+    }
+    
+    /**
+     * Linhas de participantes de um bloco em arrays paralelos
+     */
+    private static final class ParticipantRows {
+        private int[] gameOrdinal = new int[256];
+        private int[] playerIndex = new int[256];
+        private int[] teamSide = new int[256];
+        private boolean[] withTeam = new boolean[256];
+        private int[] teamIndex = new int[256]; // Time gravado na participação, ou -1
+        private int size;
+        
+        void add(int game, int player, int side, boolean team, int teamIdx) {
+            if (size == gameOrdinal.length) {
+                int capacity = size * 2;
+                gameOrdinal = Arrays.copyOf(gameOrdinal, capacity);
+                playerIndex = Arrays.copyOf(playerIndex, capacity);
+                teamSide = Arrays.copyOf(teamSide, capacity);
+                withTeam = Arrays.copyOf(withTeam, capacity);
+                teamIndex = Arrays.copyOf(teamIndex, capacity);
+            }
+            gameOrdinal[size] = game;
+            playerIndex[size] = player;
+            teamSide[size] = side;
+            withTeam[size] = team;
+            teamIndex[size] = teamIdx;
+            size++;
+        }
+        
+        /**
+         * Índices das linhas na ordem dos jogos do bloco (counting sort estável: dentro de um jogo,
+         * mantém a ordem de inscrição)
+         */
+        int[] sortedByGame(int games) {
+            int[] offsets = new int[games + 1];
+            for (int r = 0; r < size; r++) {
+                offsets[gameOrdinal[r] + 1]++;
+            }
+            for (int g = 0; g < games; g++) {
+                offsets[g + 1] += offsets[g];
+            }
+            int[] order = new int[size];
+            for (int r = 0; r < size; r++) {
+                order[offsets[gameOrdinal[r]]++] = r;
+            }
+            return order;
+        }
+    }
+    
+    /**
+     * Estado da reaplicação do histórico, bloco a bloco
+     */
+    private static final class Replay {
+        private final RankingRebuildRepository repository;
+        private final RankingReplayState players;
+        private final RankingReplayState teams;
+        private final TeamIndex teamIndex;
+        private final EventLog[] playerEvents;
+        private final EventLog[] teamEvents;
+        // Último jogo (sequência global) em que cada jogadora/time recebeu resultado, para ignorar duplicatas
+        private final int[] playerLastGame;
+        private final int[] teamLastGame;
+        private long[] replayed = new long[1024];
+        private int replayedCount;
+        private int gameSequence;
+        
+        Replay(RankingRebuildRepository repository, RankingReplayState players, RankingReplayState teams,
+               TeamIndex teamIndex, int partitions) {
+            this.repository = repository;
+            this.players = players;
+            this.teams = teams;
+            this.teamIndex = teamIndex;
+            this.playerEvents = new EventLog[partitions];
+            this.teamEvents = new EventLog[partitions];
+            for (int p = 0; p < partitions; p++) {
+                playerEvents[p] = new EventLog();
+                teamEvents[p] = new EventLog();
+            }
+            this.playerLastGame = new int[players.size()];
+            this.teamLastGame = new int[teams.size()];
+        }
+        
+        void replayChunk(List<RankingRebuildRepository.RankedGame> chunk, ForkJoinPool pool) {
+            int n = chunk.size();
+            long[] gameIds = new long[n];
+            long[] gameEpochSeconds = new long[n];
+            int[] winningSide = new int[n];
+            Map<Long, Integer> ordinals = new HashMap<>(n * 2);
+            for (int g = 0; g < n; g++) {
+                RankingRebuildRepository.RankedGame game = chunk.get(g);
+                gameIds[g] = game.getId();
+                gameEpochSeconds[g] = game.getGameDate().toEpochSecond(ZoneOffset.UTC);
+                winningSide[g] = game.getWinningTeamSide();
+                ordinals.put(game.getId(), g);
+                recordReplayed(game.getId());
+            }
+            
+            // Gols por (jogo no bloco, jogadora)
+            Map<Long, Integer> goals = new HashMap<>();
+            repository.forEachScorer(gameIds, (gameId, playerId, count) -> {
+                int playerIndex = players.indexOf(playerId);
+                if (playerIndex >= 0) {
+                    goals.put(key(ordinals.get(gameId), playerIndex), count);
+                }
+            });
+            
+            // Participantes chegam ordenados por jogo (id); reordena pela ordem cronológica do bloco
+            ParticipantRows rows = new ParticipantRows();
+            repository.forEachParticipant(gameIds, (gameId, playerId, teamSide, withTeam, teamId) -> {
+                int playerIndex = players.indexOf(playerId);
+                if (playerIndex >= 0) {
+                    rows.add(ordinals.get(gameId), playerIndex, teamSide, withTeam, teamId != 0 ? teams.indexOf(teamId) : -1);
+                }
+            });
+            
+            for (EventLog log : playerEvents) {
+                log.clear();
+            }
+            for (EventLog log : teamEvents) {
+                log.clear();
+            }
+            int partitions = playerEvents.length;
+            int[] order = rows.sortedByGame(n);
+            for (int r : order) {
+                int g = rows.gameOrdinal[r];
+                int stamp = gameSequence + g + 1;
+                int playerIndex = rows.playerIndex[r];
+                if (playerLastGame[playerIndex] == stamp) {
+                    continue; // Jogadora inscrita mais de uma vez no mesmo jogo
+                }
+                playerLastGame[playerIndex] = stamp;
+                int outcome = winningSide[g] == 0 ? RankingReplayState.DRAW
+                        : winningSide[g] == rows.teamSide[r] ? RankingReplayState.WIN : RankingReplayState.LOSS;
+                int bonus = goals.getOrDefault(key(g, playerIndex), 0);
+                playerEvents[playerIndex % partitions].add(playerIndex, outcome, bonus, g);
+                
+                // Mesma regra do RankingPointsService: o time gravado na participação, ou o único time da
+                // jogadora em participações anteriores à coluna team_id
+                if (rows.withTeam[r]) {
+                    int team = rows.teamIndex[r] >= 0 ? rows.teamIndex[r] : teamIndex.onlyTeamOf(playerIndex);
+                    if (team >= 0 && teamLastGame[team] != stamp) {
+                        teamLastGame[team] = stamp;
+                        teamEvents[team % partitions].add(team, outcome, 0, g);
+                    }
+                }
+            }
+            gameSequence += n;
+            
+            List<Callable<Void>> tasks = new ArrayList<>(partitions);
+            for (int p = 0; p < partitions; p++) {
+                EventLog playerLog = playerEvents[p];
+                EventLog teamLog = teamEvents[p];
+                tasks.add(() -> {
+                    playerLog.applyTo(players, gameEpochSeconds);
+                    teamLog.applyTo(teams, gameEpochSeconds);
+                    return null;
+                });
+            }
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Ranking rebuild interrupted", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Ranking replay failed", e.getCause());
+                }
+            }
+        }
+        
+        long[] replayedGameIds() {
+            long[] ids = Arrays.copyOf(replayed, replayedCount);
+            Arrays.sort(ids);
+            return ids;
+        }
+        
+        private void recordReplayed(long gameId) {
+            if (replayedCount == replayed.length) {
+                replayed = Arrays.copyOf(replayed, replayed.length * 2);
+            }
+            replayed[replayedCount++] = gameId;
+        }
+        
+        private static long key(int gameOrdinal, int playerIndex) {
+            return ((long) gameOrdinal << 32) | playerIndex;
+        }
+    }
+}
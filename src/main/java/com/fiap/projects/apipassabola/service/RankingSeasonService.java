@@ -0,0 +1,207 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fiap.projects.apipassabola.dto.response.RankingSeasonResponse;
+import com.fiap.projects.apipassabola.dto.response.SeasonRankingEntryResponse;
+import com.fiap.projects.apipassabola.entity.Division;
+import com.fiap.projects.apipassabola.entity.RankingApplication;
+import com.fiap.projects.apipassabola.entity.RankingSeason;
+import com.fiap.projects.apipassabola.entity.SeasonRankingEntry;
+import com.fiap.projects.apipassabola.exception.BusinessException;
+import com.fiap.projects.apipassabola.exception.ResourceNotFoundException;
+import com.fiap.projects.apipassabola.repository.RankingSeasonArchiveRepository;
+import com.fiap.projects.apipassabola.repository.RankingSeasonRepository;
+import com.fiap.projects.apipassabola.repository.SeasonRankingEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Temporadas de ranking e leaderboards arquivados
+ *
+ * No encerramento, cada linha de player_rankings e team_rankings é copiada (com posição global e
+ * na divisão já calculadas) para season_ranking_entries e os contadores ao vivo são zerados, tudo
+ * na mesma transação e com o pipeline assíncrono pausado. Temporadas encerradas nunca mudam: as
+ * páginas do arquivo são lidas por faixa de posição e guardadas em um cache LRU sem invalidação.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RankingSeasonService {
+
+    private static final int PAGE_CACHE_SIZE = 500;
+
+    private final RankingSeasonRepository rankingSeasonRepository;
+    private final SeasonRankingEntryRepository seasonRankingEntryRepository;
+    private final RankingSeasonArchiveRepository rankingSeasonArchiveRepository;
+    private final RankingPipelineService rankingPipelineService;
+    private final RankingLeaderboardService rankingLeaderboardService;
+    private final TopScorerService topScorerService;
+
+    private final Map<String, Page<SeasonRankingEntryResponse>> pageCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Page<SeasonRankingEntryResponse>> eldest) {
+                    return size() > PAGE_CACHE_SIZE;
+                }
+            });
+
+    /**
+     * Início da temporada em andamento (encerramento da anterior), ou null se nenhuma foi encerrada
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime getCurrentSeasonStart() {
+        return rankingSeasonRepository.findTopByOrderByClosedAtDesc()
+                .map(RankingSeason::getClosedAt)
+                .orElse(null);
+    }
+
+    /**
+     * Encerra a temporada em andamento: arquiva os rankings e zera os contadores
+     * Eventos de jogos já finalizados são processados antes, para entrarem na temporada encerrada;
+     * se algum continuar pendente ou falho, o encerramento é recusado (nada é arquivado). O nome é
+     * garantido pela restrição única de ranking_seasons, não só pela verificação prévia.
+     */
+    public RankingSeasonResponse closeSeason(String name) {
+        String seasonName = name.trim();
+        if (rankingSeasonRepository.existsByName(seasonName)) {
+            throw new BusinessException("Season name already used: " + seasonName);
+        }
+        AtomicReference<Long> seasonId = new AtomicReference<>();
+        rankingPipelineService.runExclusively(() -> {
+            long unprocessed = rankingPipelineService.drainNow();
+            if (unprocessed > 0) {
+                throw new BusinessException("Cannot close the season: " + unprocessed + " finished games are still " +
+                        "pending or failed in the ranking pipeline. Retry once they are processed, or run a ranking rebuild");
+            }
+            try {
+                seasonId.set(rankingSeasonArchiveRepository.closeSeason(
+                        seasonName, getCurrentSeasonStart(), LocalDateTime.now()));
+            } catch (DataIntegrityViolationException e) {
+                throw new BusinessException("Season name already used: " + seasonName);
+            }
+        });
+        rankingLeaderboardService.load();
+        topScorerService.reloadCurrentSeason();
+
+        RankingSeason season = findSeason(seasonId.get());
+        log.info("Ranking season '{}' closed: {} players and {} teams archived",
+                season.getName(), season.getPlayersArchived(), season.getTeamsArchived());
+        return convertToResponse(season);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RankingSeasonResponse> getSeasons() {
+        return rankingSeasonRepository.findAllByOrderByClosedAtDesc().stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    // ========== LEADERBOARDS ARQUIVADOS ==========
+
+    /**
+     * Página do ranking arquivado de jogadoras (division null = ranking global)
+     */
+    @Transactional(readOnly = true)
+    public Page<SeasonRankingEntryResponse> getPlayerSeasonRanking(Long seasonId, Division division, Pageable pageable) {
+        return seasonPage(seasonId, RankingApplication.SubjectType.PLAYER, division, pageable);
+    }
+
+    /**
+     * Página do ranking arquivado de times (division null = ranking global)
+     */
+    @Transactional(readOnly = true)
+    public Page<SeasonRankingEntryResponse> getTeamSeasonRanking(Long seasonId, Division division, Pageable pageable) {
+        return seasonPage(seasonId, RankingApplication.SubjectType.TEAM, division, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public SeasonRankingEntryResponse getPlayerSeasonEntry(Long seasonId, Long playerId) {
+        return seasonEntry(seasonId, RankingApplication.SubjectType.PLAYER, playerId);
+    }
+
+    @Transactional(readOnly = true)
+    public SeasonRankingEntryResponse getTeamSeasonEntry(Long seasonId, Long teamId) {
+        return seasonEntry(seasonId, RankingApplication.SubjectType.TEAM, teamId);
+    }
+
+    private Page<SeasonRankingEntryResponse> seasonPage(Long seasonId, RankingApplication.SubjectType subjectType,
+                                                        Division division, Pageable pageable) {
+        String key = seasonId + ":" + subjectType + ":" + division + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize();
+        Page<SeasonRankingEntryResponse> cached = pageCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        RankingSeason season = findSeason(seasonId);
+        // Posições começam em 1: a página ocupa as posições (offset, offset + size]
+        int from = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + 1);
+        int to = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        List<SeasonRankingEntry> entries;
+        long total;
+        if (division == null) {
+            entries = seasonRankingEntryRepository.findBySeasonIdAndSubjectTypeAndGlobalPositionBetweenOrderByGlobalPosition(
+                    seasonId, subjectType, from, to);
+            total = subjectType == RankingApplication.SubjectType.PLAYER
+                    ? season.getPlayersArchived() : season.getTeamsArchived();
+        } else {
+            entries = seasonRankingEntryRepository.findBySeasonIdAndSubjectTypeAndDivisionAndDivisionPositionBetweenOrderByDivisionPosition(
+                    seasonId, subjectType, division, from, to);
+            total = seasonRankingEntryRepository.countBySeasonIdAndSubjectTypeAndDivision(seasonId, subjectType, division);
+        }
+
+        Page<SeasonRankingEntryResponse> page = new PageImpl<>(
+                entries.stream().map(this::convertToResponse).collect(Collectors.toList()), pageable, total);
+        pageCache.put(key, page);
+        return page;
+    }
+
+    private SeasonRankingEntryResponse seasonEntry(Long seasonId, RankingApplication.SubjectType subjectType, Long subjectId) {
+        findSeason(seasonId);
+        return seasonRankingEntryRepository.findBySeasonIdAndSubjectTypeAndSubjectId(seasonId, subjectType, subjectId)
+                .map(this::convertToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Season ranking entry", "subjectId", subjectId));
+    }
+
+    private RankingSeason findSeason(Long seasonId) {
+        return rankingSeasonRepository.findById(seasonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ranking season", "id", seasonId));
+    }
+
+    private RankingSeasonResponse convertToResponse(RankingSeason season) {
+        return new RankingSeasonResponse(season.getId(), season.getName(), season.getStartedAt(),
+                season.getClosedAt(), season.getPlayersArchived(), season.getTeamsArchived());
+    }
+
+    private SeasonRankingEntryResponse convertToResponse(SeasonRankingEntry entry) {
+        SeasonRankingEntryResponse response = new SeasonRankingEntryResponse();
+        response.setSeasonId(entry.getSeasonId());
+        response.setSubjectId(entry.getSubjectId());
+        response.setName(entry.getSubjectName());
+        response.setTotalPoints(entry.getTotalPoints());
+        response.setDivision(entry.getDivision());
+        response.setDivisionName(entry.getDivision().getDisplayName());
+        response.setGamesWon(entry.getGamesWon());
+        response.setGamesDrawn(entry.getGamesDrawn());
+        response.setGamesLost(entry.getGamesLost());
+        response.setTotalGames(entry.getTotalGames());
+        response.setWinRate(entry.getWinRate());
+        response.setBestStreak(entry.getBestStreak());
+        response.setGlobalPosition(entry.getGlobalPosition());
+        response.setDivisionPosition(entry.getDivisionPosition());
+        response.setLastGameDate(entry.getLastGameDate());
+        return response;
+    }
+}
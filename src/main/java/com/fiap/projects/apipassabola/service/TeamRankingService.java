@@ -8,16 +8,25 @@ import com.fiap.projects.apipassabola.repository.TeamRankingRepository;
 import com.fiap.projects.apipassabola.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class TeamRankingService {
     
     private final TeamRankingRepository teamRankingRepository;
     private final TeamRepository teamRepository;
+    private final RankingLeaderboardService rankingLeaderboardService;
     
     /**
      * Obtém ou cria ranking de um time
@@ -29,22 +38,67 @@ public class TeamRankingService {
                     Team team = teamRepository.findById(teamId)
                             .orElseThrow(() -> new RuntimeException("Team not found: " + teamId));
                     
-                    TeamRanking ranking = new TeamRanking();
-                    ranking.setTeam(team);
-                    ranking.setTotalPoints(0);
-                    ranking.setDivision(Division.BRONZE);
-                    ranking.setGamesWon(0);
-                    ranking.setGamesDrawn(0);
-                    ranking.setGamesLost(0);
-                    ranking.setTotalGames(0);
-                    ranking.setWinRate(0.0);
-                    ranking.setCurrentStreak(0);
-                    ranking.setBestStreak(0);
-                    
-                    return teamRankingRepository.save(ranking);
+                    return track(teamRankingRepository.save(newRanking(team)));
                 });
     }
     
+    /**
+     * Obtém ou cria os rankings de vários times com uma consulta (mais os inserts dos que faltam)
+     * @return rankings indexados pelo id do time
+     */
+    @Transactional
+    public Map<Long, TeamRanking> getOrCreateRankings(Collection<Long> teamIds) {
+        if (teamIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<Long, TeamRanking> rankings = teamRankingRepository.findByTeamIdIn(teamIds)
+                .stream()
+                .collect(Collectors.toMap(ranking -> ranking.getTeam().getId(), ranking -> ranking));
+        
+        List<Long> missingIds = teamIds.stream()
+                .filter(teamId -> !rankings.containsKey(teamId))
+                .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            List<TeamRanking> created = teamRepository.findAllById(missingIds).stream()
+                    .map(this::newRanking)
+                    .collect(Collectors.toList());
+            teamRankingRepository.saveAll(created)
+                    .forEach(ranking -> rankings.put(track(ranking).getTeam().getId(), ranking));
+        }
+        return rankings;
+    }
+    
+    /**
+     * Persiste os rankings alterados em lote (atualizações agrupadas no flush via hibernate.jdbc.batch_size)
+     */
+    @Transactional
+    public void saveAll(Collection<TeamRanking> rankings) {
+        teamRankingRepository.saveAll(rankings).forEach(this::track);
+    }
+    
+    /**
+     * Registra a pontuação no leaderboard em memória (aplicada após o commit)
+     */
+    private TeamRanking track(TeamRanking ranking) {
+        rankingLeaderboardService.recordTeam(ranking);
+        return ranking;
+    }
+    
+    private TeamRanking newRanking(Team team) {
+        TeamRanking ranking = new TeamRanking();
+        ranking.setTeam(team);
+        ranking.setTotalPoints(0);
+        ranking.setDivision(Division.BRONZE);
+        ranking.setGamesWon(0);
+        ranking.setGamesDrawn(0);
+        ranking.setGamesLost(0);
+        ranking.setTotalGames(0);
+        ranking.setWinRate(0.0);
+        ranking.setCurrentStreak(0);
+        ranking.setBestStreak(0);
+        return ranking;
+    }
+    
     /**
      * Adiciona vitória para um time
      */
@@ -52,7 +106,7 @@ public class TeamRankingService {
     public TeamRanking addWin(Long teamId) {
         TeamRanking ranking = getOrCreateRanking(teamId);
         ranking.addWin();
-        return teamRankingRepository.save(ranking);
+        return track(teamRankingRepository.save(ranking));
     }
     
     /**
@@ -62,7 +116,7 @@ public class TeamRankingService {
     public TeamRanking addDraw(Long teamId) {
         TeamRanking ranking = getOrCreateRanking(teamId);
         ranking.addDraw();
-        return teamRankingRepository.save(ranking);
+        return track(teamRankingRepository.save(ranking));
     }
     
     /**
@@ -72,7 +126,7 @@ public class TeamRankingService {
     public TeamRanking addLoss(Long teamId) {
         TeamRanking ranking = getOrCreateRanking(teamId);
         ranking.addLoss();
-        return teamRankingRepository.save(ranking);
+        return track(teamRankingRepository.save(ranking));
     }
     
     /**
@@ -82,7 +136,7 @@ public class TeamRankingService {
     public TeamRanking addBonusPoints(Long teamId, int points) {
         TeamRanking ranking = getOrCreateRanking(teamId);
         ranking.addBonusPoints(points);
-        return teamRankingRepository.save(ranking);
+        return track(teamRankingRepository.save(ranking));
     }
     
     /**
@@ -99,6 +153,9 @@ public class TeamRankingService {
      */
     @Transactional(readOnly = true)
     public Page<TeamRankingResponse> getGlobalRanking(Pageable pageable) {
+        if (rankingLeaderboardService.isReady()) {
+            return leaderboardPage(null, pageable);
+        }
         Page<TeamRanking> rankings = teamRankingRepository.findAllByOrderByTotalPointsDesc(pageable);
         return rankings.map(this::convertToResponse);
     }
@@ -108,10 +165,29 @@ public class TeamRankingService {
      */
     @Transactional(readOnly = true)
     public Page<TeamRankingResponse> getRankingByDivision(Division division, Pageable pageable) {
+        if (rankingLeaderboardService.isReady()) {
+            return leaderboardPage(division, pageable);
+        }
         Page<TeamRanking> rankings = teamRankingRepository.findByDivisionOrderByTotalPointsDesc(division, pageable);
         return rankings.map(this::convertToResponse);
     }
     
+    /**
+     * Página do ranking fatiada no leaderboard em memória: uma consulta para os registros da página
+     * @param division divisão, ou null para o ranking global
+     */
+    private Page<TeamRankingResponse> leaderboardPage(Division division, Pageable pageable) {
+        List<Long> ids = rankingLeaderboardService.teamPage(division, pageable.getOffset(), pageable.getPageSize());
+        Map<Long, TeamRanking> byId = teamRankingRepository.findAllWithTeamByIdIn(ids).stream()
+                .collect(Collectors.toMap(TeamRanking::getId, ranking -> ranking));
+        List<TeamRankingResponse> content = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, rankingLeaderboardService.teamCount(division));
+    }
+    
     /**
      * Busca top times
      */
@@ -166,13 +242,19 @@ public class TeamRankingService {
         response.setUpdatedAt(ranking.getUpdatedAt());
         
         // Calcula posições
-        Long globalPosition = teamRankingRepository.findTeamPosition(
-                ranking.getTotalPoints(), ranking.getId());
-        response.setGlobalPosition(globalPosition);
-        
-        Long divisionPosition = teamRankingRepository.findTeamPositionInDivision(
-                ranking.getDivision(), ranking.getTotalPoints(), ranking.getId());
-        response.setDivisionPosition(divisionPosition);
+        if (rankingLeaderboardService.isReady()) {
+            // O(log n) no leaderboard em memória
+            response.setGlobalPosition(rankingLeaderboardService.teamPosition(ranking));
+            response.setDivisionPosition(rankingLeaderboardService.teamDivisionPosition(ranking));
+        } else {
+            Long globalPosition = teamRankingRepository.findTeamPosition(
+                    ranking.getTotalPoints(), ranking.getId());
+            response.setGlobalPosition(globalPosition);
+            
+            Long divisionPosition = teamRankingRepository.findTeamPositionInDivision(
+                    ranking.getDivision(), ranking.getTotalPoints(), ranking.getId());
+            response.setDivisionPosition(divisionPosition);
+        }
         
         return response;
     }
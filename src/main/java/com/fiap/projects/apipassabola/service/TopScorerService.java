@@ -0,0 +1,220 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fiap.projects.apipassabola.dto.response.TopScorerResponse;
+import com.fiap.projects.apipassabola.dto.response.TopScorersResponse;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.Goal;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.PlayerGoalCounter;
+import com.fiap.projects.apipassabola.exception.ResourceNotFoundException;
+import com.fiap.projects.apipassabola.repository.PlayerGoalCounterRepository;
+import com.fiap.projects.apipassabola.repository.RankingSeasonRepository;
+import com.fiap.projects.apipassabola.util.TopScorerBoard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Artilharia geral, por temporada e por torneio
+ *
+ * Os gols de finishGame incrementam contadores por jogadora (player_goal_counters) na mesma
+ * transação em que são gravados. Cada escopo tem um TopScorerBoard em memória com as
+ * {@link #BOARD_CAPACITY} primeiras: geral e temporada em andamento ficam sempre carregados,
+ * torneios e temporadas encerradas são lidos do banco na primeira consulta e mantidos em um cache LRU.
+ * Depois do commit, os novos totais são oferecidos aos quadros e, se algum mudar, o topo é
+ * enviado para /topic/goals/top-scorers/...
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TopScorerService {
+
+    public static final int BOARD_CAPACITY = 100;
+    private static final int LIVE_UPDATE_SIZE = 10;
+    private static final int MAX_CACHED_BOARDS = 200;
+
+    private final PlayerGoalCounterRepository playerGoalCounterRepository;
+    private final RankingSeasonRepository rankingSeasonRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final TopScorerBoard overall = new TopScorerBoard(BOARD_CAPACITY);
+    private final TopScorerBoard currentSeason = new TopScorerBoard(BOARD_CAPACITY);
+    private final Map<String, TopScorerBoard> cachedBoards = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TopScorerBoard> eldest) {
+                    return size() > MAX_CACHED_BOARDS;
+                }
+            });
+
+    /**
+     * Carrega os quadros geral e da temporada em andamento a partir dos contadores
+     * Os contadores são preenchidos a partir do histórico pela migração 038-goal-counters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try {
+            overall.replaceAll(playerGoalCounterRepository.findTop(PlayerGoalCounter.Scope.OVERALL, 0, BOARD_CAPACITY));
+            reloadCurrentSeason();
+        } catch (Exception e) {
+            // Os quadros ficam vazios e voltam a ser preenchidos pelos próximos gols ou por uma nova carga
+            log.error("Failed to load top scorer boards: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recarrega o quadro da temporada em andamento (após o encerramento de uma temporada)
+     */
+    public void reloadCurrentSeason() {
+        currentSeason.replaceAll(playerGoalCounterRepository.findTop(
+                PlayerGoalCounter.Scope.SEASON, PlayerGoalCounter.CURRENT_SEASON, BOARD_CAPACITY));
+    }
+
+    /**
+     * Soma os gols de um jogo finalizado aos contadores (mesma transação que grava os gols)
+     * Os quadros em memória são atualizados depois do commit.
+     */
+    @Transactional
+    public void recordGoals(Game game, List<Goal> goals) {
+        Map<Long, Integer> goalsByPlayer = new HashMap<>();
+        Map<Long, Player> players = new HashMap<>();
+        for (Goal goal : goals) {
+            if (Boolean.TRUE.equals(goal.getIsOwnGoal())) {
+                continue;
+            }
+            goalsByPlayer.merge(goal.getPlayer().getId(), 1, Integer::sum);
+            players.put(goal.getPlayer().getId(), goal.getPlayer());
+        }
+        if (goalsByPlayer.isEmpty()) {
+            return;
+        }
+
+        List<ScopeUpdate> updates = new ArrayList<>();
+        updates.add(increment(PlayerGoalCounter.Scope.OVERALL, 0, goalsByPlayer, players));
+        updates.add(increment(PlayerGoalCounter.Scope.SEASON, PlayerGoalCounter.CURRENT_SEASON, goalsByPlayer, players));
+        if (game.getTournamentId() != null) {
+            updates.add(increment(PlayerGoalCounter.Scope.TOURNAMENT, game.getTournamentId(), goalsByPlayer, players));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    updates.forEach(TopScorerService.this::publish);
+                }
+            });
+        } else {
+            updates.forEach(this::publish);
+        }
+    }
+
+    /**
+     * Artilharia de um escopo
+     * @param scopeId id do torneio ou da temporada encerrada; ignorado em OVERALL e null para a temporada em andamento
+     */
+    @Transactional(readOnly = true)
+    public TopScorersResponse getTopScorers(PlayerGoalCounter.Scope scope, Long scopeId, int size) {
+        long id = scope == PlayerGoalCounter.Scope.OVERALL || scopeId == null ? 0 : scopeId;
+        if (scope == PlayerGoalCounter.Scope.SEASON && id != PlayerGoalCounter.CURRENT_SEASON
+                && !rankingSeasonRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Ranking season", "id", id);
+        }
+        TopScorerBoard board = board(scope, id, true);
+        return toResponse(scope, id, board.top(Math.max(1, Math.min(size, BOARD_CAPACITY))));
+    }
+
+    private ScopeUpdate increment(PlayerGoalCounter.Scope scope, long scopeId,
+                                  Map<Long, Integer> goalsByPlayer, Map<Long, Player> players) {
+        playerGoalCounterRepository.incrementAll(scope, scopeId, goalsByPlayer);
+        // Novos totais (a leitura enxerga o upsert da própria transação)
+        List<TopScorerBoard.Entry> totals = new ArrayList<>();
+        for (Object[] row : playerGoalCounterRepository.findGoals(scope, scopeId, goalsByPlayer.keySet())) {
+            Player player = players.get((Long) row[0]);
+            totals.add(new TopScorerBoard.Entry(player.getId(), player.getName(), player.getRealUsername(),
+                    ((Number) row[1]).intValue()));
+        }
+        return new ScopeUpdate(scope, scopeId, totals);
+    }
+
+    private void publish(ScopeUpdate update) {
+        TopScorerBoard board = board(update.scope, update.scopeId, false);
+        if (board == null) {
+            return; // Quadro ainda não carregado: será lido do banco na primeira consulta
+        }
+        boolean changed = false;
+        for (TopScorerBoard.Entry entry : update.totals) {
+            changed |= board.offer(entry);
+        }
+        if (!changed) {
+            return;
+        }
+        String destination = update.scope == PlayerGoalCounter.Scope.TOURNAMENT
+                ? "/topic/goals/top-scorers/tournament/" + update.scopeId
+                : "/topic/goals/top-scorers/" + update.scope.name().toLowerCase();
+        try {
+            messagingTemplate.convertAndSend(destination,
+                    toResponse(update.scope, update.scopeId, board.top(LIVE_UPDATE_SIZE)));
+        } catch (Exception e) {
+            log.error("Failed to push top scorers update to {}: {}", destination, e.getMessage());
+        }
+    }
+
+    private TopScorerBoard board(PlayerGoalCounter.Scope scope, long scopeId, boolean loadIfMissing) {
+        if (scope == PlayerGoalCounter.Scope.OVERALL) {
+            return overall;
+        }
+        if (scope == PlayerGoalCounter.Scope.SEASON && scopeId == PlayerGoalCounter.CURRENT_SEASON) {
+            return currentSeason;
+        }
+        String key = scope + ":" + scopeId;
+        TopScorerBoard board = cachedBoards.get(key);
+        if (board == null && loadIfMissing) {
+            board = new TopScorerBoard(BOARD_CAPACITY);
+            board.replaceAll(playerGoalCounterRepository.findTop(scope, scopeId, BOARD_CAPACITY));
+            TopScorerBoard existing = cachedBoards.putIfAbsent(key, board);
+            if (existing != null) {
+                board = existing;
+            }
+        }
+        return board;
+    }
+
+    private TopScorersResponse toResponse(PlayerGoalCounter.Scope scope, long scopeId, List<TopScorerBoard.Entry> entries) {
+        List<TopScorerResponse> scorers = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            TopScorerBoard.Entry entry = entries.get(i);
+            scorers.add(new TopScorerResponse(i + 1, entry.getPlayerId(), entry.getPlayerName(),
+                    entry.getPlayerUsername(), entry.getGoals()));
+        }
+        return new TopScorersResponse(scope, scopeId, scorers);
+    }
+
+    /**
+     * Novos totais de gols das jogadoras que marcaram, em um escopo
+     */
+    private static class ScopeUpdate {
+        private final PlayerGoalCounter.Scope scope;
+        private final long scopeId;
+        private final List<TopScorerBoard.Entry> totals;
+
+        private ScopeUpdate(PlayerGoalCounter.Scope scope, long scopeId, List<TopScorerBoard.Entry> totals) {
+            this.scope = scope;
+            this.scopeId = scopeId;
+            this.totals = totals;
+        }
+    }
+}
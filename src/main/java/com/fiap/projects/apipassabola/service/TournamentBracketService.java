@@ -0,0 +1,282 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projects.apipassabola.dto.response.TournamentBracketResponse;
+import com.fiap.projects.apipassabola.dto.response.TournamentBracketUpdate;
+import com.fiap.projects.apipassabola.dto.response.TournamentMatchResponse;
+import com.fiap.projects.apipassabola.entity.Tournament;
+import com.fiap.projects.apipassabola.entity.TournamentMatch;
+import com.fiap.projects.apipassabola.repository.TournamentMatchRepository;
+import com.fiap.projects.apipassabola.repository.TournamentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot do chaveamento de cada torneio, servido sem consultar o banco
+ *
+ * O chaveamento é lido em uma consulta na primeira requisição e guardado já serializado em JSON
+ * (bytes prontos para a resposta), com uma versão usada como ETag. Nada é recalculado nas leituras:
+ * só updateMatchResult (e o avanço de times que ele provoca) e a geração do chaveamento mudam a
+ * árvore. Depois do commit dessas operações, as partidas alteradas substituem as antigas em um novo
+ * snapshot imutável e só elas são enviadas para /topic/tournaments/{id}. Os snapshots ficam em um
+ * cache LRU de {@link #MAX_CACHED_BRACKETS} torneios.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TournamentBracketService {
+
+    private static final int MAX_CACHED_BRACKETS = 200;
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentMatchRepository tournamentMatchRepository;
+    private final ObjectMapper objectMapper;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // Versões crescentes entre reinícios, então um ETag antigo nunca coincide com um snapshot novo
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Object lock = new Object();
+    private final Map<Long, BracketSnapshot> snapshots = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BracketSnapshot> eldest) {
+            return size() > MAX_CACHED_BRACKETS;
+        }
+    };
+    // Alterações confirmadas por torneio: um snapshot montado durante uma alteração não entra no cache
+    private final Map<Long, Long> changeCounts = new HashMap<>();
+
+    /**
+     * Chaveamento completo serializado (JSON de {@link TournamentBracketResponse})
+     */
+    public BracketSnapshot getBracket(Long tournamentId) {
+        BracketSnapshot snapshot;
+        long changesBefore;
+        synchronized (lock) {
+            snapshot = snapshots.get(tournamentId);
+            changesBefore = changeCounts.getOrDefault(tournamentId, 0L);
+        }
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        snapshot = load(tournamentId);
+        synchronized (lock) {
+            BracketSnapshot cached = snapshots.get(tournamentId);
+            if (cached != null) {
+                return cached;
+            }
+            if (changeCounts.getOrDefault(tournamentId, 0L) == changesBefore) {
+                snapshots.put(tournamentId, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Partidas alteradas por um resultado
+     * Convertidas agora (dentro da transação); o snapshot e o envio só acontecem depois do commit.
+     */
+    public void matchesChanged(Tournament tournament, Collection<TournamentMatch> changed) {
+        Long tournamentId = tournament.getId();
+        Tournament.TournamentStatus status = tournament.getStatus();
+        String currentRound = tournament.getCurrentRound();
+        List<TournamentMatchResponse> responses = new ArrayList<>(changed.size());
+        for (TournamentMatch match : changed) {
+            responses.add(toMatchResponse(match));
+        }
+        afterCommit(() -> apply(tournamentId, status, currentRound, responses));
+    }
+
+    /**
+     * Chaveamento gerado: o snapshot antigo é descartado e os clientes recarregam o chaveamento
+     */
+    public void bracketGenerated(Tournament tournament) {
+        Long tournamentId = tournament.getId();
+        Tournament.TournamentStatus status = tournament.getStatus();
+        String currentRound = tournament.getCurrentRound();
+        afterCommit(() -> {
+            synchronized (lock) {
+                snapshots.remove(tournamentId);
+                changeCounts.merge(tournamentId, 1L, Long::sum);
+            }
+            push(new TournamentBracketUpdate(tournamentId, versions.incrementAndGet(), null, true, status,
+                currentRound, List.of()));
+        });
+    }
+
+    private BracketSnapshot load(Long tournamentId) {
+        Tournament tournament = tournamentRepository.findById(tournamentId)
+            .orElseThrow(() -> new IllegalArgumentException("Torneio não encontrado"));
+        Map<Long, TournamentMatchResponse> matches = new LinkedHashMap<>();
+        for (TournamentMatch match : tournamentMatchRepository.findBracketByTournamentId(tournamentId)) {
+            matches.put(match.getId(), toMatchResponse(match));
+        }
+        return snapshot(tournamentId, versions.incrementAndGet(), tournament.getStatus(),
+            tournament.getCurrentRound(), matches);
+    }
+
+    private void apply(Long tournamentId, Tournament.TournamentStatus status, String currentRound,
+                       List<TournamentMatchResponse> changed) {
+        BracketSnapshot base;
+        synchronized (lock) {
+            changeCounts.merge(tournamentId, 1L, Long::sum);
+            base = snapshots.get(tournamentId);
+        }
+
+        // Troca otimista: serializa fora do lock e só instala se ninguém trocou o snapshot no meio
+        long version = versions.incrementAndGet();
+        while (base != null) {
+            Map<Long, TournamentMatchResponse> matches = new LinkedHashMap<>(base.matches);
+            for (TournamentMatchResponse match : changed) {
+                matches.put(match.getId(), match);
+            }
+            BracketSnapshot next = snapshot(tournamentId, version, status, currentRound, matches);
+            synchronized (lock) {
+                BracketSnapshot current = snapshots.get(tournamentId);
+                if (current == base) {
+                    snapshots.put(tournamentId, next);
+                    break;
+                }
+                base = current;
+            }
+            version = versions.incrementAndGet();
+        }
+
+        push(new TournamentBracketUpdate(tournamentId, version, base != null ? base.version : null, false,
+            status, currentRound, changed));
+    }
+
+    private void push(TournamentBracketUpdate update) {
+        String destination = "/topic/tournaments/" + update.getTournamentId();
+        try {
+            messagingTemplate.convertAndSend(destination, update);
+        } catch (Exception e) {
+            log.error("Failed to push bracket update to {}: {}", destination, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private BracketSnapshot snapshot(Long tournamentId, long version, Tournament.TournamentStatus status,
+                                     String currentRound, Map<Long, TournamentMatchResponse> matches) {
+        List<TournamentMatchResponse> list = Collections.unmodifiableList(new ArrayList<>(matches.values()));
+        try {
+            byte[] matchesJson = objectMapper.writeValueAsBytes(list);
+            byte[] bracketJson = objectMapper.writeValueAsBytes(
+                new TournamentBracketResponse(tournamentId, version, status, currentRound, list));
+            return new BracketSnapshot(version, Collections.unmodifiableMap(matches), list, bracketJson, matchesJson);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o chaveamento do torneio " + tournamentId, e);
+        }
+    }
+
+    public TournamentMatchResponse toMatchResponse(TournamentMatch match) {
+        TournamentMatchResponse response = new TournamentMatchResponse();
+        response.setId(match.getId());
+        response.setTournamentId(match.getTournament().getId());
+        response.setRound(match.getRound());
+        response.setMatchNumber(match.getMatchNumber());
+        response.setStage(match.getStage() != null ? match.getStage() : TournamentMatch.Stage.WINNERS);
+        response.setGroupNumber(match.getGroupNumber());
+
+        if (match.getTeam1() != null) {
+            response.setTeam1Id(match.getTeam1().getId());
+            response.setTeam1Name(match.getTeam1().getNameTeam());
+        }
+
+        if (match.getTeam2() != null) {
+            response.setTeam2Id(match.getTeam2().getId());
+            response.setTeam2Name(match.getTeam2().getNameTeam());
+        }
+
+        response.setTeam1Score(match.getTeam1Score());
+        response.setTeam2Score(match.getTeam2Score());
+
+        if (match.getWinner() != null) {
+            response.setWinnerId(match.getWinner().getId());
+            response.setWinnerName(match.getWinner().getNameTeam());
+        }
+
+        response.setStatus(match.getStatus());
+        response.setScheduledDate(match.getScheduledDate());
+        response.setBracketPosition(match.getBracketPosition());
+        response.setNextMatchId(match.getNextMatchId());
+        response.setNextMatchSlot(match.getNextMatchSlot());
+        response.setLoserNextMatchId(match.getLoserNextMatchId());
+        response.setLoserNextMatchSlot(match.getLoserNextMatchSlot());
+        response.setTeam1Qualifier(match.getTeam1Qualifier());
+        response.setTeam2Qualifier(match.getTeam2Qualifier());
+
+        if (match.getGame() != null) {
+            response.setGameId(match.getGame().getId());
+        }
+
+        response.setCreatedAt(match.getCreatedAt());
+        response.setUpdatedAt(match.getUpdatedAt());
+
+        return response;
+    }
+
+    /**
+     * Chaveamento de um torneio em uma versão; nunca é alterado depois de criado
+     */
+    public static final class BracketSnapshot {
+        private final long version;
+        private final Map<Long, TournamentMatchResponse> matches;
+        private final List<TournamentMatchResponse> matchList;
+        private final byte[] bracketJson;
+        private final byte[] matchesJson;
+
+        private BracketSnapshot(long version, Map<Long, TournamentMatchResponse> matches,
+                                List<TournamentMatchResponse> matchList, byte[] bracketJson, byte[] matchesJson) {
+            this.version = version;
+            this.matches = matches;
+            this.matchList = matchList;
+            this.bracketJson = bracketJson;
+            this.matchesJson = matchesJson;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<TournamentMatchResponse> getMatches() {
+            return matchList;
+        }
+
+        /** JSON de {@link TournamentBracketResponse}; não modificar */
+        public byte[] getBracketJson() {
+            return bracketJson;
+        }
+
+        /** JSON da lista de partidas; não modificar */
+        public byte[] getMatchesJson() {
+            return matchesJson;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.fiap.projects.apipassabola.service;
 
 import com.fiap.projects.apipassabola.entity.*;
 import com.fiap.projects.apipassabola.repository.*;
+import com.fiap.projects.apipassabola.util.BracketPlan;
+import com.fiap.projects.apipassabola.util.LeagueSchedule;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -22,7 +24,15 @@ public class TournamentService {
     private final TournamentTeamRepository tournamentTeamRepository;
     private final TournamentMatchRepository tournamentMatchRepository;
     private final TeamRepository teamRepository;
+    private final TeamRankingRepository teamRankingRepository;
     private final GameService gameService;
+    private final TournamentBracketService tournamentBracketService;
+    
+    private static final int DEFAULT_GROUP_SIZE = 4;
+    private static final int DEFAULT_QUALIFIERS_PER_GROUP = 2;
+    private static final String GROUP_STAGE_ROUND = "GROUPS";
+    private static final int DEFAULT_REST_DAYS = 2;
+    private static final String LEAGUE_ROUND_PREFIX = "MATCHDAY_";
     
     /**
      * Cria um novo torneio
@@ -34,12 +44,37 @@ public class TournamentService {
             throw new IllegalArgumentException("Torneios de Copa devem ter um número máximo de times definido");
         }
         
-        // Define maxTeams como próxima potência de 2 se não definido
+        // Qualquer quantidade de times é aceita: as vagas que faltam viram byes no chaveamento
         if (tournament.getMaxTeams() == null) {
             tournament.setMaxTeams(8); // Padrão
-        } else {
-            // Garante que maxTeams é potência de 2
-            tournament.setMaxTeams(getNextPowerOfTwo(tournament.getMaxTeams()));
+        }
+        
+        if (tournament.getBracketFormat() == null) {
+            tournament.setBracketFormat(Tournament.BracketFormat.SINGLE_ELIMINATION);
+        }
+        if (tournament.getBracketFormat() == Tournament.BracketFormat.GROUPS_KNOCKOUT) {
+            if (tournament.getGroupSize() == null) {
+                tournament.setGroupSize(DEFAULT_GROUP_SIZE);
+            }
+            if (tournament.getQualifiersPerGroup() == null) {
+                tournament.setQualifiersPerGroup(DEFAULT_QUALIFIERS_PER_GROUP);
+            }
+            if (tournament.getGroupSize() < 2
+                    || tournament.getQualifiersPerGroup() < 1
+                    || tournament.getQualifiersPerGroup() >= tournament.getGroupSize()) {
+                throw new IllegalArgumentException(
+                    "Grupos devem ter ao menos 2 times e menos classificados do que times por grupo");
+            }
+        }
+        if (tournament.getBracketFormat().isLeague()) {
+            if (tournament.getRestDays() == null) {
+                tournament.setRestDays(DEFAULT_REST_DAYS);
+            }
+            if (tournament.getRestDays() < 0
+                    || (tournament.getMatchesPerDay() != null && tournament.getMatchesPerDay() < 1)) {
+                throw new IllegalArgumentException(
+                    "Descanso não pode ser negativo e o local deve comportar ao menos 1 jogo por dia");
+            }
         }
         
         tournament.setTotalTeams(0);
@@ -91,7 +126,13 @@ public class TournamentService {
     }
     
     /**
-     * Gera o chaveamento do torneio de forma aleatória
+     * Gera o chaveamento do torneio
+     * 
+     * Os times são ordenados pela pontuação no ranking (TeamRanking.totalPoints; sem ranking conta como
+     * 0 e empates ficam na ordem de inscrição), então os mais fortes só se enfrentam no fim. Qualquer
+     * quantidade de times é aceita: as vagas que faltam para a próxima potência de 2 viram byes
+     * para as melhores seeds. O formato do torneio define a chave (mata-mata simples, dupla
+     * eliminação, grupos + mata-mata ou a tabela de pontos corridos).
      */
     @Transactional
     public void generateBracket(Long tournamentId) {
@@ -105,131 +146,229 @@ public class TournamentService {
         
         if (!tournament.canGenerateBracket()) {
             throw new IllegalStateException(
-                "Não é possível gerar chaveamento. Verifique se há times suficientes e se o número é potência de 2"
+                "Não é possível gerar chaveamento. Verifique se há ao menos 2 times inscritos"
             );
         }
         
-        // Busca times inscritos
-        List<TournamentTeam> teams = tournamentTeamRepository.findByTournamentId(tournamentId);
+        // Busca times inscritos (com os times carregados na mesma consulta)
+        List<TournamentTeam> teams = tournamentTeamRepository.findWithTeamsByTournamentId(tournamentId);
         
         if (teams.isEmpty()) {
             throw new IllegalStateException("Nenhum time inscrito no torneio");
         }
         
-        // Embaralha times aleatoriamente
-        List<TournamentTeam> shuffledTeams = new ArrayList<>(teams);
-        Collections.shuffle(shuffledTeams, new Random());
+        long start = System.nanoTime();
         
-        // Atribui posições de seed
-        for (int i = 0; i < shuffledTeams.size(); i++) {
-            TournamentTeam team = shuffledTeams.get(i);
+        // Seeds pelo ranking (UPDATEs em lote no flush)
+        List<TournamentTeam> seededTeams = seedByRanking(teams);
+        for (int i = 0; i < seededTeams.size(); i++) {
+            TournamentTeam team = seededTeams.get(i);
             team.setSeedPosition(i + 1);
             team.setStatus(TournamentTeam.TeamStatus.CONFIRMED);
-            tournamentTeamRepository.save(team);
         }
-        
-        // Gera as partidas do chaveamento
-        generateMatches(tournament, shuffledTeams);
+        tournamentTeamRepository.saveAll(seededTeams);
+        
+        int matches;
+        if (tournament.getBracketFormatOrDefault().isLeague()) {
+            LeagueSchedule schedule = LeagueSchedule.roundRobin(
+                seededTeams.size(),
+                tournament.getBracketFormatOrDefault() == Tournament.BracketFormat.DOUBLE_ROUND_ROBIN,
+                tournament.getRestDays() != null ? tournament.getRestDays() : DEFAULT_REST_DAYS,
+                tournament.getMatchesPerDay() != null ? tournament.getMatchesPerDay() : 0
+            );
+            generateLeagueMatches(tournament, seededTeams, schedule);
+            tournament.setCurrentRound(LEAGUE_ROUND_PREFIX + 1);
+            matches = schedule.getFixtures().size();
+        } else {
+            BracketPlan plan = planBracket(tournament, seededTeams.size());
+            
+            // Gera as partidas do chaveamento
+            generateMatches(tournament, seededTeams, plan);
+            tournament.setCurrentRound(plan.getGroups() > 0 ? GROUP_STAGE_ROUND : plan.getMatches().get(0).getRound());
+            matches = plan.getMatches().size();
+        }
         
         // Atualiza status do torneio
         tournament.setBracketGenerated(true);
         tournament.setStatus(Tournament.TournamentStatus.BRACKET_READY);
-        tournament.setCurrentRound(tournament.getRoundName(shuffledTeams.size()));
         tournamentRepository.save(tournament);
+        tournamentRepository.flush();
+        tournamentBracketService.bracketGenerated(tournament);
         
-        log.info("Chaveamento gerado para o torneio {} com {} times", tournament.getName(), shuffledTeams.size());
+        log.info("Chaveamento {} gerado para o torneio {} com {} times e {} partidas em {} ms",
+            tournament.getBracketFormatOrDefault(), tournament.getName(), seededTeams.size(),
+            matches, (System.nanoTime() - start) / 1_000_000);
     }
     
     /**
-     * Gera todas as partidas do chaveamento
+     * Ordena as inscrições pela pontuação do time no ranking (ordenação estável: empates mantêm a
+     * ordem de inscrição)
      */
-    private void generateMatches(Tournament tournament, List<TournamentTeam> teams) {
-        int totalTeams = teams.size();
-        int currentRoundTeams = totalTeams;
-        int matchIdCounter = 0;
-        
-        // Mapa para rastrear partidas e suas conexões
-        Map<String, List<TournamentMatch>> roundMatches = new HashMap<>();
-        
-        // Gera partidas de todas as rodadas
-        while (currentRoundTeams >= 2) {
-            String roundName = tournament.getRoundName(currentRoundTeams);
-            int matchesInRound = currentRoundTeams / 2;
-            List<TournamentMatch> matches = new ArrayList<>();
-            
-            for (int i = 0; i < matchesInRound; i++) {
-                TournamentMatch match = new TournamentMatch();
-                match.setTournament(tournament);
-                match.setRound(roundName);
-                match.setMatchNumber(i + 1);
-                match.setBracketPosition(matchIdCounter++);
-                
-                // Primeira rodada: define os times e cria o jogo
-                if (currentRoundTeams == totalTeams) {
-                    Team team1 = teams.get(i * 2).getTeam();
-                    Team team2 = teams.get(i * 2 + 1).getTeam();
-                    
-                    match.setTeam1(team1);
-                    match.setTeam2(team2);
-                    match.setStatus(TournamentMatch.MatchStatus.SCHEDULED);
-                    
-                    // Cria o jogo automaticamente para a primeira rodada
-                    Game game = gameService.createTournamentGame(
-                        team1,
-                        team2,
-                        tournament.getVenue(),
-                        tournament.getStartDate(),
-                        tournament.getName(),
-                        roundName,
-                        tournament.getCreatorId()
-                    );
-                    match.setGame(game);
-                    
-                    log.info("Jogo criado automaticamente para partida {} vs {} no torneio {}", 
-                        team1.getNameTeam(), team2.getNameTeam(), tournament.getName());
-                } else {
-                    // Rodadas seguintes: times serão definidos pelos vencedores
-                    match.setStatus(TournamentMatch.MatchStatus.PENDING);
+    private List<TournamentTeam> seedByRanking(List<TournamentTeam> teams) {
+        List<Long> teamIds = teams.stream().map(tt -> tt.getTeam().getId()).toList();
+        Map<Long, Integer> points = new HashMap<>();
+        for (Object[] row : teamRankingRepository.findPointsByTeamIdIn(teamIds)) {
+            points.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        
+        List<TournamentTeam> seeded = new ArrayList<>(teams);
+        seeded.sort(Comparator.comparingInt(
+            (TournamentTeam tt) -> points.getOrDefault(tt.getTeam().getId(), 0)).reversed());
+        return seeded;
+    }
+    
+    /**
+     * Monta a chave em memória conforme o formato do torneio
+     */
+    private BracketPlan planBracket(Tournament tournament, int teams) {
+        return switch (tournament.getBracketFormatOrDefault()) {
+            case SINGLE_ELIMINATION -> BracketPlan.singleElimination(teams);
+            case DOUBLE_ELIMINATION -> BracketPlan.doubleElimination(teams);
+            case GROUPS_KNOCKOUT -> {
+                int groupSize = tournament.getGroupSize() != null ? tournament.getGroupSize() : DEFAULT_GROUP_SIZE;
+                int qualifiers = tournament.getQualifiersPerGroup() != null
+                    ? tournament.getQualifiersPerGroup() : DEFAULT_QUALIFIERS_PER_GROUP;
+                int groups = (teams + groupSize - 1) / groupSize;
+                // O menor grupo precisa ter mais times do que classificados
+                if (teams / groups <= qualifiers || groups * qualifiers < 2) {
+                    throw new IllegalStateException(
+                        "Times insuficientes para " + groups + " grupos com " + qualifiers + " classificados cada");
                 }
-                
-                matches.add(match);
+                yield BracketPlan.groupsAndKnockout(teams, groupSize, qualifiers);
+            }
+            case ROUND_ROBIN, DOUBLE_ROUND_ROBIN ->
+                throw new IllegalStateException("Pontos corridos não usam chaveamento");
+        };
+    }
+    
+    /**
+     * Grava todas as partidas do chaveamento
+     * 
+     * O plano já vem completo da memória. As partidas são persistidas da última para a primeira:
+     * o id vem do pool de ids já na persistência, então cada partida nasce com os destinos do
+     * vencedor e do perdedor preenchidos e nenhuma precisa ser gravada duas vezes. Partidas que já
+     * nascem com os dois times ganham o jogo na hora. Jogos e partidas vão para o banco em INSERTs
+     * em lote no flush.
+     */
+    private void generateMatches(Tournament tournament, List<TournamentTeam> teams, BracketPlan plan) {
+        List<BracketPlan.Match> planned = plan.getMatches();
+        boolean knockoutFromGroups = plan.getGroups() > 0;
+        
+        // Jogos das partidas com os dois times definidos
+        Game[] gameOf = new Game[planned.size()];
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < planned.size(); i++) {
+            BracketPlan.Match plannedMatch = planned.get(i);
+            if (plannedMatch.isReady() && (!knockoutFromGroups || plannedMatch.getStage() == TournamentMatch.Stage.GROUP)) {
+                gameOf[i] = gameService.newTournamentGame(
+                    seededTeam(teams, plannedMatch.getEntrant1()),
+                    seededTeam(teams, plannedMatch.getEntrant2()),
+                    tournament.getVenue(),
+                    tournament.getStartDate(),
+                    tournament.getName(),
+                    plannedMatch.getRound(),
+                    tournament.getCreatorId(),
+                    tournament.getId()
+                );
+                games.add(gameOf[i]);
             }
-            
-            roundMatches.put(roundName, matches);
-            currentRoundTeams /= 2;
         }
-        
-        // Salva todas as partidas e conecta com próximas rodadas
-        List<String> rounds = new ArrayList<>(roundMatches.keySet());
-        
-        for (int i = 0; i < rounds.size() - 1; i++) {
-            String currentRound = rounds.get(i);
-            String nextRound = rounds.get(i + 1);
-            
-            List<TournamentMatch> currentMatches = roundMatches.get(currentRound);
-            List<TournamentMatch> nextMatches = roundMatches.get(nextRound);
-            
-            // Salva partidas da rodada atual
-            currentMatches = currentMatches.stream()
-                .map(tournamentMatchRepository::save)
-                .collect(Collectors.toList());
+        gameService.createTournamentGames(games);
+        
+        TournamentMatch[] saved = new TournamentMatch[planned.size()];
+        for (int i = planned.size() - 1; i >= 0; i--) {
+            BracketPlan.Match plannedMatch = planned.get(i);
+            TournamentMatch match = new TournamentMatch();
+            match.setTournament(tournament);
+            match.setStage(plannedMatch.getStage());
+            match.setRound(plannedMatch.getRound());
+            match.setMatchNumber(plannedMatch.getMatchNumber());
+            match.setBracketPosition(plannedMatch.getPosition());
+            if (plannedMatch.getGroupNumber() > 0) {
+                match.setGroupNumber(plannedMatch.getGroupNumber());
+            }
+            if (plannedMatch.getWinnerNext() != BracketPlan.NONE) {
+                match.setNextMatchId(saved[plannedMatch.getWinnerNext()].getId());
+                match.setNextMatchSlot(plannedMatch.getWinnerSlot() + 1);
+            }
+            if (plannedMatch.getLoserNext() != BracketPlan.NONE) {
+                match.setLoserNextMatchId(saved[plannedMatch.getLoserNext()].getId());
+                match.setLoserNextMatchSlot(plannedMatch.getLoserSlot() + 1);
+            }
             
-            // Conecta com próxima rodada
-            for (int j = 0; j < currentMatches.size(); j++) {
-                TournamentMatch currentMatch = currentMatches.get(j);
-                int nextMatchIndex = j / 2;
-                
-                if (nextMatchIndex < nextMatches.size()) {
-                    TournamentMatch nextMatch = nextMatches.get(nextMatchIndex);
-                    currentMatch.setNextMatchId(nextMatch.getId());
-                    tournamentMatchRepository.save(currentMatch);
-                }
+            if (knockoutFromGroups && plannedMatch.getStage() != TournamentMatch.Stage.GROUP) {
+                // Mata-mata após grupos: os times saem da classificação dos grupos
+                match.setTeam1Qualifier(storedQualifier(plannedMatch.getEntrant1()));
+                match.setTeam2Qualifier(storedQualifier(plannedMatch.getEntrant2()));
+            } else {
+                match.setTeam1(seededTeam(teams, plannedMatch.getEntrant1()));
+                match.setTeam2(seededTeam(teams, plannedMatch.getEntrant2()));
             }
+            
+            match.setGame(gameOf[i]);
+            match.setStatus(gameOf[i] != null
+                ? TournamentMatch.MatchStatus.SCHEDULED
+                : TournamentMatch.MatchStatus.PENDING);
+            saved[i] = tournamentMatchRepository.save(match);
+        }
+        
+        log.info("{} jogos criados automaticamente no torneio {}", games.size(), tournament.getName());
+    }
+    
+    /**
+     * Grava a tabela de pontos corridos
+     * 
+     * Todos os confrontos já nascem com os dois times, então cada partida ganha o jogo na hora, com a
+     * data calculada pela tabela (início do torneio + dia do jogo). Jogos e partidas vão para o banco
+     * em INSERTs em lote no flush.
+     */
+    private void generateLeagueMatches(Tournament tournament, List<TournamentTeam> teams, LeagueSchedule schedule) {
+        LocalDateTime firstDay = tournament.getStartDate() != null ? tournament.getStartDate() : LocalDateTime.now();
+        List<LeagueSchedule.Fixture> fixtures = schedule.getFixtures();
+        
+        List<Game> games = new ArrayList<>(fixtures.size());
+        for (LeagueSchedule.Fixture fixture : fixtures) {
+            games.add(gameService.newTournamentGame(
+                teams.get(fixture.getHome()).getTeam(),
+                teams.get(fixture.getAway()).getTeam(),
+                tournament.getVenue(),
+                firstDay.plusDays(fixture.getDay()),
+                tournament.getName(),
+                LEAGUE_ROUND_PREFIX + fixture.getRound(),
+                tournament.getCreatorId(),
+                tournament.getId()
+            ));
         }
+        gameService.createTournamentGames(games);
+        
+        List<TournamentMatch> matches = new ArrayList<>(fixtures.size());
+        for (int i = 0; i < fixtures.size(); i++) {
+            LeagueSchedule.Fixture fixture = fixtures.get(i);
+            TournamentMatch match = new TournamentMatch();
+            match.setTournament(tournament);
+            match.setStage(TournamentMatch.Stage.LEAGUE);
+            match.setRound(LEAGUE_ROUND_PREFIX + fixture.getRound());
+            match.setMatchNumber(fixture.getMatchNumber());
+            match.setBracketPosition(i + 1);
+            match.setTeam1(teams.get(fixture.getHome()).getTeam()); // Mandante
+            match.setTeam2(teams.get(fixture.getAway()).getTeam());
+            match.setScheduledDate(games.get(i).getGameDate());
+            match.setGame(games.get(i));
+            match.setStatus(TournamentMatch.MatchStatus.SCHEDULED);
+            matches.add(match);
+        }
+        tournamentMatchRepository.saveAll(matches);
         
-        // Salva partidas da última rodada (final)
-        String finalRound = rounds.get(rounds.size() - 1);
-        roundMatches.get(finalRound).forEach(tournamentMatchRepository::save);
+        log.info("Tabela de pontos corridos do torneio {}: {} rodadas e {} jogos",
+            tournament.getName(), schedule.getRounds(), fixtures.size());
+    }
+    
+    private Team seededTeam(List<TournamentTeam> teams, int seed) {
+        return seed == BracketPlan.NONE ? null : teams.get(seed).getTeam();
+    }
+    
+    private Integer storedQualifier(int code) {
+        return code == BracketPlan.NONE ? null : code + 1;
     }
     
     /**
@@ -244,6 +383,12 @@ public class TournamentService {
             throw new IllegalStateException("Partida ainda não tem ambos os times definidos");
         }
         
+        // Resultado corrigido nos pontos corridos: o anterior sai da classificação
+        boolean league = match.getStage() == TournamentMatch.Stage.LEAGUE;
+        if (league && match.isFinished()) {
+            updateStandings(match, -1);
+        }
+        
         match.setTeam1Score(team1Score);
         match.setTeam2Score(team2Score);
         match.setWinnerFromScore();
@@ -251,13 +396,33 @@ public class TournamentService {
         
         match = tournamentMatchRepository.save(match);
         
-        // Avança vencedor para próxima rodada
+        // Partidas alteradas (enviadas ao snapshot do chaveamento depois do commit)
+        List<TournamentMatch> changed = new ArrayList<>();
+        changed.add(match);
+        
+        // Avança vencedor para próxima rodada (e, na dupla eliminação, o perdedor para a chave de perdedores)
         if (match.hasWinner() && match.getNextMatchId() != null) {
-            advanceWinner(match);
+            changed.add(advanceTeam(match, match.getWinner(), match.getNextMatchId(), match.getNextMatchSlot()));
+        }
+        if (match.hasWinner() && match.getLoserNextMatchId() != null) {
+            Team loser = match.getWinner().getId().equals(match.getTeam1().getId()) ? match.getTeam2() : match.getTeam1();
+            changed.add(advanceTeam(match, loser, match.getLoserNextMatchId(), match.getLoserNextMatchSlot()));
+        }
+        
+        // Fim da fase de grupos: classificados entram no mata-mata
+        if (match.getStage() == TournamentMatch.Stage.GROUP) {
+            changed.addAll(qualifyFromGroupsIfFinished(match.getTournament()));
         }
         
         // Verifica se o torneio terminou
-        checkTournamentCompletion(match.getTournament().getId());
+        if (league) {
+            updateStandings(match, 1);
+            checkLeagueCompletion(match.getTournament());
+        } else {
+            checkTournamentCompletion(match.getTournament().getId());
+        }
+        
+        tournamentBracketService.matchesChanged(match.getTournament(), changed);
         
         return match;
     }
@@ -268,11 +433,8 @@ public class TournamentService {
      */
     @Transactional
     public void syncGameResultToMatch(Long gameId, Integer homeGoals, Integer awayGoals) {
-        // Busca a partida do torneio associada ao jogo
-        TournamentMatch match = tournamentMatchRepository.findAll().stream()
-            .filter(m -> m.getGame() != null && m.getGame().getId().equals(gameId))
-            .findFirst()
-            .orElse(null);
+        // Busca a partida do torneio associada ao jogo (consulta pelo índice único de game_id)
+        TournamentMatch match = tournamentMatchRepository.findByGameId(gameId).orElse(null);
         
         if (match != null) {
             log.info("Sincronizando resultado do jogo {} com partida do torneio {}", 
@@ -284,20 +446,25 @@ public class TournamentService {
     }
     
     /**
-     * Avança o vencedor para a próxima partida
+     * Leva um time (vencedor ou, na dupla eliminação, perdedor) para a partida seguinte
      */
-    private void advanceWinner(TournamentMatch match) {
-        TournamentMatch nextMatch = tournamentMatchRepository.findById(match.getNextMatchId())
+    private TournamentMatch advanceTeam(TournamentMatch match, Team team, Long nextMatchId, Integer slot) {
+        TournamentMatch nextMatch = tournamentMatchRepository.findById(nextMatchId)
             .orElseThrow(() -> new IllegalArgumentException("Próxima partida não encontrada"));
         
-        Team winner = match.getWinner();
         Tournament tournament = match.getTournament();
         
-        // Define o vencedor no slot correto da próxima partida
-        if (nextMatch.getTeam1() == null) {
-            nextMatch.setTeam1(winner);
+        // Define o time no slot correto da próxima partida (chaves antigas não guardam o slot)
+        if (slot != null) {
+            if (slot == 1) {
+                nextMatch.setTeam1(team);
+            } else {
+                nextMatch.setTeam2(team);
+            }
+        } else if (nextMatch.getTeam1() == null) {
+            nextMatch.setTeam1(team);
         } else if (nextMatch.getTeam2() == null) {
-            nextMatch.setTeam2(winner);
+            nextMatch.setTeam2(team);
         }
         
         // Se ambos os times estão definidos, a partida está pronta e cria o jogo
@@ -312,7 +479,8 @@ public class TournamentService {
                 tournament.getStartDate(), // Pode ser ajustado conforme necessário
                 tournament.getName(),
                 nextMatch.getRound(),
-                tournament.getCreatorId()
+                tournament.getCreatorId(),
+                tournament.getId()
             );
             nextMatch.setGame(game);
             
@@ -323,8 +491,179 @@ public class TournamentService {
                 tournament.getName());
         }
         
-        tournamentMatchRepository.save(nextMatch);
-        log.info("Time {} avançou para a próxima rodada", winner.getNameTeam());
+        nextMatch = tournamentMatchRepository.save(nextMatch);
+        log.info("Time {} avançou para a rodada {}", team.getNameTeam(), nextMatch.getRound());
+        return nextMatch;
+    }
+    
+    /**
+     * Quando todas as partidas de grupo terminam, monta a classificação de cada grupo e coloca os
+     * classificados nas vagas do mata-mata (team1Qualifier / team2Qualifier)
+     * Critérios: pontos (3 por vitória, 1 por empate), saldo de gols, gols marcados e seed.
+     */
+    private List<TournamentMatch> qualifyFromGroupsIfFinished(Tournament tournament) {
+        List<TournamentMatch> groupMatches = tournamentMatchRepository
+            .findByTournamentIdAndStage(tournament.getId(), TournamentMatch.Stage.GROUP);
+        if (groupMatches.stream().anyMatch(m -> !m.isFinished())) {
+            return List.of();
+        }
+        
+        Map<Long, TournamentTeam> registrations = tournamentTeamRepository.findByTournamentId(tournament.getId())
+            .stream()
+            .collect(Collectors.toMap(tt -> tt.getTeam().getId(), tt -> tt));
+        Map<Integer, Map<Long, GroupStanding>> standings = new TreeMap<>();
+        for (TournamentMatch match : groupMatches) {
+            Map<Long, GroupStanding> group = standings.computeIfAbsent(match.getGroupNumber(), g -> new HashMap<>());
+            GroupStanding home = group.computeIfAbsent(match.getTeam1().getId(),
+                id -> new GroupStanding(registrations.get(id)));
+            GroupStanding away = group.computeIfAbsent(match.getTeam2().getId(),
+                id -> new GroupStanding(registrations.get(id)));
+            home.add(match.getTeam1Score(), match.getTeam2Score());
+            away.add(match.getTeam2Score(), match.getTeam1Score());
+        }
+        
+        // Código do classificado (como gravado nas vagas do mata-mata) -> time
+        int groups = standings.size();
+        int qualifiers = tournament.getQualifiersPerGroup() != null
+            ? tournament.getQualifiersPerGroup() : DEFAULT_QUALIFIERS_PER_GROUP;
+        Map<Integer, Team> qualified = new HashMap<>();
+        List<TournamentTeam> eliminated = new ArrayList<>();
+        for (Map.Entry<Integer, Map<Long, GroupStanding>> group : standings.entrySet()) {
+            List<GroupStanding> table = new ArrayList<>(group.getValue().values());
+            table.sort(GroupStanding.ORDER);
+            for (int rank = 0; rank < table.size(); rank++) {
+                TournamentTeam registration = table.get(rank).registration;
+                if (rank < qualifiers) {
+                    qualified.put(BracketPlan.qualifierCode(rank, group.getKey() - 1, groups) + 1,
+                        registration.getTeam());
+                } else if (registration.getStatus() == TournamentTeam.TeamStatus.CONFIRMED) {
+                    registration.setStatus(TournamentTeam.TeamStatus.ELIMINATED);
+                    eliminated.add(registration);
+                }
+            }
+        }
+        tournamentTeamRepository.saveAll(eliminated);
+        
+        List<TournamentMatch> knockout = tournamentMatchRepository
+            .findByTournamentIdAndStage(tournament.getId(), TournamentMatch.Stage.WINNERS);
+        List<TournamentMatch> ready = new ArrayList<>();
+        List<Game> games = new ArrayList<>();
+        String firstRound = null;
+        int firstPosition = Integer.MAX_VALUE;
+        for (TournamentMatch match : knockout) {
+            if (match.getTeam1Qualifier() == null && match.getTeam2Qualifier() == null) {
+                continue;
+            }
+            if (match.getTeam1() == null && match.getTeam1Qualifier() != null) {
+                match.setTeam1(qualified.get(match.getTeam1Qualifier()));
+            }
+            if (match.getTeam2() == null && match.getTeam2Qualifier() != null) {
+                match.setTeam2(qualified.get(match.getTeam2Qualifier()));
+            }
+            if (match.isReady() && match.getGame() == null) {
+                match.setStatus(TournamentMatch.MatchStatus.SCHEDULED);
+                games.add(gameService.newTournamentGame(match.getTeam1(), match.getTeam2(), tournament.getVenue(),
+                    tournament.getStartDate(), tournament.getName(), match.getRound(), tournament.getCreatorId(),
+                    tournament.getId()));
+                ready.add(match);
+            }
+            if (match.getBracketPosition() < firstPosition) {
+                firstPosition = match.getBracketPosition();
+                firstRound = match.getRound();
+            }
+        }
+        gameService.createTournamentGames(games);
+        for (int i = 0; i < ready.size(); i++) {
+            ready.get(i).setGame(games.get(i));
+        }
+        tournamentMatchRepository.saveAll(knockout);
+        
+        if (firstRound != null) {
+            tournament.setCurrentRound(firstRound);
+            tournamentRepository.save(tournament);
+        }
+        log.info("Fase de grupos do torneio {} encerrada: {} classificados", tournament.getName(), qualified.size());
+        return knockout;
+    }
+    
+    /**
+     * Linha da classificação de um grupo
+     */
+    private static class GroupStanding {
+        private static final Comparator<GroupStanding> ORDER = Comparator
+            .comparingInt((GroupStanding s) -> s.points).reversed()
+            .thenComparing(Comparator.comparingInt((GroupStanding s) -> s.goalsFor - s.goalsAgainst).reversed())
+            .thenComparing(Comparator.comparingInt((GroupStanding s) -> s.goalsFor).reversed())
+            .thenComparingInt(s -> s.registration.getSeedPosition());
+        
+        private final TournamentTeam registration;
+        private int points;
+        private int goalsFor;
+        private int goalsAgainst;
+        
+        private GroupStanding(TournamentTeam registration) {
+            this.registration = registration;
+        }
+        
+        private void add(int scored, int conceded) {
+            goalsFor += scored;
+            goalsAgainst += conceded;
+            points += scored > conceded ? 3 : (scored == conceded ? 1 : 0);
+        }
+    }
+    
+    /**
+     * Soma (sign = 1) ou desfaz (sign = -1) o placar da partida na classificação dos dois times
+     * Só as duas linhas da classificação são lidas e gravadas, independente do tamanho da tabela.
+     */
+    private void updateStandings(TournamentMatch match, int sign) {
+        Long tournamentId = match.getTournament().getId();
+        TournamentTeam home = tournamentTeamRepository.findByTournamentIdAndTeamId(tournamentId, match.getTeam1().getId())
+            .orElseThrow(() -> new IllegalStateException("Time não inscrito no torneio"));
+        TournamentTeam away = tournamentTeamRepository.findByTournamentIdAndTeamId(tournamentId, match.getTeam2().getId())
+            .orElseThrow(() -> new IllegalStateException("Time não inscrito no torneio"));
+        
+        home.applyResult(match.getTeam1Score(), match.getTeam2Score(), sign);
+        away.applyResult(match.getTeam2Score(), match.getTeam1Score(), sign);
+        tournamentTeamRepository.saveAll(List.of(home, away));
+    }
+    
+    /**
+     * Encerra os pontos corridos quando não resta partida a jogar: o líder da classificação é o campeão
+     * Se um resultado é corrigido depois do encerramento, campeão e vice são recalculados a partir da
+     * classificação atualizada (quem perdeu a posição volta a CONFIRMED).
+     */
+    private void checkLeagueCompletion(Tournament tournament) {
+        long unfinished = tournamentMatchRepository.countByTournamentIdAndStatusNotIn(tournament.getId(),
+            List.of(TournamentMatch.MatchStatus.FINISHED, TournamentMatch.MatchStatus.WALKOVER));
+        if (unfinished > 0) {
+            return;
+        }
+        
+        List<TournamentTeam> standings = tournamentTeamRepository.findStandings(tournament.getId());
+        for (int i = 0; i < standings.size(); i++) {
+            TournamentTeam team = standings.get(i);
+            if (i == 0) {
+                team.setStatus(TournamentTeam.TeamStatus.CHAMPION);
+            } else if (i == 1) {
+                team.setStatus(TournamentTeam.TeamStatus.RUNNER_UP);
+            } else if (team.getStatus() == TournamentTeam.TeamStatus.CHAMPION
+                    || team.getStatus() == TournamentTeam.TeamStatus.RUNNER_UP) {
+                team.setStatus(TournamentTeam.TeamStatus.CONFIRMED);
+            }
+        }
+        tournamentTeamRepository.saveAll(standings);
+        
+        if (tournament.getStatus() == Tournament.TournamentStatus.FINISHED) {
+            log.info("Torneio {} recalculado após correção de resultado. Campeão: {}", tournament.getName(),
+                standings.get(0).getTeam().getNameTeam());
+            return;
+        }
+        tournament.setStatus(Tournament.TournamentStatus.FINISHED);
+        tournament.setEndDate(LocalDateTime.now());
+        tournamentRepository.save(tournament);
+        
+        log.info("Torneio {} finalizado! Campeão: {}", tournament.getName(), standings.get(0).getTeam().getNameTeam());
     }
     
     /**
@@ -430,13 +769,8 @@ public class TournamentService {
         return tournamentMatchRepository.findByTournamentIdAndRound(tournamentId, round);
     }
     
-    // Métodos auxiliares
-    
-    private int getNextPowerOfTwo(int n) {
-        int power = 2;
-        while (power < n) {
-            power *= 2;
-        }
-        return power;
+    public List<TournamentTeam> getStandings(Long tournamentId) {
+        return tournamentTeamRepository.findStandings(tournamentId);
     }
+    
 }
@@ -0,0 +1,156 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fiap.projects.apipassabola.entity.UnreadCounter;
+import com.fiap.projects.apipassabola.entity.UserType;
+import com.fiap.projects.apipassabola.repository.UnreadCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Contadores de não lidos (badges) de chat e notificações
+ *
+ * Cada contador é uma linha de unread_counters, alterada na mesma transação que cria ou marca como
+ * lidos os itens. Depois do commit, o novo valor entra em um cache LRU de {@link #MAX_CACHED_COUNTERS}
+ * contadores e é enviado por WebSocket, então os clientes não precisam consultar os badges: as
+ * leituras restantes vêm do cache ou de uma linha pela chave única. A revisão da linha ordena as
+ * atualizações do cache, de modo que um commit mais antigo nunca sobrescreve um mais novo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCounterService {
+
+    private static final int MAX_CACHED_COUNTERS = 10_000;
+
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Object lock = new Object();
+    private final Map<CounterKey, CachedCounter> counters = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CounterKey, CachedCounter> eldest) {
+            return size() > MAX_CACHED_COUNTERS;
+        }
+    };
+
+    /**
+     * Mensagens de chat não lidas do usuário
+     */
+    public long getChatUnread(UniversalUserService.UserInfo user) {
+        return get(new CounterKey(UnreadCounter.Kind.CHAT, user.userType, user.userId));
+    }
+
+    /**
+     * Notificações não lidas do usuário
+     */
+    public long getNotificationUnread(Long userId, UserType userType) {
+        return get(new CounterKey(UnreadCounter.Kind.NOTIFICATION, userType, userId));
+    }
+
+    /**
+     * Soma delta às mensagens de chat não lidas; o novo valor vai para /user/queue/chat/unread
+     */
+    public void chatChanged(UniversalUserService.UserInfo user, int delta) {
+        String email = user.email;
+        change(new CounterKey(UnreadCounter.Kind.CHAT, user.userType, user.userId), delta,
+            unread -> messagingTemplate.convertAndSendToUser(email, "/queue/chat/unread", countUpdate(unread)));
+    }
+
+    /**
+     * Soma delta às notificações não lidas; o novo valor vai para /topic/notifications/{tipo}/{id}/count
+     */
+    public void notificationsChanged(Long userId, UserType userType, int delta) {
+        String destination = String.format("/topic/notifications/%s/%d/count",
+                userType.toString().toLowerCase(), userId);
+        change(new CounterKey(UnreadCounter.Kind.NOTIFICATION, userType, userId), delta,
+            unread -> messagingTemplate.convertAndSend(destination, countUpdate(unread)));
+    }
+
+    /**
+     * Descarta os valores em cache (usado depois que os contadores são recriados por migração)
+     */
+    public void clearCache() {
+        synchronized (lock) {
+            counters.clear();
+        }
+    }
+
+    private long get(CounterKey key) {
+        synchronized (lock) {
+            CachedCounter cached = counters.get(key);
+            if (cached != null) {
+                return cached.unread;
+            }
+        }
+        CachedCounter loaded = unreadCounterRepository.findByKindAndUserTypeAndUserId(key.kind, key.userType, key.userId)
+                .map(counter -> new CachedCounter(counter.getUnread(), counter.getRevision()))
+                .orElse(new CachedCounter(0, 0L));
+        install(key, loaded);
+        return loaded.unread;
+    }
+
+    private void change(CounterKey key, int delta, IntConsumer push) {
+        if (delta == 0) {
+            return;
+        }
+        UnreadCounter counter = unreadCounterRepository.add(key.kind, key.userType, key.userId, delta);
+        CachedCounter changed = new CachedCounter(counter.getUnread(), counter.getRevision());
+        afterCommit(() -> {
+            // Só o commit mais recente é enviado; um atrasado já foi superado por outro envio
+            if (install(key, changed)) {
+                try {
+                    push.accept(changed.unread);
+                } catch (Exception e) {
+                    log.error("Failed to push unread counter {}: {}", key, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private boolean install(CounterKey key, CachedCounter counter) {
+        synchronized (lock) {
+            CachedCounter current = counters.get(key);
+            if (current != null && current.revision > counter.revision) {
+                return false;
+            }
+            counters.put(key, counter);
+            return true;
+        }
+    }
+
+    private Map<String, Object> countUpdate(int unread) {
+        Map<String, Object> update = new HashMap<>();
+        update.put("unreadCount", (long) unread);
+        update.put("timestamp", LocalDateTime.now());
+        return update;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record CounterKey(UnreadCounter.Kind kind, UserType userType, Long userId) {
+    }
+
+    private record CachedCounter(int unread, long revision) {
+    }
+}
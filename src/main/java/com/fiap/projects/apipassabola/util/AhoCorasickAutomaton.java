@@ -0,0 +1,218 @@
+package com.fiap.projects.apipassabola.util;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Autômato Aho-Corasick imutável para busca de múltiplos termos em uma única passada
+ *
+ * O dicionário é compilado em um DFA completo (transições de falha já resolvidas) sobre
+ * um alfabeto reduzido: apenas os caracteres que aparecem nos termos ganham uma classe própria,
+ * todos os demais caem na classe 0. A busca normaliza cada caractere (minúsculas e sem acento)
+ * por tabela, de modo que o texto original não precisa ser copiado e as posições encontradas
+ * correspondem diretamente às posições do texto de entrada.
+ *
+ * Cada termo carrega um "peso" inteiro (ex.: o ordinal de uma ação de moderação); a busca
+ * devolve o maior peso encontrado, respeitando limites de palavra.
+ */
+public final class AhoCorasickAutomaton {
+
+    /** Resultado quando nenhum termo é encontrado */
+    public static final int NO_MATCH = -1;
+
+    private static final char[] FOLD = buildFoldTable();
+
+    private final char[] charClass;
+    private final int alphabetSize;
+    private final int[] delta;
+    private final int[] termLength;
+    private final int[] termWeight;
+    private final int[] outputLink;
+    private final int termCount;
+
+    private AhoCorasickAutomaton(char[] charClass, int alphabetSize, int[] delta,
+                                 int[] termLength, int[] termWeight, int[] outputLink, int termCount) {
+        this.charClass = charClass;
+        this.alphabetSize = alphabetSize;
+        this.delta = delta;
+        this.termLength = termLength;
+        this.termWeight = termWeight;
+        this.outputLink = outputLink;
+        this.termCount = termCount;
+    }
+
+    /**
+     * Callback chamado para cada ocorrência válida (com limites de palavra) durante a busca
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+        void onMatch(int start, int end, int weight);
+    }
+
+    /**
+     * Normaliza um caractere: minúsculo e sem diacríticos (á -> a, Ç -> c)
+     */
+    public static char fold(char c) {
+        return FOLD[c];
+    }
+
+    /**
+     * Compila o dicionário de termos (termo -> peso). Termos vazios após normalização são ignorados;
+     * termos repetidos ficam com o maior peso.
+     */
+    public static AhoCorasickAutomaton compile(Map<String, Integer> terms) {
+        // 1. Alfabeto reduzido a partir dos termos normalizados
+        char[] charClass = new char[Character.MAX_VALUE + 1];
+        int alphabetSize = 1;
+        List<char[]> normalizedTerms = new ArrayList<>(terms.size());
+        List<Integer> weights = new ArrayList<>(terms.size());
+        for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+            char[] term = normalize(entry.getKey());
+            if (term.length == 0) {
+                continue;
+            }
+            for (char c : term) {
+                if (charClass[c] == 0) {
+                    charClass[c] = (char) alphabetSize++;
+                }
+            }
+            normalizedTerms.add(term);
+            weights.add(entry.getValue());
+        }
+
+        // 2. Trie com mapas esparsos (apenas durante a construção)
+        List<Map<Integer, Integer>> gotoFn = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> nodeWeights = new ArrayList<>();
+        gotoFn.add(new HashMap<>());
+        lengths.add(0);
+        nodeWeights.add(NO_MATCH);
+        int termCount = 0;
+        for (int t = 0; t < normalizedTerms.size(); t++) {
+            char[] term = normalizedTerms.get(t);
+            int state = 0;
+            for (char c : term) {
+                int cls = charClass[c];
+                Integer next = gotoFn.get(state).get(cls);
+                if (next == null) {
+                    next = gotoFn.size();
+                    gotoFn.add(new HashMap<>());
+                    lengths.add(0);
+                    nodeWeights.add(NO_MATCH);
+                    gotoFn.get(state).put(cls, next);
+                }
+                state = next;
+            }
+            if (nodeWeights.get(state) == NO_MATCH) {
+                termCount++;
+            }
+            lengths.set(state, term.length);
+            nodeWeights.set(state, Math.max(nodeWeights.get(state), weights.get(t)));
+        }
+
+        // 3. BFS: links de falha resolvidos direto na tabela de transições e links de saída
+        int stateCount = gotoFn.size();
+        int[] delta = new int[stateCount * alphabetSize];
+        int[] failure = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        Arrays.fill(outputLink, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Integer, Integer> edge : gotoFn.get(0).entrySet()) {
+            delta[edge.getKey()] = edge.getValue();
+            queue.add(edge.getValue());
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fail = failure[state];
+            outputLink[state] = nodeWeights.get(fail) != NO_MATCH ? fail : outputLink[fail];
+            System.arraycopy(delta, fail * alphabetSize, delta, state * alphabetSize, alphabetSize);
+            for (Map.Entry<Integer, Integer> edge : gotoFn.get(state).entrySet()) {
+                int child = edge.getValue();
+                failure[child] = delta[fail * alphabetSize + edge.getKey()];
+                delta[state * alphabetSize + edge.getKey()] = child;
+                queue.add(child);
+            }
+        }
+
+        int[] termLength = new int[stateCount];
+        int[] termWeight = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            termLength[s] = lengths.get(s);
+            termWeight[s] = nodeWeights.get(s);
+        }
+        return new AhoCorasickAutomaton(charClass, alphabetSize, delta, termLength, termWeight, outputLink, termCount);
+    }
+
+    /**
+     * Busca todos os termos no texto em uma única passada, sem alocação
+     * @return o maior peso entre as ocorrências encontradas ou {@link #NO_MATCH}
+     */
+    public int scan(CharSequence text) {
+        return scan(text, null);
+    }
+
+    /**
+     * Busca todos os termos no texto em uma única passada, notificando cada ocorrência ao listener
+     * @return o maior peso entre as ocorrências encontradas ou {@link #NO_MATCH}
+     */
+    public int scan(CharSequence text, MatchListener listener) {
+        int best = NO_MATCH;
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            state = delta[state * alphabetSize + charClass[FOLD[text.charAt(i)]]];
+            int out = termWeight[state] != NO_MATCH ? state : outputLink[state];
+            while (out > 0) {
+                int start = i - termLength[out] + 1;
+                if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    best = Math.max(best, termWeight[out]);
+                    if (listener != null) {
+                        listener.onMatch(start, i + 1, termWeight[out]);
+                    }
+                }
+                out = outputLink[out];
+            }
+        }
+        return best;
+    }
+
+    public int getTermCount() {
+        return termCount;
+    }
+
+    public int getStateCount() {
+        return termLength.length;
+    }
+
+    private static boolean isBoundary(CharSequence text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static char[] normalize(String term) {
+        String trimmed = term == null ? "" : term.trim();
+        char[] chars = new char[trimmed.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = FOLD[trimmed.charAt(i)];
+        }
+        return chars;
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            char lower = Character.toLowerCase((char) c);
+            if (lower >= 0x00C0 && lower <= 0x024F) {
+                // Latin-1 Supplement / Latin Extended: remove o diacrítico pela decomposição NFD
+                String decomposed = Normalizer.normalize(String.valueOf(lower), Normalizer.Form.NFD);
+                lower = decomposed.charAt(0);
+            }
+            table[c] = lower;
+        }
+        return table;
+    }
+}
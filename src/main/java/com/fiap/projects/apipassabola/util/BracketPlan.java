@@ -0,0 +1,478 @@
+package com.fiap.projects.apipassabola.util;
+
+import com.fiap.projects.apipassabola.entity.TournamentMatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chaveamento calculado em memória, antes de qualquer gravação
+ *
+ * Os participantes são identificados pela posição de seed (0 = mais forte). A chave é montada para a
+ * próxima potência de 2 com a ordem de seeds padrão (1 x 16, 8 x 9, 4 x 13...), então os mais fortes
+ * só se enfrentam nas últimas rodadas. Vagas sem participante (byes) são eliminadas em uma passada:
+ * partida com um lado vazio some e quem chegaria nela vai direto para a partida seguinte; com os dois
+ * lados vazios, o lado vazio se propaga. Cada partida só aponta para partidas criadas depois dela,
+ * então percorrer {@link #getMatches()} de trás para frente grava os destinos antes das origens.
+ *
+ * Tudo é linear no número de participantes (grupos: linear para tamanho de grupo fixo).
+ */
+public final class BracketPlan {
+
+    public static final int NONE = -1;
+
+    /** Marcador interno de vaga vazia (seed inexistente) na primeira rodada */
+    private static final int EMPTY_SEED = -2;
+
+    /**
+     * Partida planejada
+     * Os lados (slot 0 = team1, slot 1 = team2) podem vir preenchidos com uma seed ({@link #getEntrant1()}):
+     * na fase de grupos e no mata-mata comum é a seed do time, no mata-mata após grupos é o código do
+     * classificado ({@link #qualifierCode}).
+     */
+    public static final class Match {
+        private final TournamentMatch.Stage stage;
+        private final String round;
+        private final int groupNumber;
+        private int matchNumber;
+        private int position;
+        private final int[] entrants = {NONE, NONE};
+        private int winnerNext = NONE;
+        private int winnerSlot;
+        private int loserNext = NONE;
+        private int loserSlot;
+
+        private Match(TournamentMatch.Stage stage, String round, int groupNumber) {
+            this.stage = stage;
+            this.round = round;
+            this.groupNumber = groupNumber;
+        }
+
+        public TournamentMatch.Stage getStage() {
+            return stage;
+        }
+
+        public String getRound() {
+            return round;
+        }
+
+        /** Grupo (1, 2, 3...) ou 0 fora da fase de grupos */
+        public int getGroupNumber() {
+            return groupNumber;
+        }
+
+        public int getMatchNumber() {
+            return matchNumber;
+        }
+
+        /** Posição sequencial no chaveamento (para visualização) */
+        public int getPosition() {
+            return position;
+        }
+
+        public int getEntrant1() {
+            return entrants[0];
+        }
+
+        public int getEntrant2() {
+            return entrants[1];
+        }
+
+        public boolean isReady() {
+            return entrants[0] != NONE && entrants[1] != NONE;
+        }
+
+        /** Índice da partida que recebe o vencedor, ou NONE */
+        public int getWinnerNext() {
+            return winnerNext;
+        }
+
+        public int getWinnerSlot() {
+            return winnerSlot;
+        }
+
+        /** Índice da partida que recebe o perdedor (dupla eliminação), ou NONE */
+        public int getLoserNext() {
+            return loserNext;
+        }
+
+        public int getLoserSlot() {
+            return loserSlot;
+        }
+    }
+
+    private final List<Match> matches;
+    private final int groups;
+
+    private BracketPlan(List<Match> matches, int groups) {
+        this.matches = matches;
+        this.groups = groups;
+    }
+
+    /** Partidas em ordem de criação (origens antes dos destinos) */
+    public List<Match> getMatches() {
+        return matches;
+    }
+
+    /** Quantidade de grupos (0 sem fase de grupos) */
+    public int getGroups() {
+        return groups;
+    }
+
+    /**
+     * Código do classificado de um grupo, usado nas vagas do mata-mata após a fase de grupos
+     * @param rank colocação no grupo (0 = primeiro)
+     * @param group grupo (0 = primeiro grupo)
+     */
+    public static int qualifierCode(int rank, int group, int groups) {
+        return rank * groups + group;
+    }
+
+    /**
+     * Mata-mata simples para qualquer quantidade de participantes (byes para as melhores seeds)
+     */
+    public static BracketPlan singleElimination(int entrants) {
+        Builder builder = new Builder();
+        builder.winnersBracket(entrants, bracketSize(entrants), false);
+        return builder.build(0);
+    }
+
+    /**
+     * Dupla eliminação: chave de vencedores, chave de perdedores e grande final
+     * Quem perde na chave de vencedores cai na de perdedores, alternando rodadas de entrada (perdedores
+     * da rodada da chave principal contra os sobreviventes) e rodadas internas. A grande final é
+     * uma única partida entre os campeões das duas chaves.
+     */
+    public static BracketPlan doubleElimination(int entrants) {
+        Builder builder = new Builder();
+        int size = Math.max(4, bracketSize(entrants));
+        int[][] winners = builder.winnersBracket(entrants, size, true);
+        int rounds = winners.length;
+
+        // Rodada 1 dos perdedores: perdedores da primeira rodada, dois a dois
+        int lowerRound = 1;
+        int totalLowerRounds = 2 * (rounds - 1);
+        int[] survivors = new int[winners[0].length / 2];
+        for (int j = 0; j < survivors.length; j++) {
+            survivors[j] = builder.add(TournamentMatch.Stage.LOSERS, loserRoundName(lowerRound, totalLowerRounds), 0);
+            builder.linkLoser(winners[0][2 * j], survivors[j], 0);
+            builder.linkLoser(winners[0][2 * j + 1], survivors[j], 1);
+        }
+
+        for (int k = 1; k < rounds; k++) {
+            // Rodada de entrada: sobreviventes contra os perdedores da rodada k (em ordem invertida,
+            // para adiar revanches)
+            lowerRound++;
+            int[] dropIn = new int[winners[k].length];
+            for (int j = 0; j < dropIn.length; j++) {
+                dropIn[j] = builder.add(TournamentMatch.Stage.LOSERS, loserRoundName(lowerRound, totalLowerRounds), 0);
+                builder.linkWinner(survivors[j], dropIn[j], 0);
+                builder.linkLoser(winners[k][dropIn.length - 1 - j], dropIn[j], 1);
+            }
+            survivors = dropIn;
+
+            if (k < rounds - 1) {
+                // Rodada interna: sobreviventes dois a dois
+                lowerRound++;
+                int[] halved = new int[survivors.length / 2];
+                for (int j = 0; j < halved.length; j++) {
+                    halved[j] = builder.add(TournamentMatch.Stage.LOSERS, loserRoundName(lowerRound, totalLowerRounds), 0);
+                    builder.linkWinner(survivors[2 * j], halved[j], 0);
+                    builder.linkWinner(survivors[2 * j + 1], halved[j], 1);
+                }
+                survivors = halved;
+            }
+        }
+
+        int grandFinal = builder.add(TournamentMatch.Stage.GRAND_FINAL, "FINAL", 0);
+        builder.linkWinner(winners[rounds - 1][0], grandFinal, 0);
+        builder.linkWinner(survivors[0], grandFinal, 1);
+        return builder.build(0);
+    }
+
+    /**
+     * Fase de grupos (todos contra todos dentro do grupo) seguida de mata-mata simples
+     * Times são distribuídos em serpentina pelas seeds (grupo 1, 2, ..., G, G, ..., 2, 1, 1, 2...),
+     * equilibrando a força dos grupos. O mata-mata tem groups * qualifiersPerGroup participantes:
+     * todos os primeiros colocados como as seeds mais fortes, depois os segundos, e assim por diante.
+     * Dentro de cada colocação os grupos seguem a ordem direta ou invertida, a que evitar mais
+     * confrontos entre times do mesmo grupo logo na primeira partida do mata-mata. As vagas
+     * guardam o {@link #qualifierCode} do classificado.
+     */
+    public static BracketPlan groupsAndKnockout(int teams, int groupSize, int qualifiersPerGroup) {
+        int groups = (teams + groupSize - 1) / groupSize;
+        List<List<Integer>> members = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            members.add(new ArrayList<>(groupSize));
+        }
+        for (int seed = 0; seed < teams; seed++) {
+            members.get(groupOf(seed, groups)).add(seed);
+        }
+
+        Builder builder = new Builder();
+        for (int g = 0; g < groups; g++) {
+            List<Integer> group = members.get(g);
+            String round = "GROUP_" + groupLabel(g);
+            for (int a = 0; a < group.size(); a++) {
+                for (int b = a + 1; b < group.size(); b++) {
+                    int match = builder.add(TournamentMatch.Stage.GROUP, round, g + 1);
+                    builder.entrant(match, 0, group.get(a));
+                    builder.entrant(match, 1, group.get(b));
+                }
+            }
+        }
+        int entrants = groups * qualifiersPerGroup;
+        builder.winnersBracket(entrants, bracketSize(entrants), false);
+        BracketPlan plan = builder.build(groups);
+
+        List<Match> knockout = plan.matches.stream().filter(m -> m.stage != TournamentMatch.Stage.GROUP).toList();
+        boolean reversed = sameGroupPairings(knockout, groups, true) < sameGroupPairings(knockout, groups, false);
+        for (Match match : knockout) {
+            for (int slot = 0; slot < 2; slot++) {
+                int seed = match.entrants[slot];
+                if (seed != NONE) {
+                    match.entrants[slot] = qualifierCode(seed / groups, groupOfQualifier(seed, groups, reversed), groups);
+                }
+            }
+        }
+        return plan;
+    }
+
+    /** Grupo do classificado de uma seed do mata-mata (colocações ímpares podem vir em ordem invertida) */
+    private static int groupOfQualifier(int seed, int groups, boolean reversed) {
+        int rank = seed / groups;
+        int index = seed % groups;
+        return reversed && rank % 2 == 1 ? groups - 1 - index : index;
+    }
+
+    private static int sameGroupPairings(List<Match> knockout, int groups, boolean reversed) {
+        int pairings = 0;
+        for (Match match : knockout) {
+            if (match.isReady() && groupOfQualifier(match.entrants[0], groups, reversed)
+                    == groupOfQualifier(match.entrants[1], groups, reversed)) {
+                pairings++;
+            }
+        }
+        return pairings;
+    }
+
+    /** Grupo de uma seed na distribuição em serpentina (0 = primeiro grupo) */
+    public static int groupOf(int seed, int groups) {
+        int row = seed / groups;
+        int col = seed % groups;
+        return row % 2 == 0 ? col : groups - 1 - col;
+    }
+
+    /** Nome de uma rodada do mata-mata pela quantidade de times que a disputam */
+    public static String roundName(int teamsInRound) {
+        return switch (teamsInRound) {
+            case 2 -> "FINAL";
+            case 4 -> "SEMI";
+            case 8 -> "QUARTER";
+            case 16 -> "ROUND_OF_16";
+            case 32 -> "ROUND_OF_32";
+            default -> "ROUND_OF_" + teamsInRound;
+        };
+    }
+
+    public static String groupLabel(int group) {
+        StringBuilder label = new StringBuilder();
+        for (int g = group; g >= 0; g = g / 26 - 1) {
+            label.insert(0, (char) ('A' + g % 26));
+        }
+        return label.toString();
+    }
+
+    /** Menor potência de 2 que comporta os participantes */
+    public static int bracketSize(int entrants) {
+        int size = 2;
+        while (size < entrants) {
+            size *= 2;
+        }
+        return size;
+    }
+
+    /**
+     * Ordem de seeds de uma chave (0-based): pares consecutivos são os confrontos da primeira rodada
+     * e a seed s sempre enfrenta size - 1 - s
+     */
+    static int[] seedOrder(int size) {
+        int[] order = {0};
+        for (int length = 1; length < size; length *= 2) {
+            int[] next = new int[length * 2];
+            for (int i = 0; i < length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = 2 * length - 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    private static String loserRoundName(int round, int totalRounds) {
+        return round == totalRounds ? "LOSERS_FINAL" : "LOSERS_ROUND_" + round;
+    }
+
+    /**
+     * Monta o grafo completo (com vagas vazias) e depois remove os byes
+     */
+    private static final class Builder {
+
+        private static final int UNSET = 0;
+        private static final int ENTRANT = 1;
+        private static final int LIVE = 2;
+        private static final int EMPTY = 3;
+
+        private final List<Match> nodes = new ArrayList<>();
+
+        int add(TournamentMatch.Stage stage, String round, int groupNumber) {
+            nodes.add(new Match(stage, round, groupNumber));
+            return nodes.size() - 1;
+        }
+
+        void entrant(int match, int slot, int seed) {
+            nodes.get(match).entrants[slot] = seed;
+        }
+
+        void linkWinner(int from, int to, int slot) {
+            nodes.get(from).winnerNext = to;
+            nodes.get(from).winnerSlot = slot;
+        }
+
+        void linkLoser(int from, int to, int slot) {
+            nodes.get(from).loserNext = to;
+            nodes.get(from).loserSlot = slot;
+        }
+
+        /**
+         * Chave principal com as seeds >= entrants como vagas vazias
+         * @return índices das partidas por rodada
+         */
+        int[][] winnersBracket(int entrants, int size, boolean doubleElimination) {
+            int rounds = Integer.numberOfTrailingZeros(size);
+            int[][] byRound = new int[rounds][];
+            int[] order = seedOrder(size);
+            for (int r = 0; r < rounds; r++) {
+                int teamsInRound = size >> r;
+                String round = roundName(teamsInRound);
+                if (doubleElimination && teamsInRound == 2) {
+                    round = "WINNERS_FINAL";
+                }
+                byRound[r] = new int[teamsInRound / 2];
+                for (int i = 0; i < byRound[r].length; i++) {
+                    int match = add(TournamentMatch.Stage.WINNERS, round, 0);
+                    byRound[r][i] = match;
+                    if (r == 0) {
+                        // Seeds inexistentes viram vaga vazia (bye)
+                        nodes.get(match).entrants[0] = order[2 * i] < entrants ? order[2 * i] : EMPTY_SEED;
+                        nodes.get(match).entrants[1] = order[2 * i + 1] < entrants ? order[2 * i + 1] : EMPTY_SEED;
+                    } else {
+                        linkWinner(byRound[r - 1][2 * i], match, 0);
+                        linkWinner(byRound[r - 1][2 * i + 1], match, 1);
+                    }
+                }
+            }
+            return byRound;
+        }
+
+        /**
+         * Remove os byes e numera as partidas restantes
+         * Cada lado de partida recebe exatamente uma entrada: uma seed, o resultado de uma partida
+         * anterior ou vazio. Como as origens vêm antes dos destinos, uma passada em ordem basta.
+         */
+        BracketPlan build(int groups) {
+            int n = nodes.size();
+            int[] kind = new int[n * 2];
+            int[] source = new int[n * 2];      // partida de origem (LIVE)
+            boolean[] fromLoser = new boolean[n * 2];
+            int[] seed = new int[n * 2];        // seed conhecida (ENTRANT)
+
+            for (int x = 0; x < n; x++) {
+                for (int slot = 0; slot < 2; slot++) {
+                    int entrant = nodes.get(x).entrants[slot];
+                    if (entrant == EMPTY_SEED) {
+                        kind[x * 2 + slot] = EMPTY;
+                    } else if (entrant != NONE) {
+                        kind[x * 2 + slot] = ENTRANT;
+                        seed[x * 2 + slot] = entrant;
+                    }
+                }
+            }
+
+            boolean[] removed = new boolean[n];
+            for (int x = 0; x < n; x++) {
+                Match match = nodes.get(x);
+                int k0 = kind[x * 2];
+                int k1 = kind[x * 2 + 1];
+                if (k0 != EMPTY && k1 != EMPTY) {
+                    // Partida mantida: entrega seus resultados adiante
+                    deliver(kind, source, fromLoser, match.winnerNext, match.winnerSlot, LIVE, x, false);
+                    deliver(kind, source, fromLoser, match.loserNext, match.loserSlot, LIVE, x, true);
+                    for (int slot = 0; slot < 2; slot++) {
+                        match.entrants[slot] = kind[x * 2 + slot] == ENTRANT ? seed[x * 2 + slot] : NONE;
+                    }
+                    continue;
+                }
+
+                removed[x] = true;
+                int live = k0 != EMPTY ? 0 : (k1 != EMPTY ? 1 : NONE);
+                if (live == NONE) {
+                    deliver(kind, source, fromLoser, match.winnerNext, match.winnerSlot, EMPTY, NONE, false);
+                } else if (kind[x * 2 + live] == ENTRANT) {
+                    // Bye: a seed passa direto para a próxima partida
+                    if (match.winnerNext != NONE) {
+                        kind[match.winnerNext * 2 + match.winnerSlot] = ENTRANT;
+                        seed[match.winnerNext * 2 + match.winnerSlot] = seed[x * 2 + live];
+                    }
+                } else {
+                    // O resultado que chegaria aqui vai direto para o destino desta partida
+                    int from = source[x * 2 + live];
+                    boolean loser = fromLoser[x * 2 + live];
+                    if (loser) {
+                        nodes.get(from).loserNext = match.winnerNext;
+                        nodes.get(from).loserSlot = match.winnerSlot;
+                    } else {
+                        nodes.get(from).winnerNext = match.winnerNext;
+                        nodes.get(from).winnerSlot = match.winnerSlot;
+                    }
+                    deliver(kind, source, fromLoser, match.winnerNext, match.winnerSlot, LIVE, from, loser);
+                }
+                deliver(kind, source, fromLoser, match.loserNext, match.loserSlot, EMPTY, NONE, false);
+            }
+
+            // Renumera as partidas mantidas (índices, número na rodada e posição)
+            int[] index = new int[n];
+            List<Match> kept = new ArrayList<>(n);
+            Map<String, Integer> numbers = new HashMap<>();
+            for (int x = 0; x < n; x++) {
+                if (removed[x]) {
+                    index[x] = NONE;
+                    continue;
+                }
+                Match match = nodes.get(x);
+                index[x] = kept.size();
+                match.position = kept.size();
+                match.matchNumber = numbers.merge(match.round, 1, Integer::sum);
+                kept.add(match);
+            }
+            for (Match match : kept) {
+                match.winnerNext = match.winnerNext == NONE ? NONE : index[match.winnerNext];
+                match.loserNext = match.loserNext == NONE ? NONE : index[match.loserNext];
+            }
+            return new BracketPlan(Collections.unmodifiableList(kept), groups);
+        }
+
+        private static void deliver(int[] kind, int[] source, boolean[] fromLoser, int target, int slot,
+                                    int deliveredKind, int from, boolean loser) {
+            if (target == NONE) {
+                return;
+            }
+            kind[target * 2 + slot] = deliveredKind;
+            source[target * 2 + slot] = from;
+            fromLoser[target * 2 + slot] = loser;
+        }
+    }
+}
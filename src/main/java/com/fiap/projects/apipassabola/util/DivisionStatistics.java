@@ -0,0 +1,146 @@
+package com.fiap.projects.apipassabola.util;
+
+import com.fiap.projects.apipassabola.entity.Division;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Agregado de pontuação por divisão mantido incrementalmente: histograma de pontos em faixas de
+ * {@link #BUCKET_WIDTH} pontos, com quantidade e soma de pontos por faixa
+ *
+ * Todos os limites de divisão são múltiplos de {@link #BUCKET_WIDTH}, então cada faixa pertence a
+ * uma única divisão e a quantidade, a soma e a média de uma divisão saem da soma das suas faixas.
+ * A última faixa é aberta (acumula todas as pontuações acima dela).
+ *
+ * Alterações são somas/subtrações, então podem ser aplicadas em qualquer ordem. Um contador de
+ * alterações permite que a reconciliação com o banco descarte um resultado já desatualizado.
+ */
+public final class DivisionStatistics {
+
+    public static final int BUCKET_WIDTH = 10;
+    public static final int BUCKETS = 50;
+
+    private final long[] counts = new long[BUCKETS];
+    private final long[] sums = new long[BUCKETS];
+    private long modifications;
+
+    /**
+     * Registra a troca de pontuação de um registro
+     * @param previous pontuação anterior, ou null para registro novo
+     * @param current pontuação atual, ou null para registro removido
+     */
+    public synchronized void move(Integer previous, Integer current) {
+        if (previous != null) {
+            int bucket = bucketOf(previous);
+            counts[bucket]--;
+            sums[bucket] -= previous;
+        }
+        if (current != null) {
+            int bucket = bucketOf(current);
+            counts[bucket]++;
+            sums[bucket] += current;
+        }
+        modifications++;
+    }
+
+    /**
+     * Recalcula tudo a partir das pontuações informadas (carga do leaderboard)
+     */
+    public void replaceAll(Collection<Integer> points) {
+        long[] newCounts = new long[BUCKETS];
+        long[] newSums = new long[BUCKETS];
+        for (Integer value : points) {
+            int bucket = bucketOf(value);
+            newCounts[bucket]++;
+            newSums[bucket] += value;
+        }
+        synchronized (this) {
+            System.arraycopy(newCounts, 0, counts, 0, BUCKETS);
+            System.arraycopy(newSums, 0, sums, 0, BUCKETS);
+            modifications++;
+        }
+    }
+
+    /**
+     * Contador de alterações, lido antes da consulta de reconciliação
+     */
+    public synchronized long modifications() {
+        return modifications;
+    }
+
+    /**
+     * Substitui o histograma pelo resultado da reconciliação, se nada mudou desde que a consulta
+     * começou (caso contrário o resultado já está desatualizado e fica para a próxima rodada)
+     * @param rows linhas [faixa, quantidade, soma] agrupadas por floor(pontos / BUCKET_WIDTH)
+     * @return quantidade de registros que divergiam, ou -1 se a reconciliação foi descartada
+     */
+    public long reconcile(long expectedModifications, Collection<Object[]> rows) {
+        long[] newCounts = new long[BUCKETS];
+        long[] newSums = new long[BUCKETS];
+        for (Object[] row : rows) {
+            int bucket = (int) Math.min(BUCKETS - 1, Math.max(0, ((Number) row[0]).longValue()));
+            newCounts[bucket] += ((Number) row[1]).longValue();
+            newSums[bucket] += ((Number) row[2]).longValue();
+        }
+        synchronized (this) {
+            if (modifications != expectedModifications) {
+                return -1;
+            }
+            long drift = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                drift += Math.abs(counts[b] - newCounts[b]);
+            }
+            System.arraycopy(newCounts, 0, counts, 0, BUCKETS);
+            System.arraycopy(newSums, 0, sums, 0, BUCKETS);
+            return drift;
+        }
+    }
+
+    public synchronized long count(Division division) {
+        long total = 0;
+        for (int b = firstBucket(division); b <= lastBucket(division); b++) {
+            total += counts[b];
+        }
+        return total;
+    }
+
+    public synchronized double averagePoints(Division division) {
+        long count = 0;
+        long sum = 0;
+        for (int b = firstBucket(division); b <= lastBucket(division); b++) {
+            count += counts[b];
+            sum += sums[b];
+        }
+        return count > 0 ? (double) sum / count : 0.0;
+    }
+
+    /**
+     * Quantidade de registros em cada faixa da divisão, da menor para a maior pontuação
+     */
+    public synchronized long[] histogram(Division division) {
+        return Arrays.copyOfRange(counts, firstBucket(division), lastBucket(division) + 1);
+    }
+
+    /** Primeira pontuação da faixa */
+    public static int bucketStart(int bucket) {
+        return bucket * BUCKET_WIDTH;
+    }
+
+    /** Última pontuação da faixa (Integer.MAX_VALUE para a última faixa, que é aberta) */
+    public static int bucketEnd(int bucket) {
+        return bucket == BUCKETS - 1 ? Integer.MAX_VALUE : bucketStart(bucket + 1) - 1;
+    }
+
+    public static int firstBucket(Division division) {
+        return bucketOf(division.getMinPoints());
+    }
+
+    public static int lastBucket(Division division) {
+        return bucketOf(division.getMaxPoints());
+    }
+
+    private static int bucketOf(int points) {
+        return Math.min(BUCKETS - 1, Math.max(0, points) / BUCKET_WIDTH);
+    }
+}
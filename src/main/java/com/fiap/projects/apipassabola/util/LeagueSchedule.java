@@ -0,0 +1,195 @@
+package com.fiap.projects.apipassabola.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tabela de pontos corridos calculada em memória, antes de qualquer gravação
+ *
+ * Os confrontos saem do método do círculo: uma posição fica fixa e as demais giram uma casa por
+ * rodada, então cada time joga exatamente uma vez por rodada e enfrenta todos os outros. Com número
+ * ímpar de times a posição fixa é uma folga (quem cai nela descansa na rodada). O mando alterna por
+ * posição e pela paridade da rodada: com número par de times cada um tem no máximo um jogo a mais
+ * em casa do que fora (e o mínimo de sequências casa/casa ou fora/fora); com número ímpar o mando
+ * fica exatamente dividido. No returno os confrontos se repetem com o mando invertido.
+ *
+ * As datas são distribuídas na ordem das rodadas: cada jogo vai para o primeiro dia em que os dois
+ * times já cumpriram o descanso mínimo e o local ainda tem horário livre. Como os confrontos já
+ * saem válidos, não há busca: tudo é linear no número de jogos.
+ */
+public final class LeagueSchedule {
+
+    /**
+     * Jogo planejado
+     * Mandante e visitante são posições de seed (0 = primeira seed); o dia é contado a partir do início
+     * do torneio.
+     */
+    public static final class Fixture {
+        private final int round;
+        private final int matchNumber;
+        private final int home;
+        private final int away;
+        private int day;
+
+        private Fixture(int round, int matchNumber, int home, int away) {
+            this.round = round;
+            this.matchNumber = matchNumber;
+            this.home = home;
+            this.away = away;
+        }
+
+        /** Rodada (1, 2, 3...) */
+        public int getRound() {
+            return round;
+        }
+
+        /** Número do jogo dentro da rodada (1, 2, 3...) */
+        public int getMatchNumber() {
+            return matchNumber;
+        }
+
+        public int getHome() {
+            return home;
+        }
+
+        public int getAway() {
+            return away;
+        }
+
+        public int getDay() {
+            return day;
+        }
+    }
+
+    private final List<Fixture> fixtures;
+    private final int rounds;
+
+    private LeagueSchedule(List<Fixture> fixtures, int rounds) {
+        this.fixtures = fixtures;
+        this.rounds = rounds;
+    }
+
+    /** Jogos na ordem das rodadas */
+    public List<Fixture> getFixtures() {
+        return fixtures;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Monta a tabela de turno único ou de turno e returno
+     *
+     * @param teams         quantidade de times
+     * @param doubleRound   true para turno e returno
+     * @param restDays      dias mínimos de descanso entre dois jogos do mesmo time
+     * @param matchesPerDay jogos que o local comporta por dia (0 = sem limite)
+     */
+    public static LeagueSchedule roundRobin(int teams, boolean doubleRound, int restDays, int matchesPerDay) {
+        int slots = teams % 2 == 0 ? teams : teams + 1;
+        int roundsPerLeg = slots - 1;
+        int matchesPerRound = teams / 2;
+        List<Fixture> fixtures = new ArrayList<>(matchesPerRound * roundsPerLeg * (doubleRound ? 2 : 1));
+
+        // Posição 0 fixa (a folga, quando o número de times é ímpar); as demais giram
+        int[] position = new int[slots];
+        for (int i = 0; i < slots; i++) {
+            position[i] = (i + slots - 1) % slots;
+        }
+        for (int r = 0; r < roundsPerLeg; r++) {
+            int matchNumber = 0;
+            for (int k = 0; k < slots / 2; k++) {
+                int first = position[k];
+                int second = position[slots - 1 - k];
+                if (first >= teams || second >= teams) {
+                    continue; // Folga
+                }
+                boolean firstAtHome = k == 0 ? r % 2 == 0 : k % 2 == 1;
+                fixtures.add(firstAtHome
+                    ? new Fixture(r + 1, ++matchNumber, first, second)
+                    : new Fixture(r + 1, ++matchNumber, second, first));
+            }
+            int last = position[slots - 1];
+            System.arraycopy(position, 1, position, 2, slots - 2);
+            position[1] = last;
+        }
+
+        if (doubleRound) {
+            int firstLeg = fixtures.size();
+            for (int i = 0; i < firstLeg; i++) {
+                Fixture fixture = fixtures.get(i);
+                fixtures.add(new Fixture(fixture.round + roundsPerLeg, fixture.matchNumber, fixture.away, fixture.home));
+            }
+        }
+
+        assignDays(fixtures, teams, restDays, matchesPerDay);
+        return new LeagueSchedule(fixtures, doubleRound ? 2 * roundsPerLeg : roundsPerLeg);
+    }
+
+    /**
+     * Dia de cada jogo: o primeiro em que os dois times estão descansados e o local tem horário livre
+     */
+    private static void assignDays(List<Fixture> fixtures, int teams, int restDays, int matchesPerDay) {
+        int[] availableFrom = new int[teams];
+        VenueCalendar venue = new VenueCalendar(matchesPerDay);
+        for (Fixture fixture : fixtures) {
+            int day = Math.max(availableFrom[fixture.home], availableFrom[fixture.away]);
+            fixture.day = venue.book(day);
+            availableFrom[fixture.home] = fixture.day + restDays + 1;
+            availableFrom[fixture.away] = fixture.day + restDays + 1;
+        }
+    }
+
+    /**
+     * Horários ocupados do local por dia
+     * Dias lotados apontam para o dia seguinte (com compressão de caminho), então achar o próximo dia
+     * livre custa tempo quase constante.
+     */
+    private static final class VenueCalendar {
+        private final int capacity;
+        private int[] used = new int[64];
+        private int[] nextFree = new int[64];
+
+        private VenueCalendar(int capacity) {
+            this.capacity = capacity;
+            Arrays.setAll(nextFree, d -> d);
+        }
+
+        /** Reserva um horário no primeiro dia livre a partir de earliest */
+        int book(int earliest) {
+            if (capacity <= 0) {
+                return earliest;
+            }
+            ensureDay(earliest);
+            int day = earliest;
+            while (nextFree[day] != day) {
+                day = nextFree[day];
+            }
+            for (int d = earliest; nextFree[d] != day; ) {
+                int next = nextFree[d];
+                nextFree[d] = day;
+                d = next;
+            }
+            if (++used[day] == capacity) {
+                ensureDay(day + 1);
+                nextFree[day] = day + 1;
+            }
+            return day;
+        }
+
+        private void ensureDay(int day) {
+            if (day < nextFree.length) {
+                return;
+            }
+            int from = nextFree.length;
+            int grown = Math.max(from * 2, day + 1);
+            used = Arrays.copyOf(used, grown);
+            nextFree = Arrays.copyOf(nextFree, grown);
+            for (int d = from; d < grown; d++) {
+                nextFree[d] = d;
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.fiap.projects.apipassabola.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Leaderboard em memória ordenado por (pontos desc, id asc), a mesma ordem usada pelas
+ * consultas de posição do banco
+ *
+ * Os registros ficam em uma treap com tamanho de subárvore em cada nó (árvore de estatística
+ * de ordem), então inserir, remover, descobrir a posição de um registro e acessar o k-ésimo
+ * colocado custam O(log n). Como as divisões são faixas contíguas de pontos, a posição dentro
+ * de uma divisão é a posição global menos a quantidade de registros acima do teto da divisão.
+ *
+ * Seguro para uso concorrente: leituras compartilham um read lock e alterações usam o write lock.
+ */
+public final class RankingLeaderboard {
+
+    private static final class Node {
+        final long id;
+        final int points;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long id, int points) {
+            this.id = id;
+            this.points = points;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> pointsById = new HashMap<>();
+    private Node root;
+
+    /**
+     * Insere ou atualiza a pontuação de um registro
+     * @return pontuação anterior, ou null se o registro não existia
+     */
+    public Integer put(long id, int points) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = pointsById.put(id, points);
+            if (previous != null) {
+                if (previous == points) {
+                    return previous;
+                }
+                root = erase(root, id, previous);
+            }
+            root = insert(root, new Node(id, points));
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um registro (sem efeito se ele não existir)
+     * @return pontuação que o registro tinha, ou null se ele não existia
+     */
+    public Integer remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = pointsById.remove(id);
+            if (previous != null) {
+                root = erase(root, id, previous);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo de uma vez (carga inicial / reconstrução)
+     */
+    public void replaceAll(Map<Long, Integer> entries) {
+        // Monta a nova árvore fora do lock e troca de uma vez
+        Map<Long, Integer> points = new HashMap<>(entries);
+        Node rebuilt = null;
+        for (Map.Entry<Long, Integer> entry : points.entrySet()) {
+            rebuilt = insert(rebuilt, new Node(entry.getKey(), entry.getValue()));
+        }
+        lock.writeLock().lock();
+        try {
+            pointsById.clear();
+            pointsById.putAll(points);
+            root = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Posição (1-based) que um registro com essa pontuação ocupa no ranking
+     * Funciona mesmo que o registro ainda não esteja no leaderboard (ex.: criado na transação corrente)
+     */
+    public long positionOf(long id, int points) {
+        lock.readLock().lock();
+        try {
+            long ahead = countBefore(points, id);
+            Integer stored = pointsById.get(id);
+            if (stored != null && stored != points && precedes(stored, id, points, id)) {
+                ahead--; // a própria entrada desatualizada não conta
+            }
+            return ahead + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantidade de registros com pontuação estritamente maior que a informada
+     */
+    public int countAbove(int points) {
+        lock.readLock().lock();
+        try {
+            return countBefore(points, Long.MIN_VALUE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids de uma fatia do ranking, em ordem de colocação
+     * @param offset posição inicial (0-based)
+     */
+    public List<Long> slice(long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int size = size(root);
+            List<Long> ids = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+            for (long k = Math.max(0, offset); k < size && ids.size() < limit; k++) {
+                ids.add(select(root, (int) k).id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== TREAP ==========
+
+    /** true se (pointsA, idA) vem antes de (pointsB, idB) no ranking */
+    private static boolean precedes(int pointsA, long idA, int pointsB, long idB) {
+        return pointsA > pointsB || (pointsA == pointsB && idA < idB);
+    }
+
+    private int countBefore(int points, long id) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (precedes(node.points, node.id, points, id)) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private static Node select(Node node, int k) {
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IndexOutOfBoundsException("Leaderboard position out of range");
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (fresh.priority > node.priority) {
+            Node[] parts = split(node, fresh.points, fresh.id);
+            fresh.left = parts[0];
+            fresh.right = parts[1];
+            return update(fresh);
+        }
+        if (precedes(fresh.points, fresh.id, node.points, node.id)) {
+            node.left = insert(node.left, fresh);
+        } else {
+            node.right = insert(node.right, fresh);
+        }
+        return update(node);
+    }
+
+    private static Node erase(Node node, long id, int points) {
+        if (node == null) {
+            return null;
+        }
+        if (node.id == id && node.points == points) {
+            return merge(node.left, node.right);
+        }
+        if (precedes(points, id, node.points, node.id)) {
+            node.left = erase(node.left, id, points);
+        } else {
+            node.right = erase(node.right, id, points);
+        }
+        return update(node);
+    }
+
+    /** Divide em [registros antes da chave, registros a partir da chave] */
+    private static Node[] split(Node node, int points, long id) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (precedes(node.points, node.id, points, id)) {
+            Node[] parts = split(node.right, points, id);
+            node.right = parts[0];
+            return new Node[]{update(node), parts[1]};
+        }
+        Node[] parts = split(node.left, points, id);
+        node.left = parts[1];
+        return new Node[]{parts[0], update(node)};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,138 @@
+package com.fiap.projects.apipassabola.util;
+
+import java.util.Arrays;
+
+/**
+ * Estado de ranking de um conjunto de jogadoras (ou times) durante a reconstrução completa
+ *
+ * Cada registro ocupa uma posição fixa em arrays primitivos (índice = posição do id no array
+ * ordenado de ids), sem objetos por jogadora nem boxing. As regras de pontuação e de sequência
+ * são as mesmas de PlayerRanking/TeamRanking (addWin, addDraw, addLoss, addBonusPoints).
+ *
+ * Não é thread-safe por si só: cada índice deve ser alterado por uma única thread por vez
+ * (a reconstrução particiona os índices entre as threads).
+ */
+public final class RankingReplayState {
+
+    public static final int WIN = 0;
+    public static final int DRAW = 1;
+    public static final int LOSS = 2;
+
+    private static final long NO_GAME = Long.MIN_VALUE;
+
+    private final long[] ids;
+    private final int[] points;
+    private final int[] won;
+    private final int[] drawn;
+    private final int[] lost;
+    private final int[] streak;
+    private final int[] bestStreak;
+    private final long[] lastGameEpochSecond;
+
+    /**
+     * @param sortedIds ids em ordem crescente (sem repetição)
+     */
+    public RankingReplayState(long[] sortedIds) {
+        int n = sortedIds.length;
+        this.ids = sortedIds;
+        this.points = new int[n];
+        this.won = new int[n];
+        this.drawn = new int[n];
+        this.lost = new int[n];
+        this.streak = new int[n];
+        this.bestStreak = new int[n];
+        this.lastGameEpochSecond = new long[n];
+        Arrays.fill(lastGameEpochSecond, NO_GAME);
+    }
+
+    /**
+     * Índice do id, ou -1 se ele não faz parte do estado
+     */
+    public int indexOf(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? index : -1;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Aplica o resultado de um jogo ao registro do índice informado
+     * @param bonus pontos extras (gols marcados); 0 para times
+     */
+    public void apply(int index, int outcome, int bonus, long gameEpochSecond) {
+        switch (outcome) {
+            case WIN -> {
+                points[index] += 3;
+                won[index]++;
+                streak[index] = streak[index] >= 0 ? streak[index] + 1 : 1;
+                if (streak[index] > bestStreak[index]) {
+                    bestStreak[index] = streak[index];
+                }
+            }
+            case DRAW -> {
+                points[index] += 1;
+                drawn[index]++;
+                streak[index] = 0; // Empate quebra a sequência
+            }
+            case LOSS -> {
+                lost[index]++;
+                streak[index] = streak[index] <= 0 ? streak[index] - 1 : -1;
+            }
+            default -> throw new IllegalArgumentException("Unknown outcome " + outcome);
+        }
+        points[index] += bonus;
+        lastGameEpochSecond[index] = gameEpochSecond;
+    }
+
+    public boolean hasPlayed(int index) {
+        return lastGameEpochSecond[index] != NO_GAME;
+    }
+
+    public int countPlayed() {
+        int count = 0;
+        for (long epochSecond : lastGameEpochSecond) {
+            if (epochSecond != NO_GAME) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    public int pointsAt(int index) {
+        return points[index];
+    }
+
+    public int wonAt(int index) {
+        return won[index];
+    }
+
+    public int drawnAt(int index) {
+        return drawn[index];
+    }
+
+    public int lostAt(int index) {
+        return lost[index];
+    }
+
+    public int totalGamesAt(int index) {
+        return won[index] + drawn[index] + lost[index];
+    }
+
+    public int streakAt(int index) {
+        return streak[index];
+    }
+
+    public int bestStreakAt(int index) {
+        return bestStreak[index];
+    }
+
+    public long lastGameEpochSecondAt(int index) {
+        return lastGameEpochSecond[index];
+    }
+}
@@ -0,0 +1,118 @@
+package com.fiap.projects.apipassabola.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * As K maiores artilheiras de um escopo, ordenadas por (gols desc, id da jogadora asc)
+ *
+ * Contadores de gols só crescem, então basta oferecer o novo total de quem marcou: se a jogadora
+ * já está no quadro ela é reposicionada, senão entra no lugar da última colocada quando a supera.
+ * Quem ficou de fora nunca precisa voltar por causa de alterações de outras jogadoras, então o
+ * quadro continua sendo exatamente o top K sem reler o banco. Ler as n primeiras custa O(n).
+ *
+ * Seguro para uso concorrente (todas as operações são sincronizadas).
+ */
+public final class TopScorerBoard {
+
+    /**
+     * Artilheira no quadro (imutável)
+     */
+    public static final class Entry {
+        private final long playerId;
+        private final String playerName;
+        private final String playerUsername;
+        private final int goals;
+
+        public Entry(long playerId, String playerName, String playerUsername, int goals) {
+            this.playerId = playerId;
+            this.playerName = playerName;
+            this.playerUsername = playerUsername;
+            this.goals = goals;
+        }
+
+        public long getPlayerId() {
+            return playerId;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public String getPlayerUsername() {
+            return playerUsername;
+        }
+
+        public int getGoals() {
+            return goals;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::getGoals).reversed()
+            .thenComparingLong(Entry::getPlayerId);
+
+    private final int capacity;
+    private final TreeSet<Entry> ranked = new TreeSet<>(ORDER);
+    private final Map<Long, Entry> byPlayer = new HashMap<>();
+
+    public TopScorerBoard(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Oferece o total atual de gols de uma jogadora
+     * @return true se o quadro mudou
+     */
+    public synchronized boolean offer(Entry entry) {
+        Entry current = byPlayer.get(entry.getPlayerId());
+        if (current != null) {
+            if (entry.getGoals() <= current.getGoals()) {
+                return false; // Total antigo ou repetido
+            }
+            ranked.remove(current);
+        } else if (ranked.size() >= capacity) {
+            Entry last = ranked.last();
+            if (ORDER.compare(entry, last) >= 0) {
+                return false;
+            }
+            ranked.remove(last);
+            byPlayer.remove(last.getPlayerId());
+        }
+        ranked.add(entry);
+        byPlayer.put(entry.getPlayerId(), entry);
+        return true;
+    }
+
+    /**
+     * Substitui o conteúdo pelas K primeiras lidas do banco
+     */
+    public synchronized void replaceAll(List<Entry> entries) {
+        ranked.clear();
+        byPlayer.clear();
+        for (Entry entry : entries) {
+            offer(entry);
+        }
+    }
+
+    /**
+     * As n primeiras colocadas, em ordem
+     */
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> top = new ArrayList<>(Math.max(0, Math.min(limit, ranked.size())));
+        for (Entry entry : ranked) {
+            if (top.size() >= limit) {
+                break;
+            }
+            top.add(entry);
+        }
+        return top;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
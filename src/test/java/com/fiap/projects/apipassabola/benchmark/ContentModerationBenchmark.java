@@ -0,0 +1,104 @@
+package com.fiap.projects.apipassabola.benchmark;
+
+import com.fiap.projects.apipassabola.util.AhoCorasickAutomaton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark do filtro de moderação (Aho-Corasick) com dicionários grandes
+ *
+ * Compara a varredura do autômato com a abordagem de uma única regex em alternância.
+ * Executar com: mvn test-compile && java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *   com.fiap.projects.apipassabola.benchmark.ContentModerationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentModerationBenchmark {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzáéíóúãõç";
+
+    @Param({"10000"})
+    private int termCount;
+
+    private AhoCorasickAutomaton automaton;
+    private Pattern alternation;
+    private String cleanMessage;
+    private String dirtyMessage;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Map<String, Integer> terms = new HashMap<>();
+        while (terms.size() < termCount) {
+            terms.put("zz" + randomWord(random, 4 + random.nextInt(9)), 1);
+        }
+        automaton = AhoCorasickAutomaton.compile(terms);
+        alternation = Pattern.compile("\\b(" + terms.keySet().stream()
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|")) + ")\\b",
+                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+        StringBuilder message = new StringBuilder();
+        while (message.length() < 280) {
+            message.append(randomWord(random, 2 + random.nextInt(8))).append(' ');
+        }
+        cleanMessage = message.toString();
+        dirtyMessage = cleanMessage + terms.keySet().iterator().next().toUpperCase();
+
+        if (automaton.scan(cleanMessage) != AhoCorasickAutomaton.NO_MATCH || automaton.scan(dirtyMessage) != 1) {
+            throw new IllegalStateException("Benchmark setup produced unexpected matches");
+        }
+    }
+
+    @Benchmark
+    public int automatonCleanMessage() {
+        return automaton.scan(cleanMessage);
+    }
+
+    @Benchmark
+    public int automatonDirtyMessage() {
+        return automaton.scan(dirtyMessage);
+    }
+
+    @Benchmark
+    public boolean regexAlternationCleanMessage() {
+        return alternation.matcher(cleanMessage).find();
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ContentModerationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -28,8 +28,7 @@ public class AuthIntegrationTest extends BaseIntegrationTest {
     void registerOrganization_success() {
         TestAuthClient auth = new TestAuthClient(restTemplate, "http://localhost:" + port);
         String unique = UUID.randomUUID().toString().substring(0,8);
-        // Valid but simple CNPJ digits (not real) just to pass formatting checks if any persistence only
-        var org = auth.registerOrganization("org_" + unique, "org_" + unique + "@email.com", "11222333000181");
+        var org = auth.registerOrganization("org_" + unique, "org_" + unique + "@email.com", TestAuthClient.uniqueCnpj());
         assertNotNull(org.token());
         assertNotNull(org.userId());
     }
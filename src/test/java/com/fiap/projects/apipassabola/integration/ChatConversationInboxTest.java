@@ -0,0 +1,181 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.dto.request.ChatMessageRequest;
+import com.fiap.projects.apipassabola.dto.response.ChatMessageResponse;
+import com.fiap.projects.apipassabola.dto.response.ConversationResponse;
+import com.fiap.projects.apipassabola.entity.ChatConversation;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.ChatMessageRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.service.ChatMessageService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The chat inbox is read from the materialized conversation table: last message, unread counts
+ * and keyset pagination on lastMessageId, also through GET /api/chat/conversations. History is read
+ * in bounded slices through the canonical conversation key.
+ */
+public class ChatConversationInboxTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ChatMessageService chatMessageService;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void inbox_tracks_last_message_and_unread_counts_per_conversation() {
+        Player first = playerRepository.save(TestFixtures.player());
+        Player reader = playerRepository.save(TestFixtures.player());
+        Player second = playerRepository.save(TestFixtures.player());
+
+        TestFixtures.authenticate(first.getEmail());
+        send(reader, "hello");
+        send(reader, "are you coming?");
+        send(reader, "game starts at 8");
+        TestFixtures.authenticate(second.getEmail());
+        send(reader, "see you there");
+
+        TestFixtures.authenticate(reader.getEmail());
+        List<ConversationResponse> inbox = chatMessageService.getConversations(null, null);
+        assertEquals(2, inbox.size());
+        assertEquals(second.getUserId(), inbox.get(0).getOtherUserId());
+        assertEquals(second.getName(), inbox.get(0).getOtherName());
+        assertEquals("see you there", inbox.get(0).getLastMessage());
+        assertEquals(1L, inbox.get(0).getUnreadCount());
+        assertEquals(first.getUserId(), inbox.get(1).getOtherUserId());
+        assertEquals("game starts at 8", inbox.get(1).getLastMessage());
+        assertEquals(3L, inbox.get(1).getUnreadCount());
+
+        // The sender's side of the conversation has nothing unread
+        TestFixtures.authenticate(first.getEmail());
+        List<ConversationResponse> senderInbox = chatMessageService.getConversations(null, null);
+        assertEquals(1, senderInbox.size());
+        assertEquals(reader.getUserId(), senderInbox.get(0).getOtherUserId());
+        assertEquals(0L, senderInbox.get(0).getUnreadCount());
+
+        TestFixtures.authenticate(reader.getEmail());
+        chatMessageService.markMessagesAsRead(first.getUserId());
+        List<ConversationResponse> afterRead = chatMessageService.getConversations(null, null);
+        assertEquals(0L, afterRead.get(1).getUnreadCount());
+        assertEquals(1L, afterRead.get(0).getUnreadCount());
+
+        List<ConversationResponse> page = chatMessageService.getConversations(null, 1);
+        assertEquals(1, page.size());
+        assertEquals(second.getUserId(), page.get(0).getOtherUserId());
+        List<ConversationResponse> next = chatMessageService.getConversations(page.get(0).getLastMessageId(), 1);
+        assertEquals(1, next.size());
+        assertEquals(first.getUserId(), next.get(0).getOtherUserId());
+        assertTrue(chatMessageService.getConversations(next.get(0).getLastMessageId(), 1).isEmpty());
+    }
+
+    @Test
+    void history_is_read_in_bounded_slices_through_the_conversation_key() {
+        Player first = playerRepository.save(TestFixtures.player());
+        Player other = playerRepository.save(TestFixtures.player());
+
+        TestFixtures.authenticate(first.getEmail());
+        send(other, "one");
+        TestFixtures.authenticate(other.getEmail());
+        send(first, "two");
+        TestFixtures.authenticate(first.getEmail());
+        send(other, "three");
+        send(other, "four");
+        send(other, "five");
+
+        List<ChatMessageResponse> latest = chatMessageService.getConversation(other.getUserId(), null, null, 2);
+        assertEquals(List.of("four", "five"), contents(latest));
+
+        // Scroll back from the oldest message of the page, from either side of the conversation
+        TestFixtures.authenticate(other.getEmail());
+        List<ChatMessageResponse> older = chatMessageService.getConversation(
+                first.getUserId(), latest.get(0).getId(), null, 2);
+        assertEquals(List.of("two", "three"), contents(older));
+        assertEquals(List.of("one"), contents(chatMessageService.getConversation(
+                first.getUserId(), older.get(0).getId(), null, 2)));
+
+        // Delta sync from the newest message seen
+        Long synced = latest.get(1).getId();
+        assertTrue(chatMessageService.getConversation(first.getUserId(), null, synced, 2).isEmpty());
+        send(first, "six");
+        assertEquals(List.of("six"), contents(chatMessageService.getConversation(first.getUserId(), null, synced, 2)));
+
+        assertEquals(6, chatMessageService.getConversation(first.getUserId(), null, null, null).size());
+        chatMessageRepository.findAll().stream()
+                .filter(m -> m.belongsToConversation(first.getUserId(), other.getUserId()))
+                .forEach(m -> assertEquals(ChatConversation.keyOf(other.getUserId(), first.getUserId()),
+                        m.getConversationKey()));
+    }
+
+    @Test
+    void inbox_endpoint_pages_conversations_with_the_before_cursor() throws Exception {
+        Player first = playerRepository.save(TestFixtures.player());
+        Player reader = playerRepository.save(TestFixtures.player());
+        Player second = playerRepository.save(TestFixtures.player());
+
+        sendOverHttp(first, reader, "hello");
+        sendOverHttp(first, reader, "are you there?");
+        sendOverHttp(second, reader, "see you at 8");
+
+        MvcResult page = mockMvc.perform(get("/api/chat/conversations").param("limit", "1")
+                        .with(user(reader.getEmail()).roles("PLAYER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].otherUserId").value(second.getUserId().toString()))
+                .andExpect(jsonPath("$[0].lastMessage").value("see you at 8"))
+                .andExpect(jsonPath("$[0].unreadCount").value("1"))
+                .andReturn();
+        String cursor = JsonPath.read(page.getResponse().getContentAsString(), "$[0].lastMessageId");
+
+        mockMvc.perform(get("/api/chat/conversations").param("limit", "1").param("before", cursor)
+                        .with(user(reader.getEmail()).roles("PLAYER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].otherUserId").value(first.getUserId().toString()))
+                .andExpect(jsonPath("$[0].lastMessage").value("are you there?"))
+                .andExpect(jsonPath("$[0].unreadCount").value("2"));
+    }
+
+    private List<String> contents(List<ChatMessageResponse> messages) {
+        return messages.stream().map(ChatMessageResponse::getContent).toList();
+    }
+
+    private void send(Player recipient, String content) {
+        ChatMessageRequest request = new ChatMessageRequest();
+        request.setRecipientId(recipient.getUserId());
+        request.setContent(content);
+        chatMessageService.sendMessage(request);
+    }
+
+    private void sendOverHttp(Player sender, Player recipient, String content) throws Exception {
+        mockMvc.perform(post("/api/chat/send")
+                        .with(user(sender.getEmail()).roles("PLAYER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"recipientId\":\"" + recipient.getUserId() + "\",\"content\":\"" + content + "\"}"))
+                .andExpect(status().isOk());
+    }
+}
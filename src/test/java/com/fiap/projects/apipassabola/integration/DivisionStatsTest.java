@@ -0,0 +1,74 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.entity.Division;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.PlayerRankingRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.service.RankingLeaderboardService;
+import com.fiap.projects.apipassabola.service.RankingPointsService;
+import com.fiap.projects.apipassabola.service.RankingPointsService.Outcome;
+import com.fiap.projects.apipassabola.util.DivisionStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The in-memory division statistics follow each ranking change: the player moves between buckets
+ * (and divisions) as the points change, and a reconciliation with the database finds no drift
+ */
+public class DivisionStatsTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RankingPointsService rankingPointsService;
+
+    @Autowired
+    private RankingLeaderboardService rankingLeaderboardService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerRankingRepository playerRankingRepository;
+
+    @Test
+    void buckets_follow_a_player_across_a_division_boundary() {
+        DivisionStatistics stats = rankingLeaderboardService.playerDivisionStats();
+        Player player = playerRepository.save(TestFixtures.player());
+
+        long[] bronzeBefore = stats.histogram(Division.BRONZE);
+        long[] prataBefore = stats.histogram(Division.PRATA);
+
+        rankingPointsService.applyPlayerOutcomes(TestFixtures.unusedId(), Map.of(player.getId(), Outcome.WIN), Map.of());
+        int firstPoints = points(player);
+        assertEquals(Division.BRONZE, Division.fromPoints(firstPoints));
+        long[] bronzeAfterWin = stats.histogram(Division.BRONZE);
+        assertEquals(bronzeBefore[firstPoints / DivisionStatistics.BUCKET_WIDTH] + 1,
+                bronzeAfterWin[firstPoints / DivisionStatistics.BUCKET_WIDTH]);
+        assertArrayEquals(prataBefore, stats.histogram(Division.PRATA));
+
+        // Goal bonus pushes the player into the next division
+        rankingPointsService.applyPlayerOutcomes(TestFixtures.unusedId(), Map.of(player.getId(), Outcome.WIN),
+                Map.of(player.getId(), 35));
+        int secondPoints = points(player);
+        assertEquals(Division.PRATA, Division.fromPoints(secondPoints));
+        assertArrayEquals(bronzeBefore, stats.histogram(Division.BRONZE));
+        long[] prataAfter = stats.histogram(Division.PRATA);
+        int prataBucket = secondPoints / DivisionStatistics.BUCKET_WIDTH - DivisionStatistics.firstBucket(Division.PRATA);
+        for (int b = 0; b < prataAfter.length; b++) {
+            assertEquals(prataBefore[b] + (b == prataBucket ? 1 : 0), prataAfter[b]);
+        }
+
+        // The incremental histogram agrees with the database
+        long[] beforeReconcile = stats.histogram(Division.PRATA);
+        rankingLeaderboardService.reconcileDivisionStats();
+        assertArrayEquals(beforeReconcile, stats.histogram(Division.PRATA));
+    }
+
+    private int points(Player player) {
+        return playerRankingRepository.findByPlayerId(player.getId()).orElseThrow().getTotalPoints();
+    }
+}
@@ -0,0 +1,119 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.dto.request.FinishGameRequest;
+import com.fiap.projects.apipassabola.dto.request.GoalRequest;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.OutboxEvent;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.exception.ResourceNotFoundException;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.service.GameService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * finishGame writes all goals of the request in one batch, with the scorer, side, minute and own-goal
+ * flag of each; an unknown scorer rolls the whole finish back
+ */
+public class FinishGameGoalsTest extends BaseIntegrationTest {
+
+    private static final String GOAL_COLUMNS = "SELECT player_id, team_side, minute, is_own_goal, created_at " +
+            "FROM goals WHERE game_id = ? ORDER BY minute";
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void goals_are_stored_with_the_fields_of_the_request() {
+        Player host = playerRepository.save(TestFixtures.player());
+        Player ana = playerRepository.save(TestFixtures.player());
+        Player bia = playerRepository.save(TestFixtures.player());
+        TestFixtures.authenticate(host.getEmail());
+        Game game = gameRepository.save(TestFixtures.hostedGame(GameType.FRIENDLY, host));
+
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        gameService.finishGame(game.getId(), new FinishGameRequest(2, 1, List.of(
+                new GoalRequest(ana.getId(), 1, 12, false),
+                new GoalRequest(bia.getId(), 2, 40, false),
+                new GoalRequest(ana.getId(), 1, 77, false),
+                new GoalRequest(bia.getId(), 1, 89, true)), null));
+
+        List<Map<String, Object>> goals = jdbcTemplate.queryForList(GOAL_COLUMNS, game.getId());
+        assertEquals(4, goals.size());
+        assertGoal(goals.get(0), ana, 1, 12, false);
+        assertGoal(goals.get(1), bia, 2, 40, false);
+        assertGoal(goals.get(2), ana, 1, 77, false);
+        assertGoal(goals.get(3), bia, 1, 89, true);
+        for (Map<String, Object> goal : goals) {
+            assertFalse(((Timestamp) goal.get("created_at")).toLocalDateTime().isBefore(before));
+        }
+
+        Game finished = gameRepository.findById(game.getId()).orElseThrow();
+        assertEquals(Game.GameStatus.FINISHED, finished.getStatus());
+        assertEquals(2, finished.getHomeGoals());
+        assertEquals(1, finished.getAwayGoals());
+    }
+
+    @Test
+    void unknown_scorer_rolls_back_the_whole_finish() {
+        Player host = playerRepository.save(TestFixtures.player());
+        Player ana = playerRepository.save(TestFixtures.player());
+        TestFixtures.authenticate(host.getEmail());
+        Game game = gameRepository.save(TestFixtures.hostedGame(GameType.CHAMPIONSHIP, host));
+        long unknown = TestFixtures.unusedId();
+
+        assertThrows(ResourceNotFoundException.class, () -> gameService.finishGame(game.getId(),
+                new FinishGameRequest(2, 0, List.of(
+                        new GoalRequest(ana.getId(), 1, 10, false),
+                        new GoalRequest(unknown, 1, 20, false)), null)));
+
+        Game reloaded = gameRepository.findById(game.getId()).orElseThrow();
+        assertNotEquals(Game.GameStatus.FINISHED, reloaded.getStatus());
+        assertEquals(0, reloaded.getHomeGoals());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM goals WHERE game_id = ?",
+                Integer.class, game.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE event_type = ? AND aggregate_id = ?",
+                Integer.class, OutboxEvent.GAME_FINISHED, game.getId()));
+
+        // The game can still be finished once the request is fixed
+        gameService.finishGame(game.getId(), new FinishGameRequest(1, 0, List.of(
+                new GoalRequest(ana.getId(), 1, 10, false)), null));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM goals WHERE game_id = ?",
+                Integer.class, game.getId()));
+    }
+
+    private void assertGoal(Map<String, Object> goal, Player scorer, int side, int minute, boolean ownGoal) {
+        assertEquals(scorer.getId(), ((Number) goal.get("player_id")).longValue());
+        assertEquals(side, ((Number) goal.get("team_side")).intValue());
+        assertEquals(minute, ((Number) goal.get("minute")).intValue());
+        assertEquals(ownGoal, goal.get("is_own_goal"));
+    }
+}
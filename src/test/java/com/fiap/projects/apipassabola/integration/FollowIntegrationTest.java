@@ -37,7 +37,7 @@ public class FollowIntegrationTest extends BaseIntegrationTest {
                 new HttpEntity<>(body, headers),
                 String.class
         );
-        assertTrue(followResp.getStatusCode().is2xxSuccessful());
+        assertTrue(followResp.getStatusCode().is2xxSuccessful(), followResp.getBody());
 
         // Check is-following
         ResponseEntity<Boolean> isFollowing = restTemplate.exchange(
@@ -99,7 +99,7 @@ public class FollowIntegrationTest extends BaseIntegrationTest {
 
         var player = auth.registerPlayer("plx_" + u, "plx_" + u + "@email.com");
         var spectator = auth.registerSpectator("spx_" + u, "spx_" + u + "@email.com");
-        var org = auth.registerOrganization("orgx_" + u, "orgx_" + u + "@email.com", "04252011000110");
+        var org = auth.registerOrganization("orgx_" + u, "orgx_" + u + "@email.com", TestAuthClient.uniqueCnpj());
 
         HttpHeaders pHeaders = authHeaders(player.token());
 
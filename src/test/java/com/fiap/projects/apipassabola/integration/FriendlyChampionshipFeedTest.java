@@ -0,0 +1,98 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The friendly/championship listings filter the game type in the query (no CUP games, no null rows),
+ * and the keyset feed walks them in (gameDate, id) order through the opaque cursor
+ */
+public class FriendlyChampionshipFeedTest extends BaseIntegrationTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Test
+    void feed_walks_friendly_and_championship_games_in_date_then_id_order() throws Exception {
+        String email = playerRepository.save(TestFixtures.player()).getEmail();
+        // Far enough ahead that no other test has games after it
+        LocalDateTime start = LocalDateTime.now().plusYears(100).truncatedTo(ChronoUnit.SECONDS);
+        Game firstFriendly = save(GameType.FRIENDLY, start.plusDays(1));
+        Game firstChampionship = save(GameType.CHAMPIONSHIP, start.plusDays(1));
+        save(GameType.CUP, start.plusDays(1));
+        Game secondFriendly = save(GameType.FRIENDLY, start.plusDays(2));
+        Game secondChampionship = save(GameType.CHAMPIONSHIP, start.plusDays(3));
+        Game lastFriendly = save(GameType.FRIENDLY, start.plusDays(3));
+
+        List<Long> walked = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/games/friendly-championship/feed").param("size", "2")
+                    .with(user(email).roles("PLAYER"));
+            request = cursor == null ? request.param("from", start.toString()) : request.param("cursor", cursor);
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> ids = JsonPath.read(body, "$.content[*].id");
+            ids.forEach(id -> walked.add(id.longValue()));
+            pageSizes.add(ids.size());
+            cursor = JsonPath.read(body, "$.nextCursor");
+            assertEquals(cursor != null, JsonPath.<Boolean>read(body, "$.hasNext"));
+        } while (cursor != null);
+
+        assertEquals(List.of(firstFriendly.getId(), firstChampionship.getId(), secondFriendly.getId(),
+                secondChampionship.getId(), lastFriendly.getId()), walked);
+        assertEquals(List.of(2, 2, 1), pageSizes);
+    }
+
+    @Test
+    void offset_listing_returns_full_pages_without_cup_games() throws Exception {
+        Player player = playerRepository.save(TestFixtures.player());
+        // Before the feed test's games, newest ids first
+        LocalDateTime start = LocalDateTime.now().plusYears(50).truncatedTo(ChronoUnit.SECONDS);
+        Game friendly = save(GameType.FRIENDLY, start.plusDays(1));
+        save(GameType.CUP, start.plusDays(2));
+        Game championship = save(GameType.CHAMPIONSHIP, start.plusDays(3));
+
+        String body = mockMvc.perform(get("/api/games/friendly-championship")
+                        .param("sort", "id,desc").param("size", "2")
+                        .with(user(player.getEmail()).roles("PLAYER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Number> ids = JsonPath.read(body, "$.content[*].id");
+        assertEquals(List.of(championship.getId(), friendly.getId()), ids.stream().map(Number::longValue).toList());
+        List<String> types = JsonPath.read(body, "$..gameType");
+        assertFalse(types.contains("CUP"));
+
+        mockMvc.perform(get("/api/games/friendly-championship/feed").param("cursor", "not-a-cursor")
+                        .with(user(player.getEmail()).roles("PLAYER")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Game save(GameType gameType, LocalDateTime gameDate) {
+        Game game = TestFixtures.game(gameType);
+        game.setGameDate(gameDate);
+        return gameRepository.save(game);
+    }
+}
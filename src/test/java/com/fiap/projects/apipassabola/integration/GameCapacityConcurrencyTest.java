@@ -0,0 +1,202 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.dto.request.GameParticipationRequest;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameParticipant;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Spectator;
+import com.fiap.projects.apipassabola.exception.BusinessException;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameParticipantRepository;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.GameSpectatorRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.SpectatorRepository;
+import com.fiap.projects.apipassabola.service.GameParticipantService;
+import com.fiap.projects.apipassabola.service.GameSpectatorService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bursts of concurrent joins must never push a game past maxPlayers / maxSpectators
+ */
+public class GameCapacityConcurrencyTest extends BaseIntegrationTest {
+
+    private static final int CONCURRENT_JOINS = 40;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private SpectatorRepository spectatorRepository;
+
+    @Autowired
+    private GameParticipantRepository gameParticipantRepository;
+
+    @Autowired
+    private GameSpectatorRepository gameSpectatorRepository;
+
+    @Autowired
+    private GameParticipantService gameParticipantService;
+
+    @Autowired
+    private GameSpectatorService gameSpectatorService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void concurrent_player_joins_never_exceed_max_players() throws Exception {
+        Game game = gameRepository.save(newGame(10, 0));
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_JOINS; i++) {
+            players.add(playerRepository.save(TestFixtures.player()));
+        }
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Player> seated = new CopyOnWriteArrayList<>();
+        runConcurrently(players.size(), i -> {
+            GameParticipationRequest request = new GameParticipationRequest();
+            request.setGameId(game.getId());
+            request.setParticipationType(GameParticipant.ParticipationType.INDIVIDUAL);
+            request.setTeamSide(i % 2 + 1);
+            try {
+                gameParticipantService.joinGame(players.get(i).getId(), request);
+                seated.add(players.get(i));
+                accepted.incrementAndGet();
+            } catch (BusinessException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(10, accepted.get());
+        assertEquals(CONCURRENT_JOINS - 10, rejected.get());
+        assertEquals(10, gameParticipantRepository.countByGameId(game.getId()));
+        assertEquals(10, gameRepository.findById(game.getId()).orElseThrow().getParticipantCount());
+
+        // Leaving releases the slot for the next player
+        Player leaving = seated.get(0);
+        gameParticipantService.leaveGame(leaving.getId(), game.getId());
+        assertFalse(gameParticipantRepository.existsByGameIdAndPlayerId(game.getId(), leaving.getId()));
+        assertEquals(9, gameRepository.findById(game.getId()).orElseThrow().getParticipantCount());
+        Player waiting = players.stream().filter(p -> !seated.contains(p)).findFirst().orElseThrow();
+        GameParticipationRequest retry = new GameParticipationRequest();
+        retry.setGameId(game.getId());
+        retry.setParticipationType(GameParticipant.ParticipationType.INDIVIDUAL);
+        retry.setTeamSide(1);
+        gameParticipantService.joinGame(waiting.getId(), retry);
+        assertEquals(10, gameRepository.findById(game.getId()).orElseThrow().getParticipantCount());
+    }
+
+    @Test
+    void concurrent_spectator_joins_never_exceed_max_spectators() throws Exception {
+        Game game = gameRepository.save(newGame(22, 5));
+        List<Spectator> spectators = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_JOINS; i++) {
+            spectators.add(spectatorRepository.save(TestFixtures.spectator()));
+        }
+
+        AtomicInteger accepted = new AtomicInteger();
+        runConcurrently(spectators.size(), i -> {
+            TestFixtures.authenticate(spectators.get(i).getEmail(), "ROLE_SPECTATOR");
+            try {
+                gameSpectatorService.joinGame(game.getId());
+                accepted.incrementAndGet();
+            } catch (BusinessException e) {
+                // Expected once the game is full
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+
+        assertEquals(5, accepted.get());
+        assertEquals(5, gameSpectatorRepository.countConfirmedSpectatorsByGame(game.getId()));
+        assertEquals(5, gameRepository.findById(game.getId()).orElseThrow().getSpectatorCount());
+    }
+
+    @Test
+    void reserving_a_slot_keeps_the_loaded_entities_managed() {
+        Game game = gameRepository.save(newGame(10, 0));
+        Player player = playerRepository.save(TestFixtures.player());
+        transactionTemplate.executeWithoutResult(status -> {
+            Game loaded = gameRepository.findById(game.getId()).orElseThrow();
+            Player loadedPlayer = playerRepository.findById(player.getId()).orElseThrow();
+            assertEquals(1, gameRepository.reserveParticipantSlots(game.getId(), 3));
+            assertTrue(entityManager.contains(loaded));
+            assertTrue(entityManager.contains(loadedPlayer));
+            assertEquals(3, gameRepository.findParticipantCount(game.getId()).orElseThrow());
+
+            // A join in the same transaction links the participant to the managed game and player
+            GameParticipationRequest request = new GameParticipationRequest();
+            request.setGameId(game.getId());
+            request.setParticipationType(GameParticipant.ParticipationType.INDIVIDUAL);
+            request.setTeamSide(1);
+            gameParticipantService.joinGame(player.getId(), request);
+            GameParticipant joined = gameParticipantRepository.findByGameIdAndPlayerId(game.getId(), player.getId()).orElseThrow();
+            assertSame(loaded, joined.getGame());
+            assertSame(loadedPlayer, joined.getPlayer());
+            assertEquals(4, gameParticipantService.countGameParticipants(game.getId()));
+        });
+    }
+
+    private interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+
+    private void runConcurrently(int count, IndexedTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                Callable<Void> call = () -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Game newGame(int maxPlayers, int maxSpectators) {
+        Game game = TestFixtures.game(GameType.FRIENDLY);
+        game.setMinPlayers(6);
+        game.setMaxPlayers(maxPlayers);
+        game.setHasSpectators(maxSpectators > 0);
+        game.setMaxSpectators(maxSpectators);
+        return game;
+    }
+}
@@ -0,0 +1,146 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.dto.response.GameParticipantResponse;
+import com.fiap.projects.apipassabola.dto.response.GameResponse;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Spectator;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameParticipantRepository;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.GameSpectatorRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.SpectatorRepository;
+import com.fiap.projects.apipassabola.service.GameService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A page of GameResponse is assembled in bulk: each game gets its own participants split by side and its
+ * own spectator count, and the number of statements does not grow with the page size
+ */
+public class GameResponseBatchTest extends BaseIntegrationTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameParticipantRepository gameParticipantRepository;
+
+    @Autowired
+    private GameSpectatorRepository gameSpectatorRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private SpectatorRepository spectatorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void each_game_of_a_page_gets_its_own_sides_and_spectator_count() {
+        Player host = playerRepository.save(TestFixtures.player());
+        Game full = gameRepository.save(TestFixtures.hostedGame(GameType.FRIENDLY, host));
+        Player ana = join(full, 1);
+        Player bia = join(full, 2);
+        Player caio = join(full, 2);
+        watch(full);
+        watch(full);
+        Game empty = gameRepository.save(TestFixtures.hostedGame(GameType.FRIENDLY, host));
+        Game oneSide = gameRepository.save(TestFixtures.hostedGame(GameType.FRIENDLY, host));
+        Player duda = join(oneSide, 1);
+        watch(oneSide);
+
+        List<GameResponse> games = gameService.findByHost(host.getId(), byId()).getContent();
+        assertEquals(List.of(full.getId(), empty.getId(), oneSide.getId()),
+                games.stream().map(GameResponse::getId).toList());
+
+        assertEquals(List.of(ana.getId()), playerIds(games.get(0).getTeam1Players()));
+        assertEquals(List.of(bia.getId(), caio.getId()), playerIds(games.get(0).getTeam2Players()));
+        assertEquals(3, games.get(0).getCurrentPlayerCount());
+        assertEquals(2, games.get(0).getCurrentSpectatorCount());
+
+        assertTrue(games.get(1).getTeam1Players().isEmpty());
+        assertTrue(games.get(1).getTeam2Players().isEmpty());
+        assertEquals(0, games.get(1).getCurrentSpectatorCount());
+
+        assertEquals(List.of(duda.getId()), playerIds(games.get(2).getTeam1Players()));
+        assertTrue(games.get(2).getTeam2Players().isEmpty());
+        assertEquals(1, games.get(2).getCurrentSpectatorCount());
+
+        // The single-game path goes through the same batch
+        GameResponse single = gameService.findById(full.getId());
+        assertEquals(playerIds(games.get(0).getTeam2Players()), playerIds(single.getTeam2Players()));
+        assertEquals(2, single.getCurrentSpectatorCount());
+    }
+
+    @Test
+    void statements_per_page_do_not_grow_with_the_page_size() {
+        Player smallHost = playerRepository.save(TestFixtures.player());
+        Game small = gameRepository.save(TestFixtures.hostedGame(GameType.FRIENDLY, smallHost));
+        join(small, 1);
+        watch(small);
+
+        Player bigHost = playerRepository.save(TestFixtures.player());
+        for (int g = 0; g < 5; g++) {
+            Game game = gameRepository.save(TestFixtures.hostedGame(GameType.FRIENDLY, bigHost));
+            join(game, 1);
+            join(game, 2);
+            watch(game);
+        }
+
+        long smallPage = statements(() -> gameService.findByHost(smallHost.getId(), byId()));
+        long bigPage = statements(() -> gameService.findByHost(bigHost.getId(), byId()));
+        assertEquals(smallPage, bigPage);
+        // Page, count, participants and spectator counts
+        assertTrue(bigPage <= 4, "statements: " + bigPage);
+    }
+
+    private long statements(Supplier<Page<GameResponse>> query) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            query.get();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private PageRequest byId() {
+        return PageRequest.of(0, 20, Sort.by("id"));
+    }
+
+    private List<Long> playerIds(List<GameParticipantResponse> participants) {
+        return participants.stream().map(p -> p.getPlayer().getId()).sorted().toList();
+    }
+
+    private Player join(Game game, int side) {
+        Player player = playerRepository.save(TestFixtures.player());
+        gameParticipantRepository.save(TestFixtures.participant(game, player, null, side));
+        return player;
+    }
+
+    private void watch(Game game) {
+        Spectator spectator = spectatorRepository.save(TestFixtures.spectator());
+        gameSpectatorRepository.save(TestFixtures.watcher(game, spectator));
+    }
+}
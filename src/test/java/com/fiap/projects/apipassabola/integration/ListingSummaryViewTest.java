@@ -0,0 +1,144 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.dto.request.GameParticipationRequest;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameParticipant;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Post;
+import com.fiap.projects.apipassabola.entity.Spectator;
+import com.fiap.projects.apipassabola.entity.UserType;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.PostRepository;
+import com.fiap.projects.apipassabola.repository.SpectatorRepository;
+import com.fiap.projects.apipassabola.service.GameParticipantService;
+import com.fiap.projects.apipassabola.service.GameSpectatorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * view=summary on the post and game listings returns the projection DTOs: a 280-character content
+ * snippet for posts, and confirmed player/spectator counters instead of participant lists for games
+ */
+public class ListingSummaryViewTest extends BaseIntegrationTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameParticipantService gameParticipantService;
+
+    @Autowired
+    private GameSpectatorService gameSpectatorService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private SpectatorRepository spectatorRepository;
+
+    @Test
+    void post_summary_truncates_the_content_and_skips_likes_and_comments() throws Exception {
+        Player author = playerRepository.save(TestFixtures.player());
+        String content = "a".repeat(280) + "b".repeat(120);
+        Post post = new Post();
+        post.setAuthorId(author.getId());
+        post.setAuthorUsername(author.getUsername());
+        post.setAuthorName(author.getName());
+        post.setAuthorType(UserType.PLAYER);
+        post.setContent(content);
+        post.setLikes(4);
+        post.setComments(2);
+        post = postRepository.save(post);
+
+        mockMvc.perform(get("/api/posts/author/" + author.getId()).param("view", "summary")
+                        .with(user(author.getEmail()).roles("PLAYER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(post.getId()))
+                .andExpect(jsonPath("$.content[0].authorUsername").value(author.getUsername()))
+                .andExpect(jsonPath("$.content[0].content").value("a".repeat(280)))
+                .andExpect(jsonPath("$.content[0].likes").value(4))
+                .andExpect(jsonPath("$.content[0].comments").value(2))
+                .andExpect(jsonPath("$.content[0]", not(hasKey("recentLikes"))));
+
+        // The default view is unchanged
+        mockMvc.perform(get("/api/posts/author/" + author.getId())
+                        .with(user(author.getEmail()).roles("PLAYER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].content").value(content))
+                .andExpect(jsonPath("$.content[0]", hasKey("recentLikes")));
+    }
+
+    @Test
+    void game_summary_counts_confirmed_players_and_spectators_like_the_full_view() throws Exception {
+        Player host = playerRepository.save(TestFixtures.player());
+        Game game = TestFixtures.hostedGame(GameType.FRIENDLY, host);
+        game.setHasSpectators(true);
+        game.setMaxSpectators(5);
+        game = gameRepository.save(game);
+        // Joins go through the services, which keep the game's counters; one player and one spectator leave again
+        for (int side = 1; side <= 2; side++) {
+            join(game, playerRepository.save(TestFixtures.player()), side);
+        }
+        Player leaving = playerRepository.save(TestFixtures.player());
+        join(game, leaving, 1);
+        gameParticipantService.leaveGame(leaving.getId(), game.getId());
+        watch(game, false);
+        watch(game, true);
+
+        // Newest game first, so the game just created is the first row of each listing
+        for (String path : new String[]{"/api/games", "/api/games/type/FRIENDLY", "/api/games/status/SCHEDULED"}) {
+            mockMvc.perform(get(path).param("view", "summary").param("sort", "id,desc").param("size", "1")
+                            .with(user(host.getEmail()).roles("PLAYER")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(game.getId()))
+                    .andExpect(jsonPath("$.content[0].hostUsername").value(host.getUsername()))
+                    .andExpect(jsonPath("$.content[0].currentPlayerCount").value(2))
+                    .andExpect(jsonPath("$.content[0].currentSpectatorCount").value(1))
+                    .andExpect(jsonPath("$.content[0]", not(hasKey("team1Players"))));
+        }
+
+        mockMvc.perform(get("/api/games").param("sort", "id,desc").param("size", "1")
+                        .with(user(host.getEmail()).roles("PLAYER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(game.getId()))
+                .andExpect(jsonPath("$.content[0].currentPlayerCount").value(2))
+                .andExpect(jsonPath("$.content[0].currentSpectatorCount").value(1))
+                .andExpect(jsonPath("$.content[0].team1Players.length()").value(1));
+    }
+
+    private void join(Game game, Player player, int side) {
+        GameParticipationRequest request = new GameParticipationRequest();
+        request.setGameId(game.getId());
+        request.setParticipationType(GameParticipant.ParticipationType.INDIVIDUAL);
+        request.setTeamSide(side);
+        gameParticipantService.joinGame(player.getId(), request);
+    }
+
+    private void watch(Game game, boolean leaveAgain) {
+        Spectator spectator = spectatorRepository.save(TestFixtures.spectator());
+        TestFixtures.authenticate(spectator.getEmail(), "ROLE_SPECTATOR");
+        try {
+            gameSpectatorService.joinGame(game.getId());
+            if (leaveAgain) {
+                gameSpectatorService.leaveGame(game.getId());
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
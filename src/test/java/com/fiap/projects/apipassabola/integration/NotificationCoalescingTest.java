@@ -0,0 +1,193 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projects.apipassabola.dto.NotificationResponse;
+import com.fiap.projects.apipassabola.entity.Post;
+import com.fiap.projects.apipassabola.entity.PostLike;
+import com.fiap.projects.apipassabola.entity.UserType;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.model.Notification;
+import com.fiap.projects.apipassabola.repository.NotificationRepository;
+import com.fiap.projects.apipassabola.repository.PostLikeRepository;
+import com.fiap.projects.apipassabola.repository.PostRepository;
+import com.fiap.projects.apipassabola.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Likes on the same post are merged into one unread notification with an actor count taken from the
+ * post's likes, concurrent first likes open a single notification, and the WebSocket updates for it
+ * are batched (notifications.coalescing.flush-interval-ms is 300 in the
+ * test profile)
+ */
+public class NotificationCoalescingTest extends BaseIntegrationTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private SubscribableChannel brokerChannel;
+
+    @Test
+    void likes_on_the_same_post_are_coalesced_into_one_notification() throws Exception {
+        long authorId = TestFixtures.unusedId();
+        String destination = "/topic/notifications/player/" + authorId;
+        Post post1 = newPost(authorId);
+        Post post2 = newPost(authorId);
+
+        List<NotificationResponse> pushed = new CopyOnWriteArrayList<>();
+        MessageHandler handler = message -> {
+            if (destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                try {
+                    pushed.add(objectMapper.readValue((byte[]) message.getPayload(), NotificationResponse.class));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        brokerChannel.subscribe(handler);
+        try {
+            like(authorId, 11L, "Ana", post1);
+            like(authorId, 12L, "Bia", post1);
+            like(authorId, 13L, "Caio", post1);
+            like(authorId, 14L, "Duda", post1);
+            // Ana already left the recent actors; liking again after an unlike still does not count twice
+            unlike(11L, post1);
+            like(authorId, 11L, "Ana", post1);
+            like(authorId, 12L, "Bia", post2);
+
+            List<Notification> rows = notifications(authorId);
+            assertEquals(2, rows.size());
+            Notification group = rows.stream()
+                    .filter(n -> ("post:" + post1.getId()).equals(n.getGroupKey()))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(4, group.getActorCount());
+            assertEquals("Ana e mais 3 pessoas curtiram seu post", group.getMessage());
+            assertEquals(11L, group.getSenderId());
+            assertTrue(group.getRecentActors().indexOf("Ana") < group.getRecentActors().indexOf("Duda"));
+            assertEquals(2, notificationService.countUnreadNotifications(authorId, UserType.PLAYER));
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!hasFrame(pushed, group.getId(), 4) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(hasFrame(pushed, group.getId(), 4));
+            // Fewer frames than likes on the post
+            assertTrue(pushed.stream().filter(n -> n.getId().equals(group.getId())).count() < 5);
+
+            // Once read, the next like opens a new notification
+            assertTrue(notificationService.markAsRead(group.getId(), authorId, UserType.PLAYER));
+            like(authorId, 15L, "Eva", post1);
+            List<Notification> afterRead = notifications(authorId);
+            assertEquals(3, afterRead.size());
+            assertEquals("Eva curtiu seu post", afterRead.get(0).getMessage());
+            assertEquals(1, afterRead.get(0).getActorCount());
+        } finally {
+            brokerChannel.unsubscribe(handler);
+        }
+    }
+
+    @Test
+    void concurrent_first_likes_open_a_single_group() throws Exception {
+        long authorId = TestFixtures.unusedId();
+        Post post = newPost(authorId);
+
+        int likers = 6;
+        ExecutorService pool = Executors.newFixedThreadPool(likers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < likers; i++) {
+                long likerId = 100L + i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    like(authorId, likerId, "Liker" + likerId, post);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Notification> rows = notifications(authorId);
+        assertEquals(1, rows.size());
+        assertEquals(likers, rows.get(0).getActorCount());
+        assertEquals(1, notificationService.countUnreadNotifications(authorId, UserType.PLAYER));
+    }
+
+    private boolean hasFrame(List<NotificationResponse> pushed, Long notificationId, int actorCount) {
+        return pushed.stream().anyMatch(n -> n.getId().equals(notificationId) && n.getActorCount() == actorCount);
+    }
+
+    private List<Notification> notifications(long authorId) {
+        return notificationRepository.findByRecipientIdAndRecipientTypeOrderByCreatedAtDesc(
+                authorId, UserType.PLAYER, PageRequest.of(0, 10)).getContent();
+    }
+
+    private Post newPost(long authorId) {
+        Post post = new Post();
+        post.setAuthorId(authorId);
+        post.setAuthorUsername("author_" + authorId);
+        post.setAuthorName("Author " + authorId);
+        post.setAuthorType(UserType.PLAYER);
+        post.setContent("Coalescing post");
+        return postRepository.save(post);
+    }
+
+    private void like(long authorId, long likerId, String likerName, Post post) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PostLike postLike = new PostLike();
+            postLike.setPost(post);
+            postLike.setUserId(likerId);
+            postLike.setUserUsername(likerName.toLowerCase());
+            postLike.setUserName(likerName);
+            postLike.setUserType(UserType.PLAYER);
+            postLike = postLikeRepository.save(postLike);
+            notificationService.notifyPostLiked(authorId, UserType.PLAYER, likerId, UserType.PLAYER,
+                    likerName.toLowerCase(), likerName, post.getId(), postLike.getCreatedAt());
+        });
+    }
+
+    private void unlike(long likerId, Post post) {
+        transactionTemplate.executeWithoutResult(status ->
+                postLikeRepository.deleteByPostIdAndUserIdAndUserType(post.getId(), likerId, UserType.PLAYER));
+    }
+}
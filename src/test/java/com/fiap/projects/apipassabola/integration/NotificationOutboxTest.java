@@ -0,0 +1,135 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projects.apipassabola.dto.NotificationResponse;
+import com.fiap.projects.apipassabola.entity.OutboxEvent;
+import com.fiap.projects.apipassabola.entity.UserType;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.model.Notification;
+import com.fiap.projects.apipassabola.model.NotificationType;
+import com.fiap.projects.apipassabola.repository.OutboxEventRepository;
+import com.fiap.projects.apipassabola.service.NotificationDispatcherService;
+import com.fiap.projects.apipassabola.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Notifications are written to the outbox with the triggering transaction and pushed by the
+ * background dispatcher only after it commits
+ */
+public class NotificationOutboxTest extends BaseIntegrationTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationDispatcherService notificationDispatcherService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private SubscribableChannel brokerChannel;
+
+    @Test
+    void notification_is_pushed_by_the_dispatcher_after_commit() throws Exception {
+        long recipientId = TestFixtures.unusedId();
+        String destination = "/topic/notifications/player/" + recipientId;
+
+        List<NotificationResponse> pushed = new CopyOnWriteArrayList<>();
+        MessageHandler handler = message -> {
+            if (destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                try {
+                    pushed.add(objectMapper.readValue((byte[]) message.getPayload(), NotificationResponse.class));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        brokerChannel.subscribe(handler);
+        try {
+            Notification notification = transactionTemplate.execute(status -> {
+                Notification created = notificationService.createAndSendNotification(recipientId, UserType.PLAYER,
+                        1L, UserType.PLAYER, "outbox_sender", "Outbox Sender", NotificationType.NEW_FOLLOWER,
+                        "Outbox Sender começou a seguir você", null, null);
+                // Nothing reaches the broker while the transaction is still open
+                assertTrue(pushed.isEmpty());
+                return created;
+            });
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (pushed.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(1, pushed.size());
+            assertEquals(notification.getId(), pushed.get(0).getId());
+            assertEquals("Outbox Sender começou a seguir você", pushed.get(0).getMessage());
+
+            OutboxEvent event = outboxEventRepository.findAll().stream()
+                    .filter(e -> OutboxEvent.NOTIFICATION_CREATED.equals(e.getEventType())
+                            && notification.getId().equals(e.getAggregateId()))
+                    .findFirst()
+                    .orElseThrow();
+            deadline = System.currentTimeMillis() + 5_000;
+            while (event.getStatus() != OutboxEvent.EventStatus.PROCESSED && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                event = outboxEventRepository.findById(event.getId()).orElseThrow();
+            }
+            assertEquals(OutboxEvent.EventStatus.PROCESSED, event.getStatus());
+            assertTrue(notificationDispatcherService.getStatus().getDeliveredSinceStartup() >= 1);
+        } finally {
+            brokerChannel.unsubscribe(handler);
+        }
+    }
+
+    @Test
+    void finished_deliveries_older_than_the_retention_are_purged() {
+        long aggregateId = TestFixtures.unusedId();
+        LocalDateTime old = LocalDateTime.now().minusDays(30);
+        OutboxEvent oldProcessed = outboxEvent(aggregateId, OutboxEvent.EventStatus.PROCESSED, old);
+        OutboxEvent oldFailed = outboxEvent(aggregateId, OutboxEvent.EventStatus.FAILED, old);
+        OutboxEvent oldPending = outboxEvent(aggregateId, OutboxEvent.EventStatus.PENDING, old);
+        OutboxEvent recentProcessed = outboxEvent(aggregateId, OutboxEvent.EventStatus.PROCESSED, LocalDateTime.now());
+
+        assertTrue(notificationDispatcherService.purgeFinished() >= 2);
+
+        assertFalse(outboxEventRepository.existsById(oldProcessed.getId()));
+        assertFalse(outboxEventRepository.existsById(oldFailed.getId()));
+        // Still owed to the recipient, or inside the retention period
+        assertTrue(outboxEventRepository.existsById(oldPending.getId()));
+        assertTrue(outboxEventRepository.existsById(recentProcessed.getId()));
+    }
+
+    private OutboxEvent outboxEvent(long aggregateId, OutboxEvent.EventStatus status, LocalDateTime createdAt) {
+        OutboxEvent event = OutboxEvent.of(OutboxEvent.NOTIFICATION_CREATED, aggregateId);
+        event.setPayload("{}");
+        event.setStatus(status);
+        // Far in the future so the dispatcher leaves the pending one alone
+        event.setNextAttemptAt(LocalDateTime.now().plusYears(1));
+        event = outboxEventRepository.save(event);
+        jdbcTemplate.update("UPDATE outbox_events SET created_at = ? WHERE id = ?", createdAt, event.getId());
+        return event;
+    }
+}
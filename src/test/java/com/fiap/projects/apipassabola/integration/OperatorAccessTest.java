@@ -0,0 +1,32 @@
+package com.fiap.projects.apipassabola.integration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The administrative endpoints only answer the accounts listed in operators.emails; the ORGANIZATION role,
+ * which anyone gets by registering an organization, is not enough
+ */
+public class OperatorAccessTest extends BaseIntegrationTest {
+
+    private static final String OPERATOR = "operator@passabola.test";
+
+    @Test
+    void migrations_endpoint_is_limited_to_operators() throws Exception {
+        mockMvc.perform(get("/api/migrations").with(user("org@email.com").roles("ORGANIZATION")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/migrations/run").with(user("org@email.com").roles("ORGANIZATION")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/migrations"))
+                .andExpect(status().is4xxClientError());
+
+        mockMvc.perform(get("/api/migrations").with(user(OPERATOR).roles("PLAYER")))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/migrations/run").with(user(OPERATOR.toUpperCase()).roles("ORGANIZATION")))
+                .andExpect(status().isOk());
+    }
+}
@@ -15,18 +15,18 @@ public class OrganizationIntegrationTest extends BaseIntegrationTest {
     void list_and_get_organization() {
         TestAuthClient auth = new TestAuthClient(restTemplate, "http://localhost:" + port);
         String u = UUID.randomUUID().toString().substring(0,8);
-        var org = auth.registerOrganization("orgt_" + u, "orgt_" + u + "@email.com", "04252011000110");
+        var org = auth.registerOrganization("orgt_" + u, "orgt_" + u + "@email.com", TestAuthClient.uniqueCnpj());
 
         HttpHeaders headers = authHeaders(org.token());
 
         // GET by id
         ResponseEntity<Map> byId = restTemplate.exchange(
-                baseUrl("/api/organizations/" + org.userId()),
+                baseUrl("/api/organizations/" + org.profileId()),
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
                 Map.class);
         assertEquals(HttpStatus.OK, byId.getStatusCode());
-        assertEquals(org.userId().longValue(), ((Number) byId.getBody().get("id")).longValue());
+        assertEquals(org.profileId().longValue(), ((Number) byId.getBody().get("id")).longValue());
 
         // GET by username
         String username = (String) byId.getBody().get("username");
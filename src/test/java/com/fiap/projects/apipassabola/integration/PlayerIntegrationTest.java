@@ -21,7 +21,7 @@ public class PlayerIntegrationTest extends BaseIntegrationTest {
 
         // GET by id
         ResponseEntity<Map> byId = restTemplate.exchange(
-                baseUrl("/api/players/" + pl.userId()),
+                baseUrl("/api/players/" + pl.profileId()),
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
                 Map.class);
@@ -0,0 +1,140 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projects.apipassabola.dto.response.PresenceResponse;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.service.PresenceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presence is indexed per user: device counts, bulk lookups (also over GET /api/presence) and
+ * debounced online/offline pushes (presence.debounce-ms is 300 in the test profile)
+ */
+public class PresenceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private SubscribableChannel brokerChannel;
+
+    @Value("${presence.max-lookup:200}")
+    private int maxLookup;
+
+    @Test
+    void sessions_are_counted_per_user_and_changes_are_debounced() throws Exception {
+        Player player = playerRepository.save(TestFixtures.player());
+        Player offline = playerRepository.save(TestFixtures.player());
+        Long userId = player.getUserId();
+        String destination = "/topic/presence/" + userId;
+
+        List<PresenceResponse> pushed = new CopyOnWriteArrayList<>();
+        MessageHandler handler = message -> {
+            if (destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                try {
+                    pushed.add(objectMapper.readValue((byte[]) message.getPayload(), PresenceResponse.class));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        brokerChannel.subscribe(handler);
+        try {
+            // A quick reconnect inside the debounce window publishes nothing
+            presenceService.sessionConnected("flap-" + userId, player.getEmail());
+            presenceService.sessionDisconnected("flap-" + userId);
+            Thread.sleep(400);
+            presenceService.flushPresenceChanges();
+            assertTrue(pushed.isEmpty());
+
+            presenceService.sessionConnected("phone-" + userId, player.getEmail());
+            presenceService.sessionConnected("web-" + userId, player.getEmail());
+            assertTrue(presenceService.isOnline(userId));
+            assertEquals(2, presenceService.getPresence(userId).getSessions());
+
+            presenceService.sessionDisconnected("phone-" + userId);
+            assertTrue(presenceService.isOnline(userId));
+
+            List<PresenceResponse> bulk = presenceService.getPresence(List.of(offline.getUserId(), userId));
+            assertEquals(offline.getUserId(), bulk.get(0).getUserId());
+            assertFalse(bulk.get(0).isOnline());
+            assertNull(bulk.get(0).getLastSeenAt());
+            assertTrue(bulk.get(1).isOnline());
+            assertEquals(1, bulk.get(1).getSessions());
+
+            Thread.sleep(400);
+            presenceService.flushPresenceChanges();
+            assertEquals(1, pushed.size());
+            assertTrue(pushed.get(0).isOnline());
+
+            presenceService.sessionDisconnected("web-" + userId);
+            assertFalse(presenceService.isOnline(userId));
+            assertNotNull(presenceService.getPresence(userId).getLastSeenAt());
+            Thread.sleep(400);
+            presenceService.flushPresenceChanges();
+            assertEquals(2, pushed.size());
+            assertFalse(pushed.get(1).isOnline());
+        } finally {
+            brokerChannel.unsubscribe(handler);
+        }
+    }
+
+    @Test
+    void presence_endpoints_serve_single_and_bulk_lookups() throws Exception {
+        Player player = playerRepository.save(TestFixtures.player());
+        Player offline = playerRepository.save(TestFixtures.player());
+        presenceService.sessionConnected("http-" + player.getUserId(), player.getEmail());
+        try {
+            mockMvc.perform(get("/api/presence/" + player.getUserId())
+                            .with(user(offline.getEmail()).roles("PLAYER")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.userId").value(player.getUserId().toString()))
+                    .andExpect(jsonPath("$.online").value(true))
+                    .andExpect(jsonPath("$.sessions").value(1));
+
+            mockMvc.perform(get("/api/presence")
+                            .param("userIds", offline.getUserId() + "," + player.getUserId())
+                            .with(user(offline.getEmail()).roles("PLAYER")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].userId").value(offline.getUserId().toString()))
+                    .andExpect(jsonPath("$[0].online").value(false))
+                    .andExpect(jsonPath("$[1].online").value(true));
+
+            String tooMany = String.join(",", Collections.nCopies(maxLookup + 1, player.getUserId().toString()));
+            mockMvc.perform(get("/api/presence").param("userIds", tooMany)
+                            .with(user(offline.getEmail()).roles("PLAYER")))
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(get("/api/presence/" + player.getUserId()))
+                    .andExpect(status().is4xxClientError());
+        } finally {
+            presenceService.sessionDisconnected("http-" + player.getUserId());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.entity.OutboxEvent;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.PlayerRanking;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.OutboxEventRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRankingRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.service.RankingPipelineService;
+import com.fiap.projects.apipassabola.service.RankingPointsService;
+import com.fiap.projects.apipassabola.service.RankingPointsService.Outcome;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * GameFinished events are applied in game order per player: a failed event is retried, the later
+ * events of the same player wait for it (within a round and across rounds), other players are not
+ * held back, and redelivered events do not score twice
+ *
+ * The spied RankingPointsService needs its own application context; it gets its own in-memory
+ * database too, so its create-drop schema does not reset the one shared by the other tests.
+ */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:ranking_pipeline;MODE=MySQL;" +
+        "DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MINUTE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+public class RankingPipelineTest extends BaseIntegrationTest {
+
+    @MockitoSpyBean
+    private RankingPointsService rankingPointsService;
+
+    @Autowired
+    private RankingPipelineService rankingPipelineService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerRankingRepository playerRankingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void failed_event_holds_back_later_events_of_the_same_player() {
+        Player ana = playerRepository.save(TestFixtures.player());
+        Player bia = playerRepository.save(TestFixtures.player());
+        long firstGame = TestFixtures.unusedId();
+        long secondGame = TestFixtures.unusedId();
+        long otherGame = TestFixtures.unusedId();
+        long laterGame = TestFixtures.unusedId();
+        stubGame(firstGame, ana, Outcome.WIN);
+        stubGame(secondGame, ana, Outcome.LOSS);
+        stubGame(otherGame, bia, Outcome.WIN);
+        stubGame(laterGame, ana, Outcome.LOSS);
+
+        List<Long> applied = new CopyOnWriteArrayList<>();
+        boolean[] failOnce = {true};
+        doAnswer(invocation -> {
+            Long gameId = invocation.getArgument(0);
+            if (gameId == firstGame && failOnce[0]) {
+                failOnce[0] = false;
+                throw new IllegalStateException("ranking row locked");
+            }
+            applied.add(gameId);
+            return invocation.callRealMethod();
+        }).when(rankingPointsService).applyPlayerOutcomes(anyLong(), anyMap(), anyMap());
+
+        rankingPipelineService.runExclusively(() -> {
+            OutboxEvent first = publish(firstGame);
+            OutboxEvent second = publish(secondGame);
+            OutboxEvent other = publish(otherGame);
+
+            assertTrue(rankingPipelineService.drainNow() >= 2);
+            first = reload(first);
+            second = reload(second);
+            assertEquals(OutboxEvent.EventStatus.PENDING, first.getStatus());
+            assertEquals(1, first.getAttempts());
+            // Deferred behind the failure without using an attempt
+            assertEquals(OutboxEvent.EventStatus.PENDING, second.getStatus());
+            assertEquals(0, second.getAttempts());
+            assertEquals(first.getNextAttemptAt(), second.getNextAttemptAt());
+            assertEquals(OutboxEvent.EventStatus.PROCESSED, reload(other).getStatus());
+            assertEquals(List.of(otherGame), applied);
+
+            // A new event for the same player still waits while the failed one is backing off
+            OutboxEvent later = publish(laterGame);
+            rankingPipelineService.drainNow();
+            assertEquals(OutboxEvent.EventStatus.PENDING, reload(later).getStatus());
+            assertEquals(List.of(otherGame), applied);
+
+            // Once the retry is due the events are applied in game order
+            jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = ? WHERE id IN (?, ?, ?)",
+                    LocalDateTime.now().minusSeconds(1), first.getId(), second.getId(), later.getId());
+            rankingPipelineService.drainNow();
+            assertEquals(List.of(otherGame, firstGame, secondGame, laterGame), applied);
+            for (OutboxEvent event : List.of(first, second, later)) {
+                assertEquals(OutboxEvent.EventStatus.PROCESSED, reload(event).getStatus());
+            }
+        });
+
+        PlayerRanking ranking = playerRankingRepository.findByPlayerId(ana.getId()).orElseThrow();
+        assertEquals(1, ranking.getGamesWon());
+        assertEquals(2, ranking.getGamesLost());
+        // WIN, LOSS, LOSS in game order
+        assertEquals(-2, ranking.getCurrentStreak());
+    }
+
+    @Test
+    void redelivered_event_does_not_score_twice() {
+        Player player = playerRepository.save(TestFixtures.player());
+        long game = TestFixtures.unusedId();
+        stubGame(game, player, Outcome.WIN);
+
+        rankingPipelineService.runExclusively(() -> {
+            OutboxEvent event = publish(game);
+            rankingPipelineService.drainNow();
+            assertEquals(OutboxEvent.EventStatus.PROCESSED, reload(event).getStatus());
+
+            // At-least-once delivery: the same event comes back
+            jdbcTemplate.update("UPDATE outbox_events SET status = 'PENDING' WHERE id = ?", event.getId());
+            rankingPipelineService.drainNow();
+            assertEquals(OutboxEvent.EventStatus.PROCESSED, reload(event).getStatus());
+        });
+
+        PlayerRanking ranking = playerRankingRepository.findByPlayerId(player.getId()).orElseThrow();
+        assertEquals(1, ranking.getGamesWon());
+        assertEquals(1, ranking.getTotalGames());
+    }
+
+    private void stubGame(long gameId, Player player, Outcome outcome) {
+        doReturn(new RankingPointsService.GameOutcomes(gameId, Map.of(player.getId(), outcome), Map.of(), Map.of()))
+                .when(rankingPointsService).computeOutcomes(gameId);
+    }
+
+    private OutboxEvent publish(long gameId) {
+        return outboxEventRepository.save(OutboxEvent.of(OutboxEvent.GAME_FINISHED, gameId));
+    }
+
+    private OutboxEvent reload(OutboxEvent event) {
+        return outboxEventRepository.findById(event.getId()).orElseThrow();
+    }
+}
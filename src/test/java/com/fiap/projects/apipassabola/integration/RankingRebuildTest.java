@@ -0,0 +1,174 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.dto.request.FinishGameRequest;
+import com.fiap.projects.apipassabola.dto.request.GoalRequest;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.OutboxEvent;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Team;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameParticipantRepository;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.OutboxEventRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.TeamRepository;
+import com.fiap.projects.apipassabola.service.GameService;
+import com.fiap.projects.apipassabola.service.RankingPipelineService;
+import com.fiap.projects.apipassabola.service.RankingRebuildService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A full ranking rebuild replays the finished games into the same player and team rankings the
+ * incremental pipeline produced, and marks the GameFinished events it covered as processed
+ *
+ * The rebuild rewrites every ranking row, so this class runs on its own in-memory database.
+ */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:ranking_rebuild;MODE=MySQL;" +
+        "DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MINUTE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+public class RankingRebuildTest extends BaseIntegrationTest {
+
+    private static final String RANKING_COLUMNS = "total_points, division, games_won, games_drawn, games_lost, " +
+            "total_games, current_streak, best_streak";
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private RankingRebuildService rankingRebuildService;
+
+    @Autowired
+    private RankingPipelineService rankingPipelineService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameParticipantRepository gameParticipantRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void only_operators_can_start_a_rebuild_over_http() throws Exception {
+        mockMvc.perform(post("/api/rankings/rebuild").with(user("org@email.com").roles("ORGANIZATION")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/rankings/rebuild").with(user("operator@passabola.test").roles("ORGANIZATION")))
+                .andExpect(status().isAccepted());
+        awaitRebuild();
+        assertEquals("COMPLETED", rankingRebuildService.getStatus().getState(), rankingRebuildService.getStatus().getError());
+    }
+
+    @Test
+    void rebuild_matches_the_incremental_rankings_and_processes_covered_events() throws Exception {
+        Player ana = playerRepository.save(TestFixtures.player());
+        Player bia = playerRepository.save(TestFixtures.player());
+        Player caio = playerRepository.save(TestFixtures.player());
+        Player duda = playerRepository.save(TestFixtures.player());
+        Player eva = playerRepository.save(TestFixtures.player());
+        Team home = teamRepository.save(TestFixtures.team(ana));
+        Team away = teamRepository.save(TestFixtures.team(caio));
+        TestFixtures.authenticate(ana.getEmail());
+
+        // Home win with goals, a draw and an away win, in chronological order
+        LocalDateTime start = LocalDateTime.now().minusDays(10);
+        List<Long> gameIds = new ArrayList<>();
+        int[][] scores = {{2, 1}, {0, 0}, {0, 3}};
+        for (int g = 0; g < scores.length; g++) {
+            Game game = TestFixtures.hostedGame(GameType.CHAMPIONSHIP, ana);
+            game.setGameDate(start.plusDays(g));
+            game = gameRepository.save(game);
+            gameParticipantRepository.save(TestFixtures.participant(game, ana, home, 1));
+            gameParticipantRepository.save(TestFixtures.participant(game, bia, home, 1));
+            gameParticipantRepository.save(TestFixtures.participant(game, caio, away, 2));
+            gameParticipantRepository.save(TestFixtures.participant(game, duda, away, 2));
+            gameParticipantRepository.save(TestFixtures.participant(game, eva, null, g % 2 + 1));
+            List<GoalRequest> goals = new ArrayList<>();
+            for (int i = 0; i < scores[g][0]; i++) {
+                goals.add(new GoalRequest(i == 0 ? ana.getId() : bia.getId(), 1, 10 + i, false));
+            }
+            for (int i = 0; i < scores[g][1]; i++) {
+                goals.add(new GoalRequest(caio.getId(), 2, 20 + i, false));
+            }
+            gameService.finishGame(game.getId(), new FinishGameRequest(scores[g][0], scores[g][1], goals, null));
+            gameIds.add(game.getId());
+        }
+        rankingPipelineService.runExclusively(() -> assertEquals(0, rankingPipelineService.drainNow()));
+
+        List<Long> playerIds = List.of(ana.getId(), bia.getId(), caio.getId(), duda.getId(), eva.getId());
+        List<Long> teamIds = List.of(home.getId(), away.getId());
+        Map<Long, Map<String, Object>> incrementalPlayers = rankings("player_rankings", "player_id", playerIds);
+        Map<Long, Map<String, Object>> incrementalTeams = rankings("team_rankings", "team_id", teamIds);
+        assertEquals(3, incrementalPlayers.get(ana.getId()).get("total_games"));
+        assertEquals(3, incrementalTeams.get(home.getId()).get("total_games"));
+
+        // Drift in the live tables, and the last game's event still waiting for a retry
+        jdbcTemplate.update("UPDATE player_rankings SET total_points = total_points + 500, current_streak = 7");
+        jdbcTemplate.update("UPDATE team_rankings SET games_won = 0");
+        Long waitingId = jdbcTemplate.queryForObject("SELECT id FROM outbox_events WHERE event_type = ? AND aggregate_id = ?",
+                Long.class, OutboxEvent.GAME_FINISHED, gameIds.get(2));
+        jdbcTemplate.update("UPDATE outbox_events SET status = 'FAILED', attempts = 3, next_attempt_at = ? WHERE id = ?",
+                LocalDateTime.now().plusHours(1), waitingId);
+
+        rankingRebuildService.startRebuild();
+        awaitRebuild();
+        assertEquals("COMPLETED", rankingRebuildService.getStatus().getState(), rankingRebuildService.getStatus().getError());
+        assertEquals(3, rankingRebuildService.getStatus().getProcessedGames());
+
+        assertEquals(incrementalPlayers, rankings("player_rankings", "player_id", playerIds));
+        assertEquals(incrementalTeams, rankings("team_rankings", "team_id", teamIds));
+        OutboxEvent covered = outboxEventRepository.findById(waitingId).orElseThrow();
+        assertEquals(OutboxEvent.EventStatus.PROCESSED, covered.getStatus());
+        assertNull(covered.getLastError());
+        // Nothing left for the pipeline to apply a second time
+        rankingPipelineService.runExclusively(() -> assertEquals(0, rankingPipelineService.drainNow()));
+        assertEquals(incrementalPlayers, rankings("player_rankings", "player_id", playerIds));
+    }
+
+    private void awaitRebuild() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while ("RUNNING".equals(rankingRebuildService.getStatus().getState()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private Map<Long, Map<String, Object>> rankings(String table, String subjectColumn, List<Long> ids) {
+        Map<Long, Map<String, Object>> rows = new LinkedHashMap<>();
+        for (Long id : ids) {
+            rows.put(id, jdbcTemplate.queryForMap("SELECT " + RANKING_COLUMNS + " FROM " + table +
+                    " WHERE " + subjectColumn + " = ?", id));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,218 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.dto.request.FinishGameRequest;
+import com.fiap.projects.apipassabola.dto.request.GoalRequest;
+import com.fiap.projects.apipassabola.dto.response.RankingSeasonResponse;
+import com.fiap.projects.apipassabola.dto.response.SeasonRankingEntryResponse;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.OutboxEvent;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.PlayerRanking;
+import com.fiap.projects.apipassabola.exception.BusinessException;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameParticipantRepository;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.OutboxEventRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRankingRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.RankingSeasonRepository;
+import com.fiap.projects.apipassabola.service.GameService;
+import com.fiap.projects.apipassabola.service.RankingPipelineService;
+import com.fiap.projects.apipassabola.service.RankingPointsService;
+import com.fiap.projects.apipassabola.service.RankingRebuildService;
+import com.fiap.projects.apipassabola.service.RankingSeasonService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Closing a season archives the live rankings and resets them, refuses to run while finished games
+ * are still waiting in the ranking pipeline, and never creates two seasons with the same name; a rebuild
+ * after the close replays each game in the season its result was applied in, whatever its scheduled date
+ *
+ * Closing a season resets every live ranking, so this class runs on its own in-memory database.
+ */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:ranking_seasons;MODE=MySQL;" +
+        "DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=MINUTE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+public class RankingSeasonCloseTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RankingSeasonService rankingSeasonService;
+
+    @Autowired
+    private RankingPointsService rankingPointsService;
+
+    @Autowired
+    private RankingSeasonRepository rankingSeasonRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerRankingRepository playerRankingRepository;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private RankingPipelineService rankingPipelineService;
+
+    @Autowired
+    private RankingRebuildService rankingRebuildService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameParticipantRepository gameParticipantRepository;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+    @Test
+    void only_operators_can_close_a_season_over_http() throws Exception {
+        long seasons = rankingSeasonRepository.count();
+        String body = "{\"name\": \"Http " + TestFixtures.suffix() + "\"}";
+
+        mockMvc.perform(post("/api/rankings/seasons/close").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .with(user("org@email.com").roles("ORGANIZATION")))
+                .andExpect(status().isForbidden());
+        assertEquals(seasons, rankingSeasonRepository.count());
+
+        mockMvc.perform(post("/api/rankings/seasons/close").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .with(user("operator@passabola.test").roles("ORGANIZATION")))
+                .andExpect(status().isCreated());
+        assertEquals(seasons + 1, rankingSeasonRepository.count());
+    }
+
+    @Test
+    void closing_a_season_archives_and_resets_the_rankings() {
+        Player player = playerRepository.save(TestFixtures.player());
+        rankingPointsService.applyPlayerOutcomes(TestFixtures.unusedId(), Map.of(player.getId(), RankingPointsService.Outcome.WIN), Map.of());
+        rankingPointsService.applyPlayerOutcomes(TestFixtures.unusedId(), Map.of(player.getId(), RankingPointsService.Outcome.LOSS), Map.of());
+
+        RankingSeasonResponse season = rankingSeasonService.closeSeason(" Season " + TestFixtures.suffix() + " ");
+
+        assertFalse(season.getName().startsWith(" "));
+        assertTrue(season.getPlayersArchived() >= 1);
+        SeasonRankingEntryResponse archived = rankingSeasonService.getPlayerSeasonEntry(season.getId(), player.getId());
+        assertEquals(1, archived.getGamesWon());
+        assertEquals(1, archived.getGamesLost());
+        assertEquals(2, archived.getTotalGames());
+
+        PlayerRanking live = playerRankingRepository.findByPlayerId(player.getId()).orElseThrow();
+        assertEquals(0, live.getTotalGames());
+        assertEquals(0, live.getTotalPoints());
+        assertEquals(0, live.getCurrentStreak());
+        assertEquals(season.getClosedAt(), rankingSeasonService.getCurrentSeasonStart());
+    }
+
+    @Test
+    void season_is_not_closed_while_finished_games_are_pending() {
+        // Waiting for a retry: the drain before closing cannot process it
+        OutboxEvent waiting = OutboxEvent.of(OutboxEvent.GAME_FINISHED, TestFixtures.unusedId());
+        waiting.setNextAttemptAt(LocalDateTime.now().plusHours(1));
+        waiting = outboxEventRepository.save(waiting);
+        long seasons = rankingSeasonRepository.count();
+        try {
+            String name = "Blocked " + TestFixtures.suffix();
+            BusinessException refused = assertThrows(BusinessException.class, () -> rankingSeasonService.closeSeason(name));
+            assertTrue(refused.getMessage().contains("pending or failed"));
+            assertEquals(seasons, rankingSeasonRepository.count());
+        } finally {
+            outboxEventRepository.delete(waiting);
+        }
+    }
+
+    @Test
+    void concurrent_closes_with_the_same_name_create_one_season() throws Exception {
+        String name = "Concurrent " + TestFixtures.suffix();
+        int callers = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RankingSeasonResponse>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return rankingSeasonService.closeSeason(name);
+                }));
+            }
+            start.countDown();
+            int closed = 0;
+            for (Future<RankingSeasonResponse> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    closed++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(BusinessException.class, e.getCause());
+                    assertTrue(e.getCause().getMessage().contains("already used"));
+                }
+            }
+            assertEquals(1, closed);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(rankingSeasonRepository.existsByName(name));
+    }
+
+    @Test
+    void rebuild_places_games_in_the_season_their_result_was_applied_in() throws Exception {
+        // Scheduled after the close but applied before it, and scheduled before the close but applied after it
+        Player early = playerRepository.save(TestFixtures.player());
+        Player late = playerRepository.save(TestFixtures.player());
+        Game appliedBefore = finishChampionship(early, LocalDateTime.now().plusDays(2));
+        RankingSeasonResponse season = rankingSeasonService.closeSeason("Applied " + TestFixtures.suffix());
+        Game appliedAfter = finishChampionship(late, LocalDateTime.now().minusDays(2));
+
+        assertTrue(gameRepository.findById(appliedBefore.getId()).orElseThrow().getRankedAt().isBefore(season.getClosedAt()));
+        assertFalse(gameRepository.findById(appliedAfter.getId()).orElseThrow().getRankedAt().isBefore(season.getClosedAt()));
+
+        rankingRebuildService.startRebuild();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while ("RUNNING".equals(rankingRebuildService.getStatus().getState()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals("COMPLETED", rankingRebuildService.getStatus().getState(), rankingRebuildService.getStatus().getError());
+
+        assertEquals(1, rankingSeasonService.getPlayerSeasonEntry(season.getId(), early.getId()).getTotalGames());
+        assertEquals(0, playerRankingRepository.findByPlayerId(early.getId()).orElseThrow().getTotalGames());
+        assertEquals(1, playerRankingRepository.findByPlayerId(late.getId()).orElseThrow().getTotalGames());
+    }
+
+    private Game finishChampionship(Player player, LocalDateTime gameDate) {
+        TestFixtures.authenticate(player.getEmail());
+        Game game = TestFixtures.hostedGame(GameType.CHAMPIONSHIP, player);
+        game.setGameDate(gameDate);
+        game = gameRepository.save(game);
+        gameParticipantRepository.save(TestFixtures.participant(game, player, null, 1));
+        gameService.finishGame(game.getId(), new FinishGameRequest(1, 0,
+                List.of(new GoalRequest(player.getId(), 1, 10, false)), null));
+        rankingPipelineService.runExclusively(() -> assertEquals(0, rankingPipelineService.drainNow()));
+        return game;
+    }
+}
@@ -0,0 +1,141 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.dto.request.GameParticipationRequest;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameParticipant;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Team;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameParticipantRepository;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.TeamRepository;
+import com.fiap.projects.apipassabola.service.GameParticipantService;
+import com.fiap.projects.apipassabola.service.RankingPointsService;
+import com.fiap.projects.apipassabola.service.RankingPointsService.Outcome;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Team rankings get the result of the side the team actually played on, even when its players also
+ * belong to other teams; legacy WITH_TEAM rows without a recorded team only count for single-team players
+ */
+public class RankingTeamOutcomeTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RankingPointsService rankingPointsService;
+
+    @Autowired
+    private GameParticipantService gameParticipantService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameParticipantRepository gameParticipantRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void team_outcomes_follow_the_team_recorded_on_each_side() {
+        Player ana = playerRepository.save(TestFixtures.player());
+        Player bia = playerRepository.save(TestFixtures.player());
+        Player caio = playerRepository.save(TestFixtures.player());
+        Team home = teamRepository.save(TestFixtures.team(ana));
+        Team away = teamRepository.save(TestFixtures.team(bia));
+        // Ana and Bia are both also in a third team that did not play
+        Team bench = teamRepository.save(TestFixtures.team(ana));
+        joinTeams(ana, home, bench);
+        joinTeams(bia, away, bench);
+        // Caio has two teams and a legacy row without the team: the result cannot be attributed
+        Team caioFirst = teamRepository.save(TestFixtures.team(caio));
+        Team caioSecond = teamRepository.save(TestFixtures.team(caio));
+        joinTeams(caio, caioFirst, caioSecond);
+
+        Game game = gameRepository.save(newFinishedGame(2, 0));
+        participate(game, ana, home, 1);
+        participate(game, bia, away, 2);
+        participate(game, caio, null, 1);
+
+        RankingPointsService.GameOutcomes outcomes = rankingPointsService.computeOutcomes(game.getId());
+
+        assertEquals(Map.of(ana.getId(), Outcome.WIN, bia.getId(), Outcome.LOSS, caio.getId(), Outcome.WIN),
+                outcomes.getPlayerOutcomes());
+        assertEquals(Map.of(home.getId(), Outcome.WIN, away.getId(), Outcome.LOSS), outcomes.getTeamOutcomes());
+    }
+
+    @Test
+    void legacy_row_counts_for_the_only_team_of_the_player() {
+        Player ana = playerRepository.save(TestFixtures.player());
+        Team team = teamRepository.save(TestFixtures.team(ana));
+        joinTeams(ana, team);
+
+        Game game = gameRepository.save(newFinishedGame(1, 1));
+        participate(game, ana, null, 2);
+
+        assertEquals(Map.of(team.getId(), Outcome.DRAW),
+                rankingPointsService.computeOutcomes(game.getId()).getTeamOutcomes());
+    }
+
+    @Test
+    void joining_with_team_records_the_team_on_every_member() {
+        Player ana = playerRepository.save(TestFixtures.player());
+        Player bia = playerRepository.save(TestFixtures.player());
+        Team team = teamRepository.save(TestFixtures.team(ana));
+        joinTeams(ana, team);
+        joinTeams(bia, team);
+        Game game = gameRepository.save(TestFixtures.game(GameType.FRIENDLY));
+
+        GameParticipationRequest request = new GameParticipationRequest();
+        request.setGameId(game.getId());
+        request.setParticipationType(GameParticipant.ParticipationType.WITH_TEAM);
+        request.setTeamSide(2);
+        gameParticipantService.joinGame(ana.getId(), request);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var participants = gameParticipantRepository.findConfirmedPlayerParticipantsByGame(game.getId());
+            assertEquals(2, participants.size());
+            for (GameParticipant participant : participants) {
+                assertEquals(team.getId(), participant.getTeam().getId());
+                assertEquals(2, participant.getTeamSide());
+            }
+        });
+    }
+
+    private void participate(Game game, Player player, Team team, int side) {
+        // Rows written before team_id existed joined WITH_TEAM but carry no team
+        GameParticipant participant = TestFixtures.participant(game, player, team, side);
+        participant.setParticipationType(GameParticipant.ParticipationType.WITH_TEAM);
+        gameParticipantRepository.save(participant);
+    }
+
+    private void joinTeams(Player player, Team... teams) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Player loaded = playerRepository.findById(player.getId()).orElseThrow();
+            for (Team team : teams) {
+                loaded.getTeams().add(teamRepository.getReferenceById(team.getId()));
+            }
+        });
+    }
+
+    private Game newFinishedGame(int homeGoals, int awayGoals) {
+        Game game = TestFixtures.game(GameType.CHAMPIONSHIP);
+        game.setStatus(Game.GameStatus.FINISHED);
+        game.setHomeGoals(homeGoals);
+        game.setAwayGoals(awayGoals);
+        return game;
+    }
+}
@@ -0,0 +1,111 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.dto.request.FinishGameRequest;
+import com.fiap.projects.apipassabola.dto.request.GoalRequest;
+import com.fiap.projects.apipassabola.dto.response.TopScorerResponse;
+import com.fiap.projects.apipassabola.dto.response.TopScorersResponse;
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.PlayerGoalCounter;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.PlayerGoalCounterRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.service.GameService;
+import com.fiap.projects.apipassabola.service.TopScorerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Finishing a game adds its goals (own goals excluded) to the overall, current season and tournament
+ * counters, and the top-scorer boards serve the new totals in order
+ */
+public class TopScorerCounterTest extends BaseIntegrationTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TopScorerService topScorerService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerGoalCounterRepository playerGoalCounterRepository;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void finished_games_increment_the_goal_counters_of_every_scope() {
+        Player host = playerRepository.save(TestFixtures.player());
+        Player ana = playerRepository.save(TestFixtures.player());
+        Player bia = playerRepository.save(TestFixtures.player());
+        long tournamentId = TestFixtures.unusedId();
+        TestFixtures.authenticate(host.getEmail());
+
+        Game first = gameRepository.save(finishedTodayGame(host, tournamentId));
+        gameService.finishGame(first.getId(), new FinishGameRequest(2, 1, List.of(
+                new GoalRequest(ana.getId(), 1, 10, false),
+                new GoalRequest(ana.getId(), 1, 30, false),
+                new GoalRequest(bia.getId(), 2, 50, false),
+                new GoalRequest(bia.getId(), 1, 70, true)), null));
+        Game second = gameRepository.save(finishedTodayGame(host, tournamentId));
+        gameService.finishGame(second.getId(), new FinishGameRequest(1, 0, List.of(
+                new GoalRequest(ana.getId(), 1, 5, false)), null));
+
+        Map<Long, Integer> expected = Map.of(ana.getId(), 3, bia.getId(), 1);
+        List<Long> scorers = List.of(ana.getId(), bia.getId(), host.getId());
+        assertEquals(expected, goals(PlayerGoalCounter.Scope.OVERALL, 0, scorers));
+        assertEquals(expected, goals(PlayerGoalCounter.Scope.SEASON, PlayerGoalCounter.CURRENT_SEASON, scorers));
+        assertEquals(expected, goals(PlayerGoalCounter.Scope.TOURNAMENT, tournamentId, scorers));
+
+        TopScorersResponse tournament = topScorerService.getTopScorers(PlayerGoalCounter.Scope.TOURNAMENT, tournamentId, 10);
+        assertEquals(2, tournament.getScorers().size());
+        assertEquals(ana.getId(), tournament.getScorers().get(0).getPlayerId());
+        assertEquals(3, tournament.getScorers().get(0).getGoals());
+        assertEquals(1, tournament.getScorers().get(0).getPosition());
+        assertEquals(bia.getId(), tournament.getScorers().get(1).getPlayerId());
+        assertEquals(1, tournament.getScorers().get(1).getGoals());
+
+        // The always-loaded boards were updated after commit
+        TopScorerResponse overallAna = topScorerService
+                .getTopScorers(PlayerGoalCounter.Scope.OVERALL, null, TopScorerService.BOARD_CAPACITY)
+                .getScorers().stream()
+                .filter(s -> s.getPlayerId().equals(ana.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(3, overallAna.getGoals());
+    }
+
+    private Map<Long, Integer> goals(PlayerGoalCounter.Scope scope, long scopeId, List<Long> playerIds) {
+        Map<Long, Integer> goals = new HashMap<>();
+        for (Object[] row : playerGoalCounterRepository.findGoals(scope, scopeId, playerIds)) {
+            goals.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return goals;
+    }
+
+    private Game finishedTodayGame(Player host, long tournamentId) {
+        Game game = TestFixtures.hostedGame(GameType.FRIENDLY, host);
+        game.setGameDate(LocalDateTime.now().minusHours(2));
+        game.setTournamentId(tournamentId);
+        return game;
+    }
+}
@@ -0,0 +1,189 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Team;
+import com.fiap.projects.apipassabola.entity.TeamRanking;
+import com.fiap.projects.apipassabola.entity.Tournament;
+import com.fiap.projects.apipassabola.entity.TournamentMatch;
+import com.fiap.projects.apipassabola.entity.TournamentTeam;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.TeamRankingRepository;
+import com.fiap.projects.apipassabola.repository.TeamRepository;
+import com.fiap.projects.apipassabola.repository.TournamentMatchRepository;
+import com.fiap.projects.apipassabola.repository.TournamentRepository;
+import com.fiap.projects.apipassabola.repository.TournamentTeamRepository;
+import com.fiap.projects.apipassabola.service.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Brackets for any team count: byes for the top ranked seeds, double elimination and
+ * group stage followed by a knockout, each played through to a champion
+ */
+public class TournamentBracketFormatsTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentTeamRepository tournamentTeamRepository;
+
+    @Autowired
+    private TournamentMatchRepository tournamentMatchRepository;
+
+    @Autowired
+    private TeamRankingRepository teamRankingRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Test
+    void single_elimination_gives_byes_to_the_best_ranked_teams() {
+        // Registration order is the reverse of ranking order
+        Tournament tournament = registeredTournament(6, Tournament.BracketFormat.SINGLE_ELIMINATION, 10, 20, 30, 40, 50, 60);
+        List<Long> teamIds = tournamentTeamRepository.findWithTeamsByTournamentId(tournament.getId()).stream()
+                .map(tt -> tt.getTeam().getId())
+                .toList();
+
+        tournamentService.generateBracket(tournament.getId());
+
+        List<TournamentTeam> seeded = tournamentTeamRepository.findByTournamentIdOrderBySeedPosition(tournament.getId());
+        assertEquals(teamIds.get(5), seeded.get(0).getTeam().getId());
+        assertEquals(teamIds.get(4), seeded.get(1).getTeam().getId());
+        assertEquals(teamIds.get(0), seeded.get(5).getTeam().getId());
+
+        List<TournamentMatch> matches = tournamentMatchRepository.findByTournamentId(tournament.getId());
+        assertEquals(5, matches.size());
+
+        // The two best seeds skip the first round and already wait in the semifinals
+        List<TournamentMatch> quarters = tournamentMatchRepository.findByTournamentIdAndRound(tournament.getId(), "QUARTER");
+        assertEquals(2, quarters.size());
+        Set<Long> quarterTeams = quarters.stream()
+                .flatMap(m -> List.of(m.getTeam1().getId(), m.getTeam2().getId()).stream())
+                .collect(Collectors.toSet());
+        assertFalse(quarterTeams.contains(teamIds.get(5)));
+        assertFalse(quarterTeams.contains(teamIds.get(4)));
+        List<TournamentMatch> semis = tournamentMatchRepository.findByTournamentIdAndRound(tournament.getId(), "SEMI");
+        Set<Long> semiTeams = semis.stream()
+                .map(TournamentMatch::getTeam1)
+                .map(Team::getId)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(teamIds.get(5), teamIds.get(4)), semiTeams);
+
+        playUntilFinished(tournament);
+        assertEquals(Tournament.TournamentStatus.FINISHED,
+                tournamentRepository.findById(tournament.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void double_elimination_sends_losers_to_the_losers_bracket() {
+        Tournament tournament = registeredTournament(5, Tournament.BracketFormat.DOUBLE_ELIMINATION);
+
+        tournamentService.generateBracket(tournament.getId());
+
+        List<TournamentMatch> matches = tournamentMatchRepository.findByTournamentId(tournament.getId());
+        // Every team but the champion loses twice, except the grand final loser
+        assertEquals(2 * 5 - 2, matches.size());
+        assertTrue(matches.stream().anyMatch(m -> m.getStage() == TournamentMatch.Stage.LOSERS));
+        assertEquals(1, matches.stream().filter(m -> m.getStage() == TournamentMatch.Stage.GRAND_FINAL).count());
+        assertTrue(matches.stream()
+                .filter(m -> m.getStage() == TournamentMatch.Stage.WINNERS)
+                .allMatch(m -> m.getLoserNextMatchId() != null));
+
+        playUntilFinished(tournament);
+
+        assertEquals(Tournament.TournamentStatus.FINISHED,
+                tournamentRepository.findById(tournament.getId()).orElseThrow().getStatus());
+        assertTrue(tournamentMatchRepository.findByTournamentId(tournament.getId()).stream()
+                .allMatch(TournamentMatch::isFinished));
+    }
+
+    @Test
+    void group_winners_fill_the_knockout_when_the_group_stage_ends() {
+        Tournament tournament = registeredTournament(8, Tournament.BracketFormat.GROUPS_KNOCKOUT);
+
+        tournamentService.generateBracket(tournament.getId());
+
+        List<TournamentMatch> groupMatches = tournamentMatchRepository
+                .findByTournamentIdAndStage(tournament.getId(), TournamentMatch.Stage.GROUP);
+        assertEquals(2 * 6, groupMatches.size());
+        assertTrue(groupMatches.stream().allMatch(m -> m.getGame() != null));
+        List<TournamentMatch> semis = tournamentMatchRepository.findByTournamentIdAndRound(tournament.getId(), "SEMI");
+        assertEquals(2, semis.size());
+        assertTrue(semis.stream().allMatch(m -> m.getTeam1() == null && m.getTeam1Qualifier() != null));
+
+        // Team 1 of each group match always wins
+        for (TournamentMatch match : groupMatches) {
+            tournamentService.updateMatchResult(match.getId(), 1, 0);
+        }
+
+        semis = tournamentMatchRepository.findByTournamentIdAndRound(tournament.getId(), "SEMI");
+        for (TournamentMatch semi : semis) {
+            assertEquals(TournamentMatch.MatchStatus.SCHEDULED, semi.getStatus());
+            assertNotNull(semi.getGame());
+            assertNotEquals(groupOf(groupMatches, semi.getTeam1().getId()), groupOf(groupMatches, semi.getTeam2().getId()));
+        }
+        long eliminated = tournamentTeamRepository.findByTournamentId(tournament.getId()).stream()
+                .filter(tt -> tt.getStatus() == TournamentTeam.TeamStatus.ELIMINATED)
+                .count();
+        assertEquals(4, eliminated);
+
+        playUntilFinished(tournament);
+        assertEquals(Tournament.TournamentStatus.FINISHED,
+                tournamentRepository.findById(tournament.getId()).orElseThrow().getStatus());
+    }
+
+    private Integer groupOf(List<TournamentMatch> groupMatches, Long teamId) {
+        return groupMatches.stream()
+                .filter(m -> m.getTeam1().getId().equals(teamId) || m.getTeam2().getId().equals(teamId))
+                .findFirst()
+                .map(TournamentMatch::getGroupNumber)
+                .orElseThrow();
+    }
+
+    private void playUntilFinished(Tournament tournament) {
+        for (int guard = 0; guard < 100; guard++) {
+            List<TournamentMatch> scheduled = tournamentMatchRepository
+                    .findByTournamentIdAndStatus(tournament.getId(), TournamentMatch.MatchStatus.SCHEDULED);
+            if (scheduled.isEmpty()) {
+                return;
+            }
+            for (TournamentMatch match : scheduled) {
+                tournamentService.updateMatchResult(match.getId(), 2, 1);
+            }
+        }
+        fail("tournament did not finish");
+    }
+
+    private Tournament registeredTournament(int teams, Tournament.BracketFormat format, int... rankingPoints) {
+        Tournament tournament = TestFixtures.tournament(GameType.CUP, teams);
+        tournament.setBracketFormat(format);
+        tournament = tournamentService.createTournament(tournament);
+
+        Player leader = playerRepository.save(TestFixtures.player());
+        List<Team> created = teamRepository.saveAll(TestFixtures.teams(leader, teams));
+        for (int i = 0; i < rankingPoints.length; i++) {
+            TeamRanking ranking = new TeamRanking();
+            ranking.setTeam(created.get(i));
+            ranking.setTotalPoints(rankingPoints[i]);
+            teamRankingRepository.save(ranking);
+        }
+        tournamentTeamRepository.saveAll(TestFixtures.registrations(tournament, created));
+        tournament.setTotalTeams(teams);
+        return tournamentRepository.save(tournament);
+    }
+}
@@ -0,0 +1,147 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Team;
+import com.fiap.projects.apipassabola.entity.Tournament;
+import com.fiap.projects.apipassabola.entity.TournamentMatch;
+import com.fiap.projects.apipassabola.entity.TournamentTeam;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.TeamRepository;
+import com.fiap.projects.apipassabola.repository.TournamentMatchRepository;
+import com.fiap.projects.apipassabola.repository.TournamentRepository;
+import com.fiap.projects.apipassabola.repository.TournamentTeamRepository;
+import com.fiap.projects.apipassabola.service.TournamentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A 256-team bracket is built in memory and written with batched inserts: every match is linked to
+ * the right next match and the whole generation takes a bounded number of statements
+ */
+public class TournamentBracketGenerationTest extends BaseIntegrationTest {
+
+    private static final int TEAMS = 256;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentTeamRepository tournamentTeamRepository;
+
+    @Autowired
+    private TournamentMatchRepository tournamentMatchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void generates_linked_256_team_bracket_with_batched_writes() {
+        Tournament tournament = registeredTournament(TEAMS);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        tournamentService.generateBracket(tournament.getId());
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        // One write per row would take more than 600 statements
+        assertTrue(statements < 100, "bracket generation prepared " + statements + " statements");
+
+        List<TournamentMatch> matches = tournamentMatchRepository.findByTournamentId(tournament.getId());
+        assertEquals(TEAMS - 1, matches.size());
+
+        Map<Long, TournamentMatch> byId = matches.stream()
+                .collect(Collectors.toMap(TournamentMatch::getId, m -> m));
+        Map<String, Long> perRound = matches.stream()
+                .collect(Collectors.groupingBy(TournamentMatch::getRound, Collectors.counting()));
+        assertEquals(Map.of("ROUND_OF_256", 128L, "ROUND_OF_128", 64L, "ROUND_OF_64", 32L, "ROUND_OF_32", 16L,
+                "ROUND_OF_16", 8L, "QUARTER", 4L, "SEMI", 2L, "FINAL", 1L), perRound);
+
+        Map<String, String> nextRound = Map.of("ROUND_OF_256", "ROUND_OF_128", "ROUND_OF_128", "ROUND_OF_64",
+                "ROUND_OF_64", "ROUND_OF_32", "ROUND_OF_32", "ROUND_OF_16", "ROUND_OF_16", "QUARTER",
+                "QUARTER", "SEMI", "SEMI", "FINAL");
+        Set<Long> firstRoundTeams = new HashSet<>();
+        Set<Integer> positions = new HashSet<>();
+        for (TournamentMatch match : matches) {
+            positions.add(match.getBracketPosition());
+            if ("FINAL".equals(match.getRound())) {
+                assertNull(match.getNextMatchId());
+            } else {
+                TournamentMatch next = byId.get(match.getNextMatchId());
+                assertNotNull(next, "match " + match.getId() + " has no next match");
+                assertEquals(nextRound.get(match.getRound()), next.getRound());
+                assertEquals((match.getMatchNumber() - 1) / 2 + 1, next.getMatchNumber());
+            }
+
+            if ("ROUND_OF_256".equals(match.getRound())) {
+                assertEquals(TournamentMatch.MatchStatus.SCHEDULED, match.getStatus());
+                assertNotNull(match.getGame());
+                assertEquals(tournament.getId(), match.getGame().getTournamentId());
+                firstRoundTeams.add(match.getTeam1().getId());
+                firstRoundTeams.add(match.getTeam2().getId());
+            } else {
+                assertEquals(TournamentMatch.MatchStatus.PENDING, match.getStatus());
+                assertNull(match.getGame());
+            }
+        }
+        assertEquals(TEAMS, firstRoundTeams.size());
+        assertEquals(TEAMS - 1, positions.size());
+
+        Tournament generated = tournamentRepository.findById(tournament.getId()).orElseThrow();
+        assertEquals(Tournament.TournamentStatus.BRACKET_READY, generated.getStatus());
+        assertEquals("ROUND_OF_256", generated.getCurrentRound());
+        List<TournamentTeam> seeded = tournamentTeamRepository.findByTournamentIdOrderBySeedPosition(tournament.getId());
+        for (int i = 0; i < seeded.size(); i++) {
+            assertEquals(i + 1, seeded.get(i).getSeedPosition());
+            assertEquals(TournamentTeam.TeamStatus.CONFIRMED, seeded.get(i).getStatus());
+        }
+    }
+
+    @Test
+    void finished_first_round_match_advances_winner_to_linked_match() {
+        Tournament tournament = registeredTournament(4);
+        tournamentService.generateBracket(tournament.getId());
+
+        TournamentMatch first = tournamentMatchRepository.findByTournamentIdAndRound(tournament.getId(), "SEMI").get(0);
+        tournamentService.syncGameResultToMatch(first.getGame().getId(), 3, 0);
+
+        TournamentMatch finalMatch = tournamentMatchRepository.findByTournamentIdAndRound(tournament.getId(), "FINAL").get(0);
+        assertEquals(finalMatch.getId(), first.getNextMatchId());
+        assertEquals(first.getTeam1().getId(), finalMatch.getTeam1().getId());
+    }
+
+    private Tournament registeredTournament(int teams) {
+        Tournament tournament = TestFixtures.tournament(GameType.CUP, teams);
+        tournament = tournamentService.createTournament(tournament);
+
+        Player leader = playerRepository.save(TestFixtures.player());
+        List<Team> created = teamRepository.saveAll(TestFixtures.teams(leader, teams));
+        tournamentTeamRepository.saveAll(TestFixtures.registrations(tournament, created));
+        tournament.setTotalTeams(teams);
+        return tournamentRepository.save(tournament);
+    }
+}
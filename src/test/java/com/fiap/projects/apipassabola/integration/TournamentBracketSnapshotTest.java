@@ -0,0 +1,177 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projects.apipassabola.dto.response.TournamentBracketResponse;
+import com.fiap.projects.apipassabola.dto.response.TournamentBracketUpdate;
+import com.fiap.projects.apipassabola.dto.response.TournamentMatchResponse;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Team;
+import com.fiap.projects.apipassabola.entity.Tournament;
+import com.fiap.projects.apipassabola.entity.TournamentMatch;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.TeamRepository;
+import com.fiap.projects.apipassabola.repository.TournamentMatchRepository;
+import com.fiap.projects.apipassabola.repository.TournamentRepository;
+import com.fiap.projects.apipassabola.repository.TournamentTeamRepository;
+import com.fiap.projects.apipassabola.service.TournamentBracketService;
+import com.fiap.projects.apipassabola.service.TournamentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bracket reads are served from a cached, pre-serialized snapshot; a result replaces only the changed
+ * matches in a new snapshot and pushes them to /topic/tournaments/{id}. The bracket endpoints use the
+ * snapshot version as ETag.
+ */
+public class TournamentBracketSnapshotTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentBracketService tournamentBracketService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentTeamRepository tournamentTeamRepository;
+
+    @Autowired
+    private TournamentMatchRepository tournamentMatchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private SubscribableChannel brokerChannel;
+
+    @Test
+    void snapshot_is_reused_until_a_result_changes_the_bracket() throws Exception {
+        Tournament tournament = registeredTournament(4);
+        tournamentService.generateBracket(tournament.getId());
+        String destination = "/topic/tournaments/" + tournament.getId();
+
+        TournamentBracketService.BracketSnapshot first = tournamentBracketService.getBracket(tournament.getId());
+        assertEquals(3, first.getMatches().size());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        TournamentBracketService.BracketSnapshot again = tournamentBracketService.getBracket(tournament.getId());
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        assertSame(first, again);
+        assertSame(first.getBracketJson(), again.getBracketJson());
+        assertEquals(0, statements);
+
+        List<Message<?>> pushed = new CopyOnWriteArrayList<>();
+        MessageHandler handler = message -> {
+            if (destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                pushed.add(message);
+            }
+        };
+        brokerChannel.subscribe(handler);
+        try {
+            TournamentMatch semi = tournamentMatchRepository.findByTournamentIdAndRound(tournament.getId(), "SEMI").get(0);
+            tournamentService.updateMatchResult(semi.getId(), 2, 0);
+
+            TournamentBracketService.BracketSnapshot second = tournamentBracketService.getBracket(tournament.getId());
+            assertTrue(second.getVersion() > first.getVersion());
+
+            TournamentBracketResponse bracket = objectMapper.readValue(second.getBracketJson(),
+                    TournamentBracketResponse.class);
+            assertEquals(second.getVersion(), bracket.getVersion());
+            Map<Long, TournamentMatchResponse> byId = bracket.getMatches().stream()
+                    .collect(Collectors.toMap(TournamentMatchResponse::getId, m -> m));
+            assertEquals(semi.getTeam1().getId(), byId.get(semi.getId()).getWinnerId());
+            assertEquals(TournamentMatch.MatchStatus.FINISHED, byId.get(semi.getId()).getStatus());
+            assertEquals(semi.getTeam1().getId(), byId.get(semi.getNextMatchId()).getTeam1Id());
+
+            assertEquals(1, pushed.size());
+            TournamentBracketUpdate update = objectMapper.readValue((byte[]) pushed.get(0).getPayload(),
+                    TournamentBracketUpdate.class);
+            assertEquals(first.getVersion(), update.getPreviousVersion());
+            assertEquals(second.getVersion(), update.getVersion());
+            assertFalse(update.isReset());
+            assertEquals(List.of(semi.getId(), semi.getNextMatchId()),
+                    update.getMatches().stream().map(TournamentMatchResponse::getId).toList());
+        } finally {
+            brokerChannel.unsubscribe(handler);
+        }
+    }
+
+    @Test
+    void bracket_endpoint_answers_not_modified_until_the_version_changes() throws Exception {
+        Tournament tournament = registeredTournament(4);
+        tournamentService.generateBracket(tournament.getId());
+        String email = playerRepository.save(TestFixtures.player()).getEmail();
+        String path = "/api/tournaments/" + tournament.getId() + "/bracket";
+        String etag = "\"" + tournamentBracketService.getBracket(tournament.getId()).getVersion() + "\"";
+
+        mockMvc.perform(get(path).with(user(email).roles("PLAYER")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(jsonPath("$.matches.length()").value(3));
+        mockMvc.perform(get(path).header("If-None-Match", etag).with(user(email).roles("PLAYER")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/api/tournaments/" + tournament.getId() + "/matches")
+                        .header("If-None-Match", etag).with(user(email).roles("PLAYER")))
+                .andExpect(status().isNotModified());
+
+        TournamentMatch semi = tournamentMatchRepository.findByTournamentIdAndRound(tournament.getId(), "SEMI").get(0);
+        tournamentService.updateMatchResult(semi.getId(), 1, 0);
+        String changed = "\"" + tournamentBracketService.getBracket(tournament.getId()).getVersion() + "\"";
+        assertNotEquals(etag, changed);
+
+        mockMvc.perform(get(path).header("If-None-Match", etag).with(user(email).roles("PLAYER")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", changed));
+    }
+
+    private Tournament registeredTournament(int teams) {
+        Tournament tournament = TestFixtures.tournament(GameType.CUP, teams);
+        tournament = tournamentService.createTournament(tournament);
+
+        Player leader = playerRepository.save(TestFixtures.player());
+        List<Team> created = teamRepository.saveAll(TestFixtures.teams(leader, teams));
+        tournamentTeamRepository.saveAll(TestFixtures.registrations(tournament, created));
+        tournament.setTotalTeams(teams);
+        return tournamentRepository.save(tournament);
+    }
+}
@@ -0,0 +1,207 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Team;
+import com.fiap.projects.apipassabola.entity.Tournament;
+import com.fiap.projects.apipassabola.entity.TournamentMatch;
+import com.fiap.projects.apipassabola.entity.TournamentTeam;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.TeamRepository;
+import com.fiap.projects.apipassabola.repository.TournamentMatchRepository;
+import com.fiap.projects.apipassabola.repository.TournamentRepository;
+import com.fiap.projects.apipassabola.repository.TournamentTeamRepository;
+import com.fiap.projects.apipassabola.service.TournamentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-robin leagues: circle-method fixtures that respect rest days, venue capacity and home/away
+ * balance, written in batches, with standings updated from each result and the champion recomputed
+ * when a result is corrected after the league finished
+ */
+public class TournamentLeagueScheduleTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentTeamRepository tournamentTeamRepository;
+
+    @Autowired
+    private TournamentMatchRepository tournamentMatchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void double_round_robin_respects_rest_days_venue_capacity_and_home_balance() {
+        int teams = 20;
+        Tournament tournament = registeredLeague(teams, Tournament.BracketFormat.DOUBLE_ROUND_ROBIN, 2, 4);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        tournamentService.generateBracket(tournament.getId());
+
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        // One write per row would take more than 760 statements
+        assertTrue(statements < 100, "league generation prepared " + statements + " statements");
+
+        List<TournamentMatch> matches = tournamentMatchRepository.findByTournamentId(tournament.getId());
+        assertEquals(teams * (teams - 1), matches.size());
+
+        Map<String, Integer> meetings = new HashMap<>();
+        Map<Long, Integer> homeGames = new HashMap<>();
+        Map<Long, List<LocalDate>> datesByTeam = new HashMap<>();
+        Map<LocalDate, Integer> gamesPerDay = new HashMap<>();
+        for (TournamentMatch match : matches) {
+            assertEquals(TournamentMatch.Stage.LEAGUE, match.getStage());
+            assertEquals(TournamentMatch.MatchStatus.SCHEDULED, match.getStatus());
+            assertNotNull(match.getGame());
+            assertEquals(match.getScheduledDate(), match.getGame().getGameDate());
+
+            Long home = match.getTeam1().getId();
+            Long away = match.getTeam2().getId();
+            meetings.merge(home + ">" + away, 1, Integer::sum);
+            homeGames.merge(home, 1, Integer::sum);
+            LocalDate day = match.getScheduledDate().toLocalDate();
+            datesByTeam.computeIfAbsent(home, id -> new ArrayList<>()).add(day);
+            datesByTeam.computeIfAbsent(away, id -> new ArrayList<>()).add(day);
+            gamesPerDay.merge(day, 1, Integer::sum);
+        }
+
+        // Every ordered pair once: each team hosts every other team exactly once
+        assertEquals(teams * (teams - 1), meetings.size());
+        homeGames.values().forEach(count -> assertEquals(teams - 1, count));
+        gamesPerDay.values().forEach(count -> assertTrue(count <= 4, "venue hosts " + count + " games in a day"));
+        for (List<LocalDate> dates : datesByTeam.values()) {
+            dates.sort(Comparator.naturalOrder());
+            for (int i = 1; i < dates.size(); i++) {
+                assertTrue(ChronoUnit.DAYS.between(dates.get(i - 1), dates.get(i)) > 2, "rest days not respected");
+            }
+        }
+
+        Tournament generated = tournamentRepository.findById(tournament.getId()).orElseThrow();
+        assertEquals("MATCHDAY_1", generated.getCurrentRound());
+    }
+
+    @Test
+    void standings_follow_results_and_the_leader_becomes_champion() {
+        Tournament tournament = registeredLeague(5, Tournament.BracketFormat.ROUND_ROBIN, null, null);
+        tournamentService.generateBracket(tournament.getId());
+
+        List<TournamentMatch> matches = tournamentMatchRepository.findByTournamentId(tournament.getId());
+        assertEquals(10, matches.size());
+
+        // Home teams win, except a draw in the first match, which is later corrected to an away win
+        TournamentMatch corrected = matches.get(0);
+        tournamentService.updateMatchResult(corrected.getId(), 1, 1);
+        tournamentService.updateMatchResult(corrected.getId(), 0, 2);
+        for (TournamentMatch match : matches.subList(1, matches.size())) {
+            tournamentService.updateMatchResult(match.getId(), 3, 1);
+        }
+
+        Map<Long, int[]> expected = new HashMap<>();
+        for (TournamentMatch match : tournamentMatchRepository.findByTournamentId(tournament.getId())) {
+            int[] home = expected.computeIfAbsent(match.getTeam1().getId(), id -> new int[3]);
+            int[] away = expected.computeIfAbsent(match.getTeam2().getId(), id -> new int[3]);
+            home[0] += match.getTeam1Score() > match.getTeam2Score() ? 3 : match.getTeam1Score().equals(match.getTeam2Score()) ? 1 : 0;
+            away[0] += match.getTeam2Score() > match.getTeam1Score() ? 3 : match.getTeam1Score().equals(match.getTeam2Score()) ? 1 : 0;
+            home[1] += match.getTeam1Score();
+            home[2] += match.getTeam2Score();
+            away[1] += match.getTeam2Score();
+            away[2] += match.getTeam1Score();
+        }
+
+        List<TournamentTeam> standings = tournamentService.getStandings(tournament.getId());
+        assertEquals(5, standings.size());
+        for (int i = 0; i < standings.size(); i++) {
+            TournamentTeam row = standings.get(i);
+            int[] totals = expected.get(row.getTeam().getId());
+            assertEquals(totals[0], row.getPoints());
+            assertEquals(totals[1], row.getGoalsFor());
+            assertEquals(totals[2], row.getGoalsAgainst());
+            assertEquals(4, row.getMatchesPlayed());
+            assertEquals(0, row.getDraws());
+            if (i > 0) {
+                assertTrue(standings.get(i - 1).getPoints() >= row.getPoints());
+            }
+        }
+
+        assertEquals(Tournament.TournamentStatus.FINISHED,
+                tournamentRepository.findById(tournament.getId()).orElseThrow().getStatus());
+        assertEquals(TournamentTeam.TeamStatus.CHAMPION, standings.get(0).getStatus());
+        assertEquals(TournamentTeam.TeamStatus.RUNNER_UP, standings.get(1).getStatus());
+    }
+
+    @Test
+    void correcting_a_result_after_the_league_finished_recomputes_the_champion() {
+        Tournament tournament = registeredLeague(3, Tournament.BracketFormat.ROUND_ROBIN, null, null);
+        tournamentService.generateBracket(tournament.getId());
+        List<TournamentMatch> matches = tournamentMatchRepository.findByTournamentId(tournament.getId());
+        for (TournamentMatch match : matches) {
+            tournamentService.updateMatchResult(match.getId(), 1, 0);
+        }
+        Long firstChampion = tournamentService.getStandings(tournament.getId()).get(0).getTeam().getId();
+
+        // The champion loses every match it played after the league is over
+        for (TournamentMatch match : matches) {
+            if (match.getTeam1().getId().equals(firstChampion)) {
+                tournamentService.updateMatchResult(match.getId(), 0, 5);
+            } else if (match.getTeam2().getId().equals(firstChampion)) {
+                tournamentService.updateMatchResult(match.getId(), 5, 0);
+            }
+        }
+
+        List<TournamentTeam> standings = tournamentService.getStandings(tournament.getId());
+        assertNotEquals(firstChampion, standings.get(0).getTeam().getId());
+        assertEquals(TournamentTeam.TeamStatus.CHAMPION, standings.get(0).getStatus());
+        assertEquals(TournamentTeam.TeamStatus.RUNNER_UP, standings.get(1).getStatus());
+        TournamentTeam demoted = standings.get(2);
+        assertEquals(firstChampion, demoted.getTeam().getId());
+        assertEquals(TournamentTeam.TeamStatus.CONFIRMED, demoted.getStatus());
+        assertEquals(Tournament.TournamentStatus.FINISHED,
+                tournamentRepository.findById(tournament.getId()).orElseThrow().getStatus());
+    }
+
+    private Tournament registeredLeague(int teams, Tournament.BracketFormat format, Integer restDays,
+                                        Integer matchesPerDay) {
+        Tournament tournament = TestFixtures.tournament(GameType.CHAMPIONSHIP, teams);
+        tournament.setBracketFormat(format);
+        tournament.setRestDays(restDays);
+        tournament.setMatchesPerDay(matchesPerDay);
+        tournament = tournamentService.createTournament(tournament);
+
+        Player leader = playerRepository.save(TestFixtures.player());
+        List<Team> created = teamRepository.saveAll(TestFixtures.teams(leader, teams));
+        tournamentTeamRepository.saveAll(TestFixtures.registrations(tournament, created));
+        tournament.setTotalTeams(teams);
+        return tournamentRepository.save(tournament);
+    }
+}
@@ -0,0 +1,120 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Team;
+import com.fiap.projects.apipassabola.entity.Tournament;
+import com.fiap.projects.apipassabola.entity.TournamentMatch;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.repository.GameRepository;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.TeamRepository;
+import com.fiap.projects.apipassabola.repository.TournamentMatchRepository;
+import com.fiap.projects.apipassabola.repository.TournamentRepository;
+import com.fiap.projects.apipassabola.service.TournamentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Syncing a finished game with its tournament match must look the match up by game id,
+ * never by loading the whole tournament_matches table
+ */
+public class TournamentMatchSyncTest extends BaseIntegrationTest {
+
+    private static final int OTHER_MATCHES = 30;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentMatchRepository tournamentMatchRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void sync_loads_only_the_match_of_the_game() {
+        Player leader = playerRepository.save(TestFixtures.player());
+        Team team1 = teamRepository.save(TestFixtures.team(leader));
+        Team team2 = teamRepository.save(TestFixtures.team(leader));
+
+        // Unrelated matches: a full scan would load every one of them
+        Tournament other = tournamentRepository.save(inProgressCup());
+        for (int i = 0; i < OTHER_MATCHES; i++) {
+            tournamentMatchRepository.save(newMatch(other, "ROUND_OF_64", i + 1, team1, team2,
+                    gameRepository.save(tournamentGame(other))));
+        }
+
+        Tournament tournament = tournamentRepository.save(inProgressCup());
+        Game game = gameRepository.save(tournamentGame(tournament));
+        TournamentMatch match = tournamentMatchRepository.save(newMatch(tournament, "FINAL", 1, team1, team2, game));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        tournamentService.syncGameResultToMatch(game.getId(), 2, 1);
+
+        long matchesLoaded = statistics.getEntityStatistics(TournamentMatch.class.getName()).getLoadCount();
+        statistics.setStatisticsEnabled(false);
+        assertTrue(matchesLoaded < OTHER_MATCHES,
+                "syncGameResultToMatch loaded " + matchesLoaded + " tournament matches");
+
+        TournamentMatch synced = tournamentMatchRepository.findById(match.getId()).orElseThrow();
+        assertEquals(TournamentMatch.MatchStatus.FINISHED, synced.getStatus());
+        assertEquals(2, synced.getTeam1Score());
+        assertEquals(1, synced.getTeam2Score());
+        assertEquals(team1.getId(), synced.getWinner().getId());
+    }
+
+    @Test
+    void sync_ignores_games_outside_tournaments() {
+        Game game = gameRepository.save(TestFixtures.game(GameType.CHAMPIONSHIP));
+
+        assertTrue(tournamentMatchRepository.findByGameId(game.getId()).isEmpty());
+        assertDoesNotThrow(() -> tournamentService.syncGameResultToMatch(game.getId(), 1, 0));
+    }
+
+    private TournamentMatch newMatch(Tournament tournament, String round, int number, Team team1, Team team2, Game game) {
+        TournamentMatch match = new TournamentMatch();
+        match.setTournament(tournament);
+        match.setRound(round);
+        match.setMatchNumber(number);
+        match.setTeam1(team1);
+        match.setTeam2(team2);
+        match.setGame(game);
+        match.setStatus(TournamentMatch.MatchStatus.SCHEDULED);
+        return match;
+    }
+
+    private Tournament inProgressCup() {
+        Tournament tournament = TestFixtures.tournament(GameType.CUP, 64);
+        tournament.setStatus(Tournament.TournamentStatus.IN_PROGRESS);
+        return tournament;
+    }
+
+    private Game tournamentGame(Tournament tournament) {
+        Game game = TestFixtures.game(GameType.CHAMPIONSHIP);
+        game.setTournamentId(tournament.getId());
+        return game;
+    }
+}
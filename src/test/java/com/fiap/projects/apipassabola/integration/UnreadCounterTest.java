@@ -0,0 +1,183 @@
+package com.fiap.projects.apipassabola.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projects.apipassabola.dto.request.ChatMessageRequest;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.UnreadCounter;
+import com.fiap.projects.apipassabola.entity.UserType;
+import com.fiap.projects.apipassabola.integration.util.TestFixtures;
+import com.fiap.projects.apipassabola.model.Notification;
+import com.fiap.projects.apipassabola.model.NotificationType;
+import com.fiap.projects.apipassabola.repository.PlayerRepository;
+import com.fiap.projects.apipassabola.repository.UnreadCounterRepository;
+import com.fiap.projects.apipassabola.service.ChatMessageService;
+import com.fiap.projects.apipassabola.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unread badges come from counters kept with the messages and notifications, and every change is
+ * pushed over WebSocket
+ */
+public class UnreadCounterTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ChatMessageService chatMessageService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UnreadCounterRepository unreadCounterRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("brokerChannel")
+    private SubscribableChannel brokerChannel;
+
+    private final List<MessageHandler> handlers = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        handlers.forEach(brokerChannel::unsubscribe);
+        handlers.clear();
+    }
+
+    @Test
+    void chat_counter_follows_sent_and_read_messages() {
+        Player sender = playerRepository.save(TestFixtures.player());
+        Player reader = playerRepository.save(TestFixtures.player());
+        List<Long> pushed = capture("/user/" + reader.getEmail() + "/queue/chat/unread");
+
+        TestFixtures.authenticate(sender.getEmail());
+        send(reader, "first");
+        send(reader, "second");
+
+        TestFixtures.authenticate(reader.getEmail());
+        assertEquals(2L, chatMessageService.getUnreadCount());
+        chatMessageService.markMessagesAsRead(sender.getUserId());
+        assertEquals(0L, chatMessageService.getUnreadCount());
+        assertEquals(0, unreadCounterRepository.findByKindAndUserTypeAndUserId(
+                UnreadCounter.Kind.CHAT, UserType.PLAYER, reader.getUserId()).orElseThrow().getUnread());
+
+        assertEquals(List.of(1L, 2L, 0L), pushed);
+    }
+
+    @Test
+    void notification_counter_follows_created_read_and_deleted_notifications() {
+        Player recipient = playerRepository.save(TestFixtures.player());
+        Long userId = recipient.getUserId();
+        List<Long> pushed = capture("/topic/notifications/player/" + userId + "/count");
+
+        Notification first = notify(recipient);
+        Notification second = notify(recipient);
+        notify(recipient);
+        assertEquals(3, notificationService.countUnreadNotifications(userId, UserType.PLAYER));
+
+        assertTrue(notificationService.markAsRead(first.getId(), userId, UserType.PLAYER));
+        // Marking it again does not count twice
+        assertTrue(notificationService.markAsRead(first.getId(), userId, UserType.PLAYER));
+        assertEquals(2, notificationService.countUnreadNotifications(userId, UserType.PLAYER));
+
+        notificationService.deleteNotification(second.getId(), userId, UserType.PLAYER);
+        notificationService.deleteNotification(first.getId(), userId, UserType.PLAYER);
+        assertEquals(1, notificationService.countUnreadNotifications(userId, UserType.PLAYER));
+
+        notify(recipient);
+        assertEquals(2, notificationService.markAllAsRead(userId, UserType.PLAYER));
+        assertEquals(0, notificationService.countUnreadNotifications(userId, UserType.PLAYER));
+
+        assertEquals(List.of(1L, 2L, 3L, 2L, 1L, 2L, 0L), pushed);
+    }
+
+    @Test
+    void concurrent_mark_as_read_of_one_notification_counts_once() throws Exception {
+        Player recipient = playerRepository.save(TestFixtures.player());
+        Long userId = recipient.getUserId();
+        Notification tapped = notify(recipient);
+        notify(recipient);
+
+        int taps = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(taps);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < taps; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return notificationService.markAsRead(tapped.getId(), userId, UserType.PLAYER);
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Only the tap that actually flipped is_read decrements, so the other notification still counts
+        assertEquals(1, notificationService.countUnreadNotifications(userId, UserType.PLAYER));
+        assertEquals(1, unreadCounterRepository.findByKindAndUserTypeAndUserId(
+                UnreadCounter.Kind.NOTIFICATION, UserType.PLAYER, userId).orElseThrow().getUnread());
+    }
+
+    private List<Long> capture(String destination) {
+        List<Long> pushed = new CopyOnWriteArrayList<>();
+        MessageHandler handler = message -> {
+            if (destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                pushed.add(unreadCount(message));
+            }
+        };
+        brokerChannel.subscribe(handler);
+        handlers.add(handler);
+        return pushed;
+    }
+
+    private Long unreadCount(Message<?> message) {
+        try {
+            Map<?, ?> update = objectMapper.readValue((byte[]) message.getPayload(), Map.class);
+            return ((Number) update.get("unreadCount")).longValue();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Notification notify(Player recipient) {
+        return notificationService.createAndSendNotification(recipient.getUserId(), UserType.PLAYER,
+                1L, UserType.PLAYER, "counter_sender", "Counter Sender", NotificationType.NEW_FOLLOWER,
+                "Counter Sender começou a seguir você", null, null);
+    }
+
+    private void send(Player recipient, String content) {
+        ChatMessageRequest request = new ChatMessageRequest();
+        request.setRecipientId(recipient.getUserId());
+        request.setContent(content);
+        chatMessageService.sendMessage(request);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.http.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class TestAuthClient {
 
@@ -106,15 +107,54 @@ public class TestAuthClient {
 
     private AuthResult extractAuthResult(ResponseEntity<Map> resp) {
         if (!resp.getStatusCode().is2xxSuccessful()) {
-            throw new IllegalStateException("Auth call failed: " + resp.getStatusCode());
+            throw new IllegalStateException("Auth call failed: " + resp.getStatusCode() + " " + resp.getBody());
         }
         Map<String, Object> map = resp.getBody();
         String token = (String) map.get("token");
-        Number userId = (Number) map.get("userId");
         String username = (String) map.get("username");
         String email = (String) map.get("email");
-        return new AuthResult(token, userId != null ? userId.longValue() : null, username, email);
+        return new AuthResult(token, toLong(map.get("userId")), toLong(map.get("profileId")), username, email);
     }
 
-    public record AuthResult(String token, Long userId, String username, String email) {}
+    // userId is serialized as a string (global user id), profileId as a number
+    private static Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return value != null ? Long.valueOf(value.toString()) : null;
+    }
+
+    /**
+     * Random CNPJ with valid check digits, so organizations registered by different tests never collide
+     */
+    public static String uniqueCnpj() {
+        int[] digits = new int[14];
+        for (int i = 0; i < 12; i++) {
+            digits[i] = ThreadLocalRandom.current().nextInt(10);
+        }
+        digits[12] = cnpjCheckDigit(digits, 12);
+        digits[13] = cnpjCheckDigit(digits, 13);
+        StringBuilder cnpj = new StringBuilder();
+        for (int digit : digits) {
+            cnpj.append(digit);
+        }
+        return cnpj.toString();
+    }
+
+    private static int cnpjCheckDigit(int[] digits, int length) {
+        int sum = 0;
+        int weight = length - 7;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * weight;
+            weight = weight == 2 ? 9 : weight - 1;
+        }
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    /**
+     * @param userId global user id (users table), used by the follow endpoints
+     * @param profileId id of the Player, Organization or Spectator, used by the profile endpoints
+     */
+    public record AuthResult(String token, Long userId, Long profileId, String username, String email) {}
 }
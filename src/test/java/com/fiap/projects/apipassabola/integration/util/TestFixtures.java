@@ -0,0 +1,173 @@
+package com.fiap.projects.apipassabola.integration.util;
+
+import com.fiap.projects.apipassabola.entity.Game;
+import com.fiap.projects.apipassabola.entity.GameParticipant;
+import com.fiap.projects.apipassabola.entity.GameSpectator;
+import com.fiap.projects.apipassabola.entity.GameType;
+import com.fiap.projects.apipassabola.entity.Player;
+import com.fiap.projects.apipassabola.entity.Spectator;
+import com.fiap.projects.apipassabola.entity.Team;
+import com.fiap.projects.apipassabola.entity.Tournament;
+import com.fiap.projects.apipassabola.entity.TournamentTeam;
+import com.fiap.projects.apipassabola.entity.UserType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builders for the entities the integration tests insert directly, without going through the auth
+ * endpoints. The returned entities are not saved.
+ */
+public final class TestFixtures {
+
+    // Far above any id the sequences hand out while the suite runs, and unique across test classes
+    private static final AtomicLong IDS = new AtomicLong(1_000_000_000_000L);
+
+    private TestFixtures() {
+    }
+
+    /**
+     * Id that no row uses: global userIds of fixture users, and fake game or tournament ids
+     */
+    public static long unusedId() {
+        return IDS.incrementAndGet();
+    }
+
+    public static String suffix() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public static Player player() {
+        String u = suffix();
+        Player player = new Player();
+        player.setUserId(unusedId());
+        player.setUsername("player_" + u);
+        player.setName("Test Player " + u);
+        player.setEmail("player_" + u + "@email.com");
+        player.setPassword("Password123!");
+        return player;
+    }
+
+    public static Spectator spectator() {
+        String u = suffix();
+        Spectator spectator = new Spectator();
+        spectator.setUserId(unusedId());
+        spectator.setUsername("spectator_" + u);
+        spectator.setName("Test Spectator " + u);
+        spectator.setEmail("spectator_" + u + "@email.com");
+        spectator.setPassword("Password123!");
+        return spectator;
+    }
+
+    public static Team team(Player leader) {
+        Team team = new Team();
+        team.setNameTeam("Test Team " + suffix());
+        team.setLeader(leader);
+        return team;
+    }
+
+    public static List<Team> teams(Player leader, int count) {
+        List<Team> teams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            teams.add(team(leader));
+        }
+        return teams;
+    }
+
+    /**
+     * Game next week for 2 to 22 players, with no host
+     */
+    public static Game game(GameType gameType) {
+        Game game = new Game();
+        game.setGameType(gameType);
+        game.setGameName("Test game");
+        game.setGameDate(LocalDateTime.now().plusDays(7));
+        game.setVenue("Arena");
+        game.setMinPlayers(2);
+        game.setMaxPlayers(22);
+        return game;
+    }
+
+    public static Game hostedGame(GameType gameType, Player host) {
+        Game game = game(gameType);
+        game.setHostId(host.getId());
+        game.setHostUsername(host.getUsername());
+        return game;
+    }
+
+    /**
+     * Confirmed participant; WITH_TEAM when a team is given, INDIVIDUAL otherwise
+     */
+    public static GameParticipant participant(Game game, Player player, Team team, int side) {
+        GameParticipant participant = new GameParticipant();
+        participant.setGame(game);
+        participant.setPlayer(player);
+        participant.setUserType(UserType.PLAYER);
+        participant.setParticipationType(team != null
+                ? GameParticipant.ParticipationType.WITH_TEAM
+                : GameParticipant.ParticipationType.INDIVIDUAL);
+        participant.setTeamSide(side);
+        participant.setTeam(team);
+        participant.setStatus(GameParticipant.ParticipationStatus.CONFIRMED);
+        return participant;
+    }
+
+    /**
+     * Confirmed spectator of the game
+     */
+    public static GameSpectator watcher(Game game, Spectator spectator) {
+        GameSpectator watcher = new GameSpectator();
+        watcher.setGame(game);
+        watcher.setSpectator(spectator);
+        watcher.setWatcherId(spectator.getId());
+        watcher.setWatcherUsername(spectator.getUsername());
+        watcher.setWatcherName(spectator.getName());
+        watcher.setWatcherType(UserType.SPECTATOR);
+        return watcher;
+    }
+
+    /**
+     * Tournament starting next week, created by user 1
+     */
+    public static Tournament tournament(GameType gameType, int maxTeams) {
+        Tournament tournament = new Tournament();
+        tournament.setName("Test Cup " + suffix());
+        tournament.setGameType(gameType);
+        tournament.setCreatorId(1L);
+        tournament.setVenue("Arena");
+        tournament.setStartDate(LocalDateTime.now().plusDays(7));
+        tournament.setMaxTeams(maxTeams);
+        return tournament;
+    }
+
+    public static List<TournamentTeam> registrations(Tournament tournament, List<Team> teams) {
+        List<TournamentTeam> registrations = new ArrayList<>(teams.size());
+        for (Team team : teams) {
+            TournamentTeam registration = new TournamentTeam();
+            registration.setTournament(tournament);
+            registration.setTeam(team);
+            registrations.add(registration);
+        }
+        return registrations;
+    }
+
+    /**
+     * Authenticates the current thread as a player with the given email, the way the JWT filter does
+     */
+    public static void authenticate(String email) {
+        authenticate(email, "ROLE_PLAYER");
+    }
+
+    public static void authenticate(String email, String authority) {
+        UserDetails user = User.withUsername(email).password("x").authorities(authority).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.fiap.projects.apipassabola.service;
+
+import com.fiap.projects.apipassabola.config.ModerationProperties;
+import com.fiap.projects.apipassabola.exception.BusinessException;
+import com.fiap.projects.apipassabola.service.ContentModerationService.Action;
+import com.fiap.projects.apipassabola.service.ContentModerationService.Decision;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Term matching (word boundaries, case and accents), the action chosen for each text and what
+ * enforce does with it, without a Spring context
+ */
+class ContentModerationServiceTest {
+
+    private ModerationProperties properties;
+    private ContentModerationService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ModerationProperties();
+        service = new ContentModerationService(properties);
+        service.loadTerms(Map.of(
+                "bobo", Action.FLAG,
+                "palavrao", Action.MASK,
+                "muito feio", Action.MASK,
+                "ameaça", Action.REJECT));
+    }
+
+    @Test
+    void clean_text_is_allowed_unchanged() {
+        Decision decision = service.moderate("Que jogo bonito!");
+        assertEquals(Action.ALLOW, decision.getAction());
+        assertEquals("Que jogo bonito!", decision.getContent());
+        assertEquals(Action.ALLOW, service.moderate("").getAction());
+        assertNull(service.moderate(null).getContent());
+        // enforce hands back the same instance: clean text is neither copied nor rebuilt
+        String clean = "Que jogo bonito!";
+        assertSame(clean, service.enforce(clean, "post", 1L));
+        String flagged = "que bobo!";
+        assertSame(flagged, service.enforce(flagged, "post", 1L));
+    }
+
+    @Test
+    void terms_only_match_whole_words() {
+        assertEquals(Action.ALLOW, service.moderate("bobos e palavraoes nao contam").getAction());
+        assertEquals(Action.ALLOW, service.moderate("abobora").getAction());
+        assertEquals(Action.FLAG, service.moderate("que bobo!").getAction());
+        assertEquals(Action.MASK, service.moderate("(palavrao)").getAction());
+    }
+
+    @Test
+    void matching_ignores_case_and_accents() {
+        assertEquals(Action.MASK, service.moderate("Isso é um PALAVRÃO").getAction());
+        assertEquals(Action.REJECT, service.moderate("isto é uma AMEACA").getAction());
+        assertEquals(Action.MASK, service.moderate("Muito Feio mesmo").getAction());
+    }
+
+    @Test
+    void the_most_severe_term_decides_the_action() {
+        assertEquals(Action.MASK, service.moderate("bobo e palavrao").getAction());
+        assertEquals(Action.REJECT, service.moderate("bobo, palavrao e ameaça").getAction());
+    }
+
+    @Test
+    void masking_replaces_only_the_matched_terms_and_keeps_spaces() {
+        Decision decision = service.moderate("Um Palavrão muito feio, bobo");
+        assertEquals(Action.MASK, decision.getAction());
+        // FLAG terms are reported but not masked
+        assertEquals("Um ******** ***** ****, bobo", decision.getContent());
+    }
+
+    @Test
+    void enforce_rejects_masks_or_keeps_the_content() {
+        BusinessException rejected = assertThrows(BusinessException.class,
+                () -> service.enforce("é uma ameaça", "post", 1L));
+        assertEquals("Content violates the community guidelines", rejected.getMessage());
+        assertEquals("um ********", service.enforce("um palavrao", "comment", 1L));
+        assertEquals("que bobo", service.enforce("que bobo", "chat", 1L));
+        assertEquals("tudo certo", service.enforce("tudo certo", "post", 1L));
+        assertNull(service.enforce(null, "post", 1L));
+    }
+
+    @Test
+    void disabled_moderation_allows_everything() {
+        properties.setEnabled(false);
+        assertEquals("é uma ameaça", service.enforce("é uma ameaça", "post", 1L));
+        assertEquals(Action.ALLOW, service.moderate("palavrao").getAction());
+    }
+
+    @Test
+    void dictionary_file_uses_explicit_or_default_actions(@TempDir Path dir) throws Exception {
+        Path dictionary = dir.resolve("terms.txt");
+        Files.writeString(dictionary, """
+                # comment
+                feio
+                proibido|REJECT
+                estranho|flag
+                """);
+        properties.setDictionaryPath(dictionary.toString());
+        properties.setDefaultAction("MASK");
+        service.reloadDictionary();
+
+        assertEquals("muito ****", service.moderate("muito feio").getContent());
+        assertEquals(Action.REJECT, service.moderate("isso é proibido").getAction());
+        assertEquals(Action.FLAG, service.moderate("estranho").getAction());
+        // The previous in-memory terms were replaced
+        assertEquals(Action.ALLOW, service.moderate("palavrao").getAction());
+    }
+}
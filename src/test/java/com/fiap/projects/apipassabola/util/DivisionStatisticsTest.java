@@ -0,0 +1,62 @@
+package com.fiap.projects.apipassabola.util;
+
+import com.fiap.projects.apipassabola.entity.Division;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bucket counts, division averages and reconciliation of the incremental points histogram
+ */
+class DivisionStatisticsTest {
+
+    @Test
+    void moves_update_counts_averages_and_buckets() {
+        DivisionStatistics stats = new DivisionStatistics();
+        stats.replaceAll(List.of(5, 15, 40));
+
+        assertEquals(2, stats.count(Division.BRONZE));
+        assertEquals(10.0, stats.averagePoints(Division.BRONZE));
+        assertArrayEquals(new long[]{1, 1, 0}, stats.histogram(Division.BRONZE));
+
+        stats.move(15, 35);
+        stats.move(null, 0);
+        assertArrayEquals(new long[]{2, 0, 0}, stats.histogram(Division.BRONZE));
+        assertArrayEquals(new long[]{1, 1, 0}, stats.histogram(Division.PRATA));
+        assertEquals(37.5, stats.averagePoints(Division.PRATA));
+
+        stats.move(40, null);
+        assertEquals(1, stats.count(Division.PRATA));
+        assertEquals(0.0, stats.averagePoints(Division.OURO));
+    }
+
+    @Test
+    void last_bucket_is_open_ended() {
+        DivisionStatistics stats = new DivisionStatistics();
+        stats.move(null, 10_000);
+        stats.move(null, 300);
+
+        assertEquals(2, stats.count(Division.LENDARIA));
+        assertEquals(5_150.0, stats.averagePoints(Division.LENDARIA));
+        assertEquals(Integer.MAX_VALUE, DivisionStatistics.bucketEnd(DivisionStatistics.BUCKETS - 1));
+    }
+
+    @Test
+    void reconcile_replaces_the_histogram_unless_it_changed_meanwhile() {
+        DivisionStatistics stats = new DivisionStatistics();
+        stats.replaceAll(List.of(5, 15));
+        List<Object[]> database = List.<Object[]>of(new Object[]{0L, 1L, 5L}, new Object[]{3L, 1L, 31L});
+
+        long stale = stats.modifications();
+        stats.move(null, 20);
+        assertEquals(-1, stats.reconcile(stale, database));
+        assertEquals(3, stats.count(Division.BRONZE));
+
+        // Bronze bucket 1 and 2 disappear, Prata bucket 3 appears
+        assertEquals(3, stats.reconcile(stats.modifications(), database));
+        assertArrayEquals(new long[]{1, 0, 0}, stats.histogram(Division.BRONZE));
+        assertEquals(31.0, stats.averagePoints(Division.PRATA));
+    }
+}
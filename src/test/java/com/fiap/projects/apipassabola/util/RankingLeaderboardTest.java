@@ -0,0 +1,133 @@
+package com.fiap.projects.apipassabola.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Positions, slices and counts of the order-statistic treap, ordered by points desc then id asc,
+ * checked by hand and against a sorted-list oracle
+ */
+class RankingLeaderboardTest {
+
+    @Test
+    void positions_and_slices_follow_points_then_id() {
+        RankingLeaderboard board = new RankingLeaderboard();
+        assertNull(board.put(1, 100));
+        board.put(2, 300);
+        board.put(3, 200);
+        board.put(4, 200);
+
+        assertEquals(4, board.size());
+        assertEquals(List.of(2L, 3L, 4L, 1L), board.slice(0, 10));
+        assertEquals(List.of(3L, 4L), board.slice(1, 2));
+        assertEquals(List.of(), board.slice(4, 10));
+        assertEquals(1, board.positionOf(2, 300));
+        // Ties are broken by the lower id
+        assertEquals(2, board.positionOf(3, 200));
+        assertEquals(3, board.positionOf(4, 200));
+        assertEquals(4, board.positionOf(1, 100));
+    }
+
+    @Test
+    void count_above_excludes_equal_points() {
+        RankingLeaderboard board = new RankingLeaderboard();
+        board.put(1, 100);
+        board.put(2, 200);
+        board.put(3, 200);
+
+        assertEquals(0, board.countAbove(200));
+        assertEquals(2, board.countAbove(199));
+        assertEquals(2, board.countAbove(100));
+        assertEquals(3, board.countAbove(99));
+    }
+
+    @Test
+    void updates_move_the_entry_and_return_the_previous_points() {
+        RankingLeaderboard board = new RankingLeaderboard();
+        board.put(1, 100);
+        board.put(2, 200);
+
+        assertEquals(100, board.put(1, 300));
+        assertEquals(List.of(1L, 2L), board.slice(0, 10));
+        assertEquals(300, board.put(1, 300));
+        assertEquals(2, board.size());
+
+        assertEquals(200, board.remove(2));
+        assertNull(board.remove(2));
+        assertEquals(List.of(1L), board.slice(0, 10));
+        assertEquals(1, board.size());
+    }
+
+    @Test
+    void position_of_a_missing_or_stale_entry_is_where_it_would_go() {
+        RankingLeaderboard board = new RankingLeaderboard();
+        board.put(1, 300);
+        board.put(2, 200);
+        board.put(3, 100);
+
+        // Not in the board yet
+        assertEquals(2, board.positionOf(9, 250));
+        // Stored with 300 but now has 150: its own stale entry does not count as ahead
+        assertEquals(2, board.positionOf(1, 150));
+        assertEquals(3, board.positionOf(3, 150));
+    }
+
+    @Test
+    void replace_all_swaps_the_whole_content() {
+        RankingLeaderboard board = new RankingLeaderboard();
+        board.put(1, 100);
+        board.replaceAll(Map.of(5L, 10, 6L, 20));
+
+        assertEquals(List.of(6L, 5L), board.slice(0, 10));
+        assertNull(board.remove(1));
+        assertEquals(2, board.size());
+    }
+
+    @Test
+    void random_operations_match_a_sorted_list() {
+        Random random = new Random(7);
+        RankingLeaderboard board = new RankingLeaderboard();
+        Map<Long, Integer> oracle = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            long id = random.nextInt(300);
+            // Narrow point range so ties are frequent
+            int points = random.nextInt(50) * 10;
+            if (random.nextInt(4) == 0) {
+                assertEquals(oracle.remove(id), board.remove(id));
+            } else {
+                assertEquals(oracle.put(id, points), board.put(id, points));
+            }
+
+            if (step % 250 == 0) {
+                assertMatches(oracle, board, random);
+            }
+        }
+        assertMatches(oracle, board, random);
+    }
+
+    private void assertMatches(Map<Long, Integer> oracle, RankingLeaderboard board, Random random) {
+        List<Map.Entry<Long, Integer>> sorted = new ArrayList<>(oracle.entrySet());
+        sorted.sort(Comparator.<Map.Entry<Long, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                .thenComparingLong(Map.Entry::getKey));
+        List<Long> ids = sorted.stream().map(Map.Entry::getKey).toList();
+
+        assertEquals(ids.size(), board.size());
+        assertEquals(ids, board.slice(0, ids.size() + 1));
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, board.positionOf(sorted.get(i).getKey(), sorted.get(i).getValue()));
+        }
+        int offset = random.nextInt(ids.size() + 1);
+        assertEquals(ids.subList(offset, Math.min(ids.size(), offset + 20)), board.slice(offset, 20));
+        int threshold = random.nextInt(50) * 10;
+        assertEquals(sorted.stream().filter(e -> e.getValue() > threshold).count(), board.countAbove(threshold));
+    }
+}